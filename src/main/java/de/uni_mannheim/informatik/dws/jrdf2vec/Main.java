@@ -5,14 +5,20 @@ import de.uni_mannheim.informatik.dws.jrdf2vec.training.Gensim;
 import de.uni_mannheim.informatik.dws.jrdf2vec.training.Word2VecConfiguration;
 import de.uni_mannheim.informatik.dws.jrdf2vec.training.Word2VecType;
 import de.uni_mannheim.informatik.dws.jrdf2vec.util.Util;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkBudget;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerationMode;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGeneratorDefault;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.light.WalkGeneratorLight;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.runnables.MetapathWalkStrategy;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers.WalkWriterConfiguration;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.weights.EdgeWeightFunction;
 
 import java.io.File;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 
 /**
  * Mini command line tool for server application.
@@ -121,6 +127,146 @@ public class Main {
      */
     private static boolean isVectorTextFileGeneration = true;
 
+    /**
+     * If true, NT files are converted to HDT and the HDT file is memory-mapped for the walk generation.
+     */
+    private static boolean isLowMemoryMode = false;
+
+    /**
+     * Number of entities that a walk generation thread obtains at once.
+     */
+    private static int entityBatchSize = WalkGenerator.DEFAULT_ENTITY_BATCH_SIZE;
+
+    /**
+     * Number of threads that compress the walk file (-1: number of walk generation threads).
+     */
+    private static int compressionThreads = -1;
+
+    /**
+     * Deflate compression level of the walk file.
+     */
+    private static int compressionLevel = WalkWriterConfiguration.COMPRESSION_LEVEL_DEFAULT;
+
+    /**
+     * Number of threads that write walk shards.
+     */
+    private static int writerThreads = WalkWriterConfiguration.NUMBER_OF_WRITER_THREADS_DEFAULT;
+
+    /**
+     * Number of walks after which a new walk shard is started (0: unlimited).
+     */
+    private static long shardMaxLines = WalkWriterConfiguration.MAX_LINES_PER_SHARD_DEFAULT;
+
+    /**
+     * Number of uncompressed bytes after which a new walk shard is started (0: unlimited).
+     */
+    private static long shardMaxBytes = WalkWriterConfiguration.MAX_BYTES_PER_SHARD_DEFAULT;
+
+    /**
+     * If true, identical walks are written only once across the whole corpus.
+     */
+    private static boolean isDeduplicateWalks = false;
+
+    /**
+     * False-positive rate of the corpus-wide deduplication filter.
+     */
+    private static double deduplicationFpp = WalkWriterConfiguration.DEDUPLICATION_FALSE_POSITIVE_RATE_DEFAULT;
+
+    /**
+     * Memory budget of the corpus-wide deduplication filter in MB.
+     */
+    private static long deduplicationMemory = WalkWriterConfiguration.DEDUPLICATION_MEMORY_BYTES_DEFAULT / (1024 * 1024);
+
+    /**
+     * Seed of the walk generation (null: walks are not reproducible).
+     */
+    private static Long seed = null;
+
+    /**
+     * If true, the walks are written in the order of the entity batches.
+     */
+    private static boolean isOrderedOutput = false;
+
+    /**
+     * If true, a checkpoint is written whenever a walk shard is completed.
+     */
+    private static boolean isCheckpointing = false;
+
+    /**
+     * If true, an interrupted walk generation is resumed from its checkpoint.
+     */
+    private static boolean isResume = false;
+
+    /**
+     * If true, the entities are processed in the order of their estimated cost (most expensive first).
+     */
+    private static boolean isCostAwareScheduling = false;
+
+    /**
+     * Index of the partition of the entities for which walks are generated.
+     */
+    private static int partitionIndex = 0;
+
+    /**
+     * Number of partitions of the entities (1: walks are generated for all entities).
+     */
+    private static int numberOfPartitions = 1;
+
+    /**
+     * Return parameter p of the node2vec walks.
+     */
+    private static double node2VecP = WalkGenerator.NODE2VEC_PARAMETER_DEFAULT;
+
+    /**
+     * In-out parameter q of the node2vec walks.
+     */
+    private static double node2VecQ = WalkGenerator.NODE2VEC_PARAMETER_DEFAULT;
+
+    /**
+     * Memory budget of the neighbor index of the node2vec walks in MB.
+     */
+    private static long node2VecIndexMemory = WalkGenerator.NODE2VEC_INDEX_MEMORY_BYTES_DEFAULT / (1024 * 1024);
+
+    /**
+     * Edge weights of the weighted random walks (null: default of the walk generator).
+     */
+    private static EdgeWeightFunction edgeWeightFunction = null;
+
+    /**
+     * Number of Weisfeiler-Lehman iterations of the WL sequences.
+     */
+    private static int wlIterations = WalkGenerator.WL_ITERATIONS_DEFAULT;
+
+    /**
+     * Restart probability of the random walks with restart.
+     */
+    private static double restartProbability = WalkGenerator.RESTART_PROBABILITY_DEFAULT;
+
+    /**
+     * Predicate patterns of the metapath walks (null: any predicate).
+     */
+    private static List<List<String>> metapaths = null;
+
+    /**
+     * Skip distances of the walklets.
+     */
+    private static int[] walkletScales = WalkGenerator.WALKLET_SCALES_DEFAULT;
+
+    /**
+     * Global budget of walks (null: every entity obtains the same number of walks).
+     */
+    private static WalkBudget walkBudget = null;
+
+    /**
+     * Maximal number of exhaustive paths per entity (0: unlimited).
+     */
+    private static int maxPathsPerEntity = WalkGenerator.MAX_PATHS_PER_ENTITY_DEFAULT;
+
+    /**
+     * Indicator whether all blank nodes are written as one token.
+     */
+    private static boolean isUnifyAnonymousNodes = false;
+
     /**
      * Args that were not parsed. Intended to show the user which parts were ignored.
      */
@@ -316,6 +462,277 @@ public class Main {
             }
         }
 
+        String entityBatchSizeText = getValue("-entityBatchSize", args);
+        if (entityBatchSizeText != null) {
+            try {
+                entityBatchSize = Integer.parseInt(entityBatchSizeText);
+                if (entityBatchSize < 1) {
+                    System.out.println("The entity batch size must be greater than 0. Using default.");
+                    entityBatchSize = WalkGenerator.DEFAULT_ENTITY_BATCH_SIZE;
+                }
+            } catch (NumberFormatException nfe) {
+                System.out.println("Could not parse the entity batch size. Using default.");
+                entityBatchSize = WalkGenerator.DEFAULT_ENTITY_BATCH_SIZE;
+            }
+        }
+
+        String compressionThreadsText = getValue("-compressionThreads", args);
+        if (compressionThreadsText != null) {
+            try {
+                compressionThreads = Integer.parseInt(compressionThreadsText);
+            } catch (NumberFormatException nfe) {
+                System.out.println("Could not parse the number of compression threads. Using default.");
+                compressionThreads = -1;
+            }
+        }
+
+        String compressionLevelText = getValue("-compressionLevel", args);
+        if (compressionLevelText != null) {
+            try {
+                compressionLevel = Integer.parseInt(compressionLevelText);
+                if (compressionLevel < -1 || compressionLevel > 9) {
+                    System.out.println("The compression level must be between 0 and 9. Using default.");
+                    compressionLevel = WalkWriterConfiguration.COMPRESSION_LEVEL_DEFAULT;
+                }
+            } catch (NumberFormatException nfe) {
+                System.out.println("Could not parse the compression level. Using default.");
+                compressionLevel = WalkWriterConfiguration.COMPRESSION_LEVEL_DEFAULT;
+            }
+        }
+
+        String writerThreadsText = getValue("-writerThreads", args);
+        if (writerThreadsText != null) {
+            try {
+                writerThreads = Integer.parseInt(writerThreadsText);
+                if (writerThreads < 1) {
+                    System.out.println("The number of writer threads must be greater than 0. Using default.");
+                    writerThreads = WalkWriterConfiguration.NUMBER_OF_WRITER_THREADS_DEFAULT;
+                }
+            } catch (NumberFormatException nfe) {
+                System.out.println("Could not parse the number of writer threads. Using default.");
+                writerThreads = WalkWriterConfiguration.NUMBER_OF_WRITER_THREADS_DEFAULT;
+            }
+        }
+
+        String shardMaxLinesText = getValue("-shardMaxLines", args);
+        if (shardMaxLinesText != null) {
+            try {
+                shardMaxLines = Long.parseLong(shardMaxLinesText);
+            } catch (NumberFormatException nfe) {
+                System.out.println("Could not parse the maximal number of lines per shard. Using default.");
+                shardMaxLines = WalkWriterConfiguration.MAX_LINES_PER_SHARD_DEFAULT;
+            }
+        }
+
+        String shardMaxBytesText = getValue("-shardMaxBytes", args);
+        if (shardMaxBytesText != null) {
+            try {
+                shardMaxBytes = Long.parseLong(shardMaxBytesText);
+            } catch (NumberFormatException nfe) {
+                System.out.println("Could not parse the maximal number of bytes per shard. Using default.");
+                shardMaxBytes = WalkWriterConfiguration.MAX_BYTES_PER_SHARD_DEFAULT;
+            }
+        }
+
+        isDeduplicateWalks = containsIgnoreCase("-deduplicateWalks", args);
+
+        String deduplicationFppText = getValue("-deduplicationFpp", args);
+        if (deduplicationFppText != null) {
+            try {
+                deduplicationFpp = Double.parseDouble(deduplicationFppText);
+                if (deduplicationFpp <= 0.0 || deduplicationFpp >= 1.0) {
+                    System.out.println("The false-positive rate must be between 0 and 1. Using default.");
+                    deduplicationFpp = WalkWriterConfiguration.DEDUPLICATION_FALSE_POSITIVE_RATE_DEFAULT;
+                }
+            } catch (NumberFormatException nfe) {
+                System.out.println("Could not parse the false-positive rate of the deduplication. Using default.");
+                deduplicationFpp = WalkWriterConfiguration.DEDUPLICATION_FALSE_POSITIVE_RATE_DEFAULT;
+            }
+        }
+
+        String deduplicationMemoryText = getValue("-deduplicationMemory", args);
+        if (deduplicationMemoryText != null) {
+            try {
+                deduplicationMemory = Long.parseLong(deduplicationMemoryText);
+                if (deduplicationMemory < 1) {
+                    System.out.println("The memory budget of the deduplication must be at least 1 MB. Using default.");
+                    deduplicationMemory = WalkWriterConfiguration.DEDUPLICATION_MEMORY_BYTES_DEFAULT / (1024 * 1024);
+                }
+            } catch (NumberFormatException nfe) {
+                System.out.println("Could not parse the memory budget of the deduplication. Using default.");
+                deduplicationMemory = WalkWriterConfiguration.DEDUPLICATION_MEMORY_BYTES_DEFAULT / (1024 * 1024);
+            }
+        }
+
+        String seedText = getValue("-seed", args);
+        if (seedText != null) {
+            try {
+                seed = Long.parseLong(seedText);
+            } catch (NumberFormatException nfe) {
+                System.out.println("Could not parse the seed. The walks will not be reproducible.");
+                seed = null;
+            }
+        }
+
+        isOrderedOutput = containsIgnoreCase("-orderedOutput", args);
+        isCheckpointing = containsIgnoreCase("-checkpoint", args);
+        isResume = containsIgnoreCase("-resume", args);
+        isCostAwareScheduling = containsIgnoreCase("-costAwareScheduling", args);
+
+        String partitionText = getValue("-partition", args);
+        if (partitionText != null) {
+            try {
+                String[] tokens = partitionText.split("/");
+                partitionIndex = Integer.parseInt(tokens[0].trim());
+                numberOfPartitions = Integer.parseInt(tokens[1].trim());
+                if (numberOfPartitions < 1 || partitionIndex < 0 || partitionIndex >= numberOfPartitions) {
+                    System.out.println("The partition must be given as i/n with 0 <= i < n. Walks are generated for all entities.");
+                    partitionIndex = 0;
+                    numberOfPartitions = 1;
+                } else if (!isOnlyWalks && numberOfPartitions > 1) {
+                    System.out.println("-partition requires -onlyWalks. Walks are generated for all entities.");
+                    partitionIndex = 0;
+                    numberOfPartitions = 1;
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                System.out.println("Could not parse the partition (expected: i/n). Walks are generated for all entities.");
+                partitionIndex = 0;
+                numberOfPartitions = 1;
+            }
+        }
+
+        node2VecP = parseNode2VecParameter("-node2vecP", args);
+        node2VecQ = parseNode2VecParameter("-node2vecQ", args);
+
+        String node2VecIndexMemoryText = getValue("-node2vecIndexMemory", args);
+        if (node2VecIndexMemoryText != null) {
+            try {
+                node2VecIndexMemory = Long.parseLong(node2VecIndexMemoryText);
+                if (node2VecIndexMemory < 0) {
+                    System.out.println("The memory budget of the node2vec index must not be negative. Using default.");
+                    node2VecIndexMemory = WalkGenerator.NODE2VEC_INDEX_MEMORY_BYTES_DEFAULT / (1024 * 1024);
+                }
+            } catch (NumberFormatException nfe) {
+                System.out.println("Could not parse the memory budget of the node2vec index. Using default.");
+                node2VecIndexMemory = WalkGenerator.NODE2VEC_INDEX_MEMORY_BYTES_DEFAULT / (1024 * 1024);
+            }
+        }
+
+        String edgeWeightsText = getValue("-edgeWeights", args);
+        if (edgeWeightsText != null) {
+            edgeWeightFunction = EdgeWeightFunction.fromName(edgeWeightsText);
+            if (edgeWeightFunction == null) {
+                System.out.println("Unknown edge weights: " + edgeWeightsText + ". Using default (INVERSE_PREDICATE_FREQUENCY).");
+            }
+        }
+
+        String wlIterationsText = getValue("-wlIterations", args);
+        if (wlIterationsText != null) {
+            try {
+                wlIterations = Integer.parseInt(wlIterationsText);
+                if (wlIterations < 1) {
+                    System.out.println("The number of WL iterations must be positive. Using default (" + WalkGenerator.WL_ITERATIONS_DEFAULT + ").");
+                    wlIterations = WalkGenerator.WL_ITERATIONS_DEFAULT;
+                }
+            } catch (NumberFormatException nfe) {
+                System.out.println("Could not parse the number of WL iterations. Using default (" + WalkGenerator.WL_ITERATIONS_DEFAULT + ").");
+                wlIterations = WalkGenerator.WL_ITERATIONS_DEFAULT;
+            }
+        }
+
+        String restartProbabilityText = getValue("-restartProbability", args);
+        if (restartProbabilityText != null) {
+            try {
+                restartProbability = Double.parseDouble(restartProbabilityText);
+                if (!(restartProbability >= 0 && restartProbability <= 1)) {
+                    System.out.println("The restart probability must be in [0, 1]. Using default (" + WalkGenerator.RESTART_PROBABILITY_DEFAULT + ").");
+                    restartProbability = WalkGenerator.RESTART_PROBABILITY_DEFAULT;
+                }
+            } catch (NumberFormatException nfe) {
+                System.out.println("Could not parse the restart probability. Using default (" + WalkGenerator.RESTART_PROBABILITY_DEFAULT + ").");
+                restartProbability = WalkGenerator.RESTART_PROBABILITY_DEFAULT;
+            }
+        }
+
+        String metapathFilePath = getValue("-metapaths", args);
+        if (metapathFilePath != null) {
+            File metapathFile = new File(metapathFilePath);
+            if (metapathFile.isFile()) {
+                metapaths = MetapathWalkStrategy.readMetapaths(metapathFile);
+            } else {
+                System.out.println("The metapath file does not exist: " + metapathFilePath + ". Every predicate is allowed.");
+            }
+        }
+
+        String walkletScalesText = getValue("-walkletScales", args);
+        if (walkletScalesText != null) {
+            try {
+                walkletScales = Arrays.stream(walkletScalesText.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+                if (Arrays.stream(walkletScales).anyMatch(scale -> scale < 1)) {
+                    System.out.println("The walklet scales must be positive. Using default (1,2).");
+                    walkletScales = WalkGenerator.WALKLET_SCALES_DEFAULT;
+                }
+            } catch (NumberFormatException nfe) {
+                System.out.println("Could not parse the walklet scales. Using default (1,2).");
+                walkletScales = WalkGenerator.WALKLET_SCALES_DEFAULT;
+            }
+        }
+
+        String walkBudgetText = getValue("-walkBudget", args);
+        if (walkBudgetText != null) {
+            try {
+                long totalWalks = Long.parseLong(walkBudgetText);
+                int minWalks = WalkBudget.MIN_WALKS_DEFAULT;
+                int maxWalks = WalkBudget.MAX_WALKS_DEFAULT;
+                String minWalksText = getValue("-minWalksPerEntity", args);
+                if (minWalksText != null) minWalks = Integer.parseInt(minWalksText);
+                String maxWalksText = getValue("-maxWalksPerEntity", args);
+                if (maxWalksText != null) maxWalks = Integer.parseInt(maxWalksText);
+                WalkBudget.DegreeFunction degreeFunction = WalkBudget.DegreeFunction.SQRT;
+                String degreeFunctionText = getValue("-budgetDegreeFunction", args);
+                if (degreeFunctionText != null) {
+                    degreeFunction = WalkBudget.DegreeFunction.fromName(degreeFunctionText);
+                    if (degreeFunction == null) {
+                        System.out.println("Unknown degree function: " + degreeFunctionText + ". Using default (SQRT).");
+                        degreeFunction = WalkBudget.DegreeFunction.SQRT;
+                    }
+                }
+                if (totalWalks > 0) {
+                    walkBudget = new WalkBudget(totalWalks, minWalks, maxWalks, degreeFunction);
+                    System.out.println("Generating a total of " + totalWalks + " walks (" + minWalks + " to " +
+                            maxWalks + " walks per entity, proportional to the " + degreeFunction + " of the degree).");
+                } else {
+                    System.out.println("The walk budget must be positive. Generating " + numberOfWalks + " walks per entity.");
+                }
+            } catch (NumberFormatException nfe) {
+                System.out.println("Could not parse the walk budget. Generating " + numberOfWalks + " walks per entity.");
+            }
+        }
+
+        String maxPathsText = getValue("-maxPathsPerEntity", args);
+        if (maxPathsText != null) {
+            try {
+                maxPathsPerEntity = Integer.parseInt(maxPathsText);
+                if (maxPathsPerEntity < 0) {
+                    System.out.println("The maximal number of paths per entity must not be negative. Using default (unlimited).");
+                    maxPathsPerEntity = WalkGenerator.MAX_PATHS_PER_ENTITY_DEFAULT;
+                }
+            } catch (NumberFormatException nfe) {
+                System.out.println("Could not parse the maximal number of paths per entity. Using default (unlimited).");
+                maxPathsPerEntity = WalkGenerator.MAX_PATHS_PER_ENTITY_DEFAULT;
+            }
+        }
+
+        isUnifyAnonymousNodes = containsIgnoreCase("-unifyAnonymousNodes", args);
+        if (isUnifyAnonymousNodes) {
+            System.out.println("Blank nodes will be written as one token.");
+        }
+
+        isLowMemoryMode = containsIgnoreCase("-lowMemoryMode", args);
+        if (isLowMemoryMode) {
+            System.out.println("Low memory mode: The graph will be converted to HDT and memory-mapped.");
+        }
+
         if(containsIgnoreCase("-noVectorTextFileGeneration", args)){
             isVectorTextFileGeneration = false;
         } else if(containsIgnoreCase("-vectorTextFileGeneration", args)){
@@ -397,12 +814,48 @@ public class Main {
                 // light walk generation:
                 WalkGeneratorLight generatorLight = new WalkGeneratorLight(knowledgeGraphFile, lightEntityFile);
                 walkGenerationMode = (walkGenerationMode == null) ? WalkGenerationMode.MID_WALKS : walkGenerationMode;
+                generatorLight.setEntityBatchSize(entityBatchSize);
+                generatorLight.setWalkWriterConfiguration(getWalkWriterConfiguration());
+                generatorLight.setSeed(seed);
+                generatorLight.setCheckpointing(isCheckpointing);
+                generatorLight.setResume(isResume);
+                generatorLight.setCostAwareScheduling(isCostAwareScheduling);
+                generatorLight.setPartition(partitionIndex, numberOfPartitions);
+                generatorLight.setNode2VecP(node2VecP);
+                generatorLight.setNode2VecQ(node2VecQ);
+                generatorLight.setNode2VecIndexMemoryBytes(node2VecIndexMemory * 1024 * 1024);
+                generatorLight.setEdgeWeightFunction(edgeWeightFunction);
+                generatorLight.setWlIterations(wlIterations);
+                generatorLight.setRestartProbability(restartProbability);
+                generatorLight.setMetapaths(metapaths);
+                generatorLight.setWalkletScales(walkletScales);
+                generatorLight.setWalkBudget(walkBudget);
+                generatorLight.setMaxPathsPerEntity(maxPathsPerEntity);
+                generatorLight.setUnifyAnonymousNodes(isUnifyAnonymousNodes);
                 generatorLight.generateWalks(walkGenerationMode, numberOfThreads, numberOfWalks, depth, walkFile);
 
             } else {
                 // classic walk generation
-                WalkGeneratorDefault classicGenerator = new WalkGeneratorDefault(knowledgeGraphFile);
-                walkGenerationMode = (walkGenerationMode == null) ? WalkGenerationMode.RANDOM_WALKS_DUPLICATE_FREE : walkGenerationMode;
+                WalkGeneratorDefault classicGenerator = new WalkGeneratorDefault(knowledgeGraphFile, isLowMemoryMode);
+                walkGenerationMode = (walkGenerationMode == null) ? getDefaultClassicWalkGenerationMode() : walkGenerationMode;
+                classicGenerator.setEntityBatchSize(entityBatchSize);
+                classicGenerator.setWalkWriterConfiguration(getWalkWriterConfiguration());
+                classicGenerator.setSeed(seed);
+                classicGenerator.setCheckpointing(isCheckpointing);
+                classicGenerator.setResume(isResume);
+                classicGenerator.setCostAwareScheduling(isCostAwareScheduling);
+                classicGenerator.setPartition(partitionIndex, numberOfPartitions);
+                classicGenerator.setNode2VecP(node2VecP);
+                classicGenerator.setNode2VecQ(node2VecQ);
+                classicGenerator.setNode2VecIndexMemoryBytes(node2VecIndexMemory * 1024 * 1024);
+                classicGenerator.setEdgeWeightFunction(edgeWeightFunction);
+                classicGenerator.setWlIterations(wlIterations);
+                classicGenerator.setRestartProbability(restartProbability);
+                classicGenerator.setMetapaths(metapaths);
+                classicGenerator.setWalkletScales(walkletScales);
+                classicGenerator.setWalkBudget(walkBudget);
+                classicGenerator.setMaxPathsPerEntity(maxPathsPerEntity);
+                classicGenerator.setUnifyAnonymousNodes(isUnifyAnonymousNodes);
                 classicGenerator.generateWalks(walkGenerationMode, numberOfThreads, numberOfWalks, depth, walkFile);
             }
 
@@ -435,8 +888,39 @@ public class Main {
             if (numberOfWalks > 0) rdf2vec.setNumberOfWalksPerEntity(numberOfWalks);
 
             // setting the walk generation mode
+            walkGenerationMode = (walkGenerationMode == null) ? getDefaultClassicWalkGenerationMode() : walkGenerationMode;
             rdf2vec.setWalkGenerationMode(walkGenerationMode);
 
+            // low memory mode
+            rdf2vec.setLowMemoryMode(isLowMemoryMode);
+
+            // entity batch size of the walk generation
+            rdf2vec.setEntityBatchSize(entityBatchSize);
+
+            // compression and sharding of the walk files
+            rdf2vec.setWalkWriterConfiguration(getWalkWriterConfiguration());
+
+            // reproducible walks
+            rdf2vec.setSeed(seed);
+
+            // checkpoints of the walk generation
+            rdf2vec.setCheckpointing(isCheckpointing);
+            rdf2vec.setResume(isResume);
+            rdf2vec.setCostAwareScheduling(isCostAwareScheduling);
+
+            // parameters of the node2vec walks
+            rdf2vec.setNode2VecP(node2VecP);
+            rdf2vec.setNode2VecQ(node2VecQ);
+            rdf2vec.setNode2VecIndexMemoryBytes(node2VecIndexMemory * 1024 * 1024);
+            rdf2vec.setEdgeWeightFunction(edgeWeightFunction);
+            rdf2vec.setWlIterations(wlIterations);
+            rdf2vec.setRestartProbability(restartProbability);
+            rdf2vec.setMetapaths(metapaths);
+            rdf2vec.setWalkletScales(walkletScales);
+            rdf2vec.setWalkBudget(walkBudget);
+            rdf2vec.setMaxPathsPerEntity(maxPathsPerEntity);
+            rdf2vec.setUnifyAnonymousNodes(isUnifyAnonymousNodes);
+
             // set resource directory for python server files
             if (resourcesDirectory != null) rdf2vec.setPythonServerResourceDirectory(resourcesDirectory);
 
@@ -497,6 +981,19 @@ public class Main {
         System.out.println(rdf2VecInstance.getRequiredTimeForLastTrainingString());
     }
 
+    /**
+     * The default walk generation mode for RDF2Vec classic. In low memory mode, the graph is accessed through HDT
+     * which supports mid walks only.
+     * @return Default walk generation mode.
+     */
+    private static WalkGenerationMode getDefaultClassicWalkGenerationMode() {
+        if (isLowMemoryMode) {
+            System.out.println("Low memory mode: Using default walk generation mode " + WalkGenerationMode.MID_WALKS);
+            return WalkGenerationMode.MID_WALKS;
+        }
+        return WalkGenerationMode.RANDOM_WALKS_DUPLICATE_FREE;
+    }
+
     /**
      * Given a model or vector file, a text file is generated containing all the vectors.
      * @param transformationSource File path to the model or vector file.
@@ -528,6 +1025,45 @@ public class Main {
         }
     }
 
+    /**
+     * Assembles the walk writer configuration from the parsed arguments.
+     *
+     * @return Walk writer configuration.
+     */
+    private static WalkWriterConfiguration getWalkWriterConfiguration() {
+        WalkWriterConfiguration configuration = new WalkWriterConfiguration();
+        configuration.setCompressionThreads(compressionThreads);
+        configuration.setCompressionLevel(compressionLevel);
+        configuration.setNumberOfWriterThreads(writerThreads);
+        configuration.setMaxLinesPerShard(shardMaxLines);
+        configuration.setMaxBytesPerShard(shardMaxBytes);
+        configuration.setDeduplicateWalks(isDeduplicateWalks);
+        configuration.setDeduplicationFalsePositiveRate(deduplicationFpp);
+        configuration.setDeduplicationMemoryBytes(deduplicationMemory * 1024 * 1024);
+        configuration.setOrderedOutput(isOrderedOutput);
+        return configuration;
+    }
+
+    /**
+     * Parses a parameter of the node2vec walks.
+     *
+     * @param key       Arg key.
+     * @param arguments Arguments as received upon program start.
+     * @return The parameter or the default if it is not set or invalid.
+     */
+    private static double parseNode2VecParameter(String key, String[] arguments) {
+        String text = getValue(key, arguments);
+        if (text == null) return WalkGenerator.NODE2VEC_PARAMETER_DEFAULT;
+        try {
+            double value = Double.parseDouble(text);
+            if (value > 0 && !Double.isInfinite(value)) return value;
+            System.out.println("The parameter " + key + " must be positive. Using default.");
+        } catch (NumberFormatException nfe) {
+            System.out.println("Could not parse " + key + ". Using default.");
+        }
+        return WalkGenerator.NODE2VEC_PARAMETER_DEFAULT;
+    }
+
     /**
      * Helper method.
      *
@@ -684,10 +1220,15 @@ public class Main {
                 "    This parameter controls the depth of each walk. Depth is defined as the number of hops. Hence, you\n" +
                 "    can also set an odd number. A depth of 1 leads to a sentence in the form <s p o>.\n\n" +
 
-                "    -walkGenerationMode <MID_WALKS | MID_WALKS_DUPLICATE_FREE | RANDOM_WALKS | RANDOM_WALKS_DUPLICATE_FREE>\n" +
+                "    -walkGenerationMode <MID_WALKS | MID_WALKS_DUPLICATE_FREE | RANDOM_WALKS | RANDOM_WALKS_DUPLICATE_FREE |\n" +
+                "    NODE2VEC | RANDOM_WALKS_WEIGHTED | WL_SEQUENCES | RANDOM_E_WALKS | RANDOM_P_WALKS | MID_E_WALKS |\n" +
+                "    MID_P_WALKS | RANDOM_WALKS_WITH_RESTART | METAPATH_WALKS | RANDOM_WALKS_UNDIRECTED | WALKLETS |\n" +
+                "    EXHAUSTIVE_PATHS>\n" +
                 "    (default for light: MID_WALKS, default for classic: RANDOM_WALKS_DUPLICATE_FREE)\n" +
                 "    This parameter determines the mode for the walk generation (multiple walk generation algorithms\n" +
-                "    are available). Reasonable defaults are set.\n\n" +
+                "    are available). Reasonable defaults are set. The *_E_WALKS modes write only the entities of a walk,\n" +
+                "    the *_P_WALKS modes only the predicates (anchored on the start entity). RANDOM_WALKS_UNDIRECTED also\n" +
+                "    follows triples backwards and writes their predicate as ^predicate.\n\n" +
 
                 "    -threads <number_of_threads> (default: (# of available processors) / 2)\n" +
                 "    This parameter allows you to set the number of threads that shall be used for the walk generation\n" +
@@ -697,6 +1238,124 @@ public class Main {
                 "    The directory where the walks shall be generated into. In case of -onlyTraining, the directory\n" +
                 "    where the walks reside.\n\n" +
 
+                "    -lowMemoryMode\n" +
+                "    If added to the call, an NT graph file is converted to HDT (in the same directory) and the HDT file\n" +
+                "    is memory-mapped instead of loading the graph into the heap. The conversion and the generated index\n" +
+                "    file are reused on later runs. The one-time conversion builds the HDT dictionary in the heap: plan for\n" +
+                "    a heap (-Xmx) of about the size of the uncompressed NT file, or convert the file beforehand with\n" +
+                "    rdf2hdt and pass the HDT file. Only MID_WALKS and MID_WALKS_DUPLICATE_FREE are available in this mode\n" +
+                "    (default: MID_WALKS).\n\n" +
+
+                "    -entityBatchSize <number> (default: 1000)\n" +
+                "    The number of entities that a walk generation thread obtains at once. Larger batches reduce the\n" +
+                "    scheduling overhead, smaller batches balance the load better.\n\n" +
+
+                "    -compressionThreads <number> (default: number of walk generation threads)\n" +
+                "    The number of threads that compress the walk files. With more than one thread, the walk files are\n" +
+                "    written as a sequence of independently compressed gzip members.\n\n" +
+
+                "    -compressionLevel <0-9> (default: 6)\n" +
+                "    The gzip compression level of the walk files.\n\n" +
+
+                "    -writerThreads <number> (default: 1)\n" +
+                "    The number of threads that write the walk files. Every writer thread writes its own sequence of\n" +
+                "    shards. All shards are listed in walk_file.manifest together with their line counts and checksums.\n\n" +
+
+                "    -shardMaxLines <number> (default: 3000000)\n" +
+                "    The number of walks after which a writer thread starts a new walk file (0: unlimited).\n\n" +
+
+                "    -shardMaxBytes <number> (default: 0)\n" +
+                "    The number of uncompressed bytes after which a writer thread starts a new walk file (0: unlimited).\n\n" +
+
+                "    -deduplicateWalks\n" +
+                "    If added to the call, identical walks (e.g. the same mid walk generated for different entities) are\n" +
+                "    written only once across the whole corpus. A Bloom filter is used, i.e., a small fraction of unique\n" +
+                "    walks may be dropped as well. The number of dropped walks is logged.\n\n" +
+
+                "    -deduplicationFpp <rate> (default: 0.01)\n" +
+                "    The false-positive rate of the deduplication filter.\n\n" +
+
+                "    -deduplicationMemory <MB> (default: 256)\n" +
+                "    The memory budget of the deduplication filter in MB.\n\n" +
+
+                "    -seed <number>\n" +
+                "    If set, the random choices of the walk generation are derived from the seed and the entity. The walks\n" +
+                "    of an entity are then identical across runs, independently of the number of threads.\n\n" +
+
+                "    -orderedOutput\n" +
+                "    If added to the call, the walks are written in the order of the entities rather than in the order in\n" +
+                "    which the threads finish. Together with -seed, repeated runs produce byte-identical walk files.\n\n" +
+
+                "    -checkpoint\n" +
+                "    If added to the call, a checkpoint (walk_file.checkpoint) is written whenever a walk file is completed.\n" +
+                "    Implies -orderedOutput.\n\n" +
+
+                "    -resume\n" +
+                "    If added to the call, an interrupted walk generation is resumed from its checkpoint: completed walk files\n" +
+                "    are kept and the remaining entities are processed. Use the same graph, parameters, and -seed as in the\n" +
+                "    interrupted run. If the entities are handed out in a different order than in the interrupted run, the\n" +
+                "    walk generation starts from scratch. Implies -checkpoint.\n\n" +
+
+                "    -costAwareScheduling\n" +
+                "    If added to the call, the cost of every entity is estimated from its degree and the walk depth before\n" +
+                "    the walk generation starts. Expensive entities (hubs) are then processed first so that they do not\n" +
+                "    delay the end of the walk generation on skewed graphs.\n\n" +
+
+                "    -partition <i/n>\n" +
+                "    Generates the walks only for partition i (0 <= i < n) of the entities; requires -onlyWalks. The entities\n" +
+                "    are assigned to the partitions by a stable hash, so n machines can generate the walks of a graph\n" +
+                "    independently. Every partition writes its own files (e.g. walk_file_p0of4.gz) which can be merged into\n" +
+                "    one walk directory for the training.\n\n" +
+
+                "    -node2vecP <number> (default: 1.0)\n" +
+                "    The return parameter p of the NODE2VEC walk generation mode. Low values make it likely that a walk\n" +
+                "    returns to the node it came from.\n\n" +
+
+                "    -node2vecQ <number> (default: 1.0)\n" +
+                "    The in-out parameter q of the NODE2VEC walk generation mode. Values above 1 keep the walks close to\n" +
+                "    the previous node, values below 1 let them move away from it. p = q = 1 equals RANDOM_WALKS.\n\n" +
+
+                "    -node2vecIndexMemory <MB> (default: 256)\n" +
+                "    The memory budget of the neighbor index of the NODE2VEC walks. The successors of high-degree nodes\n" +
+                "    are kept in hash sets within this budget; other nodes are checked with a scan.\n\n" +
+
+                "    -edgeWeights <INVERSE_PREDICATE_FREQUENCY | INVERSE_OBJECT_DEGREE | PAGE_RANK>\n" +
+                "    (default: INVERSE_PREDICATE_FREQUENCY)\n" +
+                "    The edge weights of the RANDOM_WALKS_WEIGHTED walk generation mode. The next hop is drawn\n" +
+                "    proportionally to the weight of the outgoing triples (rare predicates, rarely used objects, or\n" +
+                "    objects with a high PageRank).\n\n" +
+
+                "    -wlIterations <number> (default: 4)\n" +
+                "    The number of Weisfeiler-Lehman iterations of the WL_SEQUENCES walk generation mode. Every walk is\n" +
+                "    written once with the original nodes and once per iteration with the nodes replaced by their WL labels.\n\n" +
+
+                "    -restartProbability <number> (default: 0.15)\n" +
+                "    The probability with which the RANDOM_WALKS_WITH_RESTART jump back to the entity before a hop. Higher\n" +
+                "    values keep the walks closer to the entity.\n\n" +
+
+                "    -metapaths <file>\n" +
+                "    The predicate patterns of the METAPATH_WALKS walk generation mode: one pattern per line, the predicates\n" +
+                "    (URIs) are separated by spaces, * matches any predicate. The walks follow the predicates of one pattern\n" +
+                "    (repeated if the walks are longer).\n\n" +
+
+                "    -walkletScales <k1,k2,...> (default: 1,2)\n" +
+                "    The skip distances of the WALKLETS walk generation mode. For every scale k, the pairs of entities that\n" +
+                "    are k hops apart in a random walk are written (one pair per line). A training window of 1 suffices.\n\n" +
+
+                "    -walkBudget <number>\n" +
+                "    The total number of walks. If set, the walks are allocated to the entities proportionally to a function\n" +
+                "    of their degree instead of generating -numberOfWalks walks for every entity. The allocation is bounded\n" +
+                "    by -minWalksPerEntity <number> (default: 1) and -maxWalksPerEntity <number> (default: 1000); the\n" +
+                "    function is set with -budgetDegreeFunction <LINEAR | SQRT | LOG> (default: SQRT).\n\n" +
+
+                "    -maxPathsPerEntity <number> (default: 0, i.e. unlimited)\n" +
+                "    The maximal number of paths per entity of the EXHAUSTIVE_PATHS walk generation mode, which writes all\n" +
+                "    distinct paths up to the depth instead of random walks (intended for a depth of up to 3).\n\n" +
+
+                "    -unifyAnonymousNodes\n" +
+                "    If added to the call, all blank nodes are written as the single token ANode instead of their labels\n" +
+                "    and no walks are generated for blank nodes (not available in the low memory mode).\n\n" +
+
                 "    -onlyTraining\n" +
                 "    If added to the call, this switch will deactivate the walk generation part so that only the training\n" +
                 "    is performed. The parameter -walkDirectory must be set. If walk generation parameters are specified,\n" +
@@ -770,6 +1429,34 @@ public class Main {
         walkGenerationMode = null;
         isVectorTextFileGeneration = true;
         isOnlyTraining = false;
+        isLowMemoryMode = false;
+        entityBatchSize = WalkGenerator.DEFAULT_ENTITY_BATCH_SIZE;
+        compressionThreads = -1;
+        compressionLevel = WalkWriterConfiguration.COMPRESSION_LEVEL_DEFAULT;
+        writerThreads = WalkWriterConfiguration.NUMBER_OF_WRITER_THREADS_DEFAULT;
+        shardMaxLines = WalkWriterConfiguration.MAX_LINES_PER_SHARD_DEFAULT;
+        shardMaxBytes = WalkWriterConfiguration.MAX_BYTES_PER_SHARD_DEFAULT;
+        isDeduplicateWalks = false;
+        deduplicationFpp = WalkWriterConfiguration.DEDUPLICATION_FALSE_POSITIVE_RATE_DEFAULT;
+        deduplicationMemory = WalkWriterConfiguration.DEDUPLICATION_MEMORY_BYTES_DEFAULT / (1024 * 1024);
+        seed = null;
+        isOrderedOutput = false;
+        isCheckpointing = false;
+        isResume = false;
+        isCostAwareScheduling = false;
+        partitionIndex = 0;
+        numberOfPartitions = 1;
+        node2VecP = WalkGenerator.NODE2VEC_PARAMETER_DEFAULT;
+        node2VecQ = WalkGenerator.NODE2VEC_PARAMETER_DEFAULT;
+        node2VecIndexMemory = WalkGenerator.NODE2VEC_INDEX_MEMORY_BYTES_DEFAULT / (1024 * 1024);
+        edgeWeightFunction = null;
+        wlIterations = WalkGenerator.WL_ITERATIONS_DEFAULT;
+        restartProbability = WalkGenerator.RESTART_PROBABILITY_DEFAULT;
+        metapaths = null;
+        walkletScales = WalkGenerator.WALKLET_SCALES_DEFAULT;
+        walkBudget = null;
+        maxPathsPerEntity = WalkGenerator.MAX_PATHS_PER_ENTITY_DEFAULT;
+        isUnifyAnonymousNodes = false;
     }
 
 }
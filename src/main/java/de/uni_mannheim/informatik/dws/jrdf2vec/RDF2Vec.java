@@ -6,11 +6,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import de.uni_mannheim.informatik.dws.jrdf2vec.training.Gensim;
 import de.uni_mannheim.informatik.dws.jrdf2vec.training.Word2VecConfiguration;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkBudget;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerationMode;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGeneratorDefault;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers.WalkWriterConfiguration;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.weights.EdgeWeightFunction;
 
 import java.io.File;
 import java.time.Instant;
+import java.util.List;
 
 import static de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGeneratorDefault.DEFAULT_WALK_FILE_TO_BE_WRITTEN;
 
@@ -95,6 +100,96 @@ public class RDF2Vec implements IRDF2Vec {
      */
     boolean isVectorTextFileGeneration = true;
 
+    /**
+     * If true, the knowledge graph is converted to HDT and memory-mapped rather than loaded into the heap.
+     */
+    boolean isLowMemoryMode = false;
+
+    /**
+     * Number of entities that a walk generation thread obtains at once.
+     */
+    int entityBatchSize = WalkGenerator.DEFAULT_ENTITY_BATCH_SIZE;
+
+    /**
+     * Configuration of the walk writer (compression, sharding).
+     */
+    WalkWriterConfiguration walkWriterConfiguration = new WalkWriterConfiguration();
+
+    /**
+     * Seed of the walk generation (null: walks are not reproducible).
+     */
+    Long seed = null;
+
+    /**
+     * If true, a checkpoint is written whenever a walk shard is completed.
+     */
+    boolean isCheckpointing = false;
+
+    /**
+     * If true, an interrupted walk generation is resumed from its checkpoint.
+     */
+    boolean isResume = false;
+
+    /**
+     * If true, expensive entities are processed first.
+     */
+    boolean isCostAwareScheduling = false;
+
+    /**
+     * Return parameter p of the node2vec walks.
+     */
+    double node2VecP = WalkGenerator.NODE2VEC_PARAMETER_DEFAULT;
+
+    /**
+     * In-out parameter q of the node2vec walks.
+     */
+    double node2VecQ = WalkGenerator.NODE2VEC_PARAMETER_DEFAULT;
+
+    /**
+     * Memory budget of the neighbor index of the node2vec walks in bytes.
+     */
+    long node2VecIndexMemoryBytes = WalkGenerator.NODE2VEC_INDEX_MEMORY_BYTES_DEFAULT;
+
+    /**
+     * Edge weights of the weighted random walks (null: inverse predicate frequency).
+     */
+    EdgeWeightFunction edgeWeightFunction = null;
+
+    /**
+     * Number of Weisfeiler-Lehman iterations of the WL sequences.
+     */
+    int wlIterations = WalkGenerator.WL_ITERATIONS_DEFAULT;
+
+    /**
+     * Restart probability of the random walks with restart.
+     */
+    double restartProbability = WalkGenerator.RESTART_PROBABILITY_DEFAULT;
+
+    /**
+     * Predicate patterns of the metapath walks (null: any predicate).
+     */
+    List<List<String>> metapaths = null;
+
+    /**
+     * Skip distances of the walklets.
+     */
+    int[] walkletScales = WalkGenerator.WALKLET_SCALES_DEFAULT;
+
+    /**
+     * Global budget of walks (null: every entity obtains the same number of walks).
+     */
+    WalkBudget walkBudget = null;
+
+    /**
+     * Maximal number of exhaustive paths per entity (0: unlimited).
+     */
+    int maxPathsPerEntity = WalkGenerator.MAX_PATHS_PER_ENTITY_DEFAULT;
+
+    /**
+     * Indicator whether all blank nodes are written as one token.
+     */
+    boolean isUnifyAnonymousNodes = false;
+
     /**
      * Constructor
      *
@@ -170,10 +265,27 @@ public class RDF2Vec implements IRDF2Vec {
 
         WalkGeneratorDefault classicGenerator;
         if(useFile) {
-            classicGenerator = new WalkGeneratorDefault(this.knowledgeGraphFile);
+            classicGenerator = new WalkGeneratorDefault(this.knowledgeGraphFile, isLowMemoryMode);
         } else {
             classicGenerator = new WalkGeneratorDefault(this.ontModel);
         }
+        classicGenerator.setEntityBatchSize(entityBatchSize);
+        classicGenerator.setWalkWriterConfiguration(walkWriterConfiguration);
+        classicGenerator.setSeed(seed);
+        classicGenerator.setCheckpointing(isCheckpointing);
+        classicGenerator.setResume(isResume);
+        classicGenerator.setCostAwareScheduling(isCostAwareScheduling);
+        classicGenerator.setNode2VecP(node2VecP);
+        classicGenerator.setNode2VecQ(node2VecQ);
+        classicGenerator.setNode2VecIndexMemoryBytes(node2VecIndexMemoryBytes);
+        classicGenerator.setEdgeWeightFunction(edgeWeightFunction);
+        classicGenerator.setWlIterations(wlIterations);
+        classicGenerator.setRestartProbability(restartProbability);
+        classicGenerator.setMetapaths(metapaths);
+        classicGenerator.setWalkletScales(walkletScales);
+        classicGenerator.setWalkBudget(walkBudget);
+        classicGenerator.setMaxPathsPerEntity(maxPathsPerEntity);
+        classicGenerator.setUnifyAnonymousNodes(isUnifyAnonymousNodes);
         classicGenerator.generateWalks(walkGenerationMode, numberOfThreads, numberOfWalksPerEntity, depth, getWalkFilePath());
 
         Instant after = Instant.now();
@@ -335,4 +447,164 @@ public class RDF2Vec implements IRDF2Vec {
     public void setVectorTextFileGeneration(boolean vectorTextFileGeneration) {
         isVectorTextFileGeneration = vectorTextFileGeneration;
     }
+
+    public boolean isLowMemoryMode() {
+        return isLowMemoryMode;
+    }
+
+    public void setLowMemoryMode(boolean lowMemoryMode) {
+        isLowMemoryMode = lowMemoryMode;
+    }
+
+    public int getEntityBatchSize() {
+        return entityBatchSize;
+    }
+
+    public void setEntityBatchSize(int entityBatchSize) {
+        this.entityBatchSize = entityBatchSize;
+    }
+
+    public int getCompressionThreads() {
+        return walkWriterConfiguration.getCompressionThreads();
+    }
+
+    public void setCompressionThreads(int compressionThreads) {
+        walkWriterConfiguration.setCompressionThreads(compressionThreads);
+    }
+
+    public int getCompressionLevel() {
+        return walkWriterConfiguration.getCompressionLevel();
+    }
+
+    public void setCompressionLevel(int compressionLevel) {
+        walkWriterConfiguration.setCompressionLevel(compressionLevel);
+    }
+
+    public WalkWriterConfiguration getWalkWriterConfiguration() {
+        return walkWriterConfiguration;
+    }
+
+    public void setWalkWriterConfiguration(WalkWriterConfiguration walkWriterConfiguration) {
+        this.walkWriterConfiguration = walkWriterConfiguration;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public boolean isCheckpointing() {
+        return isCheckpointing;
+    }
+
+    public void setCheckpointing(boolean checkpointing) {
+        isCheckpointing = checkpointing;
+    }
+
+    public boolean isResume() {
+        return isResume;
+    }
+
+    public void setResume(boolean resume) {
+        isResume = resume;
+    }
+
+    public boolean isCostAwareScheduling() {
+        return isCostAwareScheduling;
+    }
+
+    public void setCostAwareScheduling(boolean costAwareScheduling) {
+        isCostAwareScheduling = costAwareScheduling;
+    }
+
+    public double getNode2VecP() {
+        return node2VecP;
+    }
+
+    public void setNode2VecP(double node2VecP) {
+        this.node2VecP = node2VecP;
+    }
+
+    public double getNode2VecQ() {
+        return node2VecQ;
+    }
+
+    public void setNode2VecQ(double node2VecQ) {
+        this.node2VecQ = node2VecQ;
+    }
+
+    public long getNode2VecIndexMemoryBytes() {
+        return node2VecIndexMemoryBytes;
+    }
+
+    public void setNode2VecIndexMemoryBytes(long node2VecIndexMemoryBytes) {
+        this.node2VecIndexMemoryBytes = node2VecIndexMemoryBytes;
+    }
+
+    public EdgeWeightFunction getEdgeWeightFunction() {
+        return edgeWeightFunction;
+    }
+
+    public void setEdgeWeightFunction(EdgeWeightFunction edgeWeightFunction) {
+        this.edgeWeightFunction = edgeWeightFunction;
+    }
+
+    public int getWlIterations() {
+        return wlIterations;
+    }
+
+    public void setWlIterations(int wlIterations) {
+        this.wlIterations = wlIterations;
+    }
+
+    public double getRestartProbability() {
+        return restartProbability;
+    }
+
+    public void setRestartProbability(double restartProbability) {
+        this.restartProbability = restartProbability;
+    }
+
+    public List<List<String>> getMetapaths() {
+        return metapaths;
+    }
+
+    public void setMetapaths(List<List<String>> metapaths) {
+        this.metapaths = metapaths;
+    }
+
+    public int[] getWalkletScales() {
+        return walkletScales;
+    }
+
+    public void setWalkletScales(int[] walkletScales) {
+        this.walkletScales = walkletScales;
+    }
+
+    public WalkBudget getWalkBudget() {
+        return walkBudget;
+    }
+
+    public void setWalkBudget(WalkBudget walkBudget) {
+        this.walkBudget = walkBudget;
+    }
+
+    public int getMaxPathsPerEntity() {
+        return maxPathsPerEntity;
+    }
+
+    public void setMaxPathsPerEntity(int maxPathsPerEntity) {
+        this.maxPathsPerEntity = maxPathsPerEntity;
+    }
+
+    public boolean isUnifyAnonymousNodes() {
+        return isUnifyAnonymousNodes;
+    }
+
+    public void setUnifyAnonymousNodes(boolean unifyAnonymousNodes) {
+        isUnifyAnonymousNodes = unifyAnonymousNodes;
+    }
 }
@@ -8,6 +8,10 @@ import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.IParser;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.MemoryParser;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.ParserManager;
 import org.javatuples.Pair;
+import org.rdfhdt.hdt.dictionary.Dictionary;
+import org.rdfhdt.hdt.dictionary.DictionarySection;
+import org.rdfhdt.hdt.enums.TripleComponentRole;
+import org.rdfhdt.hdt.hdt.HDT;
 import org.javatuples.Triplet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +19,7 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 
 /**
@@ -24,6 +29,11 @@ public class VocabularyAnalyzer {
 
     private static Logger LOGGER = LoggerFactory.getLogger(VocabularyAnalyzer.class);
 
+    /**
+     * File ending of the report file that is written next to the model for HDT graphs.
+     */
+    public static final String REPORT_FILE_ENDING = "_vocabulary_report.txt";
+
     /**
      * Check for missing entities given an entity file with one entity per line. The file must be UTF-8 encoded.
      * Note that this analysis is less complete than {@link VocabularyAnalyzer#analyze(String, String)}.
@@ -92,17 +102,55 @@ public class VocabularyAnalyzer {
 
     /**
      * Complete analysis via the triple file on which the embedding has been trained on.
+     * For HDT files, the concepts are written to the report file {@code <model file>_vocabulary_report.txt}
+     * (see {@link VocabularyAnalyzer#analyze(String, String, File)}).
      * @param filePathToModel File path to the model (kv file, model file, text file).
      * @param filePathToTripleFile File path to the file with which the model has been trained.
      * @return Result of the analysis.
      */
     public static VocabularyAnalyzerResult analyze(String filePathToModel, String filePathToTripleFile){
+        return analyze(filePathToModel, filePathToTripleFile, new File(filePathToModel + REPORT_FILE_ENDING));
+    }
+
+    /**
+     * Complete analysis via the triple file on which the embedding has been trained on.
+     * @param filePathToModel File path to the model (kv file, model file, text file).
+     * @param filePathToTripleFile File path to the file with which the model has been trained.
+     * @param reportFile File to which the concepts are written for HDT graphs (the result only contains their
+     *                   numbers then). It is not used for other graphs.
+     * @return Result of the analysis.
+     */
+    public static VocabularyAnalyzerResult analyze(String filePathToModel, String filePathToTripleFile, File reportFile){
         VocabularyAnalyzerResult result = new VocabularyAnalyzerResult();
 
+        if(filePathToTripleFile.toLowerCase().endsWith(".hdt")){
+            // the HDT file is not parsed into memory, its dictionary is streamed instead
+            HDT hdtDataSet;
+            try {
+                hdtDataSet = HdtParser.loadMemoryMappedHdt(filePathToTripleFile);
+            } catch (IOException ioe){
+                LOGGER.error("Could not load HDT file. ABORTING operation.", ioe);
+                return result;
+            }
+            Triplet<Set<String>, Integer, Boolean> readInfo = getModelVocabulary(filePathToModel);
+            result.setDimension(readInfo.getValue1());
+            result.setDimensionConsistent(readInfo.getValue2());
+            analyzeHdt(readInfo.getValue0(), hdtDataSet, result, reportFile);
+            try {
+                hdtDataSet.close();
+            } catch (IOException ioe){
+                LOGGER.warn("Could not close HDT data set.", ioe);
+            }
+            return result;
+        }
+
         Pair<IParser, EntitySelector> parserPair = ParserManager.parseSingleFile(filePathToTripleFile);
 
         if(parserPair.getValue0().getClass() == HdtParser.class){
-            LOGGER.error("Analysis is not implemented for HDT parser!");
+            Triplet<Set<String>, Integer, Boolean> readInfo = getModelVocabulary(filePathToModel);
+            result.setDimension(readInfo.getValue1());
+            result.setDimensionConsistent(readInfo.getValue2());
+            analyzeHdt(readInfo.getValue0(), ((HdtParser) parserPair.getValue0()).getHdtDataSet(), result, reportFile);
             return result;
         }
         Triplet<Set<String>, Integer, Boolean> readInfo = getModelVocabulary(filePathToModel);
@@ -134,6 +182,89 @@ public class VocabularyAnalyzer {
         return result;
     }
 
+    /**
+     * Analysis for HDT data sets. The dictionary sections of the HDT data set are streamed (in sorted order) and every
+     * term is looked up in the model vocabulary. Additional concepts are determined by looking up every model concept
+     * in the HDT dictionary. The terms of the graph are never materialized in memory: the terms that are not found and
+     * the additional concepts are only counted and written to the report file, so the memory does not depend on the
+     * size of the graph or on the coverage of the model. Literals are skipped because they are not part of the walks.
+     * @param conceptsInModel The vocabulary of the model.
+     * @param hdtDataSet The HDT data set on which the model has been trained.
+     * @param result The result object that is to be filled.
+     * @param reportFile The file to which the terms that are not found and the additional concepts are written.
+     */
+    static void analyzeHdt(Set<String> conceptsInModel, HDT hdtDataSet, VocabularyAnalyzerResult result, File reportFile){
+        if(conceptsInModel == null){
+            LOGGER.error("The model vocabulary could not be read. ABORTING operation.");
+            return;
+        }
+        Dictionary dictionary = hdtDataSet.getDictionary();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(reportFile), StandardCharsets.UTF_8))) {
+            // shared terms appear as subject and as object
+            writer.write("# Subjects and objects not found\n");
+            long sharedNotFound = writeTermsNotInVocabulary(dictionary.getShared(), conceptsInModel, writer);
+            writer.write("# Subjects not found\n");
+            long subjectsNotFound = writeTermsNotInVocabulary(dictionary.getSubjects(), conceptsInModel, writer);
+            writer.write("# Objects not found\n");
+            long objectsNotFound = writeTermsNotInVocabulary(dictionary.getObjects(), conceptsInModel, writer);
+
+            writer.write("# Predicates not found\n");
+            long predicatesNotFound = 0;
+            long predicatesNotFoundAsNodes = 0;
+            Iterator<? extends CharSequence> iterator = dictionary.getPredicates().getSortedEntries();
+            while(iterator.hasNext()){
+                String term = iterator.next().toString();
+                if(conceptsInModel.contains(term)) continue;
+                writer.write(term + "\n");
+                predicatesNotFound++;
+                // such predicates have already been counted as subjects or objects
+                if(dictionary.stringToId(term, TripleComponentRole.SUBJECT) > 0 ||
+                        dictionary.stringToId(term, TripleComponentRole.OBJECT) > 0){
+                    predicatesNotFoundAsNodes++;
+                }
+            }
+
+            writer.write("# Additional concepts\n");
+            long additionalConcepts = 0;
+            for(String concept : conceptsInModel){
+                if(dictionary.stringToId(concept, TripleComponentRole.SUBJECT) > 0) continue;
+                if(dictionary.stringToId(concept, TripleComponentRole.OBJECT) > 0) continue;
+                if(dictionary.stringToId(concept, TripleComponentRole.PREDICATE) > 0) continue;
+                writer.write(concept + "\n");
+                additionalConcepts++;
+            }
+            result.setCounts(sharedNotFound + subjectsNotFound, predicatesNotFound, sharedNotFound + objectsNotFound,
+                    sharedNotFound + subjectsNotFound + objectsNotFound + predicatesNotFound - predicatesNotFoundAsNodes,
+                    additionalConcepts);
+            result.setReportFile(reportFile);
+        } catch (IOException ioe){
+            LOGGER.error("Could not write the vocabulary report: " + reportFile.getAbsolutePath() + " ABORTING operation.", ioe);
+        }
+    }
+
+    /**
+     * Streams the terms of the given dictionary section and writes every non-literal term that is not contained in the
+     * vocabulary to the given writer (one term per line).
+     * @param section The section whose terms shall be checked.
+     * @param vocabulary The vocabulary of the model.
+     * @param writer The writer to which terms that are not found shall be written.
+     * @return The number of terms that are not found.
+     * @throws IOException If the terms cannot be written.
+     */
+    private static long writeTermsNotInVocabulary(DictionarySection section, Set<String> vocabulary, Writer writer) throws IOException {
+        long notFound = 0;
+        Iterator<? extends CharSequence> iterator = section.getSortedEntries();
+        while(iterator.hasNext()){
+            String term = iterator.next().toString();
+            if(term.startsWith("\"")) continue;
+            if(!vocabulary.contains(term)){
+                writer.write(term + "\n");
+                notFound++;
+            }
+        }
+        return notFound;
+    }
+
 
     /**
      * Read the complete vocabulary from the specified file.
@@ -1,10 +1,13 @@
 package de.uni_mannheim.informatik.dws.jrdf2vec.debugging;
 
+import java.io.File;
 import java.util.HashSet;
 import java.util.Set;
 
 /**
  * Result object of {@link VocabularyAnalyzer}.
+ * For large graphs (HDT), the terms are not collected in the sets; only their numbers are kept and the terms are
+ * written to the {@link VocabularyAnalyzerResult#getReportFile() report file}.
  */
 public class VocabularyAnalyzerResult {
 
@@ -13,6 +16,20 @@ public class VocabularyAnalyzerResult {
     private Set<String> objectsNotFound = new HashSet<>();
     private Set<String> additionalConcepts = new HashSet<>();
 
+    /**
+     * Numbers of terms that have been counted rather than collected (-1: the size of the corresponding set).
+     */
+    private long numberOfSubjectsNotFound = -1;
+    private long numberOfPredicatesNotFound = -1;
+    private long numberOfObjectsNotFound = -1;
+    private long numberOfAllNotFound = -1;
+    private long numberOfAdditionalConcepts = -1;
+
+    /**
+     * File to which the terms have been written if they are not collected (null if they are collected).
+     */
+    private File reportFile;
+
     /**
      * The dimension of the vectors in the model.
      */
@@ -76,6 +93,74 @@ public class VocabularyAnalyzerResult {
         this.additionalConcepts = additionalConcepts;
     }
 
+    /**
+     * Get the number of subjects for which no embedding exists.
+     * @return Number of subjects.
+     */
+    public long getNumberOfSubjectsNotFound() {
+        return numberOfSubjectsNotFound < 0 ? subjectsNotFound.size() : numberOfSubjectsNotFound;
+    }
+
+    /**
+     * Get the number of predicates for which no embedding exists.
+     * @return Number of predicates.
+     */
+    public long getNumberOfPredicatesNotFound() {
+        return numberOfPredicatesNotFound < 0 ? predicatesNotFound.size() : numberOfPredicatesNotFound;
+    }
+
+    /**
+     * Get the number of objects for which no embedding exists.
+     * @return Number of objects.
+     */
+    public long getNumberOfObjectsNotFound() {
+        return numberOfObjectsNotFound < 0 ? objectsNotFound.size() : numberOfObjectsNotFound;
+    }
+
+    /**
+     * Get the number of distinct concepts for which no embedding exists.
+     * @return Number of concepts.
+     */
+    public long getNumberOfAllNotFound() {
+        return numberOfAllNotFound < 0 ? getAllNotFound().size() : numberOfAllNotFound;
+    }
+
+    /**
+     * Get the number of concepts that are in the embedding space but not in the original source.
+     * @return Number of concepts.
+     */
+    public long getNumberOfAdditionalConcepts() {
+        return numberOfAdditionalConcepts < 0 ? additionalConcepts.size() : numberOfAdditionalConcepts;
+    }
+
+    /**
+     * Sets the numbers of terms that have been counted rather than collected in the sets.
+     * @param subjects Number of subjects not found.
+     * @param predicates Number of predicates not found.
+     * @param objects Number of objects not found.
+     * @param all Number of distinct concepts not found.
+     * @param additional Number of additional concepts.
+     */
+    void setCounts(long subjects, long predicates, long objects, long all, long additional){
+        this.numberOfSubjectsNotFound = subjects;
+        this.numberOfPredicatesNotFound = predicates;
+        this.numberOfObjectsNotFound = objects;
+        this.numberOfAllNotFound = all;
+        this.numberOfAdditionalConcepts = additional;
+    }
+
+    /**
+     * Get the file to which the terms have been written.
+     * @return The report file or null if the terms are contained in the sets of this result.
+     */
+    public File getReportFile() {
+        return reportFile;
+    }
+
+    void setReportFile(File reportFile) {
+        this.reportFile = reportFile;
+    }
+
     public int getDimension() {
         return dimension;
     }
@@ -100,10 +185,14 @@ public class VocabularyAnalyzerResult {
         buffer.append("Dimension: " + this.getDimension() + "\n");
         buffer.append("Consistent file: " + this.isDimensionConsistent());
         buffer.append("\n\n");
+        if(reportFile != null){
+            buffer.append("The concepts are listed in the report file: " + reportFile.getAbsolutePath());
+            buffer.append("\n\n");
+        }
 
-        int numberOfSubjectsNotFound = this.getSubjectsNotFound().size();
+        long numberOfSubjectsNotFound = this.getNumberOfSubjectsNotFound();
         buffer.append("Subjects not found [" + numberOfSubjectsNotFound + "]");
-        if(numberOfSubjectsNotFound > 0) {
+        if(!this.getSubjectsNotFound().isEmpty()) {
             buffer.append(":");
             for (String s : this.getSubjectsNotFound()) {
                 buffer.append("\n" + s);
@@ -111,9 +200,9 @@ public class VocabularyAnalyzerResult {
         }
         buffer.append("\n\n");
 
-        int numberOfPredicatesNotFound = this.getPredicatesNotFound().size();
+        long numberOfPredicatesNotFound = this.getNumberOfPredicatesNotFound();
         buffer.append("Predicates not found [" + numberOfPredicatesNotFound + "]");
-        if(numberOfPredicatesNotFound > 0) {
+        if(!this.getPredicatesNotFound().isEmpty()) {
             buffer.append(":");
             for (String s : this.getPredicatesNotFound()) {
                 buffer.append("\n" + s);
@@ -122,9 +211,9 @@ public class VocabularyAnalyzerResult {
         buffer.append("\n\n");
 
 
-        int numberOfObjectsNotFound = this.getObjectsNotFound().size();
+        long numberOfObjectsNotFound = this.getNumberOfObjectsNotFound();
         buffer.append("Objects not found [" + numberOfObjectsNotFound + "]");
-        if(numberOfObjectsNotFound > 0) {
+        if(!this.getObjectsNotFound().isEmpty()) {
             buffer.append(":");
             for (String s : this.getObjectsNotFound()) {
                 buffer.append("\n" + s);
@@ -132,9 +221,9 @@ public class VocabularyAnalyzerResult {
         }
         buffer.append("\n\n");
 
-        int numberOfAllNotFound = this.getAllNotFound().size();
+        long numberOfAllNotFound = this.getNumberOfAllNotFound();
         buffer.append("Total concepts not found [" + numberOfAllNotFound + "]");
-        if(numberOfAllNotFound > 0){
+        if(numberOfAllNotFound > 0 && reportFile == null){
             buffer.append(":");
             for (String s : this.getAllNotFound()) {
                 buffer.append("\n" + s);
@@ -142,9 +231,9 @@ public class VocabularyAnalyzerResult {
         }
         buffer.append("\n\n");
 
-        int numberOfAdditionalConcepts = this.getAllAdditional().size();
+        long numberOfAdditionalConcepts = this.getNumberOfAdditionalConcepts();
         buffer.append("Additional concepts [" + numberOfAdditionalConcepts + "]");
-        if(numberOfAdditionalConcepts > 0){
+        if(!this.getAllAdditional().isEmpty()){
             buffer.append(":");
             for (String s : this.getAllAdditional()){
                 buffer.append("\n" + s);
@@ -0,0 +1,187 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base;
+
+import java.util.Iterator;
+
+/**
+ * Hands out the entities of a walk generation run in numbered batches to the worker threads. Workers that finish
+ * early simply obtain the next batch, so the load is balanced dynamically.
+ * <br>
+ * If estimated costs are given (in the order of the entities), a batch is also closed once its estimated cost would
+ * exceed the maximal batch cost. Expensive entities are thereby handed out alone rather than together with many
+ * other entities in a single batch.
+ */
+class EntityBatchCursor {
+
+    /**
+     * All entities in the order in which they are handed out.
+     */
+    private final Iterable<String> allEntities;
+
+    /**
+     * The entities that have not been handed out yet.
+     */
+    private final Iterator<String> entities;
+
+    /**
+     * Estimated cost per entity in the order of {@link EntityBatchCursor#entities} (null if there are no estimates).
+     */
+    private final double[] costs;
+
+    /**
+     * Maximal estimated cost of a batch with more than one entity.
+     */
+    private final double maxBatchCost;
+
+    /**
+     * Maximal number of entities per batch.
+     */
+    private final int batchSize;
+
+    /**
+     * Number of entities handed out so far.
+     */
+    private int position = 0;
+
+    /**
+     * Number of the next batch.
+     */
+    private long nextBatchNumber = 0;
+
+    /**
+     * Constructor
+     *
+     * @param entities  The entities (iterated once by the cursor and once per {@link #getScheduleHash()}).
+     * @param batchSize Maximal number of entities per batch.
+     */
+    EntityBatchCursor(Iterable<String> entities, int batchSize) {
+        this(entities, batchSize, null, Double.MAX_VALUE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param entities     The entities (iterated once by the cursor and once per {@link #getScheduleHash()}).
+     * @param batchSize    Maximal number of entities per batch.
+     * @param costs        Estimated cost per entity in the order of the entities (null: no estimates).
+     * @param maxBatchCost Maximal estimated cost of a batch with more than one entity.
+     */
+    EntityBatchCursor(Iterable<String> entities, int batchSize, double[] costs, double maxBatchCost) {
+        this.allEntities = entities;
+        this.entities = entities.iterator();
+        this.batchSize = Math.max(1, batchSize);
+        this.costs = costs;
+        this.maxBatchCost = maxBatchCost;
+    }
+
+    /**
+     * Fills the given batch with the next entities.
+     *
+     * @param batch The batch to be filled (its array must hold the batch size).
+     * @return False if there are no more entities.
+     */
+    synchronized boolean next(Batch batch) {
+        int length = fill(batch, entities, position);
+        position += length;
+        batch.length = length;
+        if (length == 0) return false;
+        batch.number = nextBatchNumber++;
+        return true;
+    }
+
+    /**
+     * Fills the given batch with the next entities of the given iterator.
+     *
+     * @param batch    The batch to be filled (its array must hold the batch size).
+     * @param iterator The entities.
+     * @param position Number of entities that have already been taken from the iterator (index into the costs).
+     * @return Number of entities in the batch.
+     */
+    private int fill(Batch batch, Iterator<String> iterator, int position) {
+        int length = 0;
+        double batchCost = 0;
+        while (length < batchSize && iterator.hasNext()) {
+            if (costs != null) {
+                double cost = costs[position + length];
+                if (length > 0 && batchCost + cost > maxBatchCost) break;
+                batchCost += cost;
+            }
+            batch.entities[length++] = iterator.next();
+        }
+        return length;
+    }
+
+    /**
+     * Computes a hash of all batches (the entities in the order in which they are handed out and the batch
+     * boundaries) independently of the state of the cursor. Batches are identified by their number only, hence, a run
+     * can only skip the batches of another run if both runs have the same schedule hash.
+     *
+     * @return 64 bit hash of the batches; the same on every machine and in every run for the same schedule.
+     */
+    long getScheduleHash() {
+        Batch batch = new Batch(batchSize);
+        Iterator<String> iterator = allEntities.iterator();
+        long hash = WalkRandom.hash("schedule");
+        int taken = 0;
+        int length;
+        while ((length = fill(batch, iterator, taken)) > 0) {
+            for (int i = 0; i < length; i++) {
+                hash = WalkRandom.mix64(hash * 0x9e3779b97f4a7c15L + WalkRandom.hash(batch.entities[i]));
+            }
+            // the length marks the end of the batch
+            hash = WalkRandom.mix64(hash * 0x9e3779b97f4a7c15L + length);
+            taken += length;
+        }
+        return hash;
+    }
+
+    /**
+     * Skips batches (e.g. batches that have been completed by an interrupted run).
+     *
+     * @param numberOfBatches Number of batches to be skipped.
+     */
+    synchronized void skip(long numberOfBatches) {
+        Batch batch = new Batch(batchSize);
+        for (long i = 0; i < numberOfBatches; i++) {
+            if (!next(batch)) return;
+        }
+    }
+
+    /**
+     * Get the maximal number of entities per batch.
+     *
+     * @return Batch size.
+     */
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * A batch of entities. Reused by a worker thread for all of its batches.
+     */
+    static class Batch {
+
+        /**
+         * The entities; only the first {@link Batch#length} entries are valid.
+         */
+        final String[] entities;
+
+        /**
+         * Number of entities in the batch.
+         */
+        int length;
+
+        /**
+         * Number of the batch.
+         */
+        long number;
+
+        /**
+         * Constructor
+         *
+         * @param batchSize Maximal number of entities.
+         */
+        Batch(int batchSize) {
+            this.entities = new String[batchSize];
+        }
+    }
+}
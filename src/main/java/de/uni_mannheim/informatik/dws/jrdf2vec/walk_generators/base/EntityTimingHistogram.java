@@ -0,0 +1,156 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of the time that was required to generate the walks of single entities. The buckets are powers of two
+ * (in microseconds) so that the histogram covers the whole range from cheap entities to hubs with a fixed size. This
+ * class is thread-safe; recording does not block.
+ */
+public class EntityTimingHistogram {
+
+    /**
+     * Number of buckets. Bucket i holds durations in [2^(i-1), 2^i) microseconds; bucket 0 holds durations below one
+     * microsecond.
+     */
+    static final int NUMBER_OF_BUCKETS = 40;
+
+    /**
+     * The counts per bucket.
+     */
+    private final LongAdder[] buckets = new LongAdder[NUMBER_OF_BUCKETS];
+
+    /**
+     * Sum of all durations in nanoseconds.
+     */
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Longest duration in nanoseconds (guarded by this).
+     */
+    private long maxNanos = 0;
+
+    /**
+     * Entity with the longest duration (guarded by this).
+     */
+    private String slowestEntity = null;
+
+    /**
+     * Constructor
+     */
+    public EntityTimingHistogram() {
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the duration of an entity.
+     *
+     * @param entity The entity.
+     * @param nanos  Duration in nanoseconds.
+     */
+    public void record(String entity, long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        int bucket = Math.min(NUMBER_OF_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets[bucket].increment();
+        totalNanos.add(nanos);
+        if (nanos > maxNanos) {
+            synchronized (this) {
+                if (nanos > maxNanos) {
+                    maxNanos = nanos;
+                    slowestEntity = entity;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the number of recorded entities.
+     *
+     * @return Number of entities.
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of entities in a bucket.
+     *
+     * @param bucket Index of the bucket.
+     * @return Number of entities.
+     */
+    public long getBucketCount(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    /**
+     * Get an upper bound of the given percentile (i.e., the upper bound of the bucket in which the percentile falls).
+     *
+     * @param percentile Percentile in (0, 100].
+     * @return Duration in microseconds (0 if nothing has been recorded).
+     */
+    public long getPercentileMicros(double percentile) {
+        long count = getCount();
+        if (count == 0) return 0;
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            seen += buckets[i].sum();
+            if (seen >= Math.max(rank, 1)) return 1L << i;
+        }
+        return 1L << (NUMBER_OF_BUCKETS - 1);
+    }
+
+    /**
+     * Get the longest duration.
+     *
+     * @return Duration in nanoseconds.
+     */
+    public synchronized long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Get the entity with the longest duration.
+     *
+     * @return Entity or null if nothing has been recorded.
+     */
+    public synchronized String getSlowestEntity() {
+        return slowestEntity;
+    }
+
+    /**
+     * Get the sum of all durations.
+     *
+     * @return Duration in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Summary with percentiles and the non-empty buckets.
+     *
+     * @return Multi-line summary.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("Entity processing times (").append(getCount()).append(" entities, total ")
+                .append(getTotalNanos() / 1000000).append(" ms): p50 < ").append(getPercentileMicros(50))
+                .append(" us, p90 < ").append(getPercentileMicros(90))
+                .append(" us, p99 < ").append(getPercentileMicros(99))
+                .append(" us, max ").append(getMaxNanos() / 1000).append(" us (").append(getSlowestEntity()).append(")");
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            long count = buckets[i].sum();
+            if (count == 0) continue;
+            builder.append("\n  < ").append(1L << i).append(" us: ").append(count);
+        }
+        return builder.toString();
+    }
+}
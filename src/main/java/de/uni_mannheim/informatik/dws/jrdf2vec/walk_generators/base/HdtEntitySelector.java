@@ -43,6 +43,16 @@ public class HdtEntitySelector implements EntitySelector {
         }
     }
 
+    /**
+     * Constructor
+     *
+     * @param hdtDataSet An HDT data set that has already been loaded. This allows to share one (memory-mapped) data
+     *                   set with the {@link de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.HdtParser}.
+     */
+    public HdtEntitySelector(HDT hdtDataSet) {
+        this.hdtDataSet = hdtDataSet;
+    }
+
     @Override
     public Set<String> getEntities() {
         HashSet<String> result = new HashSet<>();
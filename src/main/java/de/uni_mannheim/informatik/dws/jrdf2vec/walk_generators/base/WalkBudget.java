@@ -0,0 +1,259 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * Global budget of walks. Instead of generating the same number of walks for every entity, the walks are allocated
+ * proportionally to a function of the degree of the entities: {@code n(e) = clamp(round(scale * f(degree(e))), min, max)}.
+ * The scale is fitted once before the walk generation (see {@link WalkBudget#fit(double[])}) so that the allocated
+ * walks sum up to the total budget (as far as the minimum and the maximum permit).
+ * <br>
+ * The allocation is an upper bound: entities whose walks end early or whose walks are removed as duplicates contribute
+ * fewer walks.
+ */
+public class WalkBudget {
+
+    /**
+     * Default logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(WalkBudget.class);
+
+    /**
+     * Default minimal number of walks per entity.
+     */
+    public static final int MIN_WALKS_DEFAULT = 1;
+
+    /**
+     * Default maximal number of walks per entity.
+     */
+    public static final int MAX_WALKS_DEFAULT = 1000;
+
+    /**
+     * Number of bisection steps when fitting the scale.
+     */
+    private static final int BISECTION_STEPS = 64;
+
+    /**
+     * The function of the degree to which the number of walks of an entity is proportional.
+     */
+    public enum DegreeFunction {
+
+        /**
+         * {@code f(d) = d}
+         */
+        LINEAR,
+
+        /**
+         * {@code f(d) = sqrt(d)}
+         */
+        SQRT,
+
+        /**
+         * {@code f(d) = log(1 + d)}
+         */
+        LOG;
+
+        /**
+         * Applies the function.
+         *
+         * @param degree The degree (&ge; 0).
+         * @return Function value (&ge; 0).
+         */
+        public double apply(double degree) {
+            switch (this) {
+                case LINEAR:
+                    return degree;
+                case SQRT:
+                    return Math.sqrt(degree);
+                default:
+                    return Math.log1p(degree);
+            }
+        }
+
+        /**
+         * Get the function from its name.
+         *
+         * @param name LINEAR, SQRT, or LOG (case-insensitive).
+         * @return The function or null if the name is unknown.
+         */
+        public static DegreeFunction fromName(String name) {
+            if (name == null) return null;
+            switch (name.trim().toLowerCase()) {
+                case "linear":
+                    return LINEAR;
+                case "sqrt":
+                    return SQRT;
+                case "log":
+                    return LOG;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Total number of walks.
+     */
+    private final long totalWalks;
+
+    /**
+     * Minimal number of walks per entity.
+     */
+    private final int minWalks;
+
+    /**
+     * Maximal number of walks per entity.
+     */
+    private final int maxWalks;
+
+    /**
+     * The degree function.
+     */
+    private final DegreeFunction degreeFunction;
+
+    /**
+     * Fitted scale (0 until {@link WalkBudget#fit(double[])} is called, i.e. every entity obtains the minimum).
+     */
+    private volatile double scale = 0.0;
+
+    /**
+     * Constructor
+     *
+     * @param totalWalks     Total number of walks (&gt; 0).
+     * @param minWalks       Minimal number of walks per entity (&ge; 0).
+     * @param maxWalks       Maximal number of walks per entity (&ge; minWalks).
+     * @param degreeFunction The degree function; SQRT if null.
+     */
+    public WalkBudget(long totalWalks, int minWalks, int maxWalks, DegreeFunction degreeFunction) {
+        if (minWalks < 0) {
+            LOGGER.warn("The minimal number of walks per entity must not be negative. Using default: " + MIN_WALKS_DEFAULT);
+            minWalks = MIN_WALKS_DEFAULT;
+        }
+        if (maxWalks < minWalks) {
+            LOGGER.warn("The maximal number of walks per entity must not be smaller than the minimum. Using the minimum: " + minWalks);
+            maxWalks = minWalks;
+        }
+        this.totalWalks = Math.max(0, totalWalks);
+        this.minWalks = minWalks;
+        this.maxWalks = maxWalks;
+        this.degreeFunction = (degreeFunction == null) ? DegreeFunction.SQRT : degreeFunction;
+    }
+
+    /**
+     * Fits the scale to the degrees of all entities so that the sum of the allocated walks is as close as possible to
+     * the total budget. The sum of the allocation is monotone in the scale, hence a bisection is used.
+     *
+     * @param degrees The degrees of all entities for which walks are generated.
+     * @return The number of walks that are allocated.
+     */
+    public long fit(double[] degrees) {
+        double[] values = Arrays.stream(degrees).parallel().map(degreeFunction::apply).toArray();
+        long minimum = (long) minWalks * values.length;
+        long maximum = (long) maxWalks * values.length;
+        if (totalWalks <= minimum) {
+            LOGGER.warn("The walk budget (" + totalWalks + ") does not exceed the minimum of " + minWalks +
+                    " walks per entity: every entity obtains the minimum.");
+            scale = 0.0;
+        } else if (totalWalks >= maximum) {
+            LOGGER.warn("The walk budget (" + totalWalks + ") is not smaller than the maximum of " + maxWalks +
+                    " walks per entity: every entity obtains the maximum.");
+            scale = Double.POSITIVE_INFINITY;
+        } else {
+            double low = 0.0;
+            double high = 1.0;
+            while (getAllocatedWalks(values, high) < totalWalks && high < Double.MAX_VALUE / 2) high *= 2;
+            for (int i = 0; i < BISECTION_STEPS; i++) {
+                double middle = (low + high) / 2;
+                if (getAllocatedWalks(values, middle) < totalWalks) low = middle;
+                else high = middle;
+            }
+            long belowBudget = getAllocatedWalks(values, low);
+            long aboveBudget = getAllocatedWalks(values, high);
+            scale = (totalWalks - belowBudget <= aboveBudget - totalWalks) ? low : high;
+        }
+        long allocated = getAllocatedWalks(values, scale);
+        LOGGER.info("Walk budget: " + allocated + " walks allocated to " + values.length + " entities (budget: " +
+                totalWalks + ", scale: " + scale + ").");
+        return allocated;
+    }
+
+    /**
+     * Get the number of walks of an entity.
+     *
+     * @param degree The degree of the entity.
+     * @return Number of walks in [min, max].
+     */
+    public int getNumberOfWalks(double degree) {
+        return allocate(scale, degreeFunction.apply(degree));
+    }
+
+    /**
+     * Sum of the allocation with the given scale.
+     *
+     * @param values The function values of the degrees.
+     * @param scale  The scale.
+     * @return Sum of the walks.
+     */
+    private long getAllocatedWalks(double[] values, double scale) {
+        return Arrays.stream(values).parallel().mapToLong(value -> allocate(scale, value)).sum();
+    }
+
+    /**
+     * Allocation of a single entity.
+     *
+     * @param scale The scale.
+     * @param value The function value of the degree of the entity.
+     * @return Number of walks in [min, max].
+     */
+    private int allocate(double scale, double value) {
+        double product = scale * value;
+        // 0 * infinity: entities without edges obtain the minimum
+        if (Double.isNaN(product)) return minWalks;
+        return (int) Math.max(minWalks, Math.min(maxWalks, Math.round(product)));
+    }
+
+    /**
+     * Get the total number of walks.
+     *
+     * @return Total number of walks.
+     */
+    public long getTotalWalks() {
+        return totalWalks;
+    }
+
+    /**
+     * Get the minimal number of walks per entity.
+     *
+     * @return Minimal number of walks.
+     */
+    public int getMinWalks() {
+        return minWalks;
+    }
+
+    /**
+     * Get the maximal number of walks per entity.
+     *
+     * @return Maximal number of walks.
+     */
+    public int getMaxWalks() {
+        return maxWalks;
+    }
+
+    /**
+     * Get the degree function.
+     *
+     * @return The degree function.
+     */
+    public DegreeFunction getDegreeFunction() {
+        return degreeFunction;
+    }
+
+    @Override
+    public String toString() {
+        return "WalkBudget{totalWalks=" + totalWalks + ", minWalks=" + minWalks + ", maxWalks=" + maxWalks +
+                ", degreeFunction=" + degreeFunction + "}";
+    }
+}
@@ -0,0 +1,42 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base;
+
+/**
+ * The tokens that are written for a walk. The walk is always traversed via entities; the content only determines which
+ * components are appended to the sequence, so reduced sequences are written directly (without building and stripping
+ * the full walk).
+ */
+public enum WalkContent {
+
+    /**
+     * Entities and predicates: {@code e0 p1 e1 p2 e2}.
+     */
+    ALL,
+
+    /**
+     * Entities only (E-walks): {@code e0 e1 e2}.
+     */
+    ENTITIES,
+
+    /**
+     * Predicates only, anchored on the entity for which the walk is generated (P-walks): {@code e0 p1 p2}.
+     */
+    PREDICATES;
+
+    /**
+     * Whether the entities (other than the start entity) are written.
+     *
+     * @return True if entities are written.
+     */
+    public boolean isWriteEntities() {
+        return this != PREDICATES;
+    }
+
+    /**
+     * Whether the predicates are written.
+     *
+     * @return True if predicates are written.
+     */
+    public boolean isWritePredicates() {
+        return this != ENTITIES;
+    }
+}
@@ -6,11 +6,16 @@ package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base;
  * Developer note:
  * <ul>
  * <li>
- *     There must be a runnable for each walk generation option.
+ *     There must be a {@link WalkStrategy} for each walk generation option (the runnables implement this interface).
  * </li>
  * <li>
- *      The must be a resolution in evey implementation of {@link IWalkGenerator#generateWalks(WalkGenerationMode, int, int, int, String)} that shall support this walk mode.
- *      This affects, for example {@link WalkGeneratorDefault#generateWalks(WalkGenerationMode, int, int, int, String)} or {@link de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.light.WalkGeneratorLight#generateWalks(WalkGenerationMode, int, int, int, String)}.
+ *     The strategy must be created in {@link WalkGeneratorDefault#createWalkStrategy(WalkGenerationMode, int, int)}.
+ *     {@link WalkGeneratorDefault#generateWalks(WalkGenerationMode, int, int, int, String)} (and thereby
+ *     {@link de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.light.WalkGeneratorLight}) obtains the strategy
+ *     from there.
+ * </li>
+ * <li>
+ *     Modes that require an in-memory parser must be added to {@link WalkGeneratorDefault#IN_MEMORY_MODES}.
  * </li>
  * </ul>
  */
@@ -46,7 +51,82 @@ public enum WalkGenerationMode {
      * Plain random walks generated in a forward-fashion (going backwards is not allowed).
      * Duplicates are not allowed.
      */
-    RANDOM_WALKS_DUPLICATE_FREE;
+    RANDOM_WALKS_DUPLICATE_FREE,
+
+    /**
+     * Biased second-order random walks (node2vec) in a forward-fashion. The return parameter p and the in-out
+     * parameter q are set via {@link WalkGenerator#setNode2VecP(double)} and {@link WalkGenerator#setNode2VecQ(double)}.
+     * Requires an in-memory parser.
+     */
+    NODE2VEC,
+
+    /**
+     * Random walks in a forward-fashion where the next hop is drawn proportionally to an edge weight (see
+     * {@link WalkGenerator#setEdgeWeightFunction(de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.weights.EdgeWeightFunction)};
+     * default: inverse predicate frequency). Requires an in-memory parser.
+     */
+    RANDOM_WALKS_WEIGHTED,
+
+    /**
+     * Weisfeiler-Lehman label sequences: forward random walks that are written once as they are and once per WL
+     * iteration with the nodes replaced by their WL labels (see {@link WalkGenerator#setWlIterations(int)}). Requires
+     * an in-memory parser.
+     */
+    WL_SEQUENCES,
+
+    /**
+     * Like {@link #RANDOM_WALKS} but only the entities are written (E-walks), which halves the number of tokens.
+     * Requires an in-memory parser.
+     */
+    RANDOM_E_WALKS,
+
+    /**
+     * Like {@link #RANDOM_WALKS} but only the predicates are written (P-walks), anchored on the entity for which the
+     * walk is generated. Requires an in-memory parser.
+     */
+    RANDOM_P_WALKS,
+
+    /**
+     * Like {@link #MID_WALKS} but only the entities are written (E-walks). Requires an in-memory parser.
+     */
+    MID_E_WALKS,
+
+    /**
+     * Like {@link #MID_WALKS} but only the predicates are written (P-walks); the entity for which the walk is
+     * generated keeps its position in the walk. Requires an in-memory parser.
+     */
+    MID_P_WALKS,
+
+    /**
+     * Random walks with restart (personalized PageRank sampling): one forward trajectory per entity that jumps back to
+     * the entity with the restart probability (see {@link WalkGenerator#setRestartProbability(double)}), written as
+     * windows of at most depth hops that end at a restart. Requires an in-memory parser.
+     */
+    RANDOM_WALKS_WITH_RESTART,
+
+    /**
+     * Random walks in a forward-fashion that only follow edges matching given predicate sequences (see
+     * {@link WalkGenerator#setMetapaths(java.util.List)}). Requires an in-memory parser.
+     */
+    METAPATH_WALKS,
+
+    /**
+     * Random walks on the graph as if it were undirected. Backward hops write the predicate with a leading ^ (e.g.
+     * {@code ^p}). Requires an in-memory parser.
+     */
+    RANDOM_WALKS_UNDIRECTED,
+
+    /**
+     * Walklets: forward random walks of which only the pairs of entities at the given skip distances are written
+     * (see {@link WalkGenerator#setWalkletScales(int[])}). Requires an in-memory parser.
+     */
+    WALKLETS,
+
+    /**
+     * All distinct forward paths up to the depth instead of random samples, enumerated depth-first (see
+     * {@link WalkGenerator#setMaxPathsPerEntity(int)}). Meant for shallow depths. Requires an in-memory parser.
+     */
+    EXHAUSTIVE_PATHS;
 
 
     /**
@@ -68,6 +148,30 @@ public enum WalkGenerationMode {
                 return RANDOM_WALKS;
             case "random_walks_duplicate_free":
                 return RANDOM_WALKS_DUPLICATE_FREE;
+            case "node2vec":
+                return NODE2VEC;
+            case "random_walks_weighted":
+                return RANDOM_WALKS_WEIGHTED;
+            case "wl_sequences":
+                return WL_SEQUENCES;
+            case "random_e_walks":
+                return RANDOM_E_WALKS;
+            case "random_p_walks":
+                return RANDOM_P_WALKS;
+            case "mid_e_walks":
+                return MID_E_WALKS;
+            case "mid_p_walks":
+                return MID_P_WALKS;
+            case "random_walks_with_restart":
+                return RANDOM_WALKS_WITH_RESTART;
+            case "metapath_walks":
+                return METAPATH_WALKS;
+            case "random_walks_undirected":
+                return RANDOM_WALKS_UNDIRECTED;
+            case "walklets":
+                return WALKLETS;
+            case "exhaustive_paths":
+                return EXHAUSTIVE_PATHS;
             default:
                 return null;
         }
@@ -1,19 +1,31 @@
 package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base;
 
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.HdtParser;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.IParser;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.MemoryParser;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers.AsyncWalkWriter;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers.WalkCheckpoint;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers.WalkWriterConfiguration;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.weights.EdgeWeightFunction;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.weights.InversePredicateFrequencyWeight;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.runnables.*;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
-import java.util.zip.GZIPOutputStream;
+import java.util.stream.IntStream;
 
 /**
  * Abstract class for all Walk generators.
@@ -60,17 +72,12 @@ public abstract class WalkGenerator implements IWalkGenerator {
     /**
      * For the statistical output.
      */
-    int processedEntities = 0;
+    final AtomicLong processedEntities = new AtomicLong();
 
     /**
      * For the statistical output.
      */
-    int processedWalks = 0;
-
-    /**
-     * For the statistical output.
-     */
-    int fileProcessedLines = 0;
+    final AtomicLong processedWalks = new AtomicLong();
 
     /**
      * Parser.
@@ -80,13 +87,155 @@ public abstract class WalkGenerator implements IWalkGenerator {
     /**
      * File writer for all the paths.
      */
-    public Writer writer;
+    public AsyncWalkWriter writer;
 
     /**
      * File path to the walk file to be written.
      */
     public String filePath;
 
+    /**
+     * Default number of entities that a worker thread obtains at once.
+     */
+    public static final int DEFAULT_ENTITY_BATCH_SIZE = 1000;
+
+    /**
+     * Number of entities that a worker thread obtains at once.
+     */
+    int entityBatchSize = DEFAULT_ENTITY_BATCH_SIZE;
+
+    /**
+     * Configuration of the walk writer (compression, sharding).
+     */
+    WalkWriterConfiguration walkWriterConfiguration = new WalkWriterConfiguration();
+
+    /**
+     * Seed of the walk generation. If set, the random number generator of each entity is derived from the seed and the
+     * entity (see {@link WalkRandom}). Null if the walks shall not be reproducible.
+     */
+    Long seed = null;
+
+    /**
+     * If true, a checkpoint is written whenever a walk shard is completed (see {@link WalkCheckpoint}).
+     */
+    boolean isCheckpointing = false;
+
+    /**
+     * If true, the walk generation is resumed from the checkpoint of the walk file (if there is one).
+     */
+    boolean isResume = false;
+
+    /**
+     * If true, the entities are processed in the order of their estimated cost (most expensive first).
+     */
+    boolean isCostAwareScheduling = false;
+
+    /**
+     * Index of the partition of the entities that is processed (see {@link WalkGenerator#setPartition(int, int)}).
+     */
+    int partitionIndex = 0;
+
+    /**
+     * Number of partitions of the entities. 1 if all entities are processed.
+     */
+    int numberOfPartitions = 1;
+
+    /**
+     * Default of the node2vec return parameter p and in-out parameter q (uniform random walks).
+     */
+    public static final double NODE2VEC_PARAMETER_DEFAULT = 1.0;
+
+    /**
+     * Default memory budget of the neighbor index of the node2vec walks in bytes.
+     */
+    public static final long NODE2VEC_INDEX_MEMORY_BYTES_DEFAULT = 256L * 1024 * 1024;
+
+    /**
+     * Return parameter p of the node2vec walks.
+     */
+    double node2VecP = NODE2VEC_PARAMETER_DEFAULT;
+
+    /**
+     * In-out parameter q of the node2vec walks.
+     */
+    double node2VecQ = NODE2VEC_PARAMETER_DEFAULT;
+
+    /**
+     * Memory budget of the neighbor index of the node2vec walks in bytes.
+     */
+    long node2VecIndexMemoryBytes = NODE2VEC_INDEX_MEMORY_BYTES_DEFAULT;
+
+    /**
+     * Edge weights of the weighted random walks (null: inverse predicate frequency).
+     */
+    EdgeWeightFunction edgeWeightFunction = null;
+
+    /**
+     * Default number of Weisfeiler-Lehman iterations.
+     */
+    public static final int WL_ITERATIONS_DEFAULT = 4;
+
+    /**
+     * Number of Weisfeiler-Lehman iterations of the WL sequences.
+     */
+    int wlIterations = WL_ITERATIONS_DEFAULT;
+
+    /**
+     * Default restart probability of the random walks with restart.
+     */
+    public static final double RESTART_PROBABILITY_DEFAULT = 0.15;
+
+    /**
+     * Restart probability of the random walks with restart.
+     */
+    double restartProbability = RESTART_PROBABILITY_DEFAULT;
+
+    /**
+     * Predicate patterns of the metapath walks (null: any predicate).
+     */
+    List<List<String>> metapaths = null;
+
+    /**
+     * Default skip distances of the walklets.
+     */
+    public static final int[] WALKLET_SCALES_DEFAULT = {1, 2};
+
+    /**
+     * Skip distances of the walklets.
+     */
+    int[] walkletScales = WALKLET_SCALES_DEFAULT;
+
+    /**
+     * Global budget of walks (null: every entity obtains the same number of walks).
+     */
+    WalkBudget walkBudget = null;
+
+    /**
+     * Default maximal number of exhaustive paths per entity (0: unlimited).
+     */
+    public static final int MAX_PATHS_PER_ENTITY_DEFAULT = 0;
+
+    /**
+     * Maximal number of exhaustive paths per entity (0: unlimited).
+     */
+    int maxPathsPerEntity = MAX_PATHS_PER_ENTITY_DEFAULT;
+
+    /**
+     * Indicator whether all blank nodes are written as one token (see {@link MemoryParser#ANONYMOUS_NODE_TOKEN}).
+     */
+    boolean isUnifyAnonymousNodes = false;
+
+    /**
+     * Processing times of the entities of the last walk generation run.
+     */
+    private EntityTimingHistogram entityTimingHistogram;
+
+    /**
+     * The walks of the entity batch that is currently processed by a worker thread. Only set if the walks are written
+     * in batch order (see {@link WalkWriterConfiguration#isOrderedOutput()}).
+     */
+    private final ThreadLocal<List<String>> batchWalks = new ThreadLocal<>();
+
     /**
      * Given a URI, a short version is created.
      *
@@ -110,34 +259,8 @@ public abstract class WalkGenerator implements IWalkGenerator {
      * @param walkLength      The maximal length of each walk (a walk may be shorter if it cannot be continued anymore). Aka depth.
      */
     public void generateRandomMidWalksForEntitiesDuplicateFree(Set<String> entities, int numberOfThreads, int numberOfWalks, int walkLength) {
-        File outputFile = new File(filePath);
-        outputFile.getParentFile().mkdirs();
-
-        // initialize the writer
-        try {
-            this.writer = new OutputStreamWriter(new GZIPOutputStream(
-                    new FileOutputStream(outputFile, false)), StandardCharsets.UTF_8);
-        } catch (Exception e1) {
-            LOGGER.error("Could not initialize writer. Aborting process.", e1);
-            return;
-        }
-
-        ThreadPoolExecutor pool = new ThreadPoolExecutor(numberOfThreads, numberOfThreads,
-                0, TimeUnit.SECONDS,
-                new java.util.concurrent.ArrayBlockingQueue<>(entities.size()));
-
-        for (String entity : entities) {
-            DuplicateFreeMidWalkEntityProcessingRunnable th = new DuplicateFreeMidWalkEntityProcessingRunnable(this, entity, numberOfWalks, walkLength);
-            pool.execute(th);
-        }
-        pool.shutdown();
-        try {
-            pool.awaitTermination(10, TimeUnit.DAYS);
-        } catch (InterruptedException e) {
-            LOGGER.error("Interrupted Exception");
-            e.printStackTrace();
-        }
-        this.close();
+        DuplicateFreeMidWalkEntityProcessingRunnable processor = new DuplicateFreeMidWalkEntityProcessingRunnable(this, numberOfWalks, walkLength);
+        generateWalks(processor, entities, numberOfThreads, walkLength);
     }
 
 
@@ -150,34 +273,8 @@ public abstract class WalkGenerator implements IWalkGenerator {
      * @param walkLength      The maximal length of each walk (a walk may be shorter if it cannot be continued anymore). Aka depth.
      */
     public void generateWeightedMidWalksForEntities(Set<String> entities, int numberOfThreads, int numberOfWalks, int walkLength) {
-        File outputFile = new File(filePath);
-        outputFile.getParentFile().mkdirs();
-
-        // initialize the writer
-        try {
-            this.writer = new OutputStreamWriter(new GZIPOutputStream(
-                    new FileOutputStream(outputFile, false)), StandardCharsets.UTF_8);
-        } catch (Exception e1) {
-            LOGGER.error("Could not initialize writer. Aborting process.", e1);
-            return;
-        }
-
-        ThreadPoolExecutor pool = new ThreadPoolExecutor(numberOfThreads, numberOfThreads,
-                0, TimeUnit.SECONDS,
-                new java.util.concurrent.ArrayBlockingQueue<>(entities.size()));
-
-        for (String entity : entities) {
-            WeightedMidWalkEntityProcessingRunnable th = new WeightedMidWalkEntityProcessingRunnable(this, entity, numberOfWalks, walkLength);
-            pool.execute(th);
-        }
-        pool.shutdown();
-        try {
-            pool.awaitTermination(10, TimeUnit.DAYS);
-        } catch (InterruptedException e) {
-            LOGGER.error("Interrupted Exception");
-            e.printStackTrace();
-        }
-        this.close();
+        WeightedMidWalkEntityProcessingRunnable processor = new WeightedMidWalkEntityProcessingRunnable(this, numberOfWalks, walkLength);
+        generateWalks(processor, entities, numberOfThreads, walkLength);
     }
 
 
@@ -190,34 +287,8 @@ public abstract class WalkGenerator implements IWalkGenerator {
      * @param walkLength      The maximal length of each walk (a walk may be shorter if it cannot be continued anymore). Aka depth.
      */
     public void generateRandomMidWalksForEntities(Set<String> entities, int numberOfThreads, int numberOfWalks, int walkLength) {
-        File outputFile = new File(filePath);
-        outputFile.getParentFile().mkdirs();
-
-        // initialize the writer
-        try {
-            this.writer = new OutputStreamWriter(new GZIPOutputStream(
-                    new FileOutputStream(outputFile, false)), StandardCharsets.UTF_8);
-        } catch (Exception e1) {
-            LOGGER.error("Could not initialize writer. Aborting process.", e1);
-            return;
-        }
-
-        ThreadPoolExecutor pool = new ThreadPoolExecutor(numberOfThreads, numberOfThreads,
-                0, TimeUnit.SECONDS,
-                new java.util.concurrent.ArrayBlockingQueue<>(entities.size()));
-
-        for (String entity : entities) {
-            MidWalkEntityProcessingRunnable th = new MidWalkEntityProcessingRunnable(this, entity, numberOfWalks, walkLength);
-            pool.execute(th);
-        }
-        pool.shutdown();
-        try {
-            pool.awaitTermination(10, TimeUnit.DAYS);
-        } catch (InterruptedException e) {
-            LOGGER.error("Interrupted Exception");
-            e.printStackTrace();
-        }
-        this.close();
+        MidWalkEntityProcessingRunnable processor = new MidWalkEntityProcessingRunnable(this, numberOfWalks, walkLength);
+        generateWalks(processor, entities, numberOfThreads, walkLength);
     }
 
 
@@ -230,25 +301,148 @@ public abstract class WalkGenerator implements IWalkGenerator {
      * @param walkLength      The maximal length of each walk (a walk may be shorter if it cannot be continued anymore).
      */
     public void generateDuplicateFreeWalksForEntities(Set<String> entities, int numberOfThreads, int numberOfWalks, int walkLength) {
-        File outputFile = new File(filePath);
+        DuplicateFreeWalkEntityProcessingRunnable processor = new DuplicateFreeWalkEntityProcessingRunnable(this, numberOfWalks, walkLength);
+        generateWalks(processor, entities, numberOfThreads, walkLength);
+    }
+
+    /**
+     * Generate walks for the entities.
+     *
+     * @param entities        The entities for which walks shall be generated.
+     * @param numberOfThreads The number of threads to be used.
+     * @param numberOfWalks   The number of walks to be generated per thread.
+     * @param walkLength      The maximal length of each walk (a walk may be shorter if it cannot be continued anymore).
+     */
+    public void generateWalksForEntities(HashSet<String> entities, int numberOfThreads, int numberOfWalks, int walkLength) {
+        RandomWalkEntityProcessingRunnable processor = new RandomWalkEntityProcessingRunnable(this, numberOfWalks, walkLength);
+        generateWalks(processor, entities, numberOfThreads, walkLength);
+    }
+
+    /**
+     * Generates the walks of the given entities with the given strategy and writes them to {@link WalkGenerator#filePath}.
+     * All walk modes share this pipeline (see {@link WalkGenerator#processEntitiesInBatches(Collection, int, int, WalkStrategy)}).
+     *
+     * @param strategy        The strategy that generates the walks of a single entity.
+     * @param entities        The entities for which walks shall be generated.
+     * @param numberOfThreads The number of worker threads to be used.
+     * @param depth           The depth of the walks.
+     */
+    public void generateWalks(WalkStrategy strategy, Collection<String> entities, int numberOfThreads, int depth) {
+        processEntitiesInBatches(entities, numberOfThreads, depth, strategy);
+    }
+
+    /**
+     * Processes the given entities with a fixed number of worker threads. Rather than submitting one task per entity,
+     * the workers pull batches of {@link WalkGenerator#entityBatchSize} entities from a shared cursor over the
+     * entity set. The walk file is opened before the processing starts and closed afterwards.
+     * <br>
+     * If a {@link WalkGenerator#seed} is set, the random number generator is derived from the seed and the entity before
+     * an entity is processed. If the output is ordered, the walks of a batch are collected and written in the order in
+     * which the batches were obtained from the cursor, so that the walk files do not depend on the thread scheduling.
+     * <br>
+     * With checkpoints, the output is always ordered. When resuming, the batches that are contained in the shards of
+     * the checkpoint are skipped.
+     * <br>
+     * If the entities are partitioned, only the entities of the partition are processed, and the walks are written to
+     * the walk file of the partition (see {@link AsyncWalkWriter#getPartitionPath(String, int, int)}).
+     * <br>
+     * If a {@link WalkGenerator#walkBudget} is set, it is fitted to the degrees of all entities (before partitioning,
+     * so that all partitions share the same allocation), and every entity obtains its share of the budget.
+     *
+     * @param entities        The entities for which walks shall be generated.
+     * @param numberOfThreads The number of worker threads to be used.
+     * @param depth           The depth of the walks (used to estimate the cost of the entities).
+     * @param strategy        The strategy which generates the walks of a single entity. It is called concurrently by
+     *                        all workers.
+     */
+    protected void processEntitiesInBatches(Collection<String> entities, int numberOfThreads, int depth, WalkStrategy strategy) {
+        final WalkBudget budget = this.walkBudget;
+        if (budget != null) fitWalkBudget(budget, entities);
+        String outputPath = filePath;
+        if (numberOfPartitions > 1) {
+            entities = getEntitiesOfPartition(entities);
+            outputPath = AsyncWalkWriter.getPartitionPath(filePath, partitionIndex, numberOfPartitions);
+        }
+        File outputFile = new File(outputPath);
         outputFile.getParentFile().mkdirs();
 
         // initialize the writer
+        processedEntities.set(0);
+        processedWalks.set(0);
+        final int batchSize = Math.max(1, entityBatchSize);
+        final EntityBatchCursor cursor = isCostAwareScheduling ?
+                createCostAwareCursor(entities, batchSize, numberOfThreads, depth) :
+                new EntityBatchCursor(entities, batchSize);
+        WalkCheckpoint checkpoint = null;
+        if (isCheckpointing || isResume) {
+            if (seed == null) {
+                LOGGER.warn("Checkpoints are used without a seed: the walks of a resumed run differ from the walks of " +
+                        "an uninterrupted run (only the entities are the same). Set a seed for identical walk files.");
+            }
+            long scheduleHash = cursor.getScheduleHash();
+            if (isResume) checkpoint = loadCheckpoint(outputFile.getPath(), batchSize, entities.size(), scheduleHash);
+            if (checkpoint == null) {
+                checkpoint = new WalkCheckpoint(batchSize, entities.size(), isCostAwareScheduling, scheduleHash);
+            }
+        }
         try {
-            this.writer = new OutputStreamWriter(new GZIPOutputStream(
-                    new FileOutputStream(outputFile, false)), StandardCharsets.UTF_8);
+            WalkWriterConfiguration configuration = new WalkWriterConfiguration(walkWriterConfiguration);
+            if (configuration.getCompressionThreads() < 1) configuration.setCompressionThreads(numberOfThreads);
+            this.writer = new AsyncWalkWriter(outputFile.getPath(), configuration, checkpoint);
         } catch (Exception e1) {
             LOGGER.error("Could not initialize writer. Aborting process.", e1);
             return;
         }
 
-        ThreadPoolExecutor pool = new ThreadPoolExecutor(numberOfThreads, numberOfThreads,
-                0, TimeUnit.SECONDS,
-                new java.util.concurrent.ArrayBlockingQueue<>(entities.size()));
+        if (checkpoint != null && checkpoint.getCompletedBatches() > 0) {
+            // skip the entities whose walks are contained in the shards of the checkpoint
+            cursor.skip(checkpoint.getCompletedBatches());
+        }
+        final Long seed = this.seed;
+        final boolean isOrderedOutput = checkpoint != null || walkWriterConfiguration.isOrderedOutput();
+        final Consumer<List<String>> sink = this::writeToFile;
+        final EntityTimingHistogram histogram = new EntityTimingHistogram();
+        this.entityTimingHistogram = histogram;
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, numberOfThreads));
 
-        for (String entity : entities) {
-            DuplicateFreeWalkEntityProcessingRunnable th = new DuplicateFreeWalkEntityProcessingRunnable(this, entity, numberOfWalks, walkLength);
-            pool.execute(th);
+        for (int i = 0; i < Math.max(1, numberOfThreads); i++) {
+            pool.execute(() -> {
+                EntityBatchCursor.Batch batch = new EntityBatchCursor.Batch(batchSize);
+                try {
+                    while (!writer.isAborted() && cursor.next(batch)) {
+                        List<String> walksOfBatch = null;
+                        if (isOrderedOutput) {
+                            walksOfBatch = new ArrayList<>();
+                            batchWalks.set(walksOfBatch);
+                        }
+                        for (int j = 0; j < batch.length; j++) {
+                            String entity = batch.entities[j];
+                            long start = System.nanoTime();
+                            try {
+                                if (seed != null) WalkRandom.seedForEntity(seed, entity);
+                                if (budget == null) strategy.generateWalks(entity, sink);
+                                else strategy.generateWalks(entity, budget.getNumberOfWalks(getDegree(entity)), sink);
+                            } catch (Exception e) {
+                                LOGGER.error("Could not generate walks for entity " + entity, e);
+                            }
+                            histogram.record(entity, System.nanoTime() - start);
+                            countProcessedEntity();
+                            batch.entities[j] = null;
+                        }
+                        if (isOrderedOutput) {
+                            batchWalks.remove();
+                            writer.write(batch.number, walksOfBatch);
+                        }
+                    }
+                } catch (Throwable t) {
+                    // e.g. an OutOfMemoryError: the batch of this thread is lost, hence, the ordered output could not
+                    // proceed and the other threads would wait for it forever
+                    LOGGER.error("A walk generation thread failed. Aborting the walk generation.", t);
+                    batchWalks.remove();
+                    writer.abort();
+                    throw t;
+                }
+            });
         }
         pool.shutdown();
         try {
@@ -257,104 +451,645 @@ public abstract class WalkGenerator implements IWalkGenerator {
             LOGGER.error("Interrupted Exception");
             e.printStackTrace();
         }
+        if (writer.isAborted()) {
+            LOGGER.error("The walk generation was aborted. The walk file is incomplete." + (checkpoint != null ?
+                    " The run can be resumed from the last checkpoint (-resume)." : ""));
+        }
         this.close();
+        LOGGER.info(histogram.toString());
     }
 
     /**
-     * Generate walks for the entities.
+     * Fits the walk budget to the degrees of the given entities.
      *
-     * @param entities        The entities for which walks shall be generated.
-     * @param numberOfThreads The number of threads to be used.
-     * @param numberOfWalks   The number of walks to be generated per thread.
-     * @param walkLength      The maximal length of each walk (a walk may be shorter if it cannot be continued anymore).
+     * @param budget   The walk budget.
+     * @param entities All entities.
      */
-    public void generateWalksForEntities(HashSet<String> entities, int numberOfThreads, int numberOfWalks, int walkLength) {
-        File outputFile = new File(filePath);
-        outputFile.getParentFile().mkdirs();
+    private void fitWalkBudget(WalkBudget budget, Collection<String> entities) {
+        String[] entityArray = entities.toArray(new String[0]);
+        double[] degrees = new double[entityArray.length];
+        IntStream.range(0, entityArray.length).parallel().forEach(i -> degrees[i] = getDegree(entityArray[i]));
+        LOGGER.info("Fitting " + budget);
+        budget.fit(degrees);
+    }
 
-        // initialize the writer
-        try {
-            this.writer = new OutputStreamWriter(new GZIPOutputStream(
-                    new FileOutputStream(outputFile, false)), StandardCharsets.UTF_8);
-        } catch (Exception e1) {
-            LOGGER.error("Could not initialize writer. Aborting process.", e1);
-            return;
+    /**
+     * Selects the entities of the partition of this generator. The iteration order of the entities is kept.
+     *
+     * @param entities All entities.
+     * @return The entities of the partition.
+     */
+    private List<String> getEntitiesOfPartition(Collection<String> entities) {
+        List<String> result = new ArrayList<>(entities.size() / numberOfPartitions + 1);
+        for (String entity : entities) {
+            if (getPartition(entity, numberOfPartitions) == partitionIndex) result.add(entity);
         }
+        LOGGER.info("Partition " + partitionIndex + "/" + numberOfPartitions + ": processing " + result.size() +
+                " of " + entities.size() + " entities.");
+        return result;
+    }
 
-        ThreadPoolExecutor pool = new ThreadPoolExecutor(numberOfThreads, numberOfThreads,
-                0, TimeUnit.SECONDS,
-                new java.util.concurrent.ArrayBlockingQueue<>(entities.size()));
+    /**
+     * Get the partition of an entity. The partition only depends on the entity (stable hash), so that every machine
+     * assigns the entity to the same partition without coordination.
+     *
+     * @param entity             The entity.
+     * @param numberOfPartitions The number of partitions.
+     * @return Index of the partition in [0, numberOfPartitions).
+     */
+    public static int getPartition(String entity, int numberOfPartitions) {
+        return (int) Long.remainderUnsigned(WalkRandom.hash(entity), numberOfPartitions);
+    }
 
-        for (String entity : entities) {
-            RandomWalkEntityProcessingRunnable th = new RandomWalkEntityProcessingRunnable(this, entity, numberOfWalks, walkLength);
-            pool.execute(th);
+    /**
+     * Orders the entities by their estimated cost (descending) so that expensive entities are started first and do
+     * not form the tail of the walk generation. Batches are additionally limited to a fraction of the total estimated
+     * cost so that expensive entities are handed out alone. Ties are broken by the entity so that the order is
+     * deterministic.
+     *
+     * @param entities        The entities.
+     * @param batchSize       Maximal number of entities per batch.
+     * @param numberOfThreads Number of worker threads.
+     * @param depth           Depth of the walks.
+     * @return Cursor over the ordered entities.
+     */
+    private EntityBatchCursor createCostAwareCursor(Collection<String> entities, int batchSize, int numberOfThreads, int depth) {
+        String[] orderedEntities = entities.toArray(new String[0]);
+        double[] costs = new double[orderedEntities.length];
+        IntStream.range(0, orderedEntities.length).parallel()
+                .forEach(i -> costs[i] = estimateWalkCost(orderedEntities[i], depth));
+        Integer[] order = new Integer[orderedEntities.length];
+        double totalCost = 0;
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+            totalCost += costs[i];
         }
-        pool.shutdown();
+        Arrays.sort(order, (a, b) -> {
+            int result = Double.compare(costs[b], costs[a]);
+            return (result != 0) ? result : orderedEntities[a].compareTo(orderedEntities[b]);
+        });
+        List<String> sortedEntities = new ArrayList<>(order.length);
+        double[] sortedCosts = new double[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedEntities.add(orderedEntities[order[i]]);
+            sortedCosts[i] = costs[order[i]];
+        }
+        if (order.length > 0) {
+            LOGGER.info("Cost-aware scheduling: the most expensive entity (" + sortedEntities.get(0) + ") accounts for " +
+                    String.format("%.2f", 100.0 * sortedCosts[0] / totalCost) + "% of the estimated total cost.");
+        }
+        // about 16 batches per thread if all entities had the same cost
+        double maxBatchCost = totalCost / (16.0 * Math.max(1, numberOfThreads));
+        return new EntityBatchCursor(sortedEntities, batchSize, sortedCosts, maxBatchCost);
+    }
 
-        try {
-            pool.awaitTermination(10, TimeUnit.DAYS);
-        } catch (InterruptedException e) {
-            LOGGER.error("Interrupted Exception");
-            e.printStackTrace();
+    /**
+     * Estimates the relative cost of generating the walks of an entity (see {@link MemoryParser#estimateWalkCost(String, int)}
+     * and {@link HdtParser#estimateWalkCost(String, int)}).
+     *
+     * @param entity The entity.
+     * @param depth  The depth of the walks.
+     * @return Estimated cost; 1 if the parser does not provide estimates.
+     */
+    double estimateWalkCost(String entity, int depth) {
+        if (parser instanceof MemoryParser) {
+            return ((MemoryParser) parser).estimateWalkCost(shortenUri(entity), depth);
+        } else if (parser instanceof HdtParser) {
+            return ((HdtParser) parser).estimateWalkCost(shortenUri(entity), depth);
         }
-        this.close();
+        return 1.0;
+    }
+
+    /**
+     * Get the degree of an entity (see {@link MemoryParser#getDegree(String)} and {@link HdtParser#getDegree(String)}).
+     *
+     * @param entity The entity.
+     * @return The degree; 1 if the parser does not provide degrees.
+     */
+    double getDegree(String entity) {
+        if (parser instanceof MemoryParser) {
+            return ((MemoryParser) parser).getDegree(shortenUri(entity));
+        } else if (parser instanceof HdtParser) {
+            return ((HdtParser) parser).getDegree(shortenUri(entity));
+        }
+        return 1.0;
     }
 
     /**
-     * Adds new walks to the list; If the list is filled, it is written to the
-     * file.
+     * Loads the checkpoint of the walk file if it belongs to a run with the same entities and batch size.
+     *
+     * @param walkFilePath     Path of the walk file.
+     * @param batchSize        Entity batch size of this run.
+     * @param numberOfEntities Number of entities of this run.
+     * @param scheduleHash     Hash of the batches of this run (see {@link EntityBatchCursor#getScheduleHash()}).
+     * @return Checkpoint or null if the run cannot be resumed.
+     */
+    private WalkCheckpoint loadCheckpoint(String walkFilePath, int batchSize, long numberOfEntities, long scheduleHash) {
+        WalkCheckpoint checkpoint = WalkCheckpoint.load(walkFilePath);
+        if (checkpoint == null) {
+            LOGGER.info("No checkpoint found. Starting the walk generation from scratch.");
+            return null;
+        }
+        if (!checkpoint.isCompatible(batchSize, numberOfEntities, isCostAwareScheduling)) {
+            LOGGER.warn("The checkpoint belongs to a run with a different entity batch size, a different number of " +
+                    "entities, or a different scheduling (batch size: " + checkpoint.getEntityBatchSize() +
+                    ", entities: " + checkpoint.getNumberOfEntities() + ", cost-aware scheduling: " +
+                    checkpoint.isCostAwareScheduling() + "). Starting the walk generation from scratch.");
+            return null;
+        }
+        if (!checkpoint.isCompatible(batchSize, numberOfEntities, isCostAwareScheduling, scheduleHash)) {
+            LOGGER.warn("The checkpoint belongs to a run that handed out the entities in a different order (e.g. " +
+                    "because the graph was parsed in a different order). Resuming would skip the wrong entities. " +
+                    "Starting the walk generation from scratch.");
+            return null;
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Hands walks of an entity over to the walk writer. The walks are written asynchronously; this method can be
+     * called concurrently without blocking other walk generation threads (unless the writer falls behind). A strategy
+     * may call this method several times per entity (e.g. once per chunk of paths).
      *
      * @param tmpList Entries that shall be written.
      */
-    public synchronized void writeToFile(List<String> tmpList) {
-        processedEntities++;
-        processedWalks += tmpList.size();
-        fileProcessedLines += tmpList.size();
-        for (String str : tmpList)
-            try {
-                writer.write(str + "\n");
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        if (processedEntities % 1000 == 0) {
-            LOGGER.info("TOTAL PROCESSED ENTITIES: " + processedEntities);
-            LOGGER.info("TOTAL NUMBER OF PATHS : " + processedWalks);
+    public void writeToFile(List<String> tmpList) {
+        processedWalks.addAndGet(tmpList.size());
+        List<String> walksOfBatch = batchWalks.get();
+        if (walksOfBatch != null) {
+            walksOfBatch.addAll(tmpList);
+        } else {
+            writer.write(tmpList);
         }
-        // flush the file
-        if (fileProcessedLines > 3000000) {
-            fileProcessedLines = 0;
-            try {
-                writer.flush();
-                writer.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-            int tmpNM = (processedWalks / 3000000);
-            String tmpFilename = filePath.replace(".gz", tmpNM + ".gz");
-            try {
-                writer = new OutputStreamWriter(new GZIPOutputStream(
-                        new FileOutputStream(tmpFilename, false)), StandardCharsets.UTF_8);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+    }
+
+    /**
+     * Counts an entity whose walks have been generated and logs the progress every 1000 entities.
+     */
+    private void countProcessedEntity() {
+        long entities = processedEntities.incrementAndGet();
+        if (entities % 1000 == 0) {
+            LOGGER.info("TOTAL PROCESSED ENTITIES: " + entities);
+            LOGGER.info("TOTAL NUMBER OF PATHS : " + processedWalks.get());
+        }
+    }
+
+
+
+
+
+    /**
+     * Get the number of entities that a worker thread obtains at once.
+     * @return Batch size.
+     */
+    public int getEntityBatchSize() {
+        return entityBatchSize;
+    }
+
+    /**
+     * Set the number of entities that a worker thread obtains at once. Larger batches reduce the scheduling overhead,
+     * smaller batches balance the load better towards the end of the walk generation.
+     * @param entityBatchSize Batch size. Must be greater than 0.
+     */
+    public void setEntityBatchSize(int entityBatchSize) {
+        if (entityBatchSize < 1) {
+            LOGGER.warn("The entity batch size must be greater than 0. Using default: " + DEFAULT_ENTITY_BATCH_SIZE);
+            this.entityBatchSize = DEFAULT_ENTITY_BATCH_SIZE;
+        } else {
+            this.entityBatchSize = entityBatchSize;
+        }
+    }
+
+    /**
+     * Get the number of threads that compress the walk file.
+     * @return Number of compression threads. A value smaller than 1 means that the number of walk generation threads
+     * is used.
+     */
+    public int getCompressionThreads() {
+        return walkWriterConfiguration.getCompressionThreads();
+    }
+
+    /**
+     * Set the number of threads that compress the walk file. With more than one thread, the walk file is written
+     * as a sequence of independently compressed gzip members.
+     * @param compressionThreads Number of compression threads. A value smaller than 1 means that the number of walk
+     *                           generation threads is used.
+     */
+    public void setCompressionThreads(int compressionThreads) {
+        walkWriterConfiguration.setCompressionThreads(compressionThreads);
+    }
+
+    /**
+     * Get the deflate compression level of the walk file.
+     * @return Compression level (0-9 or -1 for the default level).
+     */
+    public int getCompressionLevel() {
+        return walkWriterConfiguration.getCompressionLevel();
+    }
+
+    /**
+     * Set the deflate compression level of the walk file.
+     * @param compressionLevel Compression level (0-9 or -1 for the default level).
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        walkWriterConfiguration.setCompressionLevel(compressionLevel);
+    }
+
+    /**
+     * Get the configuration of the walk writer.
+     * @return Walk writer configuration.
+     */
+    public WalkWriterConfiguration getWalkWriterConfiguration() {
+        return walkWriterConfiguration;
+    }
+
+    /**
+     * Set the configuration of the walk writer. Every writer thread writes its own sequence of shards; a new shard
+     * is started once the configured number of lines or bytes is exceeded.
+     * @param walkWriterConfiguration Walk writer configuration.
+     */
+    public void setWalkWriterConfiguration(WalkWriterConfiguration walkWriterConfiguration) {
+        if (walkWriterConfiguration == null) {
+            LOGGER.warn("The walk writer configuration must not be null. Using default configuration.");
+            this.walkWriterConfiguration = new WalkWriterConfiguration();
+        } else {
+            this.walkWriterConfiguration = walkWriterConfiguration;
+        }
+    }
+
+    /**
+     * Get the seed of the walk generation.
+     * @return Seed. Null if the walks are not reproducible.
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Set the seed of the walk generation. With a seed, the walks of an entity are identical across runs regardless of
+     * the number of threads. Use {@link WalkWriterConfiguration#setOrderedOutput(boolean)} in addition to obtain
+     * byte-identical walk files.
+     * @param seed Seed. Null for walks that are not reproducible.
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Check whether checkpoints are written.
+     * @return True if a checkpoint is written whenever a walk shard is completed.
+     */
+    public boolean isCheckpointing() {
+        return isCheckpointing;
+    }
+
+    /**
+     * Write a checkpoint whenever a walk shard is completed so that an interrupted run can be resumed (see
+     * {@link WalkGenerator#setResume(boolean)}). Checkpoints imply ordered output. The frequency of the checkpoints is
+     * determined by the shard size (see {@link WalkWriterConfiguration#setMaxLinesPerShard(long)}).
+     * @param checkpointing True if checkpoints shall be written.
+     */
+    public void setCheckpointing(boolean checkpointing) {
+        isCheckpointing = checkpointing;
+    }
+
+    /**
+     * Check whether the walk generation is resumed from a checkpoint.
+     * @return True if the walk generation is resumed.
+     */
+    public boolean isResume() {
+        return isResume;
+    }
+
+    /**
+     * Resume an interrupted walk generation from the checkpoint of the walk file (if there is one); implies
+     * checkpoints. The entities (in the same iteration order) and the entity batch size must be the same as in the
+     * interrupted run; otherwise, the walk generation starts from scratch. With the same seed, the resulting walk
+     * files are identical to those of an uninterrupted run.
+     * @param resume True if the walk generation shall be resumed.
+     */
+    public void setResume(boolean resume) {
+        isResume = resume;
+    }
+
+    /**
+     * Check whether entities are scheduled by their estimated cost.
+     * @return True if expensive entities are processed first.
+     */
+    public boolean isCostAwareScheduling() {
+        return isCostAwareScheduling;
+    }
+
+    /**
+     * Schedule the entities by their estimated cost: entities with many (distinct) walks are processed first and
+     * alone so that they do not delay the end of the walk generation. The estimation requires one pass over the
+     * entities before the walk generation starts.
+     * @param costAwareScheduling True if expensive entities shall be processed first.
+     */
+    public void setCostAwareScheduling(boolean costAwareScheduling) {
+        isCostAwareScheduling = costAwareScheduling;
+    }
+
+    /**
+     * Process only a part of the entities. The entities are distributed over the partitions by a stable hash, so that
+     * several machines can generate the walks of a graph independently: machine i calls {@code setPartition(i, n)}.
+     * Every partition writes its own walk files, manifest, and checkpoint (e.g. {@code walk_file_p0of4.gz}), so the
+     * walk directories of all machines can simply be merged for the training.
+     * @param partitionIndex     Index of the partition in [0, numberOfPartitions).
+     * @param numberOfPartitions Number of partitions (1: all entities are processed).
+     */
+    public void setPartition(int partitionIndex, int numberOfPartitions) {
+        if (numberOfPartitions < 1 || partitionIndex < 0 || partitionIndex >= numberOfPartitions) {
+            LOGGER.error("Invalid partition " + partitionIndex + "/" + numberOfPartitions + ". The index must be " +
+                    "in [0, number of partitions). All entities will be processed.");
+            this.partitionIndex = 0;
+            this.numberOfPartitions = 1;
+            return;
+        }
+        this.partitionIndex = partitionIndex;
+        this.numberOfPartitions = numberOfPartitions;
+    }
+
+    /**
+     * Get the return parameter p of the node2vec walks.
+     * @return Return parameter.
+     */
+    public double getNode2VecP() {
+        return node2VecP;
+    }
+
+    /**
+     * Set the return parameter p of the node2vec walks ({@link WalkGenerationMode#NODE2VEC}). A low value keeps the
+     * walks close to their start (the walk is likely to go back to the previous node).
+     * @param p Return parameter (&gt; 0).
+     */
+    public void setNode2VecP(double p) {
+        if (!(p > 0) || Double.isInfinite(p)) {
+            LOGGER.warn("The node2vec parameter p must be positive. Using default: " + NODE2VEC_PARAMETER_DEFAULT);
+            p = NODE2VEC_PARAMETER_DEFAULT;
+        }
+        this.node2VecP = p;
+    }
+
+    /**
+     * Get the in-out parameter q of the node2vec walks.
+     * @return In-out parameter.
+     */
+    public double getNode2VecQ() {
+        return node2VecQ;
+    }
+
+    /**
+     * Set the in-out parameter q of the node2vec walks ({@link WalkGenerationMode#NODE2VEC}). q &gt; 1 favors nodes
+     * that are close to the previous node (breadth-first like), q &lt; 1 favors nodes that lead away from it
+     * (depth-first like).
+     * @param q In-out parameter (&gt; 0).
+     */
+    public void setNode2VecQ(double q) {
+        if (!(q > 0) || Double.isInfinite(q)) {
+            LOGGER.warn("The node2vec parameter q must be positive. Using default: " + NODE2VEC_PARAMETER_DEFAULT);
+            q = NODE2VEC_PARAMETER_DEFAULT;
+        }
+        this.node2VecQ = q;
+    }
+
+    /**
+     * Get the memory budget of the neighbor index of the node2vec walks.
+     * @return Memory budget in bytes.
+     */
+    public long getNode2VecIndexMemoryBytes() {
+        return node2VecIndexMemoryBytes;
+    }
+
+    /**
+     * Set the memory budget of the neighbor index of the node2vec walks. The index keeps the successors of high-degree
+     * nodes in hash sets (highest degrees first); the remaining nodes are checked with a scan of their triples.
+     * @param memoryBytes Memory budget in bytes (0: no index).
+     */
+    public void setNode2VecIndexMemoryBytes(long memoryBytes) {
+        if (memoryBytes < 0) {
+            LOGGER.warn("The memory budget of the node2vec index must not be negative. Using default.");
+            memoryBytes = NODE2VEC_INDEX_MEMORY_BYTES_DEFAULT;
+        }
+        this.node2VecIndexMemoryBytes = memoryBytes;
+    }
+
+    /**
+     * Get the edge weights of the weighted random walks.
+     * @return The weight function (a new {@link InversePredicateFrequencyWeight} if none has been set).
+     */
+    public EdgeWeightFunction getEdgeWeightFunction() {
+        return edgeWeightFunction == null ? new InversePredicateFrequencyWeight() : edgeWeightFunction;
+    }
+
+    /**
+     * Set the edge weights of the weighted random walks ({@link WalkGenerationMode#RANDOM_WALKS_WEIGHTED}). Built-in
+     * functions can be obtained via {@link EdgeWeightFunction#fromName(String)}; custom functions can be plugged in
+     * directly.
+     * @param edgeWeightFunction The weight function (null: inverse predicate frequency).
+     */
+    public void setEdgeWeightFunction(EdgeWeightFunction edgeWeightFunction) {
+        this.edgeWeightFunction = edgeWeightFunction;
+    }
+
+    /**
+     * Get the number of Weisfeiler-Lehman iterations.
+     * @return Number of iterations.
+     */
+    public int getWlIterations() {
+        return wlIterations;
+    }
+
+    /**
+     * Set the number of Weisfeiler-Lehman iterations of the WL sequences ({@link WalkGenerationMode#WL_SEQUENCES}).
+     * Every walk is written once per iteration (plus once with the original nodes).
+     * @param wlIterations Number of iterations (&gt; 0).
+     */
+    public void setWlIterations(int wlIterations) {
+        if (wlIterations < 1) {
+            LOGGER.warn("The number of WL iterations must be positive. Using default: " + WL_ITERATIONS_DEFAULT);
+            wlIterations = WL_ITERATIONS_DEFAULT;
+        }
+        this.wlIterations = wlIterations;
+    }
+
+    /**
+     * Get the restart probability of the random walks with restart.
+     * @return Restart probability.
+     */
+    public double getRestartProbability() {
+        return restartProbability;
+    }
+
+    /**
+     * Set the probability with which the random walks with restart ({@link WalkGenerationMode#RANDOM_WALKS_WITH_RESTART})
+     * jump back to the entity before a hop. Higher values keep the walks closer to the entity.
+     * @param restartProbability Restart probability in [0, 1].
+     */
+    public void setRestartProbability(double restartProbability) {
+        if (!(restartProbability >= 0 && restartProbability <= 1)) {
+            LOGGER.warn("The restart probability must be in [0, 1]. Using default: " + RESTART_PROBABILITY_DEFAULT);
+            restartProbability = RESTART_PROBABILITY_DEFAULT;
+        }
+        this.restartProbability = restartProbability;
+    }
+
+    /**
+     * Get the predicate patterns of the metapath walks.
+     * @return The metapaths (null if none have been set).
+     */
+    public List<List<String>> getMetapaths() {
+        return metapaths;
+    }
+
+    /**
+     * Set the predicate patterns of the metapath walks ({@link WalkGenerationMode#METAPATH_WALKS}). Each pattern is a
+     * sequence of predicates that the walks follow (repeated if the walks are longer);
+     * {@link MetapathWalkStrategy#ANY_PREDICATE} matches any predicate.
+     * @param metapaths The metapaths (null: any predicate).
+     */
+    public void setMetapaths(List<List<String>> metapaths) {
+        this.metapaths = metapaths;
+    }
+
+    /**
+     * Get the skip distances of the walklets.
+     * @return Skip distances.
+     */
+    public int[] getWalkletScales() {
+        return walkletScales;
+    }
+
+    /**
+     * Set the skip distances of the walklets ({@link WalkGenerationMode#WALKLETS}). For every scale k, the pairs of
+     * entities that are k hops apart in a walk are written.
+     * @param walkletScales The skip distances (each &gt; 0).
+     */
+    public void setWalkletScales(int[] walkletScales) {
+        if (walkletScales == null || walkletScales.length == 0 || Arrays.stream(walkletScales).anyMatch(scale -> scale < 1)) {
+            LOGGER.warn("The walklet scales must be positive. Using default: " + Arrays.toString(WALKLET_SCALES_DEFAULT));
+            walkletScales = WALKLET_SCALES_DEFAULT;
+        }
+        this.walkletScales = walkletScales;
+    }
+
+    /**
+     * Get the global budget of walks.
+     * @return Walk budget (null if every entity obtains the same number of walks).
+     */
+    public WalkBudget getWalkBudget() {
+        return walkBudget;
+    }
+
+    /**
+     * Set a global budget of walks. The walks are allocated to the entities proportionally to a function of their
+     * degree instead of generating the same number of walks for every entity; the number of walks that is passed to
+     * the walk generation is ignored by the built-in walk modes.
+     * @param walkBudget The walk budget (null: every entity obtains the same number of walks).
+     */
+    public void setWalkBudget(WalkBudget walkBudget) {
+        this.walkBudget = walkBudget;
+    }
+
+    /**
+     * Get the maximal number of exhaustive paths per entity.
+     * @return Maximal number of paths (0: unlimited).
+     */
+    public int getMaxPathsPerEntity() {
+        return maxPathsPerEntity;
+    }
+
+    /**
+     * Set the maximal number of paths per entity of the {@link WalkGenerationMode#EXHAUSTIVE_PATHS}. The paths are
+     * enumerated depth-first, so a cap keeps the first paths in the order of the triples.
+     * @param maxPathsPerEntity The maximal number of paths (0: unlimited).
+     */
+    public void setMaxPathsPerEntity(int maxPathsPerEntity) {
+        if (maxPathsPerEntity < 0) {
+            LOGGER.warn("The maximal number of paths per entity must not be negative. Using default: unlimited.");
+            maxPathsPerEntity = MAX_PATHS_PER_ENTITY_DEFAULT;
+        }
+        this.maxPathsPerEntity = maxPathsPerEntity;
+    }
+
+    /**
+     * Get whether all blank nodes are written as one token.
+     * @return True if blank nodes are unified.
+     */
+    public boolean isUnifyAnonymousNodes() {
+        return isUnifyAnonymousNodes;
+    }
+
+    /**
+     * Set whether all blank nodes are written as one token ({@link MemoryParser#ANONYMOUS_NODE_TOKEN}) instead of
+     * their labels, which are singletons in the vocabulary. Every walk mode of the in-memory parsers honors this
+     * option, and no walks are generated for blank nodes. Blank nodes are flagged when the triples are parsed.
+     * @param unifyAnonymousNodes True if blank nodes shall be unified.
+     */
+    public void setUnifyAnonymousNodes(boolean unifyAnonymousNodes) {
+        this.isUnifyAnonymousNodes = unifyAnonymousNodes;
+        if (parser instanceof MemoryParser) {
+            ((MemoryParser) parser).setUnifyAnonymousNodes(unifyAnonymousNodes);
+        } else if (unifyAnonymousNodes) {
+            LOGGER.warn("Blank nodes can only be unified with an in-memory parser. The option is ignored.");
         }
     }
 
+    /**
+     * Get the index of the partition of the entities that is processed.
+     * @return Index of the partition (0 if the entities are not partitioned).
+     */
+    public int getPartitionIndex() {
+        return partitionIndex;
+    }
 
+    /**
+     * Get the number of partitions of the entities.
+     * @return Number of partitions (1 if the entities are not partitioned).
+     */
+    public int getNumberOfPartitions() {
+        return numberOfPartitions;
+    }
 
+    /**
+     * Get the processing times of the entities of the last walk generation run.
+     * @return Histogram of the processing times (null if no walks have been generated).
+     */
+    public EntityTimingHistogram getEntityTimingHistogram() {
+        return entityTimingHistogram;
+    }
 
+    /**
+     * Get the number of entities whose walks have been generated in the current (or last) walk generation run.
+     * @return Number of processed entities.
+     */
+    public long getProcessedEntities() {
+        return processedEntities.get();
+    }
+
+    /**
+     * Get the number of walks that have been generated in the current (or last) walk generation run (including walks
+     * that are dropped as duplicates by the writer).
+     * @return Number of generated walks.
+     */
+    public long getProcessedWalks() {
+        return processedWalks.get();
+    }
+
+    /**
+     * Get the number of walks that were dropped by the corpus-wide deduplication of the last walk generation run.
+     * @return Number of dropped walks (0 if walks are not deduplicated).
+     */
+    public long getDroppedDuplicateWalks() {
+        return (writer == null) ? 0 : writer.getDroppedDuplicateWalks();
+    }
 
     /**
      * Close resources.
      */
     public void close() {
         if (writer == null) return;
-        try {
-            writer.flush();
-            writer.close();
-        } catch (IOException ioe) {
-            LOGGER.error("There was an error when closing the writer.", ioe);
-        }
+        writer.close();
     }
 
 }
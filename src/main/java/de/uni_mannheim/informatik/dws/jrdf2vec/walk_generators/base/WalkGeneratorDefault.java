@@ -6,19 +6,16 @@ import org.apache.jena.riot.Lang;
 import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.runnables.RandomWalkEntityProcessingRunnable;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.runnables.*;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.net.MalformedURLException;
-import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import java.util.function.UnaryOperator;
-import java.util.zip.GZIPOutputStream;
+import java.util.stream.Collectors;
 
 import static de.uni_mannheim.informatik.dws.jrdf2vec.util.Util.readOntology;
 
@@ -33,6 +30,24 @@ public class WalkGeneratorDefault extends WalkGenerator {
      */
     Logger LOGGER = LoggerFactory.getLogger(WalkGeneratorDefault.class);
 
+    /**
+     * The walk generation modes that require an in-memory parser ({@link MemoryParser}), i.e. that are not available
+     * with the {@link HdtParser} (low memory mode).
+     */
+    public static final Set<WalkGenerationMode> IN_MEMORY_MODES = Collections.unmodifiableSet(EnumSet.of(
+            WalkGenerationMode.NODE2VEC,
+            WalkGenerationMode.RANDOM_WALKS_WEIGHTED,
+            WalkGenerationMode.WL_SEQUENCES,
+            WalkGenerationMode.RANDOM_E_WALKS,
+            WalkGenerationMode.RANDOM_P_WALKS,
+            WalkGenerationMode.MID_E_WALKS,
+            WalkGenerationMode.MID_P_WALKS,
+            WalkGenerationMode.RANDOM_WALKS_WITH_RESTART,
+            WalkGenerationMode.METAPATH_WALKS,
+            WalkGenerationMode.RANDOM_WALKS_UNDIRECTED,
+            WalkGenerationMode.WALKLETS,
+            WalkGenerationMode.EXHAUSTIVE_PATHS));
+
     /**
      * Inject default entity selector.
      */
@@ -73,6 +88,17 @@ public class WalkGeneratorDefault extends WalkGenerator {
      * @param tripleFile File to the NT file or, alternatively, to a directory of NT files.
      */
     public WalkGeneratorDefault(File tripleFile) {
+        this(tripleFile, false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param tripleFile File to the NT file or, alternatively, to a directory of NT files.
+     * @param isLowMemoryMode If true, a single NT file is converted to HDT (once) and the HDT file is memory-mapped
+     *                        rather than loaded into the heap. Note that only mid walks are available for HDT files.
+     */
+    public WalkGeneratorDefault(File tripleFile, boolean isLowMemoryMode) {
         if (!tripleFile.exists()) {
             LOGGER.error("The resource file you specified does not exist. ABORT.");
             return;
@@ -85,7 +111,7 @@ public class WalkGeneratorDefault extends WalkGenerator {
             this.entitySelector = new MemoryEntitySelector(((NtMemoryParser) this.parser).getData());
         } else {
             // decide on parser depending on file ending
-            Pair<IParser, EntitySelector> parserSelectorPair = ParserManager.parseSingleFile(tripleFile);
+            Pair<IParser, EntitySelector> parserSelectorPair = ParserManager.parseSingleFile(tripleFile, isLowMemoryMode);
             this.parser = parserSelectorPair.getValue0();
             this.entitySelector = parserSelectorPair.getValue1();
         }
@@ -106,25 +132,109 @@ public class WalkGeneratorDefault extends WalkGenerator {
     public void generateWalks(WalkGenerationMode generationMode, int numberOfThreads, int numberOfWalks, int depth, String walkFile) {
         if (generationMode == null) {
             System.out.println("walkGeneration mode is null... Using default: RANDOM_WALKS_DUPLICATE_FREE");
-            this.generateRandomWalksDuplicateFree(numberOfThreads, numberOfWalks, depth, walkFile);
-        } else if (generationMode == WalkGenerationMode.MID_WALKS) {
-            System.out.println("generate random mid walks...");
-            this.generateRandomMidWalks(numberOfThreads, numberOfWalks, depth, walkFile);
-        } else if (generationMode == WalkGenerationMode.MID_WALKS_DUPLICATE_FREE) {
-            System.out.println("generate random mid walks duplicate free...");
-            this.generateRandomMidWalksDuplicateFree(numberOfThreads, numberOfWalks, depth, walkFile);
-        } else if (generationMode == WalkGenerationMode.RANDOM_WALKS) {
-            System.out.println("generate random walks...");
-            this.generateRandomWalks(numberOfThreads, numberOfWalks, depth, walkFile);
-        } else if (generationMode == WalkGenerationMode.RANDOM_WALKS_DUPLICATE_FREE) {
-            System.out.println("generate random walks duplicate free...");
-            this.generateRandomWalksDuplicateFree(numberOfThreads, numberOfWalks, depth, walkFile);
-        } else if (generationMode == WalkGenerationMode.MID_WALKS_WEIGHTED) {
-            System.out.println("generate weighted mid walks...");
-            this.generateWeightedMidWalks(numberOfThreads, numberOfWalks, depth, walkFile);
-        } else {
+            generationMode = WalkGenerationMode.RANDOM_WALKS_DUPLICATE_FREE;
+        }
+        if (this.parser == null) {
+            LOGGER.error("Parser not initialized. Aborting program");
+            return;
+        }
+        if (!parserIsOk) {
+            LOGGER.error("Will not execute walk generation due to parser initialization error.");
+            return;
+        }
+        if (!isSupportedByParser(generationMode)) {
+            LOGGER.error("The walk generation mode " + generationMode + " requires an in-memory parser " +
+                    "(not available in -lowMemoryMode). Aborting program.");
+            return;
+        }
+        WalkStrategy strategy = createWalkStrategy(generationMode, numberOfWalks, depth);
+        if (strategy == null) {
             System.out.println("ERROR. Cannot identify the walkGenenerationMode chosen. Aborting program.");
+            return;
+        }
+        LOGGER.info("Generate walks (" + generationMode + ")...");
+        this.filePath = walkFile;
+        Set<String> entities = entitySelector.getEntities();
+        if (isUnifyAnonymousNodes && parser instanceof MemoryParser) {
+            // blank nodes are only written as the unified token, so there are no walks for them
+            MemoryParser memoryParser = (MemoryParser) parser;
+            entities = entities.stream().filter(entity -> !memoryParser.isAnonymousSubject(shortenUri(entity)))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
         }
+        generateWalks(strategy, entities, numberOfThreads, depth);
+    }
+
+    /**
+     * Creates the strategy of a walk generation mode. New walk modes are added here; the remaining walk generation
+     * (threads, batches, writing) is shared by all modes.
+     *
+     * @param generationMode The walk generation mode.
+     * @param numberOfWalks  The number of walks to be generated per entity.
+     * @param depth          The depth of each walk.
+     * @return The strategy or null if the mode is not supported.
+     */
+    public WalkStrategy createWalkStrategy(WalkGenerationMode generationMode, int numberOfWalks, int depth) {
+        if (!isSupportedByParser(generationMode)) {
+            LOGGER.error("The walk generation mode " + generationMode + " requires an in-memory parser (not available " +
+                    "in the low memory mode).");
+            return null;
+        }
+        switch (generationMode) {
+            case MID_WALKS:
+                return new MidWalkEntityProcessingRunnable(this, numberOfWalks, depth);
+            case MID_WALKS_DUPLICATE_FREE:
+                return new DuplicateFreeMidWalkEntityProcessingRunnable(this, numberOfWalks, depth);
+            case MID_WALKS_WEIGHTED:
+                return new WeightedMidWalkEntityProcessingRunnable(this, numberOfWalks, depth);
+            case RANDOM_WALKS:
+                return new RandomWalkEntityProcessingRunnable(this, numberOfWalks, depth);
+            case RANDOM_WALKS_DUPLICATE_FREE:
+                return new DuplicateFreeWalkEntityProcessingRunnable(this, numberOfWalks, depth);
+            case NODE2VEC:
+                return new Node2VecWalkStrategy(this, numberOfWalks, depth, node2VecP, node2VecQ, node2VecIndexMemoryBytes);
+            case RANDOM_WALKS_WEIGHTED:
+                return new WeightedRandomWalkStrategy(this, numberOfWalks, depth, getEdgeWeightFunction());
+            case WL_SEQUENCES:
+                return new WeisfeilerLehmanWalkStrategy(this, numberOfWalks, depth, wlIterations);
+            case RANDOM_E_WALKS:
+            case RANDOM_P_WALKS:
+            case MID_E_WALKS:
+            case MID_P_WALKS:
+                WalkContent content = (generationMode == WalkGenerationMode.RANDOM_E_WALKS
+                        || generationMode == WalkGenerationMode.MID_E_WALKS) ? WalkContent.ENTITIES : WalkContent.PREDICATES;
+                if (generationMode == WalkGenerationMode.RANDOM_E_WALKS || generationMode == WalkGenerationMode.RANDOM_P_WALKS) {
+                    return new RandomWalkEntityProcessingRunnable(this, numberOfWalks, depth, content);
+                }
+                return new MidWalkEntityProcessingRunnable(this, numberOfWalks, depth, content);
+            case RANDOM_WALKS_WITH_RESTART:
+                return new RestartWalkStrategy(this, numberOfWalks, depth, restartProbability);
+            case METAPATH_WALKS:
+                if (metapaths == null || metapaths.isEmpty()) {
+                    LOGGER.warn("No metapaths set. Every predicate is allowed (plain random walks).");
+                    return new MetapathWalkStrategy(this, numberOfWalks, depth,
+                            Collections.singletonList(Collections.singletonList(MetapathWalkStrategy.ANY_PREDICATE)));
+                }
+                return new MetapathWalkStrategy(this, numberOfWalks, depth, metapaths);
+            case RANDOM_WALKS_UNDIRECTED:
+                return new UndirectedRandomWalkStrategy(this, numberOfWalks, depth);
+            case WALKLETS:
+                return new WalkletStrategy(this, numberOfWalks, depth, walkletScales);
+            case EXHAUSTIVE_PATHS:
+                return new ExhaustivePathStrategy(this, depth, maxPathsPerEntity);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Check whether the parser of this generator supports the given walk generation mode (see
+     * {@link WalkGeneratorDefault#IN_MEMORY_MODES}).
+     *
+     * @param generationMode The walk generation mode.
+     * @return True if the walks of the mode can be generated with the parser.
+     */
+    public boolean isSupportedByParser(WalkGenerationMode generationMode) {
+        return parser instanceof MemoryParser || !IN_MEMORY_MODES.contains(generationMode);
     }
 
     @Override
@@ -134,14 +244,12 @@ public class WalkGeneratorDefault extends WalkGenerator {
 
     @Override
     public void generateRandomWalks(int numberOfThreads, int numberOfWalksPerEntity, int depth, String filePathOfFileToBeWritten) {
-        this.filePath = filePathOfFileToBeWritten;
-        generateRandomWalksForEntities(entitySelector.getEntities(), numberOfThreads, numberOfWalksPerEntity, depth);
+        generateWalks(WalkGenerationMode.RANDOM_WALKS, numberOfThreads, numberOfWalksPerEntity, depth, filePathOfFileToBeWritten);
     }
 
     @Override
     public void generateRandomWalksDuplicateFree(int numberOfThreads, int numberOfWalksPerEntity, int depth, String filePathOfFileToBeWritten) {
-        this.filePath = filePathOfFileToBeWritten;
-        generateDuplicateFreeWalksForEntities(entitySelector.getEntities(), numberOfThreads, numberOfWalksPerEntity, depth);
+        generateWalks(WalkGenerationMode.RANDOM_WALKS_DUPLICATE_FREE, numberOfThreads, numberOfWalksPerEntity, depth, filePathOfFileToBeWritten);
     }
 
     @Override
@@ -156,16 +264,7 @@ public class WalkGeneratorDefault extends WalkGenerator {
 
     @Override
     public void generateRandomMidWalks(int numberOfThreads, int numberOfWalksPerEntity, int depth, String filePathOfFileToBeWritten) {
-        if (this.parser == null) {
-            LOGGER.error("Parser not initialized. Aborting program");
-            return;
-        }
-        if (!parserIsOk) {
-            LOGGER.error("Will not execute walk generation due to parser initialization error.");
-            return;
-        }
-        this.filePath = filePathOfFileToBeWritten;
-        generateRandomMidWalksForEntities(entitySelector.getEntities(), numberOfThreads, numberOfWalksPerEntity, depth);
+        generateWalks(WalkGenerationMode.MID_WALKS, numberOfThreads, numberOfWalksPerEntity, depth, filePathOfFileToBeWritten);
     }
 
     @Override
@@ -175,16 +274,7 @@ public class WalkGeneratorDefault extends WalkGenerator {
 
     @Override
     public void generateWeightedMidWalks(int numberOfThreads, int numberOfWalksPerEntity, int depth, String filePathOfFileToBeWritten) {
-        if (this.parser == null) {
-            LOGGER.error("Parser not initialized. Aborting program");
-            return;
-        }
-        if (!parserIsOk) {
-            LOGGER.error("Will not execute walk generation due to parser initialization error.");
-            return;
-        }
-        this.filePath = filePathOfFileToBeWritten;
-        generateWeightedMidWalksForEntities(entitySelector.getEntities(), numberOfThreads, numberOfWalksPerEntity, depth);
+        generateWalks(WalkGenerationMode.MID_WALKS_WEIGHTED, numberOfThreads, numberOfWalksPerEntity, depth, filePathOfFileToBeWritten);
     }
 
     @Override
@@ -194,16 +284,7 @@ public class WalkGeneratorDefault extends WalkGenerator {
 
     @Override
     public void generateRandomMidWalksDuplicateFree(int numberOfThreads, int numberOfWalksPerEntity, int depth, String filePathOfFileToBeWritten) {
-        if (this.parser == null) {
-            LOGGER.error("Parser not initialized. Aborting program");
-            return;
-        }
-        if (!parserIsOk) {
-            LOGGER.error("Will not execute walk generation due to parser initialization error.");
-            return;
-        }
-        this.filePath = filePathOfFileToBeWritten;
-        generateRandomMidWalksForEntitiesDuplicateFree(entitySelector.getEntities(), numberOfThreads, numberOfWalksPerEntity, depth);
+        generateWalks(WalkGenerationMode.MID_WALKS_DUPLICATE_FREE, numberOfThreads, numberOfWalksPerEntity, depth, filePathOfFileToBeWritten);
     }
 
 
@@ -216,36 +297,7 @@ public class WalkGeneratorDefault extends WalkGenerator {
      * @param walkLength      The length of each walk.
      */
     public void generateRandomWalksForEntities(Set<String> entities, int numberOfThreads, int numberOfWalks, int walkLength) {
-        File outputFile = new File(filePath);
-        outputFile.getParentFile().mkdirs();
-
-        // initialize the writer
-        try {
-            this.writer = new OutputStreamWriter(new GZIPOutputStream(
-                    new FileOutputStream(outputFile, false)), StandardCharsets.UTF_8);
-        } catch (Exception e1) {
-            LOGGER.error("Could not initialize writer. Aborting process.", e1);
-            return;
-        }
-
-        // thread pool
-        ThreadPoolExecutor pool = new ThreadPoolExecutor(numberOfThreads, numberOfThreads,
-                0, TimeUnit.SECONDS,
-                new java.util.concurrent.ArrayBlockingQueue<>(entities.size()));
-
-        for (String entity : entities) {
-            RandomWalkEntityProcessingRunnable th = new RandomWalkEntityProcessingRunnable(this, entity, numberOfWalks, walkLength);
-            pool.execute(th);
-        }
-
-        pool.shutdown();
-        try {
-            pool.awaitTermination(10, TimeUnit.DAYS);
-        } catch (InterruptedException e) {
-            LOGGER.error("Interrupted Exception");
-            e.printStackTrace();
-        }
-        this.close();
+        generateWalks(new RandomWalkEntityProcessingRunnable(this, numberOfWalks, walkLength), entities, numberOfThreads, walkLength);
     }
 
 
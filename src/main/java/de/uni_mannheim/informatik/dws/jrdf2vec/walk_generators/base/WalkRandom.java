@@ -0,0 +1,93 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base;
+
+import java.util.SplittableRandom;
+
+/**
+ * Source of randomness for the walk generation. Every thread draws from its own generator, so no synchronization is
+ * required.
+ * <br>
+ * By default, the generators are not seeded. If a seed is set (see {@link WalkGenerator#setSeed(Long)}), the walk
+ * generator calls {@link WalkRandom#seedForEntity(long, String)} before the walks of an entity are generated. The
+ * generator of the thread is then derived from (seed, entity) only, so that the walks of an entity do not depend on the
+ * number of threads or on the order in which the entities are processed.
+ */
+public final class WalkRandom {
+
+    /**
+     * The generator of the current thread.
+     */
+    private static final ThreadLocal<SplittableRandom> CURRENT = ThreadLocal.withInitial(SplittableRandom::new);
+
+    /**
+     * Utility class: no instances.
+     */
+    private WalkRandom() {
+    }
+
+    /**
+     * Get the random number generator of the current thread. Callers must not keep the generator beyond the
+     * processing of the current entity.
+     *
+     * @return Random number generator.
+     */
+    public static SplittableRandom current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Derives the generator of the current thread from the seed and the entity.
+     *
+     * @param seed   The seed of the walk generation run.
+     * @param entity The entity whose walks are generated next.
+     */
+    public static void seedForEntity(long seed, String entity) {
+        CURRENT.set(new SplittableRandom(getEntitySeed(seed, entity)));
+    }
+
+    /**
+     * Replaces the generator of the current thread by an unseeded one.
+     */
+    public static void unseed() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Combines the seed of the run with a 64 bit hash of the entity (FNV-1a). Both are mixed so that similar seeds or
+     * entities do not lead to correlated generators.
+     *
+     * @param seed   The seed of the walk generation run.
+     * @param entity The entity.
+     * @return The seed of the entity.
+     */
+    public static long getEntitySeed(long seed, String entity) {
+        return mix64(seed ^ hash(entity));
+    }
+
+    /**
+     * 64 bit hash of the entity (FNV-1a, mixed). Unlike {@link String#hashCode()}, the bits are well distributed, and
+     * the value is the same on every machine and in every run.
+     *
+     * @param entity The entity.
+     * @return Hash of the entity.
+     */
+    public static long hash(String entity) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < entity.length(); i++) {
+            hash ^= entity.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix64(hash);
+    }
+
+    /**
+     * Finalization step of MurmurHash3 (64 bit).
+     *
+     * @param value Value to be mixed.
+     * @return Mixed value.
+     */
+    public static long mix64(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
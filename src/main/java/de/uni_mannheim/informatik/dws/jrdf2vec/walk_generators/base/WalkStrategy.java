@@ -0,0 +1,38 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A walk strategy generates the walks of a single entity. The walk generator takes care of everything else: the
+ * entities are handed out in batches to a fixed number of worker threads, and the walks are passed on to the walk
+ * writer (statistics, ordered output, deduplication, compression). A new walk mode therefore only has to implement this
+ * interface (see {@link WalkGenerator#generateWalks(WalkStrategy, java.util.Collection, int, int)}).
+ * <br>
+ * One instance is shared by all worker threads, so implementations must be thread-safe. Random choices must be drawn
+ * from {@link WalkRandom#current()} so that seeded runs are reproducible.
+ */
+@FunctionalInterface
+public interface WalkStrategy {
+
+    /**
+     * Generates the walks of the given entity.
+     *
+     * @param entity The entity (not shortened).
+     * @param sink   Receives the walks of the entity. It should be called once with all walks of the entity (the
+     *               generator counts every call as one processed entity).
+     */
+    void generateWalks(String entity, Consumer<List<String>> sink);
+
+    /**
+     * Generates the given number of walks of the given entity. This method is used if the walks are allocated by a
+     * {@link WalkBudget}. The built-in strategies override it; the default implementation ignores the number of walks.
+     *
+     * @param entity        The entity (not shortened).
+     * @param numberOfWalks The number of walks of this entity.
+     * @param sink          Receives the walks of the entity (see {@link WalkStrategy#generateWalks(String, Consumer)}).
+     */
+    default void generateWalks(String entity, int numberOfWalks, Consumer<List<String>> sink) {
+        generateWalks(entity, sink);
+    }
+}
@@ -0,0 +1,82 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures;
+
+import java.util.SplittableRandom;
+
+/**
+ * Walker's alias table (built with Vose's method): draws an index with a probability proportional to its weight in
+ * O(1). Building the table takes O(n). Instances are immutable and can be shared by all threads.
+ */
+public class AliasTable {
+
+    /**
+     * Probability to keep the drawn column (scaled to [0, 1]).
+     */
+    private final double[] probabilities;
+
+    /**
+     * Alternative index of each column.
+     */
+    private final int[] aliases;
+
+    /**
+     * Constructor
+     *
+     * @param weights Non-negative weights. If all weights are 0 (or not finite), the indices are drawn uniformly.
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        probabilities = new double[n];
+        aliases = new int[n];
+        double sum = 0;
+        for (double weight : weights) {
+            if (weight > 0 && !Double.isInfinite(weight)) sum += weight;
+        }
+        double[] scaled = new double[n];
+        for (int i = 0; i < n; i++) {
+            double weight = weights[i] > 0 && !Double.isInfinite(weights[i]) ? weights[i] : 0;
+            scaled[i] = sum > 0 ? weight * n / sum : 1.0;
+        }
+
+        // indices of the columns below and above the average (used as stacks)
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; i++) {
+            if (scaled[i] < 1.0) small[smallSize++] = i;
+            else large[largeSize++] = i;
+        }
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) small[smallSize++] = more;
+            else large[largeSize++] = more;
+        }
+        // remaining columns are (up to rounding errors) full
+        while (largeSize > 0) probabilities[large[--largeSize]] = 1.0;
+        while (smallSize > 0) probabilities[small[--smallSize]] = 1.0;
+    }
+
+    /**
+     * Draws an index.
+     *
+     * @param random The random number generator.
+     * @return Index in [0, size).
+     */
+    public int sample(SplittableRandom random) {
+        int column = random.nextInt(probabilities.length);
+        return random.nextDouble() < probabilities[column] ? column : aliases[column];
+    }
+
+    /**
+     * Get the number of indices.
+     *
+     * @return Size of the table.
+     */
+    public int size() {
+        return probabilities.length;
+    }
+}
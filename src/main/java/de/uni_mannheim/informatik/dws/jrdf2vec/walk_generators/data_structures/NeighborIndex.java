@@ -0,0 +1,105 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers whether there is an edge from one node to another, as required by second-order (node2vec) walks. The
+ * successors of high-degree nodes are kept in hash sets so that the check is O(1); all other nodes are checked with a
+ * scan over their (short) triple lists. The hash sets are created for the nodes with the highest degrees first until
+ * the memory budget is exhausted, so the index never grows beyond the budget.
+ */
+public class NeighborIndex {
+
+    /**
+     * Default logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(NeighborIndex.class);
+
+    /**
+     * Nodes with fewer successors are always checked with a scan.
+     */
+    public static final int MIN_INDEXED_DEGREE = 16;
+
+    /**
+     * Estimated memory of one entry of a hash set (entry, table slot, share of the set object).
+     */
+    static final long BYTES_PER_ENTRY = 48;
+
+    /**
+     * The data.
+     */
+    private final TripleDataSetMemory data;
+
+    /**
+     * Successor objects of the indexed nodes.
+     */
+    private final Map<String, Set<String>> successors;
+
+    /**
+     * Constructor
+     *
+     * @param data        The data.
+     * @param memoryBytes Memory budget of the hash sets in bytes (0: no hash sets, all checks are scans).
+     */
+    public NeighborIndex(TripleDataSetMemory data, long memoryBytes) {
+        this.data = data;
+        List<String> candidates = new ArrayList<>();
+        for (String subject : data.getUniqueSubjects()) {
+            if (data.getTriplesInvolvingSubject(subject).size() >= MIN_INDEXED_DEGREE) candidates.add(subject);
+        }
+        candidates.sort(Comparator.comparingInt((String subject) -> data.getTriplesInvolvingSubject(subject).size()).reversed());
+
+        List<String> selected = new ArrayList<>();
+        long usedBytes = 0;
+        for (String subject : candidates) {
+            long bytes = data.getTriplesInvolvingSubject(subject).size() * BYTES_PER_ENTRY;
+            if (usedBytes + bytes > memoryBytes) break;
+            usedBytes += bytes;
+            selected.add(subject);
+        }
+        this.successors = new ConcurrentHashMap<>(Math.max(16, selected.size() * 2));
+        selected.parallelStream().forEach(subject -> {
+            List<Triple> triples = data.getTriplesInvolvingSubject(subject);
+            Set<String> objects = new HashSet<>(triples.size() * 2);
+            for (Triple triple : triples) {
+                objects.add(triple.object);
+            }
+            successors.put(subject, objects);
+        });
+        if (selected.size() < candidates.size()) {
+            LOGGER.info("Neighbor index: " + selected.size() + " of " + candidates.size() + " high-degree nodes fit " +
+                    "into the memory budget; the remaining nodes are checked with a scan.");
+        }
+    }
+
+    /**
+     * Checks whether there is an edge from node to candidate.
+     *
+     * @param node      The node.
+     * @param candidate The candidate successor.
+     * @return True if there is a triple (node, p, candidate) for some predicate p.
+     */
+    public boolean isNeighbor(String node, String candidate) {
+        Set<String> objects = successors.get(node);
+        if (objects != null) return objects.contains(candidate);
+        List<Triple> triples = data.getTriplesInvolvingSubject(node);
+        if (triples == null) return false;
+        for (Triple triple : triples) {
+            if (triple.object.equals(candidate)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of nodes whose successors are kept in hash sets.
+     *
+     * @return Number of indexed nodes.
+     */
+    public int getNumberOfIndexedNodes() {
+        return successors.size();
+    }
+}
@@ -3,21 +3,75 @@ package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures;
 public class Triple {
 
     /**
-     * Constructor
+     * Flag of {@link Triple#anonymousNodes}: the subject is a blank node.
+     */
+    public static final byte ANONYMOUS_SUBJECT = 1;
+
+    /**
+     * Flag of {@link Triple#anonymousNodes}: the object is a blank node.
+     */
+    public static final byte ANONYMOUS_OBJECT = 2;
+
+    /**
+     * Constructor. Blank nodes are recognized by the N-Triples prefix {@code _:}.
      * @param subject Subject
      * @param predicate Predicate
      * @param object Object
      */
     public Triple(String subject, String predicate, String object){
+        this(subject, predicate, object, (byte) ((isBlankNode(subject) ? ANONYMOUS_SUBJECT : 0) |
+                (isBlankNode(object) ? ANONYMOUS_OBJECT : 0)));
+    }
+
+    /**
+     * Constructor
+     * @param subject Subject
+     * @param predicate Predicate
+     * @param object Object
+     * @param anonymousNodes Blank node flags ({@link Triple#ANONYMOUS_SUBJECT}, {@link Triple#ANONYMOUS_OBJECT}).
+     */
+    public Triple(String subject, String predicate, String object, byte anonymousNodes){
         this.subject = subject;
         this.predicate = predicate;
         this.object = object;
+        this.anonymousNodes = anonymousNodes;
     }
 
     public String subject;
     public String predicate;
     public String object;
 
+    /**
+     * Blank node flags of the subject and the object. The flags are determined once when the triple is parsed, so
+     * walks can check for blank nodes with a bit test instead of comparing strings on every hop.
+     */
+    public final byte anonymousNodes;
+
+    /**
+     * Checks whether the subject is a blank node.
+     * @return True if the subject is a blank node.
+     */
+    public boolean isAnonymousSubject(){
+        return (anonymousNodes & ANONYMOUS_SUBJECT) != 0;
+    }
+
+    /**
+     * Checks whether the object is a blank node.
+     * @return True if the object is a blank node.
+     */
+    public boolean isAnonymousObject(){
+        return (anonymousNodes & ANONYMOUS_OBJECT) != 0;
+    }
+
+    /**
+     * Checks whether the given node is a blank node in N-Triples syntax (e.g. {@code _:genid413438}).
+     * @param node The node.
+     * @return True if blank node.
+     */
+    public static boolean isBlankNode(String node){
+        return node != null && node.startsWith("_:");
+    }
+
     @Override
     public boolean equals(Object obj){
         if (this == obj) return true;
@@ -23,6 +23,12 @@ public class TripleDataSetMemory {
     HashSet<Triple> triples;
     private long size = 0;
 
+    /**
+     * Composite (subject, predicate) index. It is only built when it is used for the first time (see
+     * {@link TripleDataSetMemory#getTriplesInvolvingSubjectAndPredicate(String, String)}) and kept up to date afterwards.
+     */
+    private volatile HashMap<SubjectPredicate, ArrayList<Triple>> subjectPredicateToTriple;
+
     /**
      * Add the given triple as specified by its components.
      * @param subject Subject
@@ -61,6 +67,11 @@ public class TripleDataSetMemory {
             newList.add(tripleToAdd);
             objectToTriple.put(tripleToAdd.object, newList);
         } else objectToTripleList.add(tripleToAdd);
+
+        if(subjectPredicateToTriple != null){
+            subjectPredicateToTriple.computeIfAbsent(new SubjectPredicate(tripleToAdd.subject, tripleToAdd.predicate),
+                    key -> new ArrayList<>()).add(tripleToAdd);
+        }
         triples.add(tripleToAdd);
         size++;
     }
@@ -91,6 +102,39 @@ public class TripleDataSetMemory {
         return objectToTriple.get(object);
     }
 
+    /**
+     * Obtain the triples with the given subject and predicate (a direct lookup in the composite index; the index is
+     * built on the first call).
+     * @param subject Subject
+     * @param predicate Predicate
+     * @return The triples or null if there are none.
+     */
+    public List<Triple> getTriplesInvolvingSubjectAndPredicate(String subject, String predicate){
+        HashMap<SubjectPredicate, ArrayList<Triple>> index = subjectPredicateToTriple;
+        if(index == null){
+            index = buildSubjectPredicateIndex();
+        }
+        return index.get(new SubjectPredicate(subject, predicate));
+    }
+
+    /**
+     * Builds the composite (subject, predicate) index if it does not exist yet.
+     * @return The index.
+     */
+    private synchronized HashMap<SubjectPredicate, ArrayList<Triple>> buildSubjectPredicateIndex(){
+        if(subjectPredicateToTriple == null){
+            HashMap<SubjectPredicate, ArrayList<Triple>> index = new HashMap<>();
+            for(ArrayList<Triple> subjectTriples : subjectToTriple.values()){
+                for(Triple triple : subjectTriples){
+                    index.computeIfAbsent(new SubjectPredicate(triple.subject, triple.predicate),
+                            key -> new ArrayList<>(2)).add(triple);
+                }
+            }
+            subjectPredicateToTriple = index;
+        }
+        return subjectPredicateToTriple;
+    }
+
     /**
      * Returns the number of managed triples.
      * @return The number of managed triples.
@@ -134,4 +178,33 @@ public class TripleDataSetMemory {
         return predicateToTriple.keySet();
     }
 
+
+    /**
+     * Key of the composite (subject, predicate) index.
+     */
+    private static final class SubjectPredicate {
+
+        private final String subject;
+        private final String predicate;
+        private final int hash;
+
+        SubjectPredicate(String subject, String predicate){
+            this.subject = subject;
+            this.predicate = predicate;
+            this.hash = 31 * subject.hashCode() + predicate.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o){
+            if(this == o) return true;
+            if(!(o instanceof SubjectPredicate)) return false;
+            SubjectPredicate other = (SubjectPredicate) o;
+            return hash == other.hash && subject.equals(other.subject) && predicate.equals(other.predicate);
+        }
+
+        @Override
+        public int hashCode(){
+            return hash;
+        }
+    }
 }
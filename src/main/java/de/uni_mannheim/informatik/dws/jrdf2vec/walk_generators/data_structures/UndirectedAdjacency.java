@@ -0,0 +1,69 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The triples in which a node occurs as subject or as object, merged into one array per node (built in parallel, once
+ * per walk generation run). An undirected hop thereby needs one lookup instead of one per direction. Whether a triple
+ * is traversed forwards or backwards follows from {@link Triple#subject}.
+ */
+public class UndirectedAdjacency {
+
+    /**
+     * Default logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(UndirectedAdjacency.class);
+
+    /**
+     * Outgoing triples followed by incoming triples of each node.
+     */
+    private final Map<String, Triple[]> adjacency;
+
+    /**
+     * Constructor
+     *
+     * @param data The data.
+     */
+    public UndirectedAdjacency(TripleDataSetMemory data) {
+        adjacency = new ConcurrentHashMap<>();
+        data.getUniqueSubjectsAndObjects().parallelStream().forEach(node -> {
+            List<Triple> outgoing = data.getTriplesInvolvingSubject(node);
+            List<Triple> incoming = data.getTriplesInvolvingObject(node);
+            int numberOfOutgoing = outgoing == null ? 0 : outgoing.size();
+            int numberOfIncoming = 0;
+            if (incoming != null) {
+                for (Triple triple : incoming) {
+                    // self loops are only traversed forwards
+                    if (!triple.subject.equals(node)) numberOfIncoming++;
+                }
+            }
+            Triple[] triples = new Triple[numberOfOutgoing + numberOfIncoming];
+            int position = 0;
+            if (outgoing != null) {
+                for (Triple triple : outgoing) triples[position++] = triple;
+            }
+            if (incoming != null) {
+                for (Triple triple : incoming) {
+                    if (!triple.subject.equals(node)) triples[position++] = triple;
+                }
+            }
+            adjacency.put(node, triples);
+        });
+        LOGGER.info("Built the undirected adjacency of " + adjacency.size() + " nodes.");
+    }
+
+    /**
+     * Get the triples in which the node occurs as subject (first) or as object.
+     *
+     * @param node The node.
+     * @return The triples or null if the node is unknown.
+     */
+    public Triple[] getTriples(String node) {
+        return adjacency.get(node);
+    }
+}
@@ -0,0 +1,134 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable buffer for the components of a single walk that can grow in both directions (as required for mid walks).
+ * The walk components are stored in an array; the start entity is placed in the middle so that predecessors and
+ * successors can be added without shifting or allocating. The buffer is meant to be reused for many walks by one
+ * thread (e.g. via a {@link ThreadLocal}) so that no allocations happen per hop. It is not thread-safe.
+ */
+public class WalkComponentDeque {
+
+    /**
+     * The walk components. Only the range [head, tail) is valid.
+     */
+    private String[] components;
+
+    /**
+     * Index of the first component.
+     */
+    private int head;
+
+    /**
+     * Index after the last component.
+     */
+    private int tail;
+
+    /**
+     * Builder that is reused to serialize walks.
+     */
+    private final StringBuilder builder = new StringBuilder(256);
+
+    /**
+     * Constructor
+     */
+    public WalkComponentDeque() {
+        this.components = new String[16];
+    }
+
+    /**
+     * Empties the buffer and starts a new walk with the given entity. Afterwards, up to {@code depth} hops (i.e., two
+     * components per hop) can be added in each direction.
+     *
+     * @param entity The entity in the middle of the walk.
+     * @param depth  The maximal number of hops in each direction.
+     */
+    public void reset(String entity, int depth) {
+        int margin = 2 * Math.max(depth, 0);
+        int capacity = 2 * margin + 1;
+        if (components.length < capacity) {
+            components = new String[capacity];
+        } else {
+            // release references of the previous walk
+            Arrays.fill(components, head, tail, null);
+        }
+        head = margin;
+        tail = margin;
+        components[tail++] = entity;
+    }
+
+    /**
+     * Adds a component at the beginning of the walk.
+     *
+     * @param component The component to be added.
+     */
+    public void addFirst(String component) {
+        components[--head] = component;
+    }
+
+    /**
+     * Adds a component at the end of the walk.
+     *
+     * @param component The component to be added.
+     */
+    public void addLast(String component) {
+        components[tail++] = component;
+    }
+
+    /**
+     * Get the number of walk components.
+     *
+     * @return Number of components.
+     */
+    public int size() {
+        return tail - head;
+    }
+
+    /**
+     * Get a walk component.
+     *
+     * @param index Index of the component (0 is the first component of the walk).
+     * @return The component.
+     */
+    public String get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return components[head + index];
+    }
+
+    /**
+     * Serializes the walk (components separated by spaces) using the internal builder.
+     *
+     * @return The walk as a single string.
+     */
+    public String toWalkString() {
+        builder.setLength(0);
+        appendTo(builder);
+        return builder.toString();
+    }
+
+    /**
+     * Appends the walk (components separated by spaces) to the given builder.
+     *
+     * @param target The builder to which the walk shall be appended.
+     */
+    public void appendTo(StringBuilder target) {
+        for (int i = head; i < tail; i++) {
+            if (i != head) target.append(' ');
+            target.append(components[i]);
+        }
+    }
+
+    /**
+     * Copies the walk into a new list.
+     *
+     * @return List where each element is a walk component.
+     */
+    public List<String> toList() {
+        return new ArrayList<>(Arrays.asList(components).subList(head, tail));
+    }
+}
@@ -0,0 +1,68 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures;
+
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.weights.EdgeWeightFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Draws an outgoing triple of a node with a probability proportional to its weight. An {@link AliasTable} is built
+ * for every node with more than one outgoing triple (in parallel, once per walk generation run), so that every draw
+ * is O(1) independently of the degree.
+ */
+public class WeightedEdgeSampler {
+
+    /**
+     * Default logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(WeightedEdgeSampler.class);
+
+    /**
+     * The data.
+     */
+    private final TripleDataSetMemory data;
+
+    /**
+     * Alias table per subject; the indices refer to {@link TripleDataSetMemory#getTriplesInvolvingSubject(String)}.
+     */
+    private final Map<String, AliasTable> aliasTables;
+
+    /**
+     * Constructor
+     *
+     * @param data           The data.
+     * @param weightFunction The (initialized) weight function.
+     */
+    public WeightedEdgeSampler(TripleDataSetMemory data, EdgeWeightFunction weightFunction) {
+        this.data = data;
+        this.aliasTables = new ConcurrentHashMap<>(Math.max(16, data.getUniqueSubjects().size() * 2));
+        data.getUniqueSubjects().parallelStream().forEach(subject -> {
+            List<Triple> triples = data.getTriplesInvolvingSubject(subject);
+            if (triples.size() < 2) return;
+            double[] weights = new double[triples.size()];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = weightFunction.getWeight(triples.get(i));
+            }
+            aliasTables.put(subject, new AliasTable(weights));
+        });
+        LOGGER.info("Built alias tables for " + aliasTables.size() + " nodes.");
+    }
+
+    /**
+     * Draws an outgoing triple of the subject.
+     *
+     * @param subject The subject.
+     * @param random  The random number generator.
+     * @return The drawn triple or null if the subject has no outgoing triples.
+     */
+    public Triple sample(String subject, SplittableRandom random) {
+        List<Triple> triples = data.getTriplesInvolvingSubject(subject);
+        if (triples == null || triples.isEmpty()) return null;
+        AliasTable table = aliasTables.get(subject);
+        return triples.get(table == null ? 0 : table.sample(random));
+    }
+}
@@ -0,0 +1,125 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures;
+
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Weisfeiler-Lehman relabeling of the in-memory graph (as used by the WL subtree kernel of the original RDF2Vec paper).
+ * All nodes start with the same label (iteration 0). In every iteration, the new label of a node is derived from its
+ * previous label and the sorted multiset of (predicate, previous label of the object) pairs of its outgoing triples.
+ * Hence, two nodes share the label of iteration i if their outgoing neighborhoods up to depth i have the same structure
+ * (regardless of the names of the nodes). Labels are 64 bit hashes instead of concatenated strings, so the memory is
+ * n * (iterations + 1) longs, and every iteration is computed in parallel over the nodes.
+ */
+public class WeisfeilerLehmanLabeling {
+
+    /**
+     * Default logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(WeisfeilerLehmanLabeling.class);
+
+    /**
+     * The label of all nodes in iteration 0.
+     */
+    private static final long INITIAL_LABEL = WalkRandom.hash("wl0");
+
+    /**
+     * Index of each node.
+     */
+    private final Map<String, Integer> nodeIndex;
+
+    /**
+     * labels[i][v]: label of node v after iteration i (iteration 0: {@link #INITIAL_LABEL} for every node).
+     */
+    private final long[][] labels;
+
+    /**
+     * Constructor. All iterations are computed here.
+     *
+     * @param data       The data.
+     * @param iterations The number of relabeling iterations (&gt;= 0).
+     */
+    public WeisfeilerLehmanLabeling(TripleDataSetMemory data, int iterations) {
+        nodeIndex = new HashMap<>();
+        for (String node : data.getUniqueSubjectsAndObjects()) {
+            nodeIndex.put(node, nodeIndex.size());
+        }
+        int n = nodeIndex.size();
+        labels = new long[iterations + 1][n];
+
+        // outgoing edges in compressed form: the edges of node v are [outgoingStart[v], outgoingStart[v+1])
+        int[] outgoingStart = new int[n + 1];
+        for (Triple triple : data.getAllTriples()) {
+            outgoingStart[nodeIndex.get(triple.subject) + 1]++;
+        }
+        for (int v = 0; v < n; v++) outgoingStart[v + 1] += outgoingStart[v];
+        long[] predicateHashes = new long[outgoingStart[n]];
+        int[] objects = new int[outgoingStart[n]];
+        int[] fill = new int[n];
+        for (Triple triple : data.getAllTriples()) {
+            int source = nodeIndex.get(triple.subject);
+            int position = outgoingStart[source] + fill[source]++;
+            predicateHashes[position] = WalkRandom.hash(triple.predicate);
+            objects[position] = nodeIndex.get(triple.object);
+        }
+
+        Arrays.fill(labels[0], INITIAL_LABEL);
+        for (int iteration = 1; iteration <= iterations; iteration++) {
+            final long[] previous = labels[iteration - 1];
+            final long[] current = labels[iteration];
+            IntStream.range(0, n).parallel().forEach(v -> {
+                int start = outgoingStart[v];
+                long[] signature = new long[outgoingStart[v + 1] - start];
+                for (int i = 0; i < signature.length; i++) {
+                    signature[i] = combine(predicateHashes[start + i], previous[objects[start + i]]);
+                }
+                // sorting makes the label independent of the order of the triples (multiset)
+                Arrays.sort(signature);
+                long label = previous[v];
+                for (long value : signature) {
+                    label = combine(label, value);
+                }
+                current[v] = label;
+            });
+        }
+        LOGGER.info("Weisfeiler-Lehman labels computed for " + n + " nodes and " + iterations + " iterations.");
+    }
+
+    /**
+     * Order-dependent combination of two hashes.
+     *
+     * @param left  First hash.
+     * @param right Second hash.
+     * @return Combined hash.
+     */
+    private static long combine(long left, long right) {
+        return WalkRandom.mix64(left * 0x9e3779b97f4a7c15L + right);
+    }
+
+    /**
+     * Get the label of a node.
+     *
+     * @param node      The node.
+     * @param iteration The iteration (0 &lt;= iteration &lt;= {@link #getNumberOfIterations()}).
+     * @return The label; an unknown node has no outgoing triples and keeps the initial label.
+     */
+    public long getLabel(String node, int iteration) {
+        Integer index = nodeIndex.get(node);
+        return index == null ? INITIAL_LABEL : labels[iteration][index];
+    }
+
+    /**
+     * Get the number of relabeling iterations.
+     *
+     * @return Number of iterations.
+     */
+    public int getNumberOfIterations() {
+        return labels.length - 1;
+    }
+}
@@ -1,16 +1,21 @@
 package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers;
 
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkRandom;
+import org.rdfhdt.hdt.enums.RDFNotation;
 import org.rdfhdt.hdt.exceptions.NotFoundException;
+import org.rdfhdt.hdt.exceptions.ParserException;
 import org.rdfhdt.hdt.hdt.HDT;
 import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.options.HDTSpecification;
 import org.rdfhdt.hdt.triples.IteratorTripleString;
 import org.rdfhdt.hdt.triples.TripleString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * A parser for HDT files.
@@ -28,6 +33,22 @@ public class HdtParser implements IParser {
     HDT hdtDataSet;
 
 
+    /**
+     * Base URI that is used when N-Triples are converted to HDT. N-Triples do not contain relative URIs so that the
+     * value is only required by the HDT API.
+     */
+    private static final String HDT_CONVERSION_BASE_URI = "http://jrdf2vec.dws.informatik.uni-mannheim.de/";
+
+    /**
+     * Option of the HDT library that selects the loader which is used for the conversion.
+     */
+    private static final String HDT_LOADER_TYPE_KEY = "loader.type";
+
+    /**
+     * Loader that reads the N-Triples file twice instead of keeping all parsed triples in the heap.
+     */
+    private static final String HDT_LOADER_TWO_PASS = "two-pass";
+
     /**
      * Constructor
      *
@@ -35,14 +56,39 @@ public class HdtParser implements IParser {
      * @exception IOException IOException
      */
     public HdtParser(String hdtFilePath) throws IOException {
+        this(hdtFilePath, false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param hdtFilePath Path to the HDT file.
+     * @param isMemoryMapped If true, the HDT file is memory-mapped rather than loaded into the heap (see
+     *                       {@link HdtParser#loadMemoryMappedHdt(String)}).
+     * @exception IOException IOException
+     */
+    public HdtParser(String hdtFilePath, boolean isMemoryMapped) throws IOException {
         try {
-            hdtDataSet = HDTManager.loadHDT(hdtFilePath);
+            if (isMemoryMapped) {
+                hdtDataSet = loadMemoryMappedHdt(hdtFilePath);
+            } else {
+                hdtDataSet = HDTManager.loadHDT(hdtFilePath);
+            }
         } catch (IOException e) {
             LOGGER.error("Failed to load HDT file: " + hdtFilePath + "\nProgramm will fail.", e);
             throw e;
         }
     }
 
+    /**
+     * Constructor
+     *
+     * @param hdtDataSet An HDT data set that has already been loaded (for example by another parser or selector).
+     */
+    public HdtParser(HDT hdtDataSet) {
+        this.hdtDataSet = hdtDataSet;
+    }
+
     /**
      * Constructor
      *
@@ -76,17 +122,7 @@ public class HdtParser implements IParser {
     public List<String> convertToStringWalksDuplicateFree(List<List<String>> dataStructureToConvert) {
         HashSet<String> uniqueSet = new HashSet<>();
         for (List<String> individualWalk : dataStructureToConvert){
-            String walk = "";
-            boolean isFirst = true;
-            for(String walkComponent : individualWalk){
-                if(isFirst){
-                    isFirst = false;
-                    walk = walkComponent;
-                } else {
-                    walk += " " + walkComponent;
-                }
-            }
-            uniqueSet.add(walk);
+            uniqueSet.add(String.join(" ", individualWalk));
         }
         return new ArrayList<>(uniqueSet);
     }
@@ -110,19 +146,9 @@ public class HdtParser implements IParser {
      * @return Data structure converted to string list.
      */
     public List<String> convertToStringWalks(List<List<String>> dataStructureToConvert) {
-        List<String> result = new ArrayList<>();
+        List<String> result = new ArrayList<>(dataStructureToConvert.size());
         for (List<String> individualWalk : dataStructureToConvert){
-            String walk = "";
-            boolean isFirst = true;
-            for(String walkComponent : individualWalk){
-                if(isFirst){
-                    isFirst = false;
-                    walk = walkComponent;
-                } else {
-                    walk += " " + walkComponent;
-                }
-            }
-            result.add(walk);
+            result.add(String.join(" ", individualWalk));
         }
         return result;
     }
@@ -170,13 +196,14 @@ public class HdtParser implements IParser {
             currentDepth++;
 
             // randomly decide whether to use predecessors or successors
-            int randomPickZeroOne = ThreadLocalRandom.current().nextInt(2);
+            int randomPickZeroOne = WalkRandom.current().nextInt(2);
 
             if (randomPickZeroOne == 0) {
                 // predecessor
                 try {
                     IteratorTripleString iterator = hdtDataSet.search("", "", nextElementPredecessor);
-                    HashSet<TripleString> candidates = new HashSet<>();
+                    // a list keeps the (deterministic) order of the HDT index so that seeded runs are reproducible
+                    List<TripleString> candidates = new ArrayList<>();
 
                     TripleString ts;
                     while (iterator.hasNext()) {
@@ -185,7 +212,7 @@ public class HdtParser implements IParser {
                     }
 
                     if (candidates.size() > 0) {
-                        TripleString drawnTriple = randomDrawFromHashSet(candidates);
+                        TripleString drawnTriple = candidates.get(WalkRandom.current().nextInt(candidates.size()));
 
                         // add walks from the front (walk started before entity)
                         result.addFirst(drawnTriple.getPredicate().toString());
@@ -200,7 +227,7 @@ public class HdtParser implements IParser {
                 // successor
                 try {
                     IteratorTripleString iterator = hdtDataSet.search(nextElementSuccessor, "", "");
-                    HashSet<TripleString> candidates = new HashSet<>();
+                    List<TripleString> candidates = new ArrayList<>();
 
                     TripleString ts;
                     CharSequence objectCharSequence;
@@ -213,7 +240,7 @@ public class HdtParser implements IParser {
                         candidates.add(ts);
                     }
                     if (candidates.size() > 0) {
-                        TripleString stringToAdd = randomDrawFromHashSet(candidates);
+                        TripleString stringToAdd = candidates.get(WalkRandom.current().nextInt(candidates.size()));
 
                         // add next walk iteration
                         result.addLast(stringToAdd.getPredicate().toString());
@@ -228,6 +255,47 @@ public class HdtParser implements IParser {
         return result;
     }
 
+    /**
+     * Estimates the relative cost of generating the walks of the given entity. Mid walks materialize the predecessors
+     * and successors of every visited node, hence, the cost is dominated by the degree of the entity. The estimate is
+     * used to schedule expensive entities first; only the order of the estimates matters.
+     *
+     * @param entity The entity.
+     * @param depth  The depth of the walks.
+     * @return Estimated cost (at least 1).
+     */
+    public double estimateWalkCost(String entity, int depth) {
+        long degree = estimateNumberOfTriples(entity, "") + estimateNumberOfTriples("", entity);
+        return Math.max(1.0, (double) degree * Math.max(1, depth));
+    }
+
+    /**
+     * Get the (estimated) degree of the given entity, i.e., the number of triples in which the entity is the subject or
+     * the object. The degree is used to allocate a
+     * {@link de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkBudget}.
+     *
+     * @param entity The entity.
+     * @return Estimated number of outgoing and incoming triples.
+     */
+    public long getDegree(String entity) {
+        return estimateNumberOfTriples(entity, "") + estimateNumberOfTriples("", entity);
+    }
+
+    /**
+     * Estimates the number of triples with the given subject and object (the empty string is a wildcard).
+     *
+     * @param subject The subject.
+     * @param object  The object.
+     * @return Estimated number of triples (0 if a term does not occur in the data set).
+     */
+    private long estimateNumberOfTriples(String subject, String object) {
+        try {
+            return hdtDataSet.search(subject, "", object).estimatedNumResults();
+        } catch (NotFoundException e) {
+            return 0;
+        }
+    }
+
     /**
      * Draw a random value from a HashSet. This method is thread-safe.
      * @param setToDrawFrom The set from which shall be drawn.
@@ -235,7 +303,7 @@ public class HdtParser implements IParser {
      * @return Drawn value of type T.
      */
     public static <T> T randomDrawFromHashSet(HashSet<T> setToDrawFrom) {
-        int randomNumber = ThreadLocalRandom.current().nextInt(setToDrawFrom.size());
+        int randomNumber = WalkRandom.current().nextInt(setToDrawFrom.size());
         Iterator<T> iterator = setToDrawFrom.iterator();
         for (int i = 0; i < randomNumber; i++) {
             iterator.next();
@@ -244,6 +312,100 @@ public class HdtParser implements IParser {
     }
 
 
+    /**
+     * Opens the given HDT file in memory-mapped mode: The dictionary and the triples are not copied into the heap but
+     * are accessed through the operating system's page cache. The index that is required for predecessor lookups
+     * ({@code <hdt_file>.index.v1-1}) is generated next to the HDT file on the first call and reused on later calls.
+     *
+     * @param hdtFilePath Path to the HDT file.
+     * @return Memory-mapped and indexed HDT data set.
+     * @throws IOException IOException
+     */
+    public static HDT loadMemoryMappedHdt(String hdtFilePath) throws IOException {
+        File indexFile = new File(hdtFilePath + ".index.v1-1");
+        if (indexFile.exists()) {
+            LOGGER.info("Reusing HDT index file: " + indexFile.getAbsolutePath());
+        } else {
+            LOGGER.info("No HDT index file found. The index will be generated (this happens only once).");
+        }
+        return HDTManager.mapIndexedHDT(hdtFilePath, null);
+    }
+
+    /**
+     * Converts the given N-Triples file into an HDT file. The conversion happens in-process, no external tools
+     * are required.
+     * <br>
+     * Note that the conversion itself is not memory-mapped: The HDT library builds the dictionary and the triples in
+     * the heap. The two-pass loader is used (the file is read once for the dictionary and once for the triples) so
+     * that the parsed triples are not kept as strings. The peak heap is dominated by the dictionary of all distinct
+     * terms; as a rule of thumb, plan for a heap ({@code -Xmx}) of about the size of the uncompressed N-Triples file.
+     * The conversion is only required once per graph; alternatively, the HDT file can be generated with the rdf2hdt
+     * tool of the HDT project.
+     * <br>
+     * The HDT file is first written to a temporary file and then moved, so that an interrupted conversion does not
+     * leave an incomplete HDT file behind. An index of a previous HDT file is deleted.
+     *
+     * @param ntFile The N-Triples file to be converted.
+     * @param hdtFile The HDT file that shall be written.
+     * @return True if the conversion was successful, else false.
+     */
+    public static boolean convertNtToHdt(File ntFile, File hdtFile) {
+        if (ntFile == null || !ntFile.exists()) {
+            LOGGER.error("The N-Triples file to be converted does not exist. Cannot convert to HDT.");
+            return false;
+        }
+        LOGGER.info("Converting " + ntFile.getAbsolutePath() + " to HDT. This might take a while.");
+        HDTSpecification specification = new HDTSpecification();
+        specification.set(HDT_LOADER_TYPE_KEY, HDT_LOADER_TWO_PASS);
+        File temporaryFile = new File(hdtFile.getAbsolutePath() + ".tmp");
+        try (HDT hdt = HDTManager.generateHDT(ntFile.getAbsolutePath(), HDT_CONVERSION_BASE_URI,
+                RDFNotation.NTRIPLES, specification, null)) {
+            hdt.saveToHDT(temporaryFile.getAbsolutePath(), null);
+            Files.move(temporaryFile.toPath(), hdtFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | ParserException e) {
+            LOGGER.error("Could not convert " + ntFile.getAbsolutePath() + " to HDT.", e);
+            if (temporaryFile.exists() && !temporaryFile.delete()) {
+                LOGGER.warn("Could not delete the incomplete HDT file: " + temporaryFile.getAbsolutePath());
+            }
+            return false;
+        }
+        // an index of a previous HDT file does not fit the new file
+        File indexFile = new File(hdtFile.getAbsolutePath() + ".index.v1-1");
+        if (indexFile.exists() && !indexFile.delete()) {
+            LOGGER.warn("Could not delete the outdated HDT index file: " + indexFile.getAbsolutePath());
+        }
+        LOGGER.info("HDT file written: " + hdtFile.getAbsolutePath());
+        return true;
+    }
+
+    /**
+     * Given an N-Triples file, this method returns the HDT file that belongs to it. If the HDT file does not exist
+     * yet (or if it is older than the N-Triples file), it is generated.
+     *
+     * @param ntFile The N-Triples file.
+     * @return The HDT file. Null if the conversion failed.
+     */
+    public static File getOrCreateHdtFile(File ntFile) {
+        String fileName = ntFile.getName();
+        int dotPosition = fileName.lastIndexOf('.');
+        String baseName = (dotPosition > 0) ? fileName.substring(0, dotPosition) : fileName;
+        File hdtFile = new File(ntFile.getAbsoluteFile().getParentFile(), baseName + ".hdt");
+        if (hdtFile.exists() && hdtFile.lastModified() >= ntFile.lastModified()) {
+            LOGGER.info("Reusing existing HDT file: " + hdtFile.getAbsolutePath());
+            return hdtFile;
+        }
+        // the conversion also deletes the index of an earlier HDT file
+        return convertNtToHdt(ntFile, hdtFile) ? hdtFile : null;
+    }
+
+    /**
+     * Obtain the HDT data set used by this parser.
+     * @return HDT data set.
+     */
+    public HDT getHdtDataSet() {
+        return hdtDataSet;
+    }
+
     /**
      * Writes the given hdt data set as nt file.
      * @param dataSet Set to read.
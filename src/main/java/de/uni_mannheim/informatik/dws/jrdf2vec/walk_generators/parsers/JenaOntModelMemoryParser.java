@@ -92,7 +92,9 @@ public class JenaOntModelMemoryParser extends MemoryParser {
                 object = statement.getObject().asResource().getURI();
             }
 
-            data.add(new Triple(subject, predicate, object));
+            // Jena does not use the N-Triples syntax for the ids of blank nodes: they are flagged here
+            data.add(new Triple(subject, predicate, object, (byte) ((subjectResource.isAnon() ? Triple.ANONYMOUS_SUBJECT : 0) |
+                    (objectResource.isAnon() ? Triple.ANONYMOUS_OBJECT : 0))));
         }
     }
 
@@ -1,13 +1,16 @@
 package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers;
 
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkContent;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkRandom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.NeighborIndex;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.TripleDataSetMemory;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.WalkComponentDeque;
 
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.UnaryOperator;
 
 /**
@@ -32,6 +35,11 @@ public abstract class MemoryParser implements IParser {
      */
     boolean isIncludeDatatypeProperties = false;
 
+    /**
+     * Token that replaces blank nodes in the walks if {@link MemoryParser#isUnifyAnonymousNodes} is set.
+     */
+    public static final String ANONYMOUS_NODE_TOKEN = "ANode";
+
     /**
      * Indicator whether anonymous nodes shall be handled as if they were just one node.
      * E.g. _:genid413438 is handled like -&gt; ANODE
@@ -43,6 +51,16 @@ public abstract class MemoryParser implements IParser {
      */
     UnaryOperator<String> uriShortenerFunction;
 
+    /**
+     * Walk buffer of the current thread. Walks are assembled in this buffer so that no objects are allocated per hop.
+     */
+    private final ThreadLocal<WalkComponentDeque> walkBuffer = ThreadLocal.withInitial(WalkComponentDeque::new);
+
+    /**
+     * Maximal number of rejected candidates per hop of a node2vec walk.
+     */
+    static final int MAX_REJECTION_ATTEMPTS = 64;
+
 
     /**
      * Weighted mid walk: If there are more options to go forward, it is more likely to go forward.
@@ -52,7 +70,15 @@ public abstract class MemoryParser implements IParser {
      * @return List of walks.
      */
     public List<String> generateWeightedMidWalksForEntity(String entity, int depth, int numberOfWalks) {
-        return convertToStringWalks(generateWeightedMidWalkForEntityAsArray(entity, depth, numberOfWalks));
+        WalkComponentDeque walk = walkBuffer.get();
+        List<String> result = new ArrayList<>(numberOfWalks);
+        for (int i = 0; i < numberOfWalks; i++) {
+            fillWeightedMidWalk(entity, depth, walk);
+            if (walk.size() > 1) {
+                result.add(walk.toWalkString());
+            }
+        }
+        return result;
     }
 
     /**
@@ -81,14 +107,24 @@ public abstract class MemoryParser implements IParser {
      * @return One walk as list where each element is a walk component.
      */
     public List<String> generateWeightedMidWalkForEntity(String entity, int depth) {
+        WalkComponentDeque walk = walkBuffer.get();
+        fillWeightedMidWalk(entity, depth, walk);
+        return walk.toList();
+    }
 
-        LinkedList<String> result = new LinkedList<>();
-
+    /**
+     * Generates a single weighted mid walk for the given entity into the given buffer.
+     *
+     * @param entity The entity for which a walk shall be generated.
+     * @param depth The depth of the walk.
+     * @param result The buffer into which the walk is written. The buffer is reset first.
+     */
+    private void fillWeightedMidWalk(String entity, int depth, WalkComponentDeque result) {
         String nextElementPredecessor = entity;
         String nextElementSuccessor = entity;
 
         // initialize result
-        result.add(entity);
+        result.reset(entity, depth);
 
         // variable to store the number of iterations performed so far
         int currentDepth = 0;
@@ -97,7 +133,7 @@ public abstract class MemoryParser implements IParser {
             currentDepth++;
 
             // randomly decide whether to use predecessors or successors
-            double randomPickZeroOne = ThreadLocalRandom.current().nextDouble(0.0, 1.00000001);
+            double randomPickZeroOne = WalkRandom.current().nextDouble(0.0, 1.00000001);
 
             // predecessor candidates
             List<Triple> candidatesPredecessor = data.getTriplesInvolvingObject(nextElementPredecessor);
@@ -112,7 +148,7 @@ public abstract class MemoryParser implements IParser {
             if(candidatesSuccessor != null) numberOfSuccessors = candidatesSuccessor.size();
 
             // if there are no successors and predecessors: return current walk
-            if(numberOfPredecessors == 0 && numberOfSuccessors == 0) return result;
+            if(numberOfPredecessors == 0 && numberOfSuccessors == 0) return;
 
             // determine cut-off point
             double cutOffPoint = numberOfPredecessors / (numberOfPredecessors + numberOfSuccessors);
@@ -124,7 +160,7 @@ public abstract class MemoryParser implements IParser {
 
                     // add walks from the front (walk started before entity)
                     result.addFirst(drawnTriple.predicate);
-                    result.addFirst(drawnTriple.subject);
+                    result.addFirst(getSubjectToken(drawnTriple));
                     nextElementPredecessor = drawnTriple.subject;
                 }
 
@@ -135,12 +171,11 @@ public abstract class MemoryParser implements IParser {
 
                     // add next walk iteration
                     result.addLast(tripleToAdd.predicate);
-                    result.addLast(tripleToAdd.object);
+                    result.addLast(getObjectToken(tripleToAdd));
                     nextElementSuccessor = tripleToAdd.object;
                 }
             }
         }
-        return result;
     }
 
 
@@ -153,23 +188,40 @@ public abstract class MemoryParser implements IParser {
      * @return List where every item is a walk separated by spaces.
      */
     public List<String> generateMidWalksForEntity(String entity, int depth, int numberOfWalks) {
-        return convertToStringWalks(generateMidWalkForEntityAsArray(entity, depth, numberOfWalks));
+        return generateMidWalksForEntity(entity, depth, numberOfWalks, WalkContent.ALL);
+    }
+
+    /**
+     * Generates mid walks of which only the given content is written (e.g. entities only).
+     *
+     * @param entity        The entity for which walks shall be generated.
+     * @param depth         The depth of each walk.
+     * @param numberOfWalks The number of walks to be generated.
+     * @param content       The tokens to be written.
+     * @return List where every item is a walk separated by spaces.
+     */
+    public List<String> generateMidWalksForEntity(String entity, int depth, int numberOfWalks, WalkContent content) {
+        WalkComponentDeque walk = walkBuffer.get();
+        List<String> result = new ArrayList<>(numberOfWalks);
+        for (int i = 0; i < numberOfWalks; i++) {
+            fillMidWalk(entity, depth, walk, content);
+            if (walk.size() > 1) {
+                result.add(walk.toWalkString());
+            }
+        }
+        return result;
     }
 
+    /**
+     * Given a list of walks where a walk is represented as a List of strings, this method will convert that
+     * into a list of strings where a walk is one string (and the elements are separated by spaces).
+     * @param dataStructureToConvert The data structure that shall be converted.
+     * @return Data structure converted to string list.
+     */
     public List<String> convertToStringWalks(List<List<String>> dataStructureToConvert) {
-        List<String> result = new ArrayList<>();
+        List<String> result = new ArrayList<>(dataStructureToConvert.size());
         for (List<String> individualWalk : dataStructureToConvert) {
-            String walk = "";
-            boolean isFirst = true;
-            for (String walkComponent : individualWalk) {
-                if (isFirst) {
-                    isFirst = false;
-                    walk = walkComponent;
-                } else {
-                    walk += " " + walkComponent;
-                }
-            }
-            result.add(walk);
+            result.add(String.join(" ", individualWalk));
         }
         return result;
     }
@@ -202,7 +254,15 @@ public abstract class MemoryParser implements IParser {
      * @return List where every item is a walk separated by spaces.
      */
     public List<String> generateMidWalksForEntityDuplicateFree(String entity, int numberOfWalks, int depth){
-        return convertToStringWalksDuplicateFree(generateMidWalkForEntityAsArray(entity, depth, numberOfWalks));
+        WalkComponentDeque walk = walkBuffer.get();
+        HashSet<String> uniqueSet = new HashSet<>();
+        for (int i = 0; i < numberOfWalks; i++) {
+            fillMidWalk(entity, depth, walk, WalkContent.ALL);
+            if (walk.size() > 1) {
+                uniqueSet.add(walk.toWalkString());
+            }
+        }
+        return new ArrayList<>(uniqueSet);
     }
 
 
@@ -216,17 +276,7 @@ public abstract class MemoryParser implements IParser {
     public List<String> convertToStringWalksDuplicateFree(List<List<String>> dataStructureToConvert) {
         HashSet<String> uniqueSet = new HashSet<>();
         for (List<String> individualWalk : dataStructureToConvert){
-            String walk = "";
-            boolean isFirst = true;
-            for(String walkComponent : individualWalk){
-                if(isFirst){
-                    isFirst = false;
-                    walk = walkComponent;
-                } else {
-                    walk += " " + walkComponent;
-                }
-            }
-            uniqueSet.add(walk);
+            uniqueSet.add(String.join(" ", individualWalk));
         }
         return new ArrayList<>(uniqueSet);
     }
@@ -240,14 +290,27 @@ public abstract class MemoryParser implements IParser {
      * @return One walk as list where each element is a walk component.
      */
     public List<String> generateMidWalkForEntity(String entity, int depth) {
+        WalkComponentDeque walk = walkBuffer.get();
+        fillMidWalk(entity, depth, walk, WalkContent.ALL);
+        return walk.toList();
+    }
 
-        LinkedList<String> result = new LinkedList<>();
-
+    /**
+     * Generates a single mid walk for the given entity into the given buffer.
+     *
+     * @param entity The entity for which a walk shall be generated.
+     * @param depth  The depth of the walk.
+     * @param result The buffer into which the walk is written. The buffer is reset first.
+     * @param content The components that are added to the buffer.
+     */
+    private void fillMidWalk(String entity, int depth, WalkComponentDeque result, WalkContent content) {
+        boolean isWriteEntities = content.isWriteEntities();
+        boolean isWritePredicates = content.isWritePredicates();
         String nextElementPredecessor = entity;
         String nextElementSuccessor = entity;
 
         // initialize result
-        result.add(entity);
+        result.reset(entity, depth);
 
         // variable to store the number of iterations performed so far
         int currentDepth = 0;
@@ -256,7 +319,7 @@ public abstract class MemoryParser implements IParser {
             currentDepth++;
 
             // randomly decide whether to use predecessors or successors
-            int randomPickZeroOne = ThreadLocalRandom.current().nextInt(2);
+            int randomPickZeroOne = WalkRandom.current().nextInt(2);
 
             if (randomPickZeroOne == 0) {
                 // predecessor
@@ -266,8 +329,8 @@ public abstract class MemoryParser implements IParser {
                     Triple drawnTriple = randomDrawFromList(candidates);
 
                     // add walks from the front (walk started before entity)
-                    result.addFirst(drawnTriple.predicate);
-                    result.addFirst(drawnTriple.subject);
+                    if (isWritePredicates) result.addFirst(drawnTriple.predicate);
+                    if (isWriteEntities) result.addFirst(getSubjectToken(drawnTriple));
                     nextElementPredecessor = drawnTriple.subject;
                 }
 
@@ -278,14 +341,13 @@ public abstract class MemoryParser implements IParser {
                     Triple tripleToAdd = randomDrawFromList(candidates);
 
                     // add next walk iteration
-                    result.addLast(tripleToAdd.predicate);
-                    result.addLast(tripleToAdd.object);
+                    if (isWritePredicates) result.addLast(tripleToAdd.predicate);
+                    if (isWriteEntities) result.addLast(getObjectToken(tripleToAdd));
                     nextElementSuccessor = tripleToAdd.object;
                 }
 
             }
         }
-        return result;
     }
 
 
@@ -297,7 +359,7 @@ public abstract class MemoryParser implements IParser {
      * @return Drawn value of type T.
      */
     public static <T> T randomDrawFromList(List<T> listToDrawFrom) {
-        int randomNumber = ThreadLocalRandom.current().nextInt(listToDrawFrom.size());
+        int randomNumber = WalkRandom.current().nextInt(listToDrawFrom.size());
         return listToDrawFrom.get(randomNumber);
     }
 
@@ -316,7 +378,7 @@ public abstract class MemoryParser implements IParser {
             // no triple found
             return null;
         }
-        int randomNumber = ThreadLocalRandom.current().nextInt(queryResult.size());
+        int randomNumber = WalkRandom.current().nextInt(queryResult.size());
         LOGGER.info("(" + Thread.currentThread().getName() + ") " + randomNumber);
         return queryResult.get(randomNumber);
     }
@@ -324,6 +386,10 @@ public abstract class MemoryParser implements IParser {
 
     /**
      * Generates duplicate-free walks for the given entity.
+     * The walks are expanded depth by depth: At each depth, every walk is extended by each of its successors (walks
+     * that cannot be continued are kept as they are) and a uniform random sample of at most numberOfWalks of these
+     * candidates is kept. The candidates are never materialized; a sample of candidate indices is drawn and resolved
+     * against the successor lists so that at most O(numberOfWalks * depth) state is held, independent of the fan-out.
      *
      * @param entity        The entity for which walks shall be generated.
      * @param numberOfWalks The number of walks to be generated.
@@ -333,73 +399,189 @@ public abstract class MemoryParser implements IParser {
      */
     public List<String> generateDuplicateFreeRandomWalksForEntity(String entity, int numberOfWalks, int depth) {
         List<String> result = new ArrayList<>();
-        List<List<Triple>> walks = new ArrayList();
-        boolean isFirstIteration = true;
+        if (depth < 1 || numberOfWalks < 1) {
+            return result;
+        }
+        List<Triple> neighbours = data.getTriplesInvolvingSubject(entity);
+        if (neighbours == null || neighbours.size() == 0) {
+            return result;
+        }
+
+        // The walks are stored as a tree with one level per depth. Each level holds at most numberOfWalks steps that
+        // point to their parent in the previous level. A step of null means that the walk could not be continued.
+        List<int[]> levelParents = new ArrayList<>(depth);
+        List<Triple[]> levelSteps = new ArrayList<>(depth);
+
+        // the last node of every walk of the current level
+        String[] walkEnds = new String[]{entity};
+        List<List<Triple>> successors = new ArrayList<>();
         for (int currentDepth = 0; currentDepth < depth; currentDepth++) {
-            // initialize with first node
-            if (isFirstIteration) {
-                List<Triple> neighbours = data.getTriplesInvolvingSubject(entity);
-                if (neighbours == null || neighbours.size() == 0) {
-                    return result;
-                }
-                for (Triple neighbour : neighbours) {
-                    ArrayList<Triple> individualWalk = new ArrayList<>();
-                    individualWalk.add(neighbour);
-                    walks.add(individualWalk);
-                }
-                isFirstIteration = false;
-            } else {
-                // create a copy
-                List<List<Triple>> walks_tmp = new ArrayList<>();
-                walks_tmp.addAll(walks);
-
-                // loop over current walks
-                for (List<Triple> walk : walks_tmp) {
-                    // get last entity
-                    Triple lastTriple = walk.get(walk.size() - 1);
-                    List<Triple> nextIteration = data.getTriplesInvolvingSubject(lastTriple.object);
-                    if (nextIteration != null) {
-                        walks.remove(walk); // check whether this works
-                        for (Triple nextStep : nextIteration) {
-                            List<Triple> newWalk = new ArrayList<>(walk);
-                            newWalk.add(nextStep);
-                            walks.add(newWalk);
-                        }
-                    }
-                } // loop over walks
+            // determine the number of candidates per walk
+            successors.clear();
+            int[] candidateCounts = new int[walkEnds.length];
+            long numberOfCandidates = 0;
+            for (int i = 0; i < walkEnds.length; i++) {
+                List<Triple> nextIteration = data.getTriplesInvolvingSubject(walkEnds[i]);
+                successors.add(nextIteration);
+                candidateCounts[i] = (nextIteration == null) ? 1 : nextIteration.size();
+                numberOfCandidates += candidateCounts[i];
             }
 
-            // trim the list
-            while (walks.size() > numberOfWalks) {
-                int randomNumber = ThreadLocalRandom.current().nextInt(walks.size());
-                walks.remove(randomNumber);
+            // draw the candidates that are kept and resolve them
+            long[] selectedCandidates = randomSampleWithoutReplacement(numberOfCandidates, numberOfWalks);
+            int[] parents = new int[selectedCandidates.length];
+            Triple[] steps = new Triple[selectedCandidates.length];
+            String[] nextWalkEnds = new String[selectedCandidates.length];
+            int parent = 0;
+            long offset = 0;
+            for (int i = 0; i < selectedCandidates.length; i++) {
+                long candidate = selectedCandidates[i];
+                while (candidate >= offset + candidateCounts[parent]) {
+                    offset += candidateCounts[parent];
+                    parent++;
+                }
+                parents[i] = parent;
+                List<Triple> nextIteration = successors.get(parent);
+                if (nextIteration == null) {
+                    nextWalkEnds[i] = walkEnds[parent];
+                } else {
+                    steps[i] = nextIteration.get((int) (candidate - offset));
+                    nextWalkEnds[i] = steps[i].object;
+                }
             }
+            levelParents.add(parents);
+            levelSteps.add(steps);
+            walkEnds = nextWalkEnds;
         } // depth loop
 
         // now we need to translate our walks into strings
-        for (List<Triple> walk : walks) {
-            String finalSentence = entity;
-            if (this.isUnifyAnonymousNodes()) {
-                for (Triple po : walk) {
-                    String object = po.object;
-                    if (isAnonymousNode(object)) {
-                        object = "ANode";
-                    }
-                    finalSentence += " " + po.predicate + " " + object;
-                }
-            } else {
-                for (Triple po : walk) {
-                    finalSentence += " " + po.predicate + " " + po.object;
-                }
+        StringBuilder finalSentence = new StringBuilder();
+        Triple[] walk = new Triple[depth];
+        for (int i = 0; i < walkEnds.length; i++) {
+            int node = i;
+            for (int level = depth - 1; level >= 0; level--) {
+                walk[level] = levelSteps.get(level)[node];
+                node = levelParents.get(level)[node];
+            }
+            finalSentence.setLength(0);
+            finalSentence.append(entity);
+            for (Triple po : walk) {
+                if (po == null) continue;
+                finalSentence.append(' ').append(po.predicate).append(' ').append(getObjectToken(po));
+            }
+            result.add(finalSentence.toString());
+        }
+        return result;
+    }
+
+    /**
+     * Draws a uniform random sample of distinct indices from [0, populationSize) using Floyd's algorithm. This
+     * method is thread-safe.
+     *
+     * @param populationSize The number of elements to draw from.
+     * @param sampleSize     The number of elements to be drawn.
+     * @return Sorted array of distinct indices. If the population is not larger than the sample size, all indices
+     * are returned.
+     */
+    public static long[] randomSampleWithoutReplacement(long populationSize, int sampleSize) {
+        if (populationSize <= sampleSize) {
+            long[] all = new long[(int) Math.max(populationSize, 0)];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        SplittableRandom random = WalkRandom.current();
+        HashSet<Long> drawn = new HashSet<>(2 * sampleSize);
+        for (long j = populationSize - sampleSize; j < populationSize; j++) {
+            long index = random.nextLong(j + 1);
+            if (!drawn.add(index)) {
+                drawn.add(j);
             }
-            result.add(finalSentence);
         }
+        long[] result = new long[sampleSize];
+        int i = 0;
+        for (long index : drawn) {
+            result[i++] = index;
+        }
+        Arrays.sort(result);
         return result;
     }
 
 
     /**
-     * Returns true if the given parameter follows the schema of an anonymous node
+     * Estimates the relative cost of generating the walks of the given entity. The estimate is the number of outgoing
+     * edges of the entity times the average branching factor of its successors for every further hop, i.e., it grows
+     * with the number of distinct walks that start at the entity. The estimate is used to schedule expensive entities
+     * first; only the order of the estimates matters.
+     *
+     * @param entity The (shortened) entity.
+     * @param depth  The depth of the walks.
+     * @return Estimated cost (at least 1).
+     */
+    public double estimateWalkCost(String entity, int depth) {
+        List<Triple> successors = data.getTriplesInvolvingSubject(entity);
+        if (successors == null || successors.isEmpty()) return 1.0;
+        double degree = successors.size();
+        if (depth <= 1) return degree;
+        double secondLevel = 0;
+        for (Triple triple : successors) {
+            List<Triple> next = data.getTriplesInvolvingSubject(triple.object);
+            if (next != null) secondLevel += next.size();
+        }
+        double branching = Math.max(1.0, secondLevel / degree);
+        return Math.min(Double.MAX_VALUE, degree * Math.pow(branching, depth - 1));
+    }
+
+    /**
+     * Get the degree of the given entity, i.e., the number of triples in which the entity is the subject or the object.
+     * The degree is used to allocate a {@link de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkBudget}.
+     *
+     * @param entity The (shortened) entity.
+     * @return Number of outgoing and incoming triples.
+     */
+    public int getDegree(String entity) {
+        List<Triple> outgoing = data.getTriplesInvolvingSubject(entity);
+        List<Triple> incoming = data.getTriplesInvolvingObject(entity);
+        return (outgoing == null ? 0 : outgoing.size()) + (incoming == null ? 0 : incoming.size());
+    }
+
+    /**
+     * Get the token of the subject of a triple in a walk: {@link MemoryParser#ANONYMOUS_NODE_TOKEN} if the subject is a
+     * blank node and anonymous nodes are unified, else the subject. Only the flags of the triple are tested.
+     *
+     * @param triple The triple.
+     * @return Token of the subject.
+     */
+    public String getSubjectToken(Triple triple) {
+        return (isUnifyAnonymousNodes && triple.isAnonymousSubject()) ? ANONYMOUS_NODE_TOKEN : triple.subject;
+    }
+
+    /**
+     * Get the token of the object of a triple in a walk: {@link MemoryParser#ANONYMOUS_NODE_TOKEN} if the object is a
+     * blank node and anonymous nodes are unified, else the object. Only the flags of the triple are tested.
+     *
+     * @param triple The triple.
+     * @return Token of the object.
+     */
+    public String getObjectToken(Triple triple) {
+        return (isUnifyAnonymousNodes && triple.isAnonymousObject()) ? ANONYMOUS_NODE_TOKEN : triple.object;
+    }
+
+    /**
+     * Checks whether the given subject is a blank node using the flags of its triples.
+     *
+     * @param subject The (shortened) subject.
+     * @return True if the subject is a blank node; false if it is not or if it has no outgoing triples.
+     */
+    public boolean isAnonymousSubject(String subject) {
+        List<Triple> triples = data.getTriplesInvolvingSubject(subject);
+        return triples != null && !triples.isEmpty() && triples.get(0).isAnonymousSubject();
+    }
+
+    /**
+     * Returns true if the given parameter follows the schema of an anonymous node. The walks do not use this method
+     * but the flags that are set when the triples are parsed (see {@link Triple#anonymousNodes}).
      *
      * @param uriString The URI string to be checked.
      * @return True if anonymous node.
@@ -427,11 +609,55 @@ public abstract class MemoryParser implements IParser {
             // no triple found
             return null;
         }
-        int randomNumber = ThreadLocalRandom.current().nextInt(queryResult.size());
+        int randomNumber = WalkRandom.current().nextInt(queryResult.size());
         //System.out.println("(" + Thread.currentThread().getName() + ") " + randomNumber + "[" + queryResult.size() + "]");
         return queryResult.get(randomNumber);
     }
 
+    /**
+     * Draws the next triple of a second-order (node2vec) walk that arrived at subject from previous. The triples of
+     * the subject are weighted with 1/p if they lead back to previous, with 1 if previous also has an edge to their
+     * object, and with 1/q otherwise. Instead of computing all weights, a uniformly drawn triple is accepted with
+     * probability weight / maxWeight (rejection sampling), so a hop costs O(1) expected neighbor checks independently
+     * of the degree.
+     *
+     * @param subject       The current node.
+     * @param previous      The node before the current node (null for the first hop, which is uniform).
+     * @param p             Return parameter.
+     * @param q             In-out parameter.
+     * @param neighborIndex Index to check whether previous has an edge to a candidate.
+     * @return The drawn triple or null if the subject has no outgoing triples.
+     */
+    public Triple getNode2VecTripleForSubject(String subject, String previous, double p, double q, NeighborIndex neighborIndex) {
+        List<Triple> candidates = data.getTriplesInvolvingSubject(subject);
+        if (candidates == null || candidates.isEmpty()) return null;
+        SplittableRandom random = WalkRandom.current();
+        if (previous == null || candidates.size() == 1) return candidates.get(random.nextInt(candidates.size()));
+        double returnWeight = 1.0 / p;
+        double outWeight = 1.0 / q;
+        double maxWeight = Math.max(1.0, Math.max(returnWeight, outWeight));
+        for (int attempt = 0; attempt < MAX_REJECTION_ATTEMPTS; attempt++) {
+            Triple candidate = candidates.get(random.nextInt(candidates.size()));
+            double weight;
+            if (candidate.object.equals(previous)) weight = returnWeight;
+            else if (neighborIndex.isNeighbor(previous, candidate.object)) weight = 1.0;
+            else weight = outWeight;
+            if (random.nextDouble() * maxWeight < weight) return candidate;
+        }
+        // only reached for extreme parameters where almost all candidates have a tiny weight
+        return candidates.get(random.nextInt(candidates.size()));
+    }
+
+    /**
+     * Creates the index that is required by {@link MemoryParser#getNode2VecTripleForSubject(String, String, double, double, NeighborIndex)}.
+     *
+     * @param memoryBytes Memory budget of the index in bytes.
+     * @return Neighbor index over the data of this parser.
+     */
+    public NeighborIndex createNeighborIndex(long memoryBytes) {
+        return new NeighborIndex(data, memoryBytes);
+    }
+
     /**
      * This method will remove a leading less-than and a trailing greater-than sign (tags).
      *
@@ -464,6 +690,15 @@ public abstract class MemoryParser implements IParser {
         return data;
     }
 
+    /**
+     * Get the function that transformed the URIs while parsing (the data contains the transformed URIs).
+     *
+     * @return Function to shorten URIs; the identity if no function is set.
+     */
+    public UnaryOperator<String> getUriShortenerFunction() {
+        return (uriShortenerFunction == null) ? UnaryOperator.identity() : uriShortenerFunction;
+    }
+
     public long getDataSize(){
         if (data == null) {
             return 0L;
@@ -40,11 +40,40 @@ public class ParserManager {
      * @return Pair with parser and entity selector.
      */
     public static Pair<IParser, EntitySelector> parseSingleFile(File tripleFile){
+        return parseSingleFile(tripleFile, false);
+    }
+
+    /**
+     * Given a triple file, this method determines the appropriate parser and entity selector.
+     * @param tripleFile The triple file to be processed.
+     * @param isLowMemoryMode If true, N-Triples files are converted to HDT (once) and the HDT file is memory-mapped
+     *                        instead of loading all triples into the heap.
+     * @return Pair with parser and entity selector.
+     */
+    public static Pair<IParser, EntitySelector> parseSingleFile(File tripleFile, boolean isLowMemoryMode){
         IParser parser = null;
         EntitySelector entitySelector = null;
         try {
             String pathToTripleFile = tripleFile.getAbsolutePath();
             String fileName = tripleFile.getName();
+            if (isLowMemoryMode && fileName.toLowerCase().endsWith(".nt")) {
+                LOGGER.info("Low memory mode: Using memory-mapped HDT parser.");
+                File hdtFile = HdtParser.getOrCreateHdtFile(tripleFile);
+                if (hdtFile != null) {
+                    try {
+                        HdtParser hdtParser = new HdtParser(hdtFile.getAbsolutePath(), true);
+                        parser = hdtParser;
+                        entitySelector = new HdtEntitySelector(hdtParser.getHdtDataSet());
+                        return new Pair<>(parser, entitySelector);
+                    } catch (IOException ioe) {
+                        LOGGER.error("Could not memory-map HDT file. Falling back to in-memory parsing.", ioe);
+                    }
+                } else {
+                    LOGGER.error("Could not convert the N-Triples file to HDT. Falling back to in-memory parsing.");
+                }
+            } else if (isLowMemoryMode && !fileName.toLowerCase().contains(".hdt")) {
+                LOGGER.warn("Low memory mode is only available for N-Triples and HDT files. The file is parsed in-memory.");
+            }
             if (fileName.toLowerCase().endsWith(".nt") | fileName.toLowerCase().endsWith(".nq")) {
                 if(fileName.toLowerCase().endsWith(".nq")){
                     LOGGER.info("NQ File detected: Please note that the graph information will be skipped.");
@@ -79,8 +108,9 @@ public class ParserManager {
             } else if (fileName.toLowerCase().endsWith(".hdt") || fileName.toLowerCase().endsWith(".hdt.index.v1-1")) {
                 LOGGER.info("HDT file detected. Using HDT parser.");
                 try {
-                    parser = new HdtParser(pathToTripleFile);
-                    entitySelector = new HdtEntitySelector(pathToTripleFile);
+                    HdtParser hdtParser = new HdtParser(pathToTripleFile, isLowMemoryMode);
+                    parser = hdtParser;
+                    entitySelector = new HdtEntitySelector(hdtParser.getHdtDataSet());
                 } catch (IOException ioe) {
                     LOGGER.error("Propagated HDT Initializer Exception", ioe);
                 }
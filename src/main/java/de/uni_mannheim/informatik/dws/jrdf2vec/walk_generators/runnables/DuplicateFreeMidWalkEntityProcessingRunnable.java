@@ -6,9 +6,13 @@ import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.HdtParser
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.NtMemoryParser;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.NxMemoryParser;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkStrategy;
 
+import java.util.List;
+import java.util.function.Consumer;
 
-public class DuplicateFreeMidWalkEntityProcessingRunnable implements Runnable {
+
+public class DuplicateFreeMidWalkEntityProcessingRunnable implements Runnable, WalkStrategy {
 
     /**
      * Default Logger
@@ -51,17 +55,48 @@ public class DuplicateFreeMidWalkEntityProcessingRunnable implements Runnable {
         this.walkGenerator = generator;
     }
 
+    /**
+     * Constructor for a processor that is not bound to a single entity. Entities are handed over via
+     * {@link DuplicateFreeMidWalkEntityProcessingRunnable#processEntity(String)}. One instance can be shared by multiple threads.
+     *
+     * @param generator     Generator to be used.
+     * @param numberOfWalks The number of walks to be performed per entity.
+     * @param depth         Desired length of the walk.
+     */
+    public DuplicateFreeMidWalkEntityProcessingRunnable(WalkGenerator generator, int numberOfWalks, int depth) {
+        this(generator, null, numberOfWalks, depth);
+    }
+
     /**
      * Actual thread execution.
      */
     public void run() {
+        processEntity(entity);
+    }
+
+    /**
+     * Generates the walks for the given entity and writes them.
+     *
+     * @param entity The entity to be processed.
+     */
+    public void processEntity(String entity) {
+        generateWalks(entity, walkGenerator::writeToFile);
+    }
+
+    @Override
+    public void generateWalks(String entity, Consumer<List<String>> sink) {
+        generateWalks(entity, numberOfWalks, sink);
+    }
+
+    @Override
+    public void generateWalks(String entity, int numberOfWalks, Consumer<List<String>> sink) {
         if (walkGenerator.parser.getClass() == HdtParser.class) {
-            walkGenerator.writeToFile(((HdtParser) walkGenerator.parser).generateMidWalksForEntityDuplicateFree(walkGenerator.shortenUri(entity), this.numberOfWalks, this.depth));
+            sink.accept(((HdtParser) walkGenerator.parser).generateMidWalksForEntityDuplicateFree(walkGenerator.shortenUri(entity), numberOfWalks, this.depth));
         } else if (walkGenerator.parser.getClass() == NtMemoryParser.class) {
             // yes, the depth and # of walks parameters are this way
-            walkGenerator.writeToFile(((NtMemoryParser) walkGenerator.parser).generateMidWalksForEntityDuplicateFree(walkGenerator.shortenUri(entity), this.numberOfWalks, depth));
+            sink.accept(((NtMemoryParser) walkGenerator.parser).generateMidWalksForEntityDuplicateFree(walkGenerator.shortenUri(entity), numberOfWalks, depth));
         } else if (walkGenerator.parser.getClass() == NxMemoryParser.class) {
-            walkGenerator.writeToFile(((NxMemoryParser) walkGenerator.parser).generateMidWalksForEntityDuplicateFree(walkGenerator.shortenUri(entity), this.numberOfWalks, depth));
+            sink.accept(((NxMemoryParser) walkGenerator.parser).generateMidWalksForEntityDuplicateFree(walkGenerator.shortenUri(entity), numberOfWalks, depth));
         } else LOGGER.error("NOT YET IMPLEMENTED FOR THE CURRENT PARSER!");
     }
 }
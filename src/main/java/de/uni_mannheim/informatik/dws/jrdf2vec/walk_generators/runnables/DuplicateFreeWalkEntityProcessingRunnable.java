@@ -4,11 +4,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.MemoryParser;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkStrategy;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * A single task for the thread pool.
  */
-public class DuplicateFreeWalkEntityProcessingRunnable implements Runnable {
+public class DuplicateFreeWalkEntityProcessingRunnable implements Runnable, WalkStrategy {
 
     /**
      * Default Logger
@@ -50,13 +54,44 @@ public class DuplicateFreeWalkEntityProcessingRunnable implements Runnable {
         this.walkGenerator = generator;
     }
 
+    /**
+     * Constructor for a processor that is not bound to a single entity. Entities are handed over via
+     * {@link DuplicateFreeWalkEntityProcessingRunnable#processEntity(String)}. One instance can be shared by multiple threads.
+     *
+     * @param generator     Generator to be used.
+     * @param numberOfWalks The number of walks to be performed per entity.
+     * @param depth         Desired length of the walk.
+     */
+    public DuplicateFreeWalkEntityProcessingRunnable(WalkGenerator generator, int numberOfWalks, int depth) {
+        this(generator, null, numberOfWalks, depth);
+    }
+
     /**
      * Actual thread execution.
      */
     public void run() {
+        processEntity(entity);
+    }
+
+    /**
+     * Generates the walks for the given entity and writes them.
+     *
+     * @param entity The entity to be processed.
+     */
+    public void processEntity(String entity) {
+        generateWalks(entity, walkGenerator::writeToFile);
+    }
+
+    @Override
+    public void generateWalks(String entity, Consumer<List<String>> sink) {
+        generateWalks(entity, numberOfWalks, sink);
+    }
+
+    @Override
+    public void generateWalks(String entity, int numberOfWalks, Consumer<List<String>> sink) {
         //if(walkGenerator.parser.getClass() == NtMemoryParser.class) {
         if(MemoryParser.class.isAssignableFrom(walkGenerator.parser.getClass())) {
-            walkGenerator.writeToFile(((MemoryParser)walkGenerator.parser).generateDuplicateFreeRandomWalksForEntity(walkGenerator.shortenUri(entity), numberOfWalks, this.depth));
+            sink.accept(((MemoryParser)walkGenerator.parser).generateDuplicateFreeRandomWalksForEntity(walkGenerator.shortenUri(entity), numberOfWalks, this.depth));
         } else {
             LOGGER.error("NOT YET IMPLEMENTED FOR OTHER PARSER THAN MEMORY PARSER!");
         }
@@ -0,0 +1,142 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.runnables;
+
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkStrategy;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.TripleDataSetMemory;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.MemoryParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Enumerates all distinct forward paths of an entity instead of sampling random walks. A path ends at the depth or at a
+ * node without outgoing triples. The paths are enumerated depth-first with an explicit stack of adjacency cursors (one
+ * per level), and every path is written from a single reused builder: neither the paths nor the triples of a path are
+ * materialized, so the memory per worker only depends on the depth (and on {@link ExhaustivePathStrategy#CHUNK_SIZE}).
+ * <br>
+ * The number of paths grows exponentially with the depth; this mode is meant for shallow depths (about 3) on sparse
+ * graphs. The number of paths per entity can be capped (see {@link WalkGenerator#setMaxPathsPerEntity(int)}).
+ */
+public class ExhaustivePathStrategy implements WalkStrategy {
+
+    /**
+     * Number of paths that are handed over to the walk writer at once. Entities with more paths call the sink once per
+     * chunk.
+     */
+    static final int CHUNK_SIZE = 4096;
+
+    /**
+     * Maximal length of each path.
+     */
+    private final int depth;
+
+    /**
+     * Maximal number of paths per entity (0: unlimited).
+     */
+    private final int maxPaths;
+
+    /**
+     * The walk generator for which this strategy works.
+     */
+    private final WalkGenerator walkGenerator;
+
+    /**
+     * The parser.
+     */
+    private final MemoryParser parser;
+
+    /**
+     * The data.
+     */
+    private final TripleDataSetMemory data;
+
+    /**
+     * Constructor
+     *
+     * @param generator The walk generator to be used (requires a {@link MemoryParser}).
+     * @param depth     The maximal length of the paths.
+     * @param maxPaths  The maximal number of paths per entity (0: unlimited).
+     */
+    public ExhaustivePathStrategy(WalkGenerator generator, int depth, int maxPaths) {
+        this.walkGenerator = generator;
+        this.depth = depth;
+        this.maxPaths = maxPaths;
+        this.parser = (MemoryParser) generator.parser;
+        this.data = parser.getData();
+    }
+
+    @Override
+    public void generateWalks(String entity, Consumer<List<String>> sink) {
+        generatePaths(entity, maxPaths, sink);
+    }
+
+    /**
+     * Generates the paths of the given entity; the number of walks (e.g. of a walk budget) caps the number of paths.
+     *
+     * @param entity        The entity (not shortened).
+     * @param numberOfWalks The maximal number of paths of this entity.
+     * @param sink          Receives the paths of the entity.
+     */
+    @Override
+    public void generateWalks(String entity, int numberOfWalks, Consumer<List<String>> sink) {
+        if (numberOfWalks < 1) sink.accept(new ArrayList<>());
+        else generatePaths(entity, (maxPaths > 0) ? Math.min(maxPaths, numberOfWalks) : numberOfWalks, sink);
+    }
+
+    /**
+     * Enumerates the paths of the given entity depth-first.
+     *
+     * @param entity   The entity for which paths shall be generated.
+     * @param maxPaths The maximal number of paths (0: unlimited).
+     * @param sink     Receives the paths in chunks.
+     */
+    private void generatePaths(String entity, int maxPaths, Consumer<List<String>> sink) {
+        List<String> chunk = new ArrayList<>();
+        // stack of the adjacency lists that are iterated, the position in each list, and the path length before each level
+        @SuppressWarnings("unchecked")
+        List<Triple>[] adjacency = new List[Math.max(1, depth)];
+        int[] cursors = new int[adjacency.length];
+        int[] pathLengths = new int[adjacency.length];
+        StringBuilder path = new StringBuilder(128);
+        path.append(walkGenerator.shortenUri(entity));
+        long numberOfPaths = 0;
+        boolean isChunkWritten = false;
+
+        int level = 0;
+        adjacency[0] = (depth < 1) ? null : data.getTriplesInvolvingSubject(entity);
+        pathLengths[0] = path.length();
+        if (adjacency[0] == null) level = -1;
+        while (level >= 0) {
+            List<Triple> triples = adjacency[level];
+            if (cursors[level] == triples.size()) {
+                level--;
+                continue;
+            }
+            Triple triple = triples.get(cursors[level]++);
+            path.setLength(pathLengths[level]);
+            path.append(' ').append(walkGenerator.shortenUri(triple.predicate))
+                    .append(' ').append(walkGenerator.shortenUri(parser.getObjectToken(triple)));
+
+            List<Triple> successors = (level + 1 < depth) ? data.getTriplesInvolvingSubject(triple.object) : null;
+            if (successors == null || successors.isEmpty()) {
+                // the path cannot be extended: write it
+                chunk.add(path.toString());
+                numberOfPaths++;
+                if (numberOfPaths == maxPaths) break;
+                if (chunk.size() == CHUNK_SIZE) {
+                    sink.accept(chunk);
+                    chunk = new ArrayList<>();
+                    isChunkWritten = true;
+                }
+            } else {
+                level++;
+                adjacency[level] = successors;
+                cursors[level] = 0;
+                pathLengths[level] = path.length();
+            }
+        }
+        if (!chunk.isEmpty() || !isChunkWritten) sink.accept(chunk);
+    }
+}
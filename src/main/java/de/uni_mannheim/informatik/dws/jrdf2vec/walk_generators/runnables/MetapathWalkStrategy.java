@@ -0,0 +1,179 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.runnables;
+
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkRandom;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkStrategy;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.TripleDataSetMemory;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.MemoryParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Metapath walks: random walks in a forward-fashion that follow a given sequence of predicates (e.g.
+ * {@code author affiliation country}); {@link MetapathWalkStrategy#ANY_PREDICATE} matches any predicate. A pattern that
+ * is shorter than the depth is repeated. Every walk uses one of the patterns that can be applied to the entity (drawn
+ * uniformly); a walk ends when there is no matching edge. Only matching edges are sampled: every constrained hop is a
+ * direct lookup in the (subject, predicate) index of the in-memory store.
+ */
+public class MetapathWalkStrategy implements WalkStrategy {
+
+    /**
+     * Default Logger
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetapathWalkStrategy.class);
+
+    /**
+     * Pattern element that matches any predicate.
+     */
+    public static final String ANY_PREDICATE = "*";
+
+    /**
+     * Length of each walk.
+     */
+    private final int walkLength;
+
+    /**
+     * Number of walks to be performed per entity.
+     */
+    private final int numberOfWalks;
+
+    /**
+     * The walk generator for which this strategy works.
+     */
+    private final WalkGenerator walkGenerator;
+
+    /**
+     * The parser (determines the tokens of blank nodes).
+     */
+    private final MemoryParser parser;
+
+    /**
+     * The data of the parser.
+     */
+    private final TripleDataSetMemory data;
+
+    /**
+     * The predicate patterns.
+     */
+    private final List<String[]> metapaths;
+
+    /**
+     * Constructor.
+     *
+     * @param generator     The walk generator to be used (requires a {@link MemoryParser}).
+     * @param numberOfWalks The number of walks to be performed per entity.
+     * @param walkLength    The length of the walk.
+     * @param metapaths     The predicate patterns (each a non-empty list of predicates as in the graph file).
+     */
+    public MetapathWalkStrategy(WalkGenerator generator, int numberOfWalks, int walkLength, List<List<String>> metapaths) {
+        this.walkGenerator = generator;
+        this.numberOfWalks = numberOfWalks;
+        this.walkLength = walkLength;
+        this.parser = (MemoryParser) generator.parser;
+        this.data = parser.getData();
+        this.metapaths = new ArrayList<>(metapaths.size());
+        UnaryOperator<String> uriShortenerFunction = parser.getUriShortenerFunction();
+        for (List<String> metapath : metapaths) {
+            if (metapath == null || metapath.isEmpty()) continue;
+            String[] predicates = new String[metapath.size()];
+            for (int i = 0; i < predicates.length; i++) {
+                // the predicates are normalized like the predicates of the in-memory store (no angle brackets, shortened)
+                String predicate = MemoryParser.removeTags(metapath.get(i));
+                predicates[i] = ANY_PREDICATE.equals(predicate) ? predicate : uriShortenerFunction.apply(predicate);
+            }
+            this.metapaths.add(predicates);
+        }
+    }
+
+    @Override
+    public void generateWalks(String entity, Consumer<List<String>> sink) {
+        generateWalks(entity, numberOfWalks, sink);
+    }
+
+    @Override
+    public void generateWalks(String entity, int numberOfWalks, Consumer<List<String>> sink) {
+        sink.accept(generateWalks(entity, numberOfWalks));
+    }
+
+    /**
+     * Obtain the triples of the subject that match the pattern element.
+     *
+     * @param subject   The subject.
+     * @param predicate The pattern element.
+     * @return The matching triples or null.
+     */
+    private List<Triple> getCandidates(String subject, String predicate) {
+        if (ANY_PREDICATE.equals(predicate)) return data.getTriplesInvolvingSubject(subject);
+        return data.getTriplesInvolvingSubjectAndPredicate(subject, predicate);
+    }
+
+    /**
+     * Generates the metapath walks of the given entity.
+     *
+     * @param entity The entity for which walks shall be generated.
+     * @param numberOfWalks The number of walks to be generated.
+     * @return The generated walks.
+     */
+    private List<String> generateWalks(String entity, int numberOfWalks) {
+        List<String> result = new ArrayList<>(numberOfWalks);
+        List<String[]> applicable = new ArrayList<>(metapaths.size());
+        for (String[] metapath : metapaths) {
+            List<Triple> candidates = getCandidates(entity, metapath[0]);
+            if (candidates != null && !candidates.isEmpty()) applicable.add(metapath);
+        }
+        if (applicable.isEmpty()) return result;
+
+        StringBuilder currentWalk = new StringBuilder(128);
+        String entityShort = walkGenerator.shortenUri(entity);
+        SplittableRandom random = WalkRandom.current();
+        for (int walkNumber = 0; walkNumber < numberOfWalks; walkNumber++) {
+            String[] metapath = applicable.size() == 1 ? applicable.get(0) : applicable.get(random.nextInt(applicable.size()));
+            String current = entity;
+            currentWalk.setLength(0);
+            currentWalk.append(entityShort);
+            for (int currentDepth = 0; currentDepth < walkLength; currentDepth++) {
+                List<Triple> candidates = getCandidates(current, metapath[currentDepth % metapath.length]);
+                if (candidates == null || candidates.isEmpty()) break;
+                Triple po = candidates.get(random.nextInt(candidates.size()));
+                currentWalk.append(' ').append(walkGenerator.shortenUri(po.predicate))
+                        .append(' ').append(walkGenerator.shortenUri(parser.getObjectToken(po)));
+                current = po.object;
+            }
+            result.add(currentWalk.toString());
+        }
+        return result;
+    }
+
+    /**
+     * Reads metapaths from a UTF-8 encoded file: one pattern per line, the predicates are separated by whitespace.
+     * Empty lines and lines starting with # are ignored.
+     *
+     * @param metapathFile The file to be read.
+     * @return The metapaths (empty if the file cannot be read).
+     */
+    public static List<List<String>> readMetapaths(File metapathFile) {
+        List<List<String>> result = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(metapathFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                result.add(Arrays.asList(line.split("\\s+")));
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to read the metapath file.", e);
+        }
+        LOGGER.info("Number of read metapaths: " + result.size());
+        return result;
+    }
+}
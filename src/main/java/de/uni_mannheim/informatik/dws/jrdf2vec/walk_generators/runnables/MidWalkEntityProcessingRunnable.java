@@ -3,14 +3,20 @@ package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.runnables;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.HdtParser;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.MemoryParser;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.NtMemoryParser;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.NxMemoryParser;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkContent;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkStrategy;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Runnable for mid walk generation.
  */
-public class MidWalkEntityProcessingRunnable implements Runnable {
+public class MidWalkEntityProcessingRunnable implements Runnable, WalkStrategy {
 
     /**
      * Default Logger
@@ -37,6 +43,11 @@ public class MidWalkEntityProcessingRunnable implements Runnable {
      */
     WalkGenerator walkGenerator;
 
+    /**
+     * The tokens that are written for each walk.
+     */
+    WalkContent content = WalkContent.ALL;
+
     /**
      * Constructor.
      *
@@ -53,17 +64,65 @@ public class MidWalkEntityProcessingRunnable implements Runnable {
         this.walkGenerator = generator;
     }
 
+    /**
+     * Constructor for a processor that is not bound to a single entity. Entities are handed over via
+     * {@link MidWalkEntityProcessingRunnable#processEntity(String)}. One instance can be shared by multiple threads.
+     *
+     * @param generator     Generator to be used.
+     * @param numberOfWalks The number of walks to be performed per entity.
+     * @param depth         Desired length of the walk.
+     */
+    public MidWalkEntityProcessingRunnable(WalkGenerator generator, int numberOfWalks, int depth) {
+        this(generator, null, numberOfWalks, depth);
+    }
+
+    /**
+     * Constructor for a processor that writes only parts of the walks (e.g. entities only). Requires a
+     * {@link MemoryParser}.
+     *
+     * @param generator     Generator to be used.
+     * @param numberOfWalks The number of walks to be performed per entity.
+     * @param depth         Desired length of the walk.
+     * @param content       The tokens that are written for each walk.
+     */
+    public MidWalkEntityProcessingRunnable(WalkGenerator generator, int numberOfWalks, int depth, WalkContent content) {
+        this(generator, null, numberOfWalks, depth);
+        this.content = content;
+    }
+
     /**
      * Actual thread execution.
      */
     public void run() {
-        if (walkGenerator.parser.getClass() == HdtParser.class) {
-            walkGenerator.writeToFile(((HdtParser) walkGenerator.parser).generateMidWalksForEntity(walkGenerator.shortenUri(entity), this.numberOfWalks, this.depth));
+        processEntity(entity);
+    }
+
+    /**
+     * Generates the walks for the given entity and writes them.
+     *
+     * @param entity The entity to be processed.
+     */
+    public void processEntity(String entity) {
+        generateWalks(entity, walkGenerator::writeToFile);
+    }
+
+    @Override
+    public void generateWalks(String entity, Consumer<List<String>> sink) {
+        generateWalks(entity, numberOfWalks, sink);
+    }
+
+    @Override
+    public void generateWalks(String entity, int numberOfWalks, Consumer<List<String>> sink) {
+        if (content != WalkContent.ALL) {
+            // the reduced walks are only available for the in-memory parsers
+            sink.accept(((MemoryParser) walkGenerator.parser).generateMidWalksForEntity(walkGenerator.shortenUri(entity), this.depth, numberOfWalks, content));
+        } else if (walkGenerator.parser.getClass() == HdtParser.class) {
+            sink.accept(((HdtParser) walkGenerator.parser).generateMidWalksForEntity(walkGenerator.shortenUri(entity), numberOfWalks, this.depth));
         } else if (walkGenerator.parser.getClass() == NtMemoryParser.class) {
             // yes, the depth and # of walks parameters are this way
-            walkGenerator.writeToFile(((NtMemoryParser) walkGenerator.parser).generateMidWalksForEntity(walkGenerator.shortenUri(entity),this.depth, this.numberOfWalks));
+            sink.accept(((NtMemoryParser) walkGenerator.parser).generateMidWalksForEntity(walkGenerator.shortenUri(entity),this.depth, numberOfWalks));
         } else if (walkGenerator.parser.getClass() == NxMemoryParser.class) {
-            walkGenerator.writeToFile(((NxMemoryParser) walkGenerator.parser).generateMidWalksForEntity(walkGenerator.shortenUri(entity), this.depth, this.numberOfWalks));
+            sink.accept(((NxMemoryParser) walkGenerator.parser).generateMidWalksForEntity(walkGenerator.shortenUri(entity), this.depth, numberOfWalks));
         } else LOGGER.error("NOT YET IMPLEMENTED FOR THE CURRENT PARSER!");
     }
 }
@@ -0,0 +1,117 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.runnables;
+
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkStrategy;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.NeighborIndex;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.MemoryParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Biased second-order random walks as in node2vec (Grover and Leskovec, 2016). The walks follow outgoing edges like
+ * the plain random walks, but the next hop depends on the previous node: the return parameter p controls how likely the
+ * walk goes back to the previous node, the in-out parameter q controls whether the walk stays close to the previous
+ * node (q &gt; 1) or moves away from it (q &lt; 1). p = q = 1 corresponds to the plain random walks.
+ */
+public class Node2VecWalkStrategy implements WalkStrategy {
+
+    /**
+     * Length of each walk.
+     */
+    private final int walkLength;
+
+    /**
+     * Number of walks to be performed per entity.
+     */
+    private final int numberOfWalks;
+
+    /**
+     * Return parameter.
+     */
+    private final double p;
+
+    /**
+     * In-out parameter.
+     */
+    private final double q;
+
+    /**
+     * The walk generator for which this strategy works.
+     */
+    private final WalkGenerator walkGenerator;
+
+    /**
+     * The parser of the walk generator.
+     */
+    private final MemoryParser parser;
+
+    /**
+     * Index to check whether the previous node of a walk has an edge to a candidate.
+     */
+    private final NeighborIndex neighborIndex;
+
+    /**
+     * Constructor. The neighbor index is built here, i.e. once per walk generation run.
+     *
+     * @param generator        The walk generator to be used (requires a {@link MemoryParser}).
+     * @param numberOfWalks    The number of walks to be performed per entity.
+     * @param walkLength       The length of the walk.
+     * @param p                Return parameter (&gt; 0).
+     * @param q                In-out parameter (&gt; 0).
+     * @param indexMemoryBytes Memory budget of the neighbor index in bytes.
+     */
+    public Node2VecWalkStrategy(WalkGenerator generator, int numberOfWalks, int walkLength, double p, double q, long indexMemoryBytes) {
+        this.walkGenerator = generator;
+        this.numberOfWalks = numberOfWalks;
+        this.walkLength = walkLength;
+        this.p = p;
+        this.q = q;
+        this.parser = (MemoryParser) generator.parser;
+        this.neighborIndex = parser.createNeighborIndex(indexMemoryBytes);
+    }
+
+    @Override
+    public void generateWalks(String entity, Consumer<List<String>> sink) {
+        generateWalks(entity, numberOfWalks, sink);
+    }
+
+    @Override
+    public void generateWalks(String entity, int numberOfWalks, Consumer<List<String>> sink) {
+        sink.accept(generateWalks(entity, numberOfWalks));
+    }
+
+    /**
+     * Generates the node2vec walks of the given entity.
+     *
+     * @param entity The entity for which walks shall be generated.
+     * @param numberOfWalks The number of walks to be generated.
+     * @return The generated walks.
+     */
+    private List<String> generateWalks(String entity, int numberOfWalks) {
+        List<String> result = new ArrayList<>(numberOfWalks);
+        // the builder is reused for all walks of the entity so that no strings are concatenated per hop
+        StringBuilder currentWalk = new StringBuilder(128);
+        String entityShort = walkGenerator.shortenUri(entity);
+
+        for (int walkNumber = 0; walkNumber < numberOfWalks; walkNumber++) {
+            String previous = null;
+            String current = entity;
+            currentWalk.setLength(0);
+            currentWalk.append(entityShort);
+            for (int currentDepth = 0; currentDepth < walkLength; currentDepth++) {
+                Triple po = parser.getNode2VecTripleForSubject(current, previous, p, q, neighborIndex);
+                if (po == null) break;
+                currentWalk.append(' ').append(walkGenerator.shortenUri(po.predicate))
+                        .append(' ').append(walkGenerator.shortenUri(parser.getObjectToken(po)));
+                previous = current;
+                current = po.object;
+            }
+            // walks that cannot leave the entity are not written
+            if (currentWalk.length() != entityShort.length()) result.add(currentWalk.toString());
+        }
+        return result;
+    }
+}
@@ -1,27 +1,25 @@
 package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.runnables;
 
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.MemoryParser;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkContent;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkStrategy;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * A single task for the thread pool.
  */
-public class RandomWalkEntityProcessingRunnable implements Runnable {
+public class RandomWalkEntityProcessingRunnable implements Runnable, WalkStrategy {
 
     /**
      * Entity that is processed by this thread.
      */
     String entity;
 
-    /**
-     * The list containing the walks generated by teh thread.
-     */
-    List<String> finalList;
-
     /**
      * Length of each walk.
      */
@@ -37,6 +35,11 @@ public class RandomWalkEntityProcessingRunnable implements Runnable {
      */
     WalkGenerator walkGenerator;
 
+    /**
+     * The tokens that are written for each walk.
+     */
+    WalkContent content = WalkContent.ALL;
+
     /**
      * Constructor.
      *
@@ -50,47 +53,100 @@ public class RandomWalkEntityProcessingRunnable implements Runnable {
         this.numberOfWalks = numberOfWalks;
         this.walkLength = walkLength;
         this.walkGenerator = generator;
-        finalList = new ArrayList<>();
+    }
+
+    /**
+     * Constructor for a processor that is not bound to a single entity. Entities are handed over via
+     * {@link RandomWalkEntityProcessingRunnable#processEntity(String)}. One instance can be shared by multiple threads.
+     *
+     * @param generator The walk generator to be used.
+     * @param numberOfWalks The number of walks to be performed per entity.
+     * @param walkLength The length of the walk.
+     */
+    public RandomWalkEntityProcessingRunnable(WalkGenerator generator, int numberOfWalks, int walkLength) {
+        this(generator, null, numberOfWalks, walkLength);
+    }
+
+    /**
+     * Constructor for a processor that writes only parts of the walks (e.g. entities only).
+     *
+     * @param generator The walk generator to be used.
+     * @param numberOfWalks The number of walks to be performed per entity.
+     * @param walkLength The length of the walk.
+     * @param content The tokens that are written for each walk.
+     */
+    public RandomWalkEntityProcessingRunnable(WalkGenerator generator, int numberOfWalks, int walkLength, WalkContent content) {
+        this(generator, null, numberOfWalks, walkLength);
+        this.content = content;
     }
 
     /**
      * Actual thread execution.
      */
     public void run() {
-        processEntity();
-        walkGenerator.writeToFile(finalList);
+        processEntity(entity);
     }
 
+    /**
+     * Generates the walks for the given entity and writes them.
+     *
+     * @param entity The entity to be processed.
+     */
+    public void processEntity(String entity) {
+        generateWalks(entity, walkGenerator::writeToFile);
+    }
+
+    @Override
+    public void generateWalks(String entity, Consumer<List<String>> sink) {
+        generateWalks(entity, numberOfWalks, sink);
+    }
+
+    @Override
+    public void generateWalks(String entity, int numberOfWalks, Consumer<List<String>> sink) {
+        sink.accept(generateWalks(entity, numberOfWalks));
+    }
 
     /**
      * This method generates the random walks for each entity.
+     *
+     * @param entity The entity for which walks shall be generated.
+     * @param numberOfWalks The number of walks to be generated.
+     * @return The generated walks.
      */
-    private void processEntity() {
+    private List<String> generateWalks(String entity, int numberOfWalks) {
+        List<String> finalList = new ArrayList<>(numberOfWalks);
         int currentDepth;
-        String currentWalk;
+        // the builder is reused for all walks of the entity so that no strings are concatenated per hop
+        StringBuilder currentWalk = new StringBuilder(128);
         int currentWalkNumber = 0;
         String entityShort = walkGenerator.shortenUri(entity);
+        MemoryParser parser = (MemoryParser) walkGenerator.parser;
+        boolean isWriteEntities = content.isWriteEntities();
+        boolean isWritePredicates = content.isWritePredicates();
 
         nextWalk:
         while (currentWalkNumber < numberOfWalks) {
             currentWalkNumber++;
             String lastObject = entity;
-            currentWalk = entityShort;
+            currentWalk.setLength(0);
+            currentWalk.append(entityShort);
             currentDepth = 0;
             while (currentDepth < walkLength) {
                 currentDepth++;
-                Triple po = ((MemoryParser) walkGenerator.parser).getRandomTripleForSubjectWithoutTags(lastObject);
+                Triple po = parser.getRandomTripleForSubjectWithoutTags(lastObject);
                 if(po != null){
-                    currentWalk += " " + walkGenerator.shortenUri(po.predicate) + " " + walkGenerator.shortenUri(po.object);
+                    if (isWritePredicates) currentWalk.append(' ').append(walkGenerator.shortenUri(po.predicate));
+                    if (isWriteEntities) currentWalk.append(' ').append(walkGenerator.shortenUri(parser.getObjectToken(po)));
                     lastObject = po.object;
                 } else {
                     // The current walk cannot be continued -> add to list (if there is a walk of depth 1) and create next walk.
-                    if(currentWalk.length() != entityShort.length()) finalList.add(currentWalk);
+                    if(currentWalk.length() != entityShort.length()) finalList.add(currentWalk.toString());
                     continue nextWalk;
                 }
             }
-            finalList.add(currentWalk);
+            finalList.add(currentWalk.toString());
         }
-    } // end of processEntity()
+        return finalList;
+    } // end of generateWalks()
 
 }
@@ -0,0 +1,128 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.runnables;
+
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkRandom;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkStrategy;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.MemoryParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Random walks with restart (the sampling process behind personalized PageRank). Per entity, one trajectory is
+ * traversed in a forward-fashion; at every hop, it jumps back to the entity with the restart probability (and
+ * whenever it reaches a node without outgoing triples), so the trajectory stays close to the entity. The trajectory
+ * is written in windows that have the structure of a random walk ({@code node predicate node ...}): a window ends
+ * after depth hops (the next window continues the trajectory from the last node of the window) or at a restart (the
+ * next window starts at the entity). Hence, windows have at most 2 * depth + 1 tokens, and all windows share one
+ * traversal. A hop costs one lookup and one draw more than a hop of a plain random walk.
+ */
+public class RestartWalkStrategy implements WalkStrategy {
+
+    /**
+     * Maximal number of hops of each window.
+     */
+    private final int depth;
+
+    /**
+     * Number of windows to be written per entity.
+     */
+    private final int numberOfWalks;
+
+    /**
+     * Probability to jump back to the entity before a hop.
+     */
+    private final double restartProbability;
+
+    /**
+     * The walk generator for which this strategy works.
+     */
+    private final WalkGenerator walkGenerator;
+
+    /**
+     * The parser of the walk generator.
+     */
+    private final MemoryParser parser;
+
+    /**
+     * Constructor.
+     *
+     * @param generator          The walk generator to be used (requires a {@link MemoryParser}).
+     * @param numberOfWalks      The number of windows to be written per entity.
+     * @param depth              The depth of a walk; a window has at most depth hops.
+     * @param restartProbability The probability to jump back to the entity before a hop.
+     */
+    public RestartWalkStrategy(WalkGenerator generator, int numberOfWalks, int depth, double restartProbability) {
+        this.walkGenerator = generator;
+        this.numberOfWalks = numberOfWalks;
+        this.depth = Math.max(depth, 1);
+        this.restartProbability = restartProbability;
+        this.parser = (MemoryParser) generator.parser;
+    }
+
+    @Override
+    public void generateWalks(String entity, Consumer<List<String>> sink) {
+        generateWalks(entity, numberOfWalks, sink);
+    }
+
+    @Override
+    public void generateWalks(String entity, int numberOfWalks, Consumer<List<String>> sink) {
+        sink.accept(generateWalks(entity, numberOfWalks));
+    }
+
+    /**
+     * Generates the windows of the given entity.
+     *
+     * @param entity The entity for which walks shall be generated.
+     * @param numberOfWalks The number of walks to be generated.
+     * @return The generated windows.
+     */
+    private List<String> generateWalks(String entity, int numberOfWalks) {
+        List<String> result = new ArrayList<>(numberOfWalks);
+        List<Triple> entityTriples = parser.getData().getTriplesInvolvingSubject(entity);
+        // the trajectory cannot leave the entity
+        if (entityTriples == null || entityTriples.isEmpty() || numberOfWalks < 1) return result;
+
+        String entityShort = walkGenerator.shortenUri(entity);
+        SplittableRandom random = WalkRandom.current();
+        StringBuilder window = new StringBuilder(128);
+        window.append(entityShort);
+        int hopsInWindow = 0;
+        String current = entity;
+
+        while (true) {
+            Triple po = null;
+            if (current.equals(entity) || random.nextDouble() >= restartProbability) {
+                po = parser.getRandomTripleForSubjectWithoutTags(current);
+                if (po == null && current.equals(entity)) return result;
+            }
+            if (po == null) {
+                // restart (drawn or dead end): the window ends and the next window starts at the entity
+                if (hopsInWindow > 0) {
+                    result.add(window.toString());
+                    if (result.size() == numberOfWalks) return result;
+                }
+                window.setLength(0);
+                window.append(entityShort);
+                hopsInWindow = 0;
+                current = entity;
+                continue;
+            }
+            String object = walkGenerator.shortenUri(parser.getObjectToken(po));
+            window.append(' ').append(walkGenerator.shortenUri(po.predicate)).append(' ').append(object);
+            hopsInWindow++;
+            current = po.object;
+            if (hopsInWindow == depth) {
+                // the next window continues the trajectory from the current node
+                result.add(window.toString());
+                if (result.size() == numberOfWalks) return result;
+                window.setLength(0);
+                window.append(object);
+                hopsInWindow = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.runnables;
+
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkRandom;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkStrategy;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.UndirectedAdjacency;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.MemoryParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Random walks on the graph as if it were undirected: every hop is drawn uniformly from the outgoing and incoming
+ * triples of the current node. A backward hop writes the predicate with {@link UndirectedRandomWalkStrategy#INVERSE_PREFIX}
+ * (e.g. {@code e1 ^p e0} for the triple {@code e0 p e1}), so entities that only occur as objects get a context.
+ */
+public class UndirectedRandomWalkStrategy implements WalkStrategy {
+
+    /**
+     * Prefix of the predicate token of a backward hop.
+     */
+    public static final char INVERSE_PREFIX = '^';
+
+    /**
+     * Length of each walk.
+     */
+    private final int walkLength;
+
+    /**
+     * Number of walks to be performed per entity.
+     */
+    private final int numberOfWalks;
+
+    /**
+     * The walk generator for which this strategy works.
+     */
+    private final WalkGenerator walkGenerator;
+
+    /**
+     * The parser (determines the tokens of blank nodes).
+     */
+    private final MemoryParser parser;
+
+    /**
+     * Merged outgoing and incoming triples per node.
+     */
+    private final UndirectedAdjacency adjacency;
+
+    /**
+     * Constructor. The merged adjacency is built here, i.e. once per walk generation run.
+     *
+     * @param generator     The walk generator to be used (requires a {@link MemoryParser}).
+     * @param numberOfWalks The number of walks to be performed per entity.
+     * @param walkLength    The length of the walk.
+     */
+    public UndirectedRandomWalkStrategy(WalkGenerator generator, int numberOfWalks, int walkLength) {
+        this.walkGenerator = generator;
+        this.numberOfWalks = numberOfWalks;
+        this.walkLength = walkLength;
+        this.parser = (MemoryParser) generator.parser;
+        this.adjacency = new UndirectedAdjacency(parser.getData());
+    }
+
+    @Override
+    public void generateWalks(String entity, Consumer<List<String>> sink) {
+        generateWalks(entity, numberOfWalks, sink);
+    }
+
+    @Override
+    public void generateWalks(String entity, int numberOfWalks, Consumer<List<String>> sink) {
+        sink.accept(generateWalks(entity, numberOfWalks));
+    }
+
+    /**
+     * Generates the undirected walks of the given entity.
+     *
+     * @param entity The entity for which walks shall be generated.
+     * @param numberOfWalks The number of walks to be generated.
+     * @return The generated walks.
+     */
+    private List<String> generateWalks(String entity, int numberOfWalks) {
+        List<String> result = new ArrayList<>(numberOfWalks);
+        StringBuilder currentWalk = new StringBuilder(128);
+        String entityShort = walkGenerator.shortenUri(entity);
+        SplittableRandom random = WalkRandom.current();
+
+        for (int walkNumber = 0; walkNumber < numberOfWalks; walkNumber++) {
+            String current = entity;
+            currentWalk.setLength(0);
+            currentWalk.append(entityShort);
+            for (int currentDepth = 0; currentDepth < walkLength; currentDepth++) {
+                Triple[] triples = adjacency.getTriples(current);
+                if (triples == null || triples.length == 0) break;
+                Triple triple = triples[random.nextInt(triples.length)];
+                currentWalk.append(' ');
+                if (triple.subject.equals(current)) {
+                    currentWalk.append(walkGenerator.shortenUri(triple.predicate))
+                            .append(' ').append(walkGenerator.shortenUri(parser.getObjectToken(triple)));
+                    current = triple.object;
+                } else {
+                    currentWalk.append(INVERSE_PREFIX).append(walkGenerator.shortenUri(triple.predicate))
+                            .append(' ').append(walkGenerator.shortenUri(parser.getSubjectToken(triple)));
+                    current = triple.subject;
+                }
+            }
+            // walks that cannot leave the entity are not written
+            if (currentWalk.length() != entityShort.length()) result.add(currentWalk.toString());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,107 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.runnables;
+
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkRandom;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkStrategy;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.MemoryParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Walklets (Perozzi et al., 2017): random walks in a forward-fashion of which only the pairs of nodes at the given skip
+ * distances (scales) are written, one pair per line. Skip-gram training on the pairs only has to consider one context
+ * per token, so the training is much cheaper than on full walks with a large window. The nodes of a walk are kept in a
+ * reused array; the full walk is never serialized.
+ */
+public class WalkletStrategy implements WalkStrategy {
+
+    /**
+     * Length of each walk.
+     */
+    private final int walkLength;
+
+    /**
+     * Number of walks to be performed per entity.
+     */
+    private final int numberOfWalks;
+
+    /**
+     * The skip distances.
+     */
+    private final int[] scales;
+
+    /**
+     * The walk generator for which this strategy works.
+     */
+    private final WalkGenerator walkGenerator;
+
+    /**
+     * The parser of the walk generator.
+     */
+    private final MemoryParser parser;
+
+    /**
+     * Constructor.
+     *
+     * @param generator     The walk generator to be used (requires a {@link MemoryParser}).
+     * @param numberOfWalks The number of walks to be performed per entity.
+     * @param walkLength    The length of the walk.
+     * @param scales        The skip distances (each &gt; 0).
+     */
+    public WalkletStrategy(WalkGenerator generator, int numberOfWalks, int walkLength, int[] scales) {
+        this.walkGenerator = generator;
+        this.numberOfWalks = numberOfWalks;
+        this.walkLength = walkLength;
+        this.scales = scales.clone();
+        this.parser = (MemoryParser) generator.parser;
+    }
+
+    @Override
+    public void generateWalks(String entity, Consumer<List<String>> sink) {
+        generateWalks(entity, numberOfWalks, sink);
+    }
+
+    @Override
+    public void generateWalks(String entity, int numberOfWalks, Consumer<List<String>> sink) {
+        sink.accept(generateWalks(entity, numberOfWalks));
+    }
+
+    /**
+     * Generates the walklet pairs of the given entity.
+     *
+     * @param entity The entity for which walks shall be generated.
+     * @param numberOfWalks The number of walks to be generated.
+     * @return The generated pairs.
+     */
+    private List<String> generateWalks(String entity, int numberOfWalks) {
+        List<String> result = new ArrayList<>();
+        String[] nodes = new String[walkLength + 1];
+        nodes[0] = walkGenerator.shortenUri(entity);
+        StringBuilder pair = new StringBuilder(64);
+        SplittableRandom random = WalkRandom.current();
+
+        for (int walkNumber = 0; walkNumber < numberOfWalks; walkNumber++) {
+            String current = entity;
+            int numberOfNodes = 1;
+            while (numberOfNodes <= walkLength) {
+                List<Triple> triples = parser.getData().getTriplesInvolvingSubject(current);
+                if (triples == null || triples.isEmpty()) break;
+                Triple po = triples.get(random.nextInt(triples.size()));
+                current = po.object;
+                nodes[numberOfNodes++] = walkGenerator.shortenUri(parser.getObjectToken(po));
+            }
+            for (int scale : scales) {
+                for (int i = 0; i + scale < numberOfNodes; i++) {
+                    pair.setLength(0);
+                    pair.append(nodes[i]).append(' ').append(nodes[i + scale]);
+                    result.add(pair.toString());
+                }
+            }
+        }
+        return result;
+    }
+}
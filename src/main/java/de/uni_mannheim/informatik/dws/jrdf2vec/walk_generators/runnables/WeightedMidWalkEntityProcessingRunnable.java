@@ -5,8 +5,12 @@ import org.slf4j.LoggerFactory;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.NtMemoryParser;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.NxMemoryParser;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkStrategy;
 
-public class WeightedMidWalkEntityProcessingRunnable implements Runnable{
+import java.util.List;
+import java.util.function.Consumer;
+
+public class WeightedMidWalkEntityProcessingRunnable implements Runnable, WalkStrategy {
 
     /**
      * Default Logger
@@ -49,15 +53,46 @@ public class WeightedMidWalkEntityProcessingRunnable implements Runnable{
         this.walkGenerator = generator;
     }
 
+    /**
+     * Constructor for a processor that is not bound to a single entity. Entities are handed over via
+     * {@link WeightedMidWalkEntityProcessingRunnable#processEntity(String)}. One instance can be shared by multiple threads.
+     *
+     * @param generator     Generator to be used.
+     * @param numberOfWalks The number of walks to be performed per entity.
+     * @param depth         Desired length of the walk.
+     */
+    public WeightedMidWalkEntityProcessingRunnable(WalkGenerator generator, int numberOfWalks, int depth) {
+        this(generator, null, numberOfWalks, depth);
+    }
+
     /**
      * Actual thread execution.
      */
     public void run() {
+        processEntity(entity);
+    }
+
+    /**
+     * Generates the walks for the given entity and writes them.
+     *
+     * @param entity The entity to be processed.
+     */
+    public void processEntity(String entity) {
+        generateWalks(entity, walkGenerator::writeToFile);
+    }
+
+    @Override
+    public void generateWalks(String entity, Consumer<List<String>> sink) {
+        generateWalks(entity, numberOfWalks, sink);
+    }
+
+    @Override
+    public void generateWalks(String entity, int numberOfWalks, Consumer<List<String>> sink) {
         if (walkGenerator.parser.getClass() == NtMemoryParser.class) {
             // yes, the depth and # of walks parameters are this way
-            walkGenerator.writeToFile(((NtMemoryParser) walkGenerator.parser).generateWeightedMidWalksForEntity(walkGenerator.shortenUri(entity),this.depth, this.numberOfWalks));
+            sink.accept(((NtMemoryParser) walkGenerator.parser).generateWeightedMidWalksForEntity(walkGenerator.shortenUri(entity),this.depth, numberOfWalks));
         } else if (walkGenerator.parser.getClass() == NxMemoryParser.class) {
-            walkGenerator.writeToFile(((NxMemoryParser) walkGenerator.parser).generateWeightedMidWalksForEntity(walkGenerator.shortenUri(entity), this.depth, this.numberOfWalks));
+            sink.accept(((NxMemoryParser) walkGenerator.parser).generateWeightedMidWalksForEntity(walkGenerator.shortenUri(entity), this.depth, numberOfWalks));
         } else LOGGER.error("NOT YET IMPLEMENTED FOR THE CURRENT PARSER!");
     }
 }
@@ -0,0 +1,106 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.runnables;
+
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkRandom;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkStrategy;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.WeightedEdgeSampler;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.MemoryParser;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.weights.EdgeWeightFunction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Random walks in a forward-fashion where the next hop is drawn with a probability proportional to the weight of the
+ * outgoing triples (see {@link EdgeWeightFunction}). The weights are evaluated once when the strategy is created and
+ * stored in per-node alias tables, so every hop is O(1).
+ */
+public class WeightedRandomWalkStrategy implements WalkStrategy {
+
+    /**
+     * Length of each walk.
+     */
+    private final int walkLength;
+
+    /**
+     * Number of walks to be performed per entity.
+     */
+    private final int numberOfWalks;
+
+    /**
+     * The walk generator for which this strategy works.
+     */
+    private final WalkGenerator walkGenerator;
+
+    /**
+     * The parser (determines the tokens of blank nodes).
+     */
+    private final MemoryParser parser;
+
+    /**
+     * Sampler over the weighted outgoing triples.
+     */
+    private final WeightedEdgeSampler sampler;
+
+    /**
+     * Constructor. The weight function is initialized and the alias tables are built here, i.e. once per walk
+     * generation run.
+     *
+     * @param generator      The walk generator to be used (requires a {@link MemoryParser}).
+     * @param numberOfWalks  The number of walks to be performed per entity.
+     * @param walkLength     The length of the walk.
+     * @param weightFunction The weight function.
+     */
+    public WeightedRandomWalkStrategy(WalkGenerator generator, int numberOfWalks, int walkLength, EdgeWeightFunction weightFunction) {
+        this.walkGenerator = generator;
+        this.numberOfWalks = numberOfWalks;
+        this.walkLength = walkLength;
+        this.parser = (MemoryParser) generator.parser;
+        weightFunction.initialize(parser.getData());
+        this.sampler = new WeightedEdgeSampler(parser.getData(), weightFunction);
+    }
+
+    @Override
+    public void generateWalks(String entity, Consumer<List<String>> sink) {
+        generateWalks(entity, numberOfWalks, sink);
+    }
+
+    @Override
+    public void generateWalks(String entity, int numberOfWalks, Consumer<List<String>> sink) {
+        sink.accept(generateWalks(entity, numberOfWalks));
+    }
+
+    /**
+     * Generates the weighted walks of the given entity.
+     *
+     * @param entity The entity for which walks shall be generated.
+     * @param numberOfWalks The number of walks to be generated.
+     * @return The generated walks.
+     */
+    private List<String> generateWalks(String entity, int numberOfWalks) {
+        List<String> result = new ArrayList<>(numberOfWalks);
+        // the builder is reused for all walks of the entity so that no strings are concatenated per hop
+        StringBuilder currentWalk = new StringBuilder(128);
+        String entityShort = walkGenerator.shortenUri(entity);
+        SplittableRandom random = WalkRandom.current();
+
+        for (int walkNumber = 0; walkNumber < numberOfWalks; walkNumber++) {
+            String current = entity;
+            currentWalk.setLength(0);
+            currentWalk.append(entityShort);
+            for (int currentDepth = 0; currentDepth < walkLength; currentDepth++) {
+                Triple po = sampler.sample(current, random);
+                if (po == null) break;
+                currentWalk.append(' ').append(walkGenerator.shortenUri(po.predicate))
+                        .append(' ').append(walkGenerator.shortenUri(parser.getObjectToken(po)));
+                current = po.object;
+            }
+            // walks that cannot leave the entity are not written
+            if (currentWalk.length() != entityShort.length()) result.add(currentWalk.toString());
+        }
+        return result;
+    }
+}
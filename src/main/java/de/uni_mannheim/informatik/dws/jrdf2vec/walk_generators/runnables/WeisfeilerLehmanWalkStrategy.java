@@ -0,0 +1,124 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.runnables;
+
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkRandom;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkStrategy;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.TripleDataSetMemory;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.WeisfeilerLehmanLabeling;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.MemoryParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Weisfeiler-Lehman label sequences. For every entity, random walks are drawn in a forward-fashion; each walk is
+ * written once as it is and once per WL iteration i with every node except the entity replaced by its label after
+ * iteration i (token {@code wl<i>_<label in hex>}). The predicates are kept. Nodes whose outgoing neighborhoods up to
+ * depth i have the same structure share a label (see {@link WeisfeilerLehmanLabeling}), so the training learns from
+ * structurally similar neighborhoods.
+ */
+public class WeisfeilerLehmanWalkStrategy implements WalkStrategy {
+
+    /**
+     * Length of each walk.
+     */
+    private final int walkLength;
+
+    /**
+     * Number of walks to be performed per entity.
+     */
+    private final int numberOfWalks;
+
+    /**
+     * The walk generator for which this strategy works.
+     */
+    private final WalkGenerator walkGenerator;
+
+    /**
+     * The parser (determines the tokens of blank nodes).
+     */
+    private final MemoryParser parser;
+
+    /**
+     * The data of the parser.
+     */
+    private final TripleDataSetMemory data;
+
+    /**
+     * The labels of the nodes.
+     */
+    private final WeisfeilerLehmanLabeling labeling;
+
+    /**
+     * Constructor. The WL labels are computed here, i.e. once per walk generation run.
+     *
+     * @param generator     The walk generator to be used (requires a {@link MemoryParser}).
+     * @param numberOfWalks The number of walks to be performed per entity.
+     * @param walkLength    The length of the walk.
+     * @param iterations    The number of WL iterations.
+     */
+    public WeisfeilerLehmanWalkStrategy(WalkGenerator generator, int numberOfWalks, int walkLength, int iterations) {
+        this.walkGenerator = generator;
+        this.numberOfWalks = numberOfWalks;
+        this.walkLength = walkLength;
+        this.parser = (MemoryParser) generator.parser;
+        this.data = parser.getData();
+        this.labeling = new WeisfeilerLehmanLabeling(data, iterations);
+    }
+
+    @Override
+    public void generateWalks(String entity, Consumer<List<String>> sink) {
+        generateWalks(entity, numberOfWalks, sink);
+    }
+
+    @Override
+    public void generateWalks(String entity, int numberOfWalks, Consumer<List<String>> sink) {
+        sink.accept(generateWalks(entity, numberOfWalks));
+    }
+
+    /**
+     * Generates the label sequences of the given entity.
+     *
+     * @param entity The entity for which sequences shall be generated.
+     * @param numberOfWalks The number of walks to be generated.
+     * @return The generated sequences.
+     */
+    private List<String> generateWalks(String entity, int numberOfWalks) {
+        int iterations = labeling.getNumberOfIterations();
+        List<String> result = new ArrayList<>(numberOfWalks * (iterations + 1));
+        StringBuilder currentWalk = new StringBuilder(128);
+        String entityShort = walkGenerator.shortenUri(entity);
+        SplittableRandom random = WalkRandom.current();
+        List<Triple> path = new ArrayList<>(walkLength);
+
+        for (int walkNumber = 0; walkNumber < numberOfWalks; walkNumber++) {
+            path.clear();
+            String current = entity;
+            for (int currentDepth = 0; currentDepth < walkLength; currentDepth++) {
+                List<Triple> triples = data.getTriplesInvolvingSubject(current);
+                if (triples == null || triples.isEmpty()) break;
+                Triple po = triples.get(random.nextInt(triples.size()));
+                path.add(po);
+                current = po.object;
+            }
+            // walks that cannot leave the entity are not written
+            if (path.isEmpty()) continue;
+
+            for (int iteration = 0; iteration <= iterations; iteration++) {
+                currentWalk.setLength(0);
+                currentWalk.append(entityShort);
+                for (Triple po : path) {
+                    currentWalk.append(' ').append(walkGenerator.shortenUri(po.predicate)).append(' ');
+                    if (iteration == 0) currentWalk.append(walkGenerator.shortenUri(parser.getObjectToken(po)));
+                    else currentWalk.append("wl").append(iteration).append('_')
+                            .append(Long.toHexString(labeling.getLabel(po.object, iteration)));
+                }
+                result.add(currentWalk.toString());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,55 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.weights;
+
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.TripleDataSetMemory;
+
+/**
+ * Weight of an edge (triple) for weighted random walks: the next hop of a walk is drawn with a probability
+ * proportional to the weights of the outgoing triples of the current node. Custom weights can be plugged in by
+ * implementing this interface (see
+ * {@link de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator#setEdgeWeightFunction(EdgeWeightFunction)}).
+ * <br>
+ * The weights are only evaluated once per triple when the alias tables are built, so implementations may be
+ * expensive; they must be thread-safe because the tables are built in parallel.
+ */
+@FunctionalInterface
+public interface EdgeWeightFunction {
+
+    /**
+     * Prepares the function for the given data (e.g. precomputes statistics). Called once before the weights are
+     * requested.
+     *
+     * @param data The data for which walks are generated.
+     */
+    default void initialize(TripleDataSetMemory data) {
+    }
+
+    /**
+     * Get the weight of a triple.
+     *
+     * @param triple The triple.
+     * @return Non-negative weight.
+     */
+    double getWeight(Triple triple);
+
+    /**
+     * Get one of the built-in weight functions.
+     *
+     * @param name INVERSE_PREDICATE_FREQUENCY, INVERSE_OBJECT_DEGREE, or PAGE_RANK (case-insensitive).
+     * @return New instance of the function or null if the name is unknown.
+     */
+    static EdgeWeightFunction fromName(String name) {
+        if (name == null) return null;
+        switch (name.trim().toLowerCase()) {
+            case "inverse_predicate_frequency":
+                return new InversePredicateFrequencyWeight();
+            case "inverse_object_degree":
+                return new InverseObjectDegreeWeight();
+            case "page_rank":
+            case "pagerank":
+                return new PageRankWeight();
+            default:
+                return null;
+        }
+    }
+}
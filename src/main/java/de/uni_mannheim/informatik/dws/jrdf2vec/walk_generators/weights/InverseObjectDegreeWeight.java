@@ -0,0 +1,29 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.weights;
+
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.TripleDataSetMemory;
+
+import java.util.List;
+
+/**
+ * The weight of a triple is the inverse of the in-degree of its object, i.e., walks avoid hubs that are the object of
+ * many triples (e.g. classes or countries).
+ */
+public class InverseObjectDegreeWeight implements EdgeWeightFunction {
+
+    /**
+     * The data.
+     */
+    private TripleDataSetMemory data;
+
+    @Override
+    public void initialize(TripleDataSetMemory data) {
+        this.data = data;
+    }
+
+    @Override
+    public double getWeight(Triple triple) {
+        List<Triple> triples = data.getTriplesInvolvingObject(triple.object);
+        return (triples == null || triples.isEmpty()) ? 1.0 : 1.0 / triples.size();
+    }
+}
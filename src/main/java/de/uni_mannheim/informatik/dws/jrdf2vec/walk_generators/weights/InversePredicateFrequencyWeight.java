@@ -0,0 +1,29 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.weights;
+
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.TripleDataSetMemory;
+
+import java.util.List;
+
+/**
+ * The weight of a triple is the inverse of the number of triples with its predicate, i.e., walks prefer rare
+ * predicates over frequent ones such as rdf:type.
+ */
+public class InversePredicateFrequencyWeight implements EdgeWeightFunction {
+
+    /**
+     * The data.
+     */
+    private TripleDataSetMemory data;
+
+    @Override
+    public void initialize(TripleDataSetMemory data) {
+        this.data = data;
+    }
+
+    @Override
+    public double getWeight(Triple triple) {
+        List<Triple> triples = data.getTriplesInvolvingPredicate(triple.predicate);
+        return (triples == null || triples.isEmpty()) ? 1.0 : 1.0 / triples.size();
+    }
+}
@@ -0,0 +1,140 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.weights;
+
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.TripleDataSetMemory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The weight of a triple is the PageRank of its object, i.e., walks prefer important nodes. The PageRank is computed
+ * once on the in-memory graph (power iteration, parallel over the nodes).
+ */
+public class PageRankWeight implements EdgeWeightFunction {
+
+    /**
+     * Default logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PageRankWeight.class);
+
+    /**
+     * Default damping factor.
+     */
+    public static final double DAMPING_FACTOR_DEFAULT = 0.85;
+
+    /**
+     * Maximal number of iterations.
+     */
+    public static final int MAX_ITERATIONS = 50;
+
+    /**
+     * The iteration stops once the L1 distance of two successive iterations is below this threshold.
+     */
+    static final double EPSILON = 1e-6;
+
+    /**
+     * The damping factor.
+     */
+    private final double dampingFactor;
+
+    /**
+     * Index of each node.
+     */
+    private Map<String, Integer> nodeIndex;
+
+    /**
+     * PageRank of each node, scaled by the number of nodes (i.e. the average is 1).
+     */
+    private double[] pageRank;
+
+    /**
+     * Constructor
+     */
+    public PageRankWeight() {
+        this(DAMPING_FACTOR_DEFAULT);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param dampingFactor The damping factor in (0, 1).
+     */
+    public PageRankWeight(double dampingFactor) {
+        this.dampingFactor = dampingFactor;
+    }
+
+    @Override
+    public void initialize(TripleDataSetMemory data) {
+        nodeIndex = new HashMap<>();
+        for (String node : data.getUniqueSubjectsAndObjects()) {
+            nodeIndex.put(node, nodeIndex.size());
+        }
+        int n = nodeIndex.size();
+        pageRank = new double[n];
+        if (n == 0) return;
+
+        // incoming edges in compressed form: the sources of node v are incomingSources[incomingStart[v]..incomingStart[v+1])
+        int[] outDegree = new int[n];
+        int[] incomingStart = new int[n + 1];
+        for (Triple triple : data.getAllTriples()) {
+            outDegree[nodeIndex.get(triple.subject)]++;
+            incomingStart[nodeIndex.get(triple.object) + 1]++;
+        }
+        for (int v = 0; v < n; v++) incomingStart[v + 1] += incomingStart[v];
+        int[] incomingSources = new int[incomingStart[n]];
+        int[] fill = new int[n];
+        for (Triple triple : data.getAllTriples()) {
+            int target = nodeIndex.get(triple.object);
+            incomingSources[incomingStart[target] + fill[target]++] = nodeIndex.get(triple.subject);
+        }
+
+        double[] rank = new double[n];
+        double[] next = new double[n];
+        Arrays.fill(rank, 1.0 / n);
+        int iteration = 0;
+        double delta = Double.MAX_VALUE;
+        while (iteration < MAX_ITERATIONS && delta > EPSILON) {
+            final double[] current = rank;
+            final double[] result = next;
+            // the rank of nodes without outgoing edges is distributed over all nodes
+            double danglingRank = IntStream.range(0, n).parallel().filter(v -> outDegree[v] == 0)
+                    .mapToDouble(v -> current[v]).sum();
+            final double base = (1.0 - dampingFactor) / n + dampingFactor * danglingRank / n;
+            IntStream.range(0, n).parallel().forEach(v -> {
+                double sum = 0;
+                for (int i = incomingStart[v]; i < incomingStart[v + 1]; i++) {
+                    int source = incomingSources[i];
+                    sum += current[source] / outDegree[source];
+                }
+                result[v] = base + dampingFactor * sum;
+            });
+            delta = IntStream.range(0, n).parallel().mapToDouble(v -> Math.abs(result[v] - current[v])).sum();
+            next = rank;
+            rank = result;
+            iteration++;
+        }
+        LOGGER.info("PageRank computed for " + n + " nodes in " + iteration + " iterations.");
+        for (int v = 0; v < n; v++) pageRank[v] = rank[v] * n;
+    }
+
+    @Override
+    public double getWeight(Triple triple) {
+        Integer index = nodeIndex.get(triple.object);
+        return index == null ? 1.0 : pageRank[index];
+    }
+
+    /**
+     * Get the PageRank of a node.
+     *
+     * @param node The node.
+     * @return PageRank scaled by the number of nodes (the average is 1); 0 if the node is unknown.
+     */
+    public double getPageRank(String node) {
+        Integer index = nodeIndex.get(node);
+        return index == null ? 0.0 : pageRank[index];
+    }
+}
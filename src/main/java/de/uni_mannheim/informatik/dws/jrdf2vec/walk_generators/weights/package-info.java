@@ -0,0 +1,4 @@
+/**
+ * Edge weights for weighted random walks.
+ */
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.weights;
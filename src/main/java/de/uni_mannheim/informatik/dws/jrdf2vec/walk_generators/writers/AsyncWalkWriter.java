@@ -0,0 +1,911 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Asynchronous writer for walk files.
+ * Walk generation threads encode their walks into a thread-local byte buffer. Full buffers are handed over to the
+ * writer threads through a bounded queue; if the writer threads fall behind, the walk generation threads block until
+ * a slot becomes available (backpressure). Hence, no lock is held while walks are generated, encoded, or compressed.
+ * <br>
+ * Every writer thread writes its own sequence of shards and starts a new shard once the configured number of lines
+ * or bytes is exceeded. The first shard of the first writer is the given file path; further shards are named
+ * {@code <file>_<writer>_<shard>.gz}. When the writer is closed, a manifest ({@code <file>.manifest}) is written
+ * which lists every shard with its number of lines, uncompressed bytes, and the CRC32 checksum of the shard file.
+ * Optionally, walks are deduplicated across the whole corpus before they are buffered (see {@link WalkDeduplicator}).
+ * <br>
+ * If the output is ordered (see {@link WalkWriterConfiguration#isOrderedOutput()}), walks are handed over in numbered
+ * batches ({@link AsyncWalkWriter#write(long, List)}) and written in the order of the batch numbers by a single writer
+ * thread. The shards are then always written as a sequence of gzip members so that the written bytes do not depend on
+ * the number of compression threads.
+ * <br>
+ * If a {@link WalkCheckpoint} is given, the output is ordered and the checkpoint is saved whenever a shard is completed.
+ * A checkpoint that already contains shards is resumed: the shards are kept, the next shard and the next batch number
+ * continue where the checkpoint ends.
+ */
+public class AsyncWalkWriter implements Closeable {
+
+    /**
+     * Default logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncWalkWriter.class);
+
+    /**
+     * File ending of the manifest file.
+     */
+    public static final String MANIFEST_FILE_ENDING = ".manifest";
+
+    /**
+     * Buffer that signals a writer thread to stop.
+     */
+    private static final WalkBuffer END_OF_STREAM = new WalkBuffer(0);
+
+    /**
+     * Path of the first walk file. Further files are derived from this path.
+     */
+    private final String filePath;
+
+    /**
+     * The configuration of this writer.
+     */
+    private final WalkWriterConfiguration configuration;
+
+    /**
+     * Size of a walk buffer.
+     */
+    private final int bufferSize;
+
+    /**
+     * Pool for parallel compression (null if compression is not parallel).
+     */
+    private final ExecutorService compressionPool;
+
+    /**
+     * Filled buffers that wait for the writer threads.
+     */
+    private final BlockingQueue<WalkBuffer> filledBuffers;
+
+    /**
+     * Written buffers that can be reused.
+     */
+    private final Queue<WalkBuffer> freeBuffers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * All thread-local buffers so that their remaining content can be written on {@link AsyncWalkWriter#close()}.
+     */
+    private final Queue<WalkBuffer> threadBuffers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The buffer of the current walk generation thread.
+     */
+    private final ThreadLocal<WalkBuffer> currentBuffer;
+
+    /**
+     * The writer threads.
+     */
+    private final List<Thread> writerThreads = new ArrayList<>();
+
+    /**
+     * Shards that have been completed.
+     */
+    private final Queue<ShardInfo> completedShards = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Corpus-wide deduplication filter (null if walks are not deduplicated).
+     */
+    private final WalkDeduplicator deduplicator;
+
+    /**
+     * Number of lines written in total.
+     */
+    private final AtomicLong writtenLines = new AtomicLong();
+
+    /**
+     * Batches of the ordered output that wait for their predecessors, by batch number (guarded by itself).
+     */
+    private final Map<Long, List<String>> pendingBatches = new HashMap<>();
+
+    /**
+     * Number of the next batch of the ordered output that shall be written (guarded by
+     * {@link AsyncWalkWriter#pendingBatches}).
+     */
+    private long nextBatchNumber = 0;
+
+    /**
+     * Buffer of the ordered output (guarded by {@link AsyncWalkWriter#pendingBatches}).
+     */
+    private final WalkBuffer orderedBuffer;
+
+    /**
+     * Checkpoint of the run (null if no checkpoints are written).
+     */
+    private final WalkCheckpoint checkpoint;
+
+    /**
+     * True if a writer thread failed to write walks.
+     */
+    private volatile boolean isWriteFailed = false;
+
+    /**
+     * True if the walk generation has been aborted (see {@link AsyncWalkWriter#abort()}).
+     */
+    private volatile boolean isAborted = false;
+
+    /**
+     * True if the writer has been closed.
+     */
+    private volatile boolean isClosed = false;
+
+    /**
+     * Constructor
+     *
+     * @param filePath Path to the (gzipped) walk file that shall be written.
+     * @throws IOException If the file cannot be opened.
+     */
+    public AsyncWalkWriter(String filePath) throws IOException {
+        this(filePath, new WalkWriterConfiguration());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param filePath      Path to the (gzipped) walk file that shall be written.
+     * @param configuration The writer configuration.
+     * @throws IOException If the first shard cannot be opened.
+     */
+    public AsyncWalkWriter(String filePath, WalkWriterConfiguration configuration) throws IOException {
+        this(filePath, configuration, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param filePath      Path to the (gzipped) walk file that shall be written.
+     * @param configuration The writer configuration.
+     * @param checkpoint    The checkpoint that is updated whenever a shard is completed (null: no checkpoints). If the
+     *                      checkpoint contains shards, the run is resumed.
+     * @throws IOException If the first shard cannot be opened.
+     */
+    public AsyncWalkWriter(String filePath, WalkWriterConfiguration configuration, WalkCheckpoint checkpoint) throws IOException {
+        this.filePath = filePath;
+        this.configuration = new WalkWriterConfiguration(configuration);
+        this.checkpoint = checkpoint;
+        if (checkpoint != null) this.configuration.setOrderedOutput(true);
+        if (this.configuration.isOrderedOutput() && this.configuration.getNumberOfWriterThreads() > 1) {
+            LOGGER.warn("Ordered output requires a single writer thread. Using 1 writer thread.");
+            this.configuration.setNumberOfWriterThreads(1);
+        }
+        this.bufferSize = this.configuration.getBufferSize();
+        this.orderedBuffer = new WalkBuffer(this.configuration.isOrderedOutput() ? bufferSize : 0);
+        this.filledBuffers = new ArrayBlockingQueue<>(this.configuration.getQueueCapacity());
+        int compressionThreads = this.configuration.getCompressionThreads();
+        this.compressionPool = (compressionThreads > 1 || this.configuration.isOrderedOutput()) ?
+                Executors.newFixedThreadPool(Math.max(1, compressionThreads), runnable -> {
+                    // like the writer threads, compression threads must not keep the JVM alive
+                    Thread thread = new Thread(runnable, "walk-compression");
+                    thread.setDaemon(true);
+                    return thread;
+                }) : null;
+        if (this.configuration.isDeduplicateWalks()) {
+            this.deduplicator = new WalkDeduplicator(this.configuration.getDeduplicationMemoryBytes(),
+                    this.configuration.getDeduplicationFalsePositiveRate());
+            LOGGER.info("Corpus-wide walk deduplication enabled (filter sized for " +
+                    deduplicator.getExpectedInsertions() + " distinct walks).");
+        } else {
+            this.deduplicator = null;
+        }
+        this.currentBuffer = ThreadLocal.withInitial(() -> {
+            WalkBuffer buffer = new WalkBuffer(this.bufferSize);
+            threadBuffers.add(buffer);
+            return buffer;
+        });
+
+        int firstShardIndex = 0;
+        if (checkpoint != null && !checkpoint.getShards().isEmpty()) {
+            // resume: keep the shards of the checkpoint and continue after them
+            for (ShardInfo shard : checkpoint.getShards()) {
+                completedShards.add(shard);
+                writtenLines.addAndGet(shard.lines);
+                firstShardIndex = Math.max(firstShardIndex, shard.shardIndex + 1);
+            }
+            nextBatchNumber = checkpoint.getCompletedBatches();
+            if (deduplicator != null) registerWrittenWalks(checkpoint.getShards());
+            LOGGER.info("Resuming after " + nextBatchNumber + " batches (" + completedShards.size() + " shards, " +
+                    writtenLines.get() + " walks).");
+        } else {
+            warnAboutExistingShards();
+        }
+
+        // the shards are opened before the threads are started so that problems are reported immediately
+        List<ShardSequence> sequences = new ArrayList<>();
+        try {
+            for (int i = 0; i < this.configuration.getNumberOfWriterThreads(); i++) {
+                ShardSequence sequence = new ShardSequence(i, firstShardIndex);
+                sequence.openShard();
+                sequences.add(sequence);
+            }
+        } catch (IOException ioe) {
+            for (ShardSequence sequence : sequences) sequence.closeShard();
+            if (compressionPool != null) compressionPool.shutdown();
+            throw ioe;
+        }
+        for (ShardSequence sequence : sequences) {
+            Thread thread = new Thread(() -> writeBuffers(sequence), "walk-writer-" + sequence.writerIndex);
+            thread.setDaemon(true);
+            writerThreads.add(thread);
+            thread.start();
+        }
+    }
+
+    /**
+     * Get the path of a shard.
+     *
+     * @param filePath    Path of the first walk file.
+     * @param writerIndex Index of the writer thread.
+     * @param shardIndex  Index of the shard within the sequence of the writer thread.
+     * @return Path of the shard.
+     */
+    public static String getShardPath(String filePath, int writerIndex, int shardIndex) {
+        if (writerIndex == 0 && shardIndex == 0) return filePath;
+        return getBasePath(filePath) + "_" + writerIndex + "_" + shardIndex + ".gz";
+    }
+
+    /**
+     * Get the path of the first walk file of a partition of the entities (see
+     * {@link de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator#setPartition(int, int)}).
+     * The shards, the manifest, and the checkpoint of the partition are derived from this path, so that the files of
+     * all partitions can be collected in one walk directory.
+     *
+     * @param filePath           Path of the first walk file.
+     * @param partitionIndex     Index of the partition (starting at 0).
+     * @param numberOfPartitions Number of partitions.
+     * @return Path of the first walk file of the partition, e.g. {@code walk_file_p0of4.gz}.
+     */
+    public static String getPartitionPath(String filePath, int partitionIndex, int numberOfPartitions) {
+        return getBasePath(filePath) + "_p" + partitionIndex + "of" + numberOfPartitions + ".gz";
+    }
+
+    /**
+     * Get the path of the manifest file.
+     *
+     * @param filePath Path of the first walk file.
+     * @return Path of the manifest.
+     */
+    public static String getManifestPath(String filePath) {
+        return getBasePath(filePath) + MANIFEST_FILE_ENDING;
+    }
+
+    /**
+     * Removes the file ending {@code .gz} (if present).
+     *
+     * @param filePath The path.
+     * @return Path without gz ending.
+     */
+    static String getBasePath(String filePath) {
+        return filePath.endsWith(".gz") ? filePath.substring(0, filePath.length() - 3) : filePath;
+    }
+
+    /**
+     * Shards of an earlier run would be picked up by the training if they are not overwritten. This method logs a
+     * warning if such files exist.
+     */
+    private void warnAboutExistingShards() {
+        File file = new File(filePath).getAbsoluteFile();
+        File directory = file.getParentFile();
+        if (directory == null) return;
+        String prefix = new File(getBasePath(file.getPath())).getName() + "_";
+        // only shard names (<base>_<writer>_<shard>.gz), not the files of other partitions
+        File[] existingShards = directory.listFiles((dir, name) -> name.startsWith(prefix) &&
+                name.substring(prefix.length()).matches("\\d+_\\d+\\.gz"));
+        if (existingShards != null && existingShards.length > 0) {
+            LOGGER.warn("The walk directory contains " + existingShards.length + " shard(s) of an earlier run (e.g. " +
+                    existingShards[0].getName() + "). Shards that are not overwritten will be used for training. " +
+                    "Check " + new File(getManifestPath(file.getPath())).getName() + " for the shards of this run.");
+        }
+    }
+
+    /**
+     * Inserts the walks of already written shards into the deduplication filter.
+     *
+     * @param shards The shards.
+     * @throws IOException If a shard cannot be read.
+     */
+    private void registerWrittenWalks(List<ShardInfo> shards) throws IOException {
+        File directory = new File(filePath).getAbsoluteFile().getParentFile();
+        for (ShardInfo shard : shards) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(
+                    new FileInputStream(new File(directory, shard.fileName))), StandardCharsets.UTF_8))) {
+                String walk;
+                while ((walk = reader.readLine()) != null) {
+                    deduplicator.add(walk);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the given walks. This method may be called concurrently by multiple threads. Each walk is written on its
+     * own line.
+     *
+     * @param walks The walks to be written.
+     */
+    public void write(List<String> walks) {
+        if (isClosed) {
+            LOGGER.error("The walk writer has already been closed. Walks are not written.");
+            return;
+        }
+        append(currentBuffer.get(), walks);
+    }
+
+    /**
+     * Writes the given batch of walks after all batches with a smaller number. This method may be called concurrently
+     * by multiple threads; every batch number starting from 0 must be written exactly once. The batches are buffered
+     * until their predecessors arrive; a thread blocks if its batch is more than
+     * {@link WalkWriterConfiguration#getQueueCapacity()} batches ahead of the next batch to be written.
+     * The order is only preserved in the walk files if the output is ordered
+     * (see {@link WalkWriterConfiguration#isOrderedOutput()}).
+     *
+     * @param batchNumber The number of the batch.
+     * @param walks       The walks of the batch.
+     */
+    public void write(long batchNumber, List<String> walks) {
+        if (isClosed) {
+            LOGGER.error("The walk writer has already been closed. Walks are not written.");
+            return;
+        }
+        synchronized (pendingBatches) {
+            while (!isAborted && batchNumber - nextBatchNumber >= configuration.getQueueCapacity()) {
+                try {
+                    pendingBatches.wait();
+                } catch (InterruptedException e) {
+                    LOGGER.error("Interrupted while waiting for preceding batches.", e);
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            if (isAborted) return;
+            pendingBatches.put(batchNumber, walks);
+            List<String> batch;
+            while ((batch = pendingBatches.remove(nextBatchNumber)) != null) {
+                nextBatchNumber++;
+                orderedBuffer.completedBatches = nextBatchNumber;
+                append(orderedBuffer, batch);
+            }
+            pendingBatches.notifyAll();
+        }
+    }
+
+    /**
+     * Aborts the walk generation, e.g. because a walk generation thread died and its batch will never arrive. Threads
+     * that wait for preceding batches of the ordered output are woken up, and batches are no longer accepted. When the
+     * writer is closed, the batches that wait for a missing predecessor are dropped (the batches before the missing
+     * one are complete and are still recorded in the checkpoint), and the checkpoint is not deleted, so that the run
+     * can be resumed from it.
+     */
+    public void abort() {
+        synchronized (pendingBatches) {
+            isAborted = true;
+            pendingBatches.notifyAll();
+        }
+    }
+
+    /**
+     * Check whether the walk generation has been aborted.
+     *
+     * @return True if {@link AsyncWalkWriter#abort()} has been called.
+     */
+    public boolean isAborted() {
+        return isAborted;
+    }
+
+    /**
+     * Appends the walks (except for duplicates if walks are deduplicated) to the buffer and hands the buffer over to
+     * the writer threads once it is full.
+     *
+     * @param buffer The buffer of the calling thread.
+     * @param walks  The walks to be appended.
+     */
+    private void append(WalkBuffer buffer, List<String> walks) {
+        for (String walk : walks) {
+            if (deduplicator == null || deduplicator.isNew(walk)) {
+                buffer.appendLine(walk);
+            }
+        }
+        if (buffer.length >= bufferSize) {
+            enqueue(buffer.copyAndReset(nextFreeBuffer()));
+        }
+    }
+
+    /**
+     * Obtain a buffer from the pool of free buffers or create a new one.
+     *
+     * @return Empty buffer.
+     */
+    private WalkBuffer nextFreeBuffer() {
+        WalkBuffer buffer = freeBuffers.poll();
+        return (buffer == null) ? new WalkBuffer(bufferSize) : buffer;
+    }
+
+    /**
+     * Hand the buffer over to the writer threads. Blocks if the queue is full.
+     *
+     * @param buffer The buffer to be written.
+     */
+    private void enqueue(WalkBuffer buffer) {
+        try {
+            filledBuffers.put(buffer);
+        } catch (InterruptedException e) {
+            LOGGER.error("Interrupted while waiting for the walk writer.", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Loop of a writer thread.
+     *
+     * @param sequence The shard sequence of the writer thread.
+     */
+    private void writeBuffers(ShardSequence sequence) {
+        boolean isFailed = false;
+        while (true) {
+            WalkBuffer buffer;
+            try {
+                buffer = filledBuffers.take();
+            } catch (InterruptedException e) {
+                LOGGER.error("Walk writer thread interrupted.", e);
+                sequence.closeShard();
+                return;
+            }
+            if (buffer == END_OF_STREAM) {
+                sequence.closeShard();
+                return;
+            }
+            if (!isFailed) {
+                try {
+                    sequence.write(buffer);
+                    writtenLines.addAndGet(buffer.lines);
+                } catch (IOException e) {
+                    // keep on draining the queue so that walk generation threads are not blocked forever
+                    LOGGER.error("Could not write walks. Further walks of this writer are discarded.", e);
+                    isFailed = true;
+                    isWriteFailed = true;
+                }
+            }
+            buffer.reset();
+            if (buffer.data.length >= bufferSize && buffer.data.length <= 4 * bufferSize) {
+                freeBuffers.add(buffer);
+            }
+        }
+    }
+
+    /**
+     * Get the number of lines that have been written so far.
+     *
+     * @return Number of lines.
+     */
+    public long getWrittenLines() {
+        return writtenLines.get();
+    }
+
+    /**
+     * Get the number of walks that have been dropped by the corpus-wide deduplication.
+     *
+     * @return Number of dropped walks (0 if walks are not deduplicated).
+     */
+    public long getDroppedDuplicateWalks() {
+        return (deduplicator == null) ? 0 : deduplicator.getDroppedWalks();
+    }
+
+    /**
+     * Get the shards that have been completed so far, ordered by writer and shard index. After
+     * {@link AsyncWalkWriter#close()}, all shards are contained.
+     *
+     * @return Shards.
+     */
+    public List<ShardInfo> getShards() {
+        List<ShardInfo> result = new ArrayList<>(completedShards);
+        result.sort(Comparator.comparingInt((ShardInfo s) -> s.writerIndex).thenComparingInt(s -> s.shardIndex));
+        return result;
+    }
+
+    /**
+     * Writes all remaining buffers, closes the shards, and writes the manifest. Walk generation threads must have
+     * finished before this method is called.
+     */
+    @Override
+    public void close() {
+        if (isClosed) return;
+        isClosed = true;
+        synchronized (pendingBatches) {
+            if (isAborted && !pendingBatches.isEmpty()) {
+                LOGGER.warn("Dropping " + pendingBatches.size() + " batch(es) that wait for a missing batch.");
+                pendingBatches.clear();
+            } else if (!pendingBatches.isEmpty()) {
+                LOGGER.warn(pendingBatches.size() + " batch(es) are written although preceding batches are missing.");
+                List<Long> batchNumbers = new ArrayList<>(pendingBatches.keySet());
+                batchNumbers.sort(Comparator.naturalOrder());
+                for (Long batchNumber : batchNumbers) {
+                    append(orderedBuffer, pendingBatches.remove(batchNumber));
+                }
+            }
+            if (orderedBuffer.length > 0) {
+                enqueue(orderedBuffer.copyAndReset(new WalkBuffer(0)));
+            }
+        }
+        for (WalkBuffer buffer : threadBuffers) {
+            if (buffer.length > 0) {
+                enqueue(buffer.copyAndReset(new WalkBuffer(0)));
+            }
+        }
+        for (int i = 0; i < writerThreads.size(); i++) {
+            enqueue(END_OF_STREAM);
+        }
+        for (Thread thread : writerThreads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                LOGGER.error("Interrupted while waiting for the walk writer.", e);
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (compressionPool != null) compressionPool.shutdown();
+        if (deduplicator != null) {
+            LOGGER.info("Dropped " + deduplicator.getDroppedWalks() + " duplicate walks (" + getWrittenLines() +
+                    " walks written, estimated false-positive rate: " +
+                    String.format("%.5f", deduplicator.getExpectedFalsePositiveRate()) + ").");
+        }
+        writeManifest();
+        if (checkpoint != null && !isWriteFailed && !isAborted) {
+            // the run is complete
+            WalkCheckpoint.delete(filePath);
+        }
+    }
+
+    /**
+     * Writes the manifest file listing all shards.
+     */
+    private void writeManifest() {
+        File manifestFile = new File(getManifestPath(filePath));
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(manifestFile, false), StandardCharsets.UTF_8)) {
+            writer.write("# shard\tlines\tbytes\tcrc32\n");
+            for (ShardInfo shard : getShards()) {
+                writer.write(shard.toManifestLine() + "\n");
+            }
+        } catch (IOException ioe) {
+            LOGGER.error("Could not write the manifest file: " + manifestFile.getAbsolutePath(), ioe);
+        }
+    }
+
+    /**
+     * The sequence of shards of one writer thread. Only accessed by its writer thread (and the constructor).
+     */
+    private class ShardSequence {
+
+        /**
+         * Index of the writer thread.
+         */
+        final int writerIndex;
+
+        /**
+         * Index of the current shard.
+         */
+        int shardIndex = -1;
+
+        /**
+         * Path of the current shard.
+         */
+        String shardPath;
+
+        /**
+         * Compressing stream of the current shard.
+         */
+        OutputStream outputStream;
+
+        /**
+         * Checksum of the bytes of the current shard file.
+         */
+        CRC32 checksum;
+
+        /**
+         * Lines written to the current shard.
+         */
+        long lines;
+
+        /**
+         * Uncompressed bytes written to the current shard.
+         */
+        long bytes;
+
+        /**
+         * Number of batches of the ordered output whose walks have been written by this sequence.
+         */
+        long completedBatches;
+
+        /**
+         * Constructor
+         *
+         * @param writerIndex     Index of the writer thread.
+         * @param firstShardIndex Index of the first shard to be written.
+         */
+        ShardSequence(int writerIndex, int firstShardIndex) {
+            this.writerIndex = writerIndex;
+            this.shardIndex = firstShardIndex - 1;
+            this.completedBatches = nextBatchNumber;
+        }
+
+        /**
+         * Opens the next shard.
+         *
+         * @throws IOException If the shard cannot be opened.
+         */
+        void openShard() throws IOException {
+            shardIndex++;
+            shardPath = getShardPath(filePath, writerIndex, shardIndex);
+            checksum = new CRC32();
+            lines = 0;
+            bytes = 0;
+            OutputStream fileStream = new CheckedOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(shardPath, false), bufferSize), checksum);
+            if (compressionPool != null) {
+                outputStream = new ParallelGzipOutputStream(fileStream, compressionPool,
+                        configuration.getCompressionThreads(), configuration.getCompressionLevel(),
+                        ParallelGzipOutputStream.DEFAULT_BLOCK_SIZE);
+            } else {
+                final int level = configuration.getCompressionLevel();
+                outputStream = new GZIPOutputStream(fileStream, bufferSize) {
+                    {
+                        def.setLevel(level);
+                    }
+                };
+            }
+        }
+
+        /**
+         * Writes the buffer to the current shard and starts a new shard if the shard is full.
+         *
+         * @param buffer The buffer to be written.
+         * @throws IOException If the buffer cannot be written.
+         */
+        void write(WalkBuffer buffer) throws IOException {
+            outputStream.write(buffer.data, 0, buffer.length);
+            lines += buffer.lines;
+            bytes += buffer.length;
+            completedBatches = Math.max(completedBatches, buffer.completedBatches);
+            long maxLines = configuration.getMaxLinesPerShard();
+            long maxBytes = configuration.getMaxBytesPerShard();
+            if ((maxLines > 0 && lines >= maxLines) || (maxBytes > 0 && bytes >= maxBytes)) {
+                closeShard();
+                openShard();
+            }
+        }
+
+        /**
+         * Closes the current shard and registers it for the manifest.
+         */
+        void closeShard() {
+            if (outputStream == null) return;
+            try {
+                outputStream.close();
+                completedShards.add(new ShardInfo(new File(shardPath).getName(), writerIndex, shardIndex, lines, bytes, checksum.getValue()));
+                if (checkpoint != null && !isWriteFailed) saveCheckpoint();
+            } catch (IOException ioe) {
+                LOGGER.error("There was an error when closing the shard " + shardPath, ioe);
+            }
+            outputStream = null;
+        }
+
+        /**
+         * Records the completed shards and batches in the checkpoint. Ordered output uses a single writer thread,
+         * hence, all batches written by this sequence are contained in the completed shards.
+         */
+        void saveCheckpoint() {
+            checkpoint.update(completedBatches, getShards());
+            try {
+                checkpoint.save(filePath);
+            } catch (IOException ioe) {
+                LOGGER.error("Could not write the checkpoint.", ioe);
+            }
+        }
+    }
+
+    /**
+     * Information about a completed shard.
+     */
+    public static class ShardInfo {
+
+        /**
+         * File name of the shard.
+         */
+        public final String fileName;
+
+        /**
+         * Index of the writer thread.
+         */
+        public final int writerIndex;
+
+        /**
+         * Index of the shard within the sequence of the writer thread.
+         */
+        public final int shardIndex;
+
+        /**
+         * Number of lines (walks).
+         */
+        public final long lines;
+
+        /**
+         * Number of uncompressed bytes.
+         */
+        public final long bytes;
+
+        /**
+         * CRC32 checksum of the (compressed) shard file.
+         */
+        public final long checksum;
+
+        /**
+         * Constructor
+         *
+         * @param fileName    File name of the shard.
+         * @param writerIndex Index of the writer thread.
+         * @param shardIndex  Index of the shard within the sequence of the writer thread.
+         * @param lines       Number of lines.
+         * @param bytes       Number of uncompressed bytes.
+         * @param checksum    CRC32 checksum of the shard file.
+         */
+        public ShardInfo(String fileName, int writerIndex, int shardIndex, long lines, long bytes, long checksum) {
+            this.fileName = fileName;
+            this.writerIndex = writerIndex;
+            this.shardIndex = shardIndex;
+            this.lines = lines;
+            this.bytes = bytes;
+            this.checksum = checksum;
+        }
+
+        /**
+         * Get the line of this shard in the manifest file.
+         *
+         * @return Tab separated line.
+         */
+        String toManifestLine() {
+            return fileName + "\t" + lines + "\t" + bytes + "\t" + String.format("%08x", checksum);
+        }
+
+        @Override
+        public String toString() {
+            return toManifestLine();
+        }
+    }
+
+    /**
+     * A growable byte buffer that holds UTF-8 encoded walks.
+     */
+    static class WalkBuffer {
+
+        /**
+         * The encoded walks.
+         */
+        byte[] data;
+
+        /**
+         * Number of used bytes.
+         */
+        int length = 0;
+
+        /**
+         * Number of lines in the buffer.
+         */
+        int lines = 0;
+
+        /**
+         * Number of batches of the ordered output that are completely written once this buffer is written.
+         */
+        long completedBatches = 0;
+
+        /**
+         * Constructor
+         *
+         * @param capacity Initial capacity in bytes.
+         */
+        WalkBuffer(int capacity) {
+            this.data = new byte[capacity];
+        }
+
+        /**
+         * Appends the UTF-8 encoded line followed by a line break.
+         *
+         * @param line The line to be appended.
+         */
+        void appendLine(String line) {
+            int length = line.length();
+            // a char is encoded with at most 3 bytes (surrogate pairs use 4 bytes for 2 chars)
+            ensureCapacity(this.length + 3 * length + 1);
+            byte[] data = this.data;
+            int position = this.length;
+            for (int i = 0; i < length; i++) {
+                char c = line.charAt(i);
+                if (c < 0x80) {
+                    data[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    data[position++] = (byte) (0xC0 | (c >> 6));
+                    data[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(line.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, line.charAt(++i));
+                    data[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    data[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    data[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    data[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // unpaired surrogate: replacement character as in String.getBytes
+                    data[position++] = (byte) '?';
+                } else {
+                    data[position++] = (byte) (0xE0 | (c >> 12));
+                    data[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    data[position++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            data[position++] = '\n';
+            this.length = position;
+            lines++;
+        }
+
+        /**
+         * Make sure that the buffer can hold the given number of bytes.
+         *
+         * @param capacity Required capacity.
+         */
+        private void ensureCapacity(int capacity) {
+            if (capacity > data.length) {
+                byte[] newData = new byte[Math.max(capacity, data.length * 2)];
+                System.arraycopy(data, 0, newData, 0, length);
+                data = newData;
+            }
+        }
+
+        /**
+         * Swaps the content of this buffer into the given (empty) buffer so that this buffer can be reused by its
+         * thread.
+         *
+         * @param target Empty buffer that receives the content.
+         * @return The target buffer.
+         */
+        WalkBuffer copyAndReset(WalkBuffer target) {
+            byte[] targetData = target.data;
+            target.data = this.data;
+            target.length = this.length;
+            target.lines = this.lines;
+            target.completedBatches = this.completedBatches;
+            this.data = targetData;
+            reset();
+            return target;
+        }
+
+        /**
+         * Empties the buffer.
+         */
+        void reset() {
+            length = 0;
+            lines = 0;
+        }
+    }
+}
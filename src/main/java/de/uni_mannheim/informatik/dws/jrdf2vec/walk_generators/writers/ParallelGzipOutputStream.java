@@ -0,0 +1,251 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A gzip output stream that compresses blocks in parallel (similar to pigz).
+ * The data is cut into blocks which are deflated independently on a thread pool. Each block is written as a complete
+ * gzip member; the members are written in order. The concatenation of gzip members is a valid gzip file which can be
+ * read by {@link java.util.zip.GZIPInputStream} and Python's {@code gzip.open}. Since the blocks do not share a
+ * dictionary, the compression ratio is slightly worse than the one of a single stream.
+ * This class is not thread-safe.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    /**
+     * Default size of an independently compressed block in bytes.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    /**
+     * The stream to which the compressed members are written.
+     */
+    private final OutputStream out;
+
+    /**
+     * The pool on which blocks are compressed.
+     */
+    private final ExecutorService pool;
+
+    /**
+     * True if the pool has been created by this stream and has to be shut down on close.
+     */
+    private final boolean isOwnPool;
+
+    /**
+     * Deflate compression level (0-9 or {@link Deflater#DEFAULT_COMPRESSION}).
+     */
+    private final int compressionLevel;
+
+    /**
+     * Size of a block.
+     */
+    private final int blockSize;
+
+    /**
+     * Maximal number of blocks that are compressed or wait for being written. Bounds the memory consumption.
+     */
+    private final int maxPendingBlocks;
+
+    /**
+     * Compressed blocks in the order in which they have to be written.
+     */
+    private final ArrayDeque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+
+    /**
+     * The block that is currently filled.
+     */
+    private byte[] block;
+
+    /**
+     * Number of bytes in the current block.
+     */
+    private int blockLength = 0;
+
+    /**
+     * True if at least one gzip member has been submitted (a pending partial block is submitted on close).
+     */
+    private boolean isAnyBlockSubmitted = false;
+
+    /**
+     * True if the stream has been closed.
+     */
+    private boolean isClosed = false;
+
+    /**
+     * Constructor
+     *
+     * @param out              The stream to which the compressed data is written.
+     * @param numberOfThreads  The number of compression threads.
+     * @param compressionLevel Deflate compression level (0-9 or {@link Deflater#DEFAULT_COMPRESSION}).
+     */
+    public ParallelGzipOutputStream(OutputStream out, int numberOfThreads, int compressionLevel) {
+        this(out, Executors.newFixedThreadPool(Math.max(1, numberOfThreads)), true, Math.max(1, numberOfThreads),
+                compressionLevel, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param out              The stream to which the compressed data is written.
+     * @param pool             The pool on which blocks are compressed. The pool is not shut down by this stream.
+     * @param numberOfThreads  The number of threads of the pool.
+     * @param compressionLevel Deflate compression level (0-9 or {@link Deflater#DEFAULT_COMPRESSION}).
+     * @param blockSize        Size of an independently compressed block in bytes.
+     */
+    public ParallelGzipOutputStream(OutputStream out, ExecutorService pool, int numberOfThreads, int compressionLevel, int blockSize) {
+        this(out, pool, false, numberOfThreads, compressionLevel, blockSize);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param out              The stream to which the compressed data is written.
+     * @param pool             The pool on which blocks are compressed.
+     * @param isOwnPool        True if the pool shall be shut down on close.
+     * @param numberOfThreads  The number of threads of the pool.
+     * @param compressionLevel Deflate compression level.
+     * @param blockSize        Size of an independently compressed block in bytes.
+     */
+    private ParallelGzipOutputStream(OutputStream out, ExecutorService pool, boolean isOwnPool, int numberOfThreads, int compressionLevel, int blockSize) {
+        if (compressionLevel != Deflater.DEFAULT_COMPRESSION && (compressionLevel < 0 || compressionLevel > 9)) {
+            throw new IllegalArgumentException("Invalid compression level: " + compressionLevel);
+        }
+        this.out = out;
+        this.pool = pool;
+        this.isOwnPool = isOwnPool;
+        this.compressionLevel = compressionLevel;
+        this.blockSize = Math.max(1024, blockSize);
+        this.maxPendingBlocks = 2 * Math.max(1, numberOfThreads);
+        this.block = new byte[this.blockSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block[blockLength++] = (byte) b;
+        if (blockLength == blockSize) submitBlock();
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        ensureOpen();
+        while (length > 0) {
+            int toCopy = Math.min(length, blockSize - blockLength);
+            System.arraycopy(bytes, offset, block, blockLength, toCopy);
+            blockLength += toCopy;
+            offset += toCopy;
+            length -= toCopy;
+            if (blockLength == blockSize) submitBlock();
+        }
+    }
+
+    /**
+     * Submits the current block for compression. If too many blocks are pending, the oldest blocks are written first.
+     *
+     * @throws IOException If a compressed block cannot be written.
+     */
+    private void submitBlock() throws IOException {
+        if (blockLength == 0) return;
+        final byte[] data = block;
+        final int length = blockLength;
+        pendingBlocks.add(pool.submit(() -> compress(data, length, compressionLevel)));
+        isAnyBlockSubmitted = true;
+        block = new byte[blockSize];
+        blockLength = 0;
+        while (pendingBlocks.size() >= maxPendingBlocks) {
+            writeNextBlock();
+        }
+    }
+
+    /**
+     * Waits for the oldest pending block and writes it.
+     *
+     * @throws IOException If the block cannot be compressed or written.
+     */
+    private void writeNextBlock() throws IOException {
+        try {
+            out.write(pendingBlocks.poll().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for compression.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Compression of a block failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Compresses the given data into a complete gzip member.
+     *
+     * @param data             The data.
+     * @param length           Number of bytes of data to be compressed.
+     * @param compressionLevel Deflate compression level.
+     * @return Gzip member.
+     * @throws IOException Should not occur as the data is written into memory.
+     */
+    static byte[] compress(byte[] data, int length, int compressionLevel) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream(length / 2 + 64);
+        GZIPOutputStream gzip = new GZIPOutputStream(result, 64 * 1024) {
+            {
+                def.setLevel(compressionLevel);
+            }
+        };
+        gzip.write(data, 0, length);
+        gzip.close();
+        return result.toByteArray();
+    }
+
+    /**
+     * Compresses the current (partial) block and writes all pending blocks. Note that this ends the current gzip
+     * member, i.e., frequent flushing degrades the compression ratio.
+     *
+     * @throws IOException If the data cannot be written.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        submitBlock();
+        while (!pendingBlocks.isEmpty()) {
+            writeNextBlock();
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (isClosed) return;
+        try {
+            if (!isAnyBlockSubmitted && blockLength == 0) {
+                // an empty file is no valid gzip file: write an empty member (only if no data has been written)
+                out.write(compress(block, 0, compressionLevel));
+            }
+            flush();
+        } finally {
+            isClosed = true;
+            for (Future<byte[]> future : pendingBlocks) {
+                future.cancel(true);
+            }
+            pendingBlocks.clear();
+            if (isOwnPool) pool.shutdown();
+            out.close();
+        }
+    }
+
+    /**
+     * Checks that the stream is still open.
+     *
+     * @throws IOException If the stream has been closed.
+     */
+    private void ensureOpen() throws IOException {
+        if (isClosed) throw new IOException("Stream closed.");
+    }
+}
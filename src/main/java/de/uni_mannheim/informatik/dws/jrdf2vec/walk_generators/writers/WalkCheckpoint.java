@@ -0,0 +1,288 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checkpoint of a walk generation run. The entities are processed in numbered batches and the walks are written in the
+ * order of the batches (ordered output). Whenever a shard is completed, the {@link AsyncWalkWriter} records the number
+ * of batches whose walks are contained in the completed shards together with the shards themselves
+ * ({@code <file>.checkpoint}). A resumed run skips the completed batches and continues with the next shard.
+ * <br>
+ * Resuming requires the same entities in the same iteration order (i.e., the same graph), the same entity batch
+ * size, and the same scheduling (cost-aware scheduling changes the order of the entities); all are recorded in the
+ * checkpoint. The iteration order of the entity set is not guaranteed to be the same in another JVM (e.g. after a
+ * multithreaded parse of a directory), therefore, a hash of the batches in the order in which they are handed out is
+ * recorded as well: a run with a different order is not resumed, because it would skip the wrong entities.
+ */
+public class WalkCheckpoint {
+
+    /**
+     * Default logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(WalkCheckpoint.class);
+
+    /**
+     * File ending of the checkpoint file.
+     */
+    public static final String CHECKPOINT_FILE_ENDING = ".checkpoint";
+
+    /**
+     * Number of entities per batch.
+     */
+    private final int entityBatchSize;
+
+    /**
+     * Number of entities of the run.
+     */
+    private final long numberOfEntities;
+
+    /**
+     * True if the entities were ordered by their estimated cost.
+     */
+    private final boolean isCostAwareScheduling;
+
+    /**
+     * Hash of the entities in the order in which they are handed out, including the batch boundaries.
+     */
+    private final long scheduleHash;
+
+    /**
+     * Number of batches whose walks are contained in {@link WalkCheckpoint#shards}.
+     */
+    private long completedBatches = 0;
+
+    /**
+     * The completed shards.
+     */
+    private final List<AsyncWalkWriter.ShardInfo> shards = new ArrayList<>();
+
+    /**
+     * Constructor
+     *
+     * @param entityBatchSize  Number of entities per batch.
+     * @param numberOfEntities Number of entities of the run.
+     */
+    public WalkCheckpoint(int entityBatchSize, long numberOfEntities) {
+        this(entityBatchSize, numberOfEntities, false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param entityBatchSize       Number of entities per batch.
+     * @param numberOfEntities      Number of entities of the run.
+     * @param isCostAwareScheduling True if the entities are ordered by their estimated cost.
+     */
+    public WalkCheckpoint(int entityBatchSize, long numberOfEntities, boolean isCostAwareScheduling) {
+        this(entityBatchSize, numberOfEntities, isCostAwareScheduling, 0L);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param entityBatchSize       Number of entities per batch.
+     * @param numberOfEntities      Number of entities of the run.
+     * @param isCostAwareScheduling True if the entities are ordered by their estimated cost.
+     * @param scheduleHash          Hash of the entities in the order in which they are handed out, including the
+     *                              batch boundaries.
+     */
+    public WalkCheckpoint(int entityBatchSize, long numberOfEntities, boolean isCostAwareScheduling, long scheduleHash) {
+        this.entityBatchSize = entityBatchSize;
+        this.numberOfEntities = numberOfEntities;
+        this.isCostAwareScheduling = isCostAwareScheduling;
+        this.scheduleHash = scheduleHash;
+    }
+
+    /**
+     * Get the path of the checkpoint file.
+     *
+     * @param filePath Path of the first walk file.
+     * @return Path of the checkpoint.
+     */
+    public static String getCheckpointPath(String filePath) {
+        return AsyncWalkWriter.getBasePath(filePath) + CHECKPOINT_FILE_ENDING;
+    }
+
+    /**
+     * Loads the checkpoint of the given walk file.
+     *
+     * @param filePath Path of the first walk file.
+     * @return The checkpoint or null if there is no (readable) checkpoint.
+     */
+    public static WalkCheckpoint load(String filePath) {
+        File file = new File(getCheckpointPath(filePath));
+        if (!file.exists()) return null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            int entityBatchSize = -1;
+            long numberOfEntities = -1;
+            long completedBatches = -1;
+            boolean isCostAwareScheduling = false;
+            Long scheduleHash = null;
+            List<AsyncWalkWriter.ShardInfo> shards = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("#") || line.trim().isEmpty()) continue;
+                String[] tokens = line.split("\t");
+                switch (tokens[0]) {
+                    case "entityBatchSize":
+                        entityBatchSize = Integer.parseInt(tokens[1]);
+                        break;
+                    case "numberOfEntities":
+                        numberOfEntities = Long.parseLong(tokens[1]);
+                        break;
+                    case "completedBatches":
+                        completedBatches = Long.parseLong(tokens[1]);
+                        break;
+                    case "costAwareScheduling":
+                        isCostAwareScheduling = Boolean.parseBoolean(tokens[1]);
+                        break;
+                    case "scheduleHash":
+                        scheduleHash = Long.parseUnsignedLong(tokens[1], 16);
+                        break;
+                    case "shard":
+                        shards.add(new AsyncWalkWriter.ShardInfo(tokens[3], Integer.parseInt(tokens[1]),
+                                Integer.parseInt(tokens[2]), Long.parseLong(tokens[4]), Long.parseLong(tokens[5]),
+                                Long.parseLong(tokens[6], 16)));
+                        break;
+                    default:
+                        LOGGER.warn("Unknown line in checkpoint file (ignored): " + line);
+                }
+            }
+            if (entityBatchSize < 1 || numberOfEntities < 0 || completedBatches < 0 || scheduleHash == null) {
+                LOGGER.error("The checkpoint file is incomplete: " + file.getAbsolutePath());
+                return null;
+            }
+            WalkCheckpoint checkpoint = new WalkCheckpoint(entityBatchSize, numberOfEntities, isCostAwareScheduling,
+                    scheduleHash);
+            checkpoint.update(completedBatches, shards);
+            return checkpoint;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Could not read the checkpoint file: " + file.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the checkpoint. The file is replaced atomically so that a crash while writing does not destroy the
+     * previous checkpoint.
+     *
+     * @param filePath Path of the first walk file.
+     * @throws IOException If the checkpoint cannot be written.
+     */
+    public synchronized void save(String filePath) throws IOException {
+        File file = new File(getCheckpointPath(filePath));
+        File temporaryFile = new File(file.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temporaryFile, false), StandardCharsets.UTF_8)) {
+            writer.write("# walk generation checkpoint\n");
+            writer.write("entityBatchSize\t" + entityBatchSize + "\n");
+            writer.write("numberOfEntities\t" + numberOfEntities + "\n");
+            writer.write("completedBatches\t" + completedBatches + "\n");
+            writer.write("costAwareScheduling\t" + isCostAwareScheduling + "\n");
+            writer.write("scheduleHash\t" + Long.toHexString(scheduleHash) + "\n");
+            for (AsyncWalkWriter.ShardInfo shard : shards) {
+                writer.write("shard\t" + shard.writerIndex + "\t" + shard.shardIndex + "\t" + shard.toManifestLine() + "\n");
+            }
+        }
+        Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Deletes the checkpoint of the given walk file (if it exists).
+     *
+     * @param filePath Path of the first walk file.
+     */
+    public static void delete(String filePath) {
+        File file = new File(getCheckpointPath(filePath));
+        if (file.exists() && !file.delete()) {
+            LOGGER.warn("Could not delete the checkpoint file: " + file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Checks whether a run with the given parameters can be resumed from this checkpoint.
+     *
+     * @param entityBatchSize  Number of entities per batch of the run.
+     * @param numberOfEntities Number of entities of the run.
+     * @return True if the run can be resumed.
+     */
+    public boolean isCompatible(int entityBatchSize, long numberOfEntities) {
+        return isCompatible(entityBatchSize, numberOfEntities, false);
+    }
+
+    /**
+     * Checks whether a run with the given parameters can be resumed from this checkpoint.
+     *
+     * @param entityBatchSize       Number of entities per batch of the run.
+     * @param numberOfEntities      Number of entities of the run.
+     * @param isCostAwareScheduling True if the run orders the entities by their estimated cost.
+     * @return True if the run can be resumed.
+     */
+    public boolean isCompatible(int entityBatchSize, long numberOfEntities, boolean isCostAwareScheduling) {
+        return isCompatible(entityBatchSize, numberOfEntities, isCostAwareScheduling, 0L);
+    }
+
+    /**
+     * Checks whether a run with the given parameters can be resumed from this checkpoint.
+     *
+     * @param entityBatchSize       Number of entities per batch of the run.
+     * @param numberOfEntities      Number of entities of the run.
+     * @param isCostAwareScheduling True if the run orders the entities by their estimated cost.
+     * @param scheduleHash          Hash of the entities of the run in the order in which they are handed out,
+     *                              including the batch boundaries.
+     * @return True if the run can be resumed.
+     */
+    public boolean isCompatible(int entityBatchSize, long numberOfEntities, boolean isCostAwareScheduling,
+                                long scheduleHash) {
+        return this.entityBatchSize == entityBatchSize && this.numberOfEntities == numberOfEntities &&
+                this.isCostAwareScheduling == isCostAwareScheduling && this.scheduleHash == scheduleHash;
+    }
+
+    /**
+     * Sets the state of the checkpoint.
+     *
+     * @param completedBatches Number of batches whose walks are contained in the shards.
+     * @param shards           The completed shards.
+     */
+    synchronized void update(long completedBatches, List<AsyncWalkWriter.ShardInfo> shards) {
+        this.completedBatches = completedBatches;
+        this.shards.clear();
+        this.shards.addAll(shards);
+    }
+
+    public int getEntityBatchSize() {
+        return entityBatchSize;
+    }
+
+    public long getNumberOfEntities() {
+        return numberOfEntities;
+    }
+
+    public boolean isCostAwareScheduling() {
+        return isCostAwareScheduling;
+    }
+
+    public long getScheduleHash() {
+        return scheduleHash;
+    }
+
+    public synchronized long getCompletedBatches() {
+        return completedBatches;
+    }
+
+    /**
+     * Get the completed shards.
+     *
+     * @return Copy of the list of shards.
+     */
+    public synchronized List<AsyncWalkWriter.ShardInfo> getShards() {
+        return new ArrayList<>(shards);
+    }
+}
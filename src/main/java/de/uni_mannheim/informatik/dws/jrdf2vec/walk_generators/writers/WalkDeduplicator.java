@@ -0,0 +1,144 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Corpus-wide deduplication of walks. Every walk is hashed into a Bloom filter; walks that (probably) have been seen
+ * before are dropped. The filter is sized from a memory budget and a false-positive rate: a false positive drops a
+ * walk that has not been written before while a duplicate is never written twice. If more distinct walks than
+ * {@link WalkDeduplicator#getExpectedInsertions()} are inserted, the false-positive rate increases.
+ * This class is thread-safe. It relies on Guava's {@link BloomFilter} being thread-safe (since Guava 23):
+ * {@link BloomFilter#put(Object)} and {@link BloomFilter#mightContain(Object)} set and read the bits through an atomic,
+ * lock-free bit array, so walks in different lock stripes are inserted concurrently. The stripes only serialize the
+ * insertions of the same walk, because two concurrent puts of the same walk could both report a change and hence
+ * accept a duplicate.
+ */
+public class WalkDeduplicator {
+
+    /**
+     * The filter of the walks that have been seen so far.
+     */
+    private final BloomFilter<CharSequence> filter;
+
+    /**
+     * Number of lock stripes (power of two).
+     */
+    private static final int NUMBER_OF_STRIPES = 256;
+
+    /**
+     * Locks; a walk is always inserted under the stripe that is determined by its hash code, so that concurrent
+     * insertions of the same walk are serialized.
+     */
+    private final Object[] stripes = new Object[NUMBER_OF_STRIPES];
+
+    /**
+     * Number of distinct walks for which the filter is sized.
+     */
+    private final int expectedInsertions;
+
+    /**
+     * Number of walks that have been dropped.
+     */
+    private final LongAdder droppedWalks = new LongAdder();
+
+    /**
+     * Constructor
+     *
+     * @param memoryBudgetBytes Maximal size of the filter in bytes.
+     * @param falsePositiveRate Desired false-positive rate (0, 1).
+     */
+    public WalkDeduplicator(long memoryBudgetBytes, double falsePositiveRate) {
+        if (falsePositiveRate <= 0.0 || falsePositiveRate >= 1.0) {
+            throw new IllegalArgumentException("The false-positive rate must be in (0, 1): " + falsePositiveRate);
+        }
+        this.expectedInsertions = getExpectedInsertions(memoryBudgetBytes, falsePositiveRate);
+        this.filter = BloomFilter.create(Funnels.unencodedCharsFunnel(), expectedInsertions, falsePositiveRate);
+        for (int i = 0; i < NUMBER_OF_STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Determines how many distinct elements a Bloom filter of the given size can hold with the given false-positive
+     * rate (n = -m * ln(2)^2 / ln(p) where m is the number of bits).
+     *
+     * @param memoryBudgetBytes Size of the filter in bytes.
+     * @param falsePositiveRate False-positive rate.
+     * @return Number of elements (at least 1, at most {@link Integer#MAX_VALUE}).
+     */
+    public static int getExpectedInsertions(long memoryBudgetBytes, double falsePositiveRate) {
+        double bits = 8.0 * Math.max(memoryBudgetBytes, 1);
+        double insertions = -bits * Math.log(2) * Math.log(2) / Math.log(falsePositiveRate);
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, insertions));
+    }
+
+    /**
+     * Registers the walk and checks whether it has been seen before.
+     *
+     * @param walk The serialized walk.
+     * @return True if the walk is new and shall be written; false if it is a (probable) duplicate.
+     */
+    public boolean isNew(String walk) {
+        boolean isChanged;
+        synchronized (getStripe(walk)) {
+            isChanged = filter.put(walk);
+        }
+        if (isChanged) {
+            return true;
+        }
+        droppedWalks.increment();
+        return false;
+    }
+
+    /**
+     * Registers a walk that has already been written (e.g. by a run that is resumed) without counting it as dropped.
+     *
+     * @param walk The serialized walk.
+     */
+    public void add(String walk) {
+        synchronized (getStripe(walk)) {
+            filter.put(walk);
+        }
+    }
+
+    /**
+     * Get the lock under which the given walk is inserted.
+     *
+     * @param walk The serialized walk.
+     * @return Lock stripe of the walk.
+     */
+    private Object getStripe(String walk) {
+        return stripes[walk.hashCode() & (NUMBER_OF_STRIPES - 1)];
+    }
+
+    /**
+     * Get the number of walks that have been dropped as duplicates.
+     *
+     * @return Number of dropped walks.
+     */
+    public long getDroppedWalks() {
+        return droppedWalks.sum();
+    }
+
+    /**
+     * Get the number of distinct walks for which the filter is sized.
+     *
+     * @return Number of walks.
+     */
+    public int getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /**
+     * Get the false-positive rate given the walks inserted so far.
+     *
+     * @return Estimated false-positive rate.
+     */
+    public double getExpectedFalsePositiveRate() {
+        // the bit count of the filter is maintained atomically, no lock required
+        return filter.expectedFpp();
+    }
+}
@@ -0,0 +1,252 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.zip.Deflater;
+
+/**
+ * The configuration for writing walk files (see {@link AsyncWalkWriter}).
+ */
+public class WalkWriterConfiguration {
+
+    /**
+     * Default logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(WalkWriterConfiguration.class);
+
+    /**
+     * Size of a walk buffer in bytes. A buffer is handed over to a writer thread once it exceeds this size.
+     */
+    private int bufferSize = BUFFER_SIZE_DEFAULT;
+
+    /**
+     * Default value for parameter {@link WalkWriterConfiguration#bufferSize}.
+     */
+    public static final int BUFFER_SIZE_DEFAULT = 64 * 1024;
+
+    /**
+     * Number of filled buffers that may wait for the writer threads before walk generation threads are blocked.
+     */
+    private int queueCapacity = QUEUE_CAPACITY_DEFAULT;
+
+    /**
+     * Default value for parameter {@link WalkWriterConfiguration#queueCapacity}.
+     */
+    public static final int QUEUE_CAPACITY_DEFAULT = 64;
+
+    /**
+     * Number of writer threads. Every writer thread writes its own sequence of shards.
+     */
+    private int numberOfWriterThreads = NUMBER_OF_WRITER_THREADS_DEFAULT;
+
+    /**
+     * Default value for parameter {@link WalkWriterConfiguration#numberOfWriterThreads}.
+     */
+    public static final int NUMBER_OF_WRITER_THREADS_DEFAULT = 1;
+
+    /**
+     * Number of compression threads. If larger than 1, blocks are compressed in parallel
+     * (see {@link ParallelGzipOutputStream}). If smaller than 1, the walk generator decides (number of walk threads).
+     */
+    private int compressionThreads = COMPRESSION_THREADS_DEFAULT;
+
+    /**
+     * Default value for parameter {@link WalkWriterConfiguration#compressionThreads}.
+     */
+    public static final int COMPRESSION_THREADS_DEFAULT = -1;
+
+    /**
+     * Deflate compression level (0-9 or -1 for the default level of deflate).
+     */
+    private int compressionLevel = COMPRESSION_LEVEL_DEFAULT;
+
+    /**
+     * Default value for parameter {@link WalkWriterConfiguration#compressionLevel}.
+     */
+    public static final int COMPRESSION_LEVEL_DEFAULT = Deflater.DEFAULT_COMPRESSION;
+
+    /**
+     * Number of lines after which a writer thread starts a new shard. Values smaller than 1 mean no limit.
+     */
+    private long maxLinesPerShard = MAX_LINES_PER_SHARD_DEFAULT;
+
+    /**
+     * Default value for parameter {@link WalkWriterConfiguration#maxLinesPerShard}.
+     */
+    public static final long MAX_LINES_PER_SHARD_DEFAULT = 3000000;
+
+    /**
+     * Number of (uncompressed) bytes after which a writer thread starts a new shard. Values smaller than 1 mean no
+     * limit.
+     */
+    private long maxBytesPerShard = MAX_BYTES_PER_SHARD_DEFAULT;
+
+    /**
+     * Default value for parameter {@link WalkWriterConfiguration#maxBytesPerShard}.
+     */
+    public static final long MAX_BYTES_PER_SHARD_DEFAULT = 0;
+
+    /**
+     * If true, identical walks are written only once across the whole corpus (see {@link WalkDeduplicator}).
+     */
+    private boolean isDeduplicateWalks = false;
+
+    /**
+     * False-positive rate of the corpus-wide deduplication filter. A false positive drops a walk that is not a
+     * duplicate.
+     */
+    private double deduplicationFalsePositiveRate = DEDUPLICATION_FALSE_POSITIVE_RATE_DEFAULT;
+
+    /**
+     * Default value for parameter {@link WalkWriterConfiguration#deduplicationFalsePositiveRate}.
+     */
+    public static final double DEDUPLICATION_FALSE_POSITIVE_RATE_DEFAULT = 0.01;
+
+    /**
+     * Memory budget of the corpus-wide deduplication filter in bytes.
+     */
+    private long deduplicationMemoryBytes = DEDUPLICATION_MEMORY_BYTES_DEFAULT;
+
+    /**
+     * Default value for parameter {@link WalkWriterConfiguration#deduplicationMemoryBytes}.
+     */
+    public static final long DEDUPLICATION_MEMORY_BYTES_DEFAULT = 256L * 1024 * 1024;
+
+    /**
+     * If true, the walks are written in the order of the entity batches rather than in the order in which the batches
+     * are completed. Together with a seed, the walk files are byte-identical across runs. Ordered output uses a single
+     * writer thread.
+     */
+    private boolean isOrderedOutput = false;
+
+    /**
+     * Constructor
+     */
+    public WalkWriterConfiguration(){}
+
+    /**
+     * Copy constructor
+     *
+     * @param configuration The configuration to be copied.
+     */
+    public WalkWriterConfiguration(WalkWriterConfiguration configuration){
+        this.bufferSize = configuration.bufferSize;
+        this.queueCapacity = configuration.queueCapacity;
+        this.numberOfWriterThreads = configuration.numberOfWriterThreads;
+        this.compressionThreads = configuration.compressionThreads;
+        this.compressionLevel = configuration.compressionLevel;
+        this.maxLinesPerShard = configuration.maxLinesPerShard;
+        this.maxBytesPerShard = configuration.maxBytesPerShard;
+        this.isDeduplicateWalks = configuration.isDeduplicateWalks;
+        this.deduplicationFalsePositiveRate = configuration.deduplicationFalsePositiveRate;
+        this.deduplicationMemoryBytes = configuration.deduplicationMemoryBytes;
+        this.isOrderedOutput = configuration.isOrderedOutput;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        if(bufferSize < 1024){
+            LOGGER.warn("The buffer size must be at least 1024 bytes. Using default: " + BUFFER_SIZE_DEFAULT + ".");
+            this.bufferSize = BUFFER_SIZE_DEFAULT;
+        } else this.bufferSize = bufferSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        if(queueCapacity < 1){
+            LOGGER.warn("The queue capacity must be greater than 0. Using default: " + QUEUE_CAPACITY_DEFAULT + ".");
+            this.queueCapacity = QUEUE_CAPACITY_DEFAULT;
+        } else this.queueCapacity = queueCapacity;
+    }
+
+    public int getNumberOfWriterThreads() {
+        return numberOfWriterThreads;
+    }
+
+    public void setNumberOfWriterThreads(int numberOfWriterThreads) {
+        if(numberOfWriterThreads < 1){
+            LOGGER.warn("The number of writer threads must be greater than 0. Using default: " + NUMBER_OF_WRITER_THREADS_DEFAULT + ".");
+            this.numberOfWriterThreads = NUMBER_OF_WRITER_THREADS_DEFAULT;
+        } else this.numberOfWriterThreads = numberOfWriterThreads;
+    }
+
+    public int getCompressionThreads() {
+        return compressionThreads;
+    }
+
+    public void setCompressionThreads(int compressionThreads) {
+        this.compressionThreads = compressionThreads;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(int compressionLevel) {
+        if(compressionLevel < -1 || compressionLevel > 9){
+            LOGGER.warn("The compression level must be between 0 and 9. Using default level.");
+            this.compressionLevel = COMPRESSION_LEVEL_DEFAULT;
+        } else this.compressionLevel = compressionLevel;
+    }
+
+    public long getMaxLinesPerShard() {
+        return maxLinesPerShard;
+    }
+
+    public void setMaxLinesPerShard(long maxLinesPerShard) {
+        this.maxLinesPerShard = maxLinesPerShard;
+    }
+
+    public long getMaxBytesPerShard() {
+        return maxBytesPerShard;
+    }
+
+    public void setMaxBytesPerShard(long maxBytesPerShard) {
+        this.maxBytesPerShard = maxBytesPerShard;
+    }
+
+    public boolean isDeduplicateWalks() {
+        return isDeduplicateWalks;
+    }
+
+    public void setDeduplicateWalks(boolean deduplicateWalks) {
+        isDeduplicateWalks = deduplicateWalks;
+    }
+
+    public double getDeduplicationFalsePositiveRate() {
+        return deduplicationFalsePositiveRate;
+    }
+
+    public void setDeduplicationFalsePositiveRate(double deduplicationFalsePositiveRate) {
+        if(deduplicationFalsePositiveRate <= 0.0 || deduplicationFalsePositiveRate >= 1.0){
+            LOGGER.warn("The false-positive rate must be between 0 and 1 (exclusive). Using default: " + DEDUPLICATION_FALSE_POSITIVE_RATE_DEFAULT + ".");
+            this.deduplicationFalsePositiveRate = DEDUPLICATION_FALSE_POSITIVE_RATE_DEFAULT;
+        } else this.deduplicationFalsePositiveRate = deduplicationFalsePositiveRate;
+    }
+
+    public long getDeduplicationMemoryBytes() {
+        return deduplicationMemoryBytes;
+    }
+
+    public void setDeduplicationMemoryBytes(long deduplicationMemoryBytes) {
+        if(deduplicationMemoryBytes < 1024){
+            LOGGER.warn("The memory budget of the deduplication filter must be at least 1024 bytes. Using default: " + DEDUPLICATION_MEMORY_BYTES_DEFAULT + ".");
+            this.deduplicationMemoryBytes = DEDUPLICATION_MEMORY_BYTES_DEFAULT;
+        } else this.deduplicationMemoryBytes = deduplicationMemoryBytes;
+    }
+
+    public boolean isOrderedOutput() {
+        return isOrderedOutput;
+    }
+
+    public void setOrderedOutput(boolean orderedOutput) {
+        isOrderedOutput = orderedOutput;
+    }
+}
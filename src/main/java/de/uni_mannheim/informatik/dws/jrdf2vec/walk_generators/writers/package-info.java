@@ -0,0 +1 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers;
\ No newline at end of file
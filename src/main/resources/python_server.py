@@ -31,6 +31,10 @@ def display_server_status():
     return "MELT ML Server running. Ready to accept requests."
 
 
+# files in the walk directory that do not contain walks (e.g. the shard manifest)
+NON_WALK_FILE_SUFFIXES = (".manifest", ".checkpoint", ".checkpoint.tmp")
+
+
 class MySentences(object):
     """Data structure to iterate over the lines of a file in a memory-friendly way. The files can be gzipped.
     """
@@ -50,6 +54,9 @@ class MySentences(object):
             if os.path.isdir(self.file_or_directory_path):
                 logging.info("Directory detected.")
                 for file_name in os.listdir(self.file_or_directory_path):
+                    if file_name.endswith(NON_WALK_FILE_SUFFIXES):
+                        logging.info("Skipping non-walk file: " + file_name)
+                        continue
                     logging.info("Processing file: " + file_name)
                     if file_name[-2:] in "gz":
                         logging.info("Gzip file detected! Using gzip.open().")
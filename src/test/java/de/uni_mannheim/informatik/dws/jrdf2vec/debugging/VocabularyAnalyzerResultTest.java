@@ -2,6 +2,7 @@ package de.uni_mannheim.informatik.dws.jrdf2vec.debugging;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.util.Arrays;
 import java.util.HashSet;
 
@@ -17,6 +18,9 @@ class VocabularyAnalyzerResultTest {
         result.setObjectsNotFound(new HashSet(Arrays.asList(new String[]{"d", "e", "f"})));
         assertTrue(result.getAllAdditional().size() == 0);
         assertTrue(result.getAllNotFound().size() == 6);
+        assertEquals(6, result.getNumberOfAllNotFound());
+        assertEquals(2, result.getNumberOfPredicatesNotFound());
+        assertNull(result.getReportFile());
 
         String string = result.toString();
         System.out.println(string);
@@ -30,4 +34,22 @@ class VocabularyAnalyzerResultTest {
         assertEquals(6, result.getAllAdditional().size());
         assertTrue(result.getAllNotFound().size() == 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCounts() {
+        // counted terms are not contained in the sets
+        VocabularyAnalyzerResult result = new VocabularyAnalyzerResult();
+        result.setCounts(3, 2, 4, 8, 1);
+        result.setReportFile(new File("report.txt"));
+        assertEquals(3, result.getNumberOfSubjectsNotFound());
+        assertEquals(2, result.getNumberOfPredicatesNotFound());
+        assertEquals(4, result.getNumberOfObjectsNotFound());
+        assertEquals(8, result.getNumberOfAllNotFound());
+        assertEquals(1, result.getNumberOfAdditionalConcepts());
+        assertTrue(result.getAllNotFound().isEmpty());
+
+        String string = result.toString();
+        assertTrue(string.contains("Total concepts not found [8]"));
+        assertTrue(string.contains("report.txt"));
+    }
+}
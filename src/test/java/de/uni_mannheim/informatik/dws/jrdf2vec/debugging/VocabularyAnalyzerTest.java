@@ -1,5 +1,7 @@
 package de.uni_mannheim.informatik.dws.jrdf2vec.debugging;
 
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.HdtParser;
+import org.apache.commons.io.FileUtils;
 import org.javatuples.Triplet;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -10,7 +12,10 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,6 +31,56 @@ class VocabularyAnalyzerTest {
         assertTrue(result.isDimensionConsistent());
     }
 
+    @Test
+    void analyzeHdt(){
+        File ntFile = new File("./vocabulary_analyzer_test.nt");
+        File hdtFile = new File("./vocabulary_analyzer_test.hdt");
+        File indexFile = new File("./vocabulary_analyzer_test.hdt.index.v1-1");
+        File modelFile = new File("./vocabulary_analyzer_test_vectors.txt");
+        File reportFile = new File("./vocabulary_analyzer_test_vectors.txt" + VocabularyAnalyzer.REPORT_FILE_ENDING);
+        try {
+            FileUtils.copyFile(new File(getPathOfResource("pizza.owl.nt")), ntFile);
+            assertNotNull(HdtParser.getOrCreateHdtFile(ntFile));
+            FileUtils.writeStringToFile(modelFile, "http://www.co-ode.org/ontologies/pizza/pizza.owl#Margherita 0.1 0.2\n" +
+                    "not_in_the_graph 0.3 0.4\n", StandardCharsets.UTF_8);
+
+            VocabularyAnalyzerResult result = VocabularyAnalyzer.analyze(modelFile.getAbsolutePath(), hdtFile.getAbsolutePath());
+            assertEquals(2, result.getDimension());
+            assertTrue(result.isDimensionConsistent());
+            // the terms are not collected in memory but counted and written to the report file
+            assertEquals(reportFile.getAbsolutePath(), result.getReportFile().getAbsolutePath());
+            assertTrue(result.getAllAdditional().isEmpty());
+            assertTrue(result.getSubjectsNotFound().isEmpty());
+            assertTrue(result.getObjectsNotFound().isEmpty());
+            assertEquals(1, result.getNumberOfAdditionalConcepts());
+            assertTrue(result.getNumberOfSubjectsNotFound() > 0);
+            assertTrue(result.getNumberOfPredicatesNotFound() > 0);
+            assertTrue(result.getNumberOfObjectsNotFound() > 0);
+            assertTrue(result.getNumberOfAllNotFound() >= result.getNumberOfSubjectsNotFound());
+
+            List<String> report = FileUtils.readLines(reportFile, StandardCharsets.UTF_8);
+            int additionalIndex = report.indexOf("# Additional concepts");
+            assertTrue(additionalIndex > 0);
+            assertEquals(Collections.singletonList("not_in_the_graph"), report.subList(additionalIndex + 1, report.size()));
+            assertTrue(report.contains("http://www.co-ode.org/ontologies/pizza/pizza.owl#American"));
+            assertFalse(report.contains("http://www.co-ode.org/ontologies/pizza/pizza.owl#Margherita"));
+            assertTrue(report.contains("http://www.w3.org/2000/01/rdf-schema#subClassOf"));
+            int predicatesIndex = report.indexOf("# Predicates not found");
+            assertEquals(result.getNumberOfPredicatesNotFound(), additionalIndex - predicatesIndex - 1);
+            for(String line : report){
+                assertFalse(line.startsWith("\""), "Literals must not be part of the analysis.");
+            }
+        } catch (IOException ioe){
+            fail("Exception occurred.", ioe);
+        } finally {
+            ntFile.delete();
+            hdtFile.delete();
+            indexFile.delete();
+            modelFile.delete();
+            reportFile.delete();
+        }
+    }
+
     @Test
     void detectMissingEntities(){
         Set<String> result = VocabularyAnalyzer.detectMissingEntities(getPathOfResource("freude_vectors.txt"), getPathOfResource("freude_vectors_incomplete_concepts.txt"));
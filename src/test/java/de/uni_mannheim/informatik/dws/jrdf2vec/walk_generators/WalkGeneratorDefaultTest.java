@@ -1,13 +1,38 @@
 package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators;
 
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers.AsyncWalkWriter;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers.WalkCheckpoint;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.weights.EdgeWeightFunction;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.weights.InversePredicateFrequencyWeight;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.EntityTimingHistogram;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkBudget;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerationMode;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGenerator;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGeneratorDefault;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.TripleDataSetMemory;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.IParser;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.MemoryParser;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers.NtMemoryParser;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.runnables.MetapathWalkStrategy;
 
 import java.io.*;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -49,6 +74,7 @@ class WalkGeneratorDefaultTest {
         assertTrue(subjectsOfWalks.contains("http://www.co-ode.org/ontologies/pizza/pizza.owl#AmericanHot"));
         assertTrue(subjectsOfWalks.contains("http://www.co-ode.org/ontologies/pizza/pizza.owl#FourCheesesTopping"));
         generatedFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(generatedFilePath)).delete();
     }
 
     @Test
@@ -86,6 +112,717 @@ class WalkGeneratorDefaultTest {
         assertTrue(subjectsOfWalks.contains("http://www.co-ode.org/ontologies/pizza/pizza.owl#AmericanHot"));
         assertTrue(subjectsOfWalks.contains("http://www.co-ode.org/ontologies/pizza/pizza.owl#FourCheesesTopping"));
         generatedFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(generatedFilePath)).delete();
+    }
+
+    @Test
+    void generateRandomWalksWithSmallEntityBatches() {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+
+        // reference run with the default batch size
+        String referenceFilePath = "./test_walks_batch_reference.gz";
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        generator.generateRandomWalks(4, 3, 1, referenceFilePath);
+        HashSet<String> referenceSubjects = readSubjectsOfWalks(new File(referenceFilePath));
+        assertTrue(referenceSubjects.size() > 0);
+
+        // batches that do not divide the number of entities
+        String generatedFilePath = "./test_walks_batch.gz";
+        generator = new WalkGeneratorDefault(pizzaOntology);
+        generator.setEntityBatchSize(7);
+        assertEquals(7, generator.getEntityBatchSize());
+        generator.generateRandomWalks(4, 3, 1, generatedFilePath);
+        assertEquals(referenceSubjects, readSubjectsOfWalks(new File(generatedFilePath)));
+
+        // invalid batch size
+        generator.setEntityBatchSize(0);
+        assertEquals(WalkGeneratorDefault.DEFAULT_ENTITY_BATCH_SIZE, generator.getEntityBatchSize());
+
+        new File(referenceFilePath).delete();
+        new File(AsyncWalkWriter.getManifestPath(referenceFilePath)).delete();
+        new File(generatedFilePath).delete();
+        new File(AsyncWalkWriter.getManifestPath(generatedFilePath)).delete();
+    }
+
+    @Test
+    void generateSeededWalksWithOrderedOutput() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        String[] modes = {"random", "mid"};
+        for (String mode : modes) {
+            String referenceFilePath = "./test_walks_seed_reference.gz";
+            String generatedFilePath = "./test_walks_seed.gz";
+            generateSeededWalks(pizzaOntology, mode, 1, referenceFilePath);
+            generateSeededWalks(pizzaOntology, mode, 4, generatedFilePath);
+            byte[] reference = Files.readAllBytes(new File(referenceFilePath).toPath());
+            assertTrue(reference.length > 0);
+            assertArrayEquals(reference, Files.readAllBytes(new File(generatedFilePath).toPath()), "Walk files differ for mode " + mode);
+            for (String path : new String[]{referenceFilePath, generatedFilePath}) {
+                new File(path).delete();
+                new File(AsyncWalkWriter.getManifestPath(path)).delete();
+            }
+        }
+    }
+
+    @Test
+    void generateWalksWithCostAwareScheduling() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        String referenceFilePath = "./test_walks_cost_reference.gz";
+        String generatedFilePath = "./test_walks_cost.gz";
+        generateSeededWalks(pizzaOntology, "random", 4, referenceFilePath);
+
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        generator.setEntityBatchSize(7);
+        generator.setSeed(42L);
+        generator.setCostAwareScheduling(true);
+        generator.generateRandomWalks(4, 5, 3, generatedFilePath);
+
+        // the entities are processed in a different order but every entity obtains the same walks
+        List<String> reference = readSortedLines(new File(referenceFilePath));
+        assertTrue(reference.size() > 0);
+        assertEquals(reference, readSortedLines(new File(generatedFilePath)));
+
+        EntityTimingHistogram histogram = generator.getEntityTimingHistogram();
+        assertNotNull(histogram);
+        assertTrue(histogram.getCount() >= readSubjectsOfWalks(new File(generatedFilePath)).size());
+        assertNotNull(histogram.getSlowestEntity());
+
+        for (String path : new String[]{referenceFilePath, generatedFilePath}) {
+            new File(path).delete();
+            new File(AsyncWalkWriter.getManifestPath(path)).delete();
+        }
+    }
+
+    @Test
+    void generateWalksInPartitions() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        String referenceFilePath = "./test_walks_partition_reference.gz";
+        String generatedFilePath = "./test_walks_partition.gz";
+        generateSeededWalks(pizzaOntology, "random", 2, referenceFilePath);
+
+        List<String> partitionedWalks = new ArrayList<>();
+        HashSet<String> subjects = new HashSet<>();
+        int numberOfPartitions = 3;
+        for (int partition = 0; partition < numberOfPartitions; partition++) {
+            WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+            generator.setEntityBatchSize(7);
+            generator.setSeed(42L);
+            generator.setPartition(partition, numberOfPartitions);
+            generator.generateRandomWalks(2, 5, 3, generatedFilePath);
+
+            File partitionFile = new File(AsyncWalkWriter.getPartitionPath(generatedFilePath, partition, numberOfPartitions));
+            assertEquals(generatedFilePath, generator.filePath);
+            for (String subject : readSubjectsOfWalks(partitionFile)) {
+                assertEquals(partition, WalkGenerator.getPartition(subject, numberOfPartitions));
+                assertTrue(subjects.add(subject), "Entity " + subject + " occurs in several partitions.");
+            }
+            partitionedWalks.addAll(readSortedLines(partitionFile));
+            partitionFile.delete();
+            new File(AsyncWalkWriter.getManifestPath(partitionFile.getPath())).delete();
+        }
+        assertFalse(new File(generatedFilePath).exists());
+
+        // together, the partitions contain exactly the walks of the unpartitioned run
+        Collections.sort(partitionedWalks);
+        assertEquals(readSortedLines(new File(referenceFilePath)), partitionedWalks);
+
+        // a second run of the same generator writes the same partition file
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        generator.setPartition(1, numberOfPartitions);
+        File partitionFile = new File(AsyncWalkWriter.getPartitionPath(generatedFilePath, 1, numberOfPartitions));
+        for (int run = 0; run < 2; run++) {
+            generator.generateRandomWalks(2, 5, 3, generatedFilePath);
+            generator.generateWalks(generator.createWalkStrategy(WalkGenerationMode.RANDOM_WALKS, 5, 3),
+                    generator.entitySelector.getEntities(), 2, 3);
+        }
+        assertTrue(partitionFile.exists());
+        assertFalse(new File(AsyncWalkWriter.getPartitionPath(partitionFile.getPath(), 1, numberOfPartitions)).exists());
+        partitionFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(partitionFile.getPath())).delete();
+
+        // invalid partitions are ignored
+        generator = new WalkGeneratorDefault(pizzaOntology);
+        generator.setPartition(3, 3);
+        assertEquals(1, generator.getNumberOfPartitions());
+
+        new File(referenceFilePath).delete();
+        new File(AsyncWalkWriter.getManifestPath(referenceFilePath)).delete();
+    }
+
+    @Test
+    void generateNode2VecWalks() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        String walkFilePath = "./test_walks_node2vec.gz";
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        generator.setNode2VecP(0.5);
+        generator.setNode2VecQ(2.0);
+        generator.setNode2VecQ(-1.0);
+        assertEquals(WalkGenerator.NODE2VEC_PARAMETER_DEFAULT, generator.getNode2VecQ());
+        generator.generateWalks(WalkGenerationMode.NODE2VEC, 2, 5, 4, walkFilePath);
+        File walkFile = new File(walkFilePath);
+        HashSet<String> subjects = readSubjectsOfWalks(walkFile);
+        assertTrue(subjects.contains("http://www.co-ode.org/ontologies/pizza/pizza.owl#Pizza"));
+        for (String walk : readSortedLines(walkFile)) {
+            // entity (predicate object){1,4}
+            int tokens = walk.split(" ").length;
+            assertTrue(tokens % 2 == 1 && tokens >= 3 && tokens <= 9, walk);
+        }
+        walkFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+    }
+
+    @Test
+    void generateWeightedRandomWalks() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        String walkFilePath = "./test_walks_weighted.gz";
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        assertTrue(generator.getEdgeWeightFunction() instanceof InversePredicateFrequencyWeight);
+        for (String weights : new String[]{"INVERSE_PREDICATE_FREQUENCY", "INVERSE_OBJECT_DEGREE", "PAGE_RANK"}) {
+            generator.setEdgeWeightFunction(EdgeWeightFunction.fromName(weights));
+            generator.generateWalks(WalkGenerationMode.RANDOM_WALKS_WEIGHTED, 2, 5, 4, walkFilePath);
+            File walkFile = new File(walkFilePath);
+            HashSet<String> subjects = readSubjectsOfWalks(walkFile);
+            assertTrue(subjects.contains("http://www.co-ode.org/ontologies/pizza/pizza.owl#Pizza"), weights);
+            for (String walk : readSortedLines(walkFile)) {
+                // entity (predicate object){1,4}
+                int tokens = walk.split(" ").length;
+                assertTrue(tokens % 2 == 1 && tokens >= 3 && tokens <= 9, walk);
+            }
+            walkFile.delete();
+            new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+        }
+    }
+
+    @Test
+    void generateWlSequences() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        String walkFilePath = "./test_walks_wl.gz";
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        generator.setWlIterations(0);
+        assertEquals(WalkGenerator.WL_ITERATIONS_DEFAULT, generator.getWlIterations());
+        generator.setWlIterations(2);
+        generator.generateWalks(WalkGenerationMode.WL_SEQUENCES, 2, 3, 3, walkFilePath);
+        File walkFile = new File(walkFilePath);
+        List<String> walks = readSortedLines(walkFile);
+        assertTrue(readSubjectsOfWalks(walkFile).contains("http://www.co-ode.org/ontologies/pizza/pizza.owl#Pizza"));
+        int[] walksPerIteration = new int[3];
+        for (String walk : walks) {
+            String[] tokens = walk.split(" ");
+            assertTrue(tokens.length % 2 == 1 && tokens.length >= 3 && tokens.length <= 7, walk);
+            int iteration = tokens[2].startsWith("wl1_") ? 1 : tokens[2].startsWith("wl2_") ? 2 : 0;
+            walksPerIteration[iteration]++;
+            for (int i = 2; i < tokens.length; i += 2) {
+                assertEquals(iteration != 0, tokens[i].startsWith("wl" + iteration + "_"), walk);
+            }
+        }
+        assertTrue(walksPerIteration[0] > 0);
+        assertEquals(walksPerIteration[0], walksPerIteration[1]);
+        assertEquals(walksPerIteration[0], walksPerIteration[2]);
+        walkFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+    }
+
+    @Test
+    void generateEntityAndPredicateWalks() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        String walkFilePath = "./test_walks_content.gz";
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        String pizza = "http://www.co-ode.org/ontologies/pizza/pizza.owl#Pizza";
+        Set<String> predicates = ((MemoryParser) generator.parser).getData().getUniquePredicates();
+        for (WalkGenerationMode mode : new WalkGenerationMode[]{WalkGenerationMode.RANDOM_E_WALKS,
+                WalkGenerationMode.RANDOM_P_WALKS, WalkGenerationMode.MID_E_WALKS, WalkGenerationMode.MID_P_WALKS}) {
+            generator.generateWalks(mode, 2, 5, 3, walkFilePath);
+            File walkFile = new File(walkFilePath);
+            List<String> walks = readSortedLines(walkFile);
+            assertFalse(walks.isEmpty(), mode.toString());
+            boolean isPredicateWalks = mode == WalkGenerationMode.RANDOM_P_WALKS || mode == WalkGenerationMode.MID_P_WALKS;
+            boolean isPizzaFound = false;
+            for (String walk : walks) {
+                String[] tokens = walk.split(" ");
+                assertTrue(tokens.length >= 2 && tokens.length <= 4, walk);
+                if (mode == WalkGenerationMode.RANDOM_E_WALKS || mode == WalkGenerationMode.RANDOM_P_WALKS) {
+                    isPizzaFound |= tokens[0].equals(pizza);
+                } else {
+                    isPizzaFound |= Arrays.asList(tokens).contains(pizza);
+                }
+                if (isPredicateWalks) {
+                    // all tokens but the entity are predicates
+                    int numberOfPredicates = 0;
+                    for (String token : tokens) {
+                        if (predicates.contains(token)) numberOfPredicates++;
+                    }
+                    assertTrue(numberOfPredicates >= tokens.length - 1, walk);
+                }
+            }
+            assertTrue(isPizzaFound, mode.toString());
+            walkFile.delete();
+            new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+        }
+    }
+
+    @Test
+    void generateRandomWalksWithRestart() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        String walkFilePath = "./test_walks_restart.gz";
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        generator.setRestartProbability(1.5);
+        assertEquals(WalkGenerator.RESTART_PROBABILITY_DEFAULT, generator.getRestartProbability());
+        String pizza = "http://www.co-ode.org/ontologies/pizza/pizza.owl#Pizza";
+        Set<String> predicates = ((MemoryParser) generator.parser).getData().getUniquePredicates();
+
+        for (double restartProbability : new double[]{0.0, 0.3, 1.0}) {
+            generator.setRestartProbability(restartProbability);
+            generator.generateWalks(WalkGenerationMode.RANDOM_WALKS_WITH_RESTART, 2, 4, 3, walkFilePath);
+            File walkFile = new File(walkFilePath);
+            int pizzaWindows = 0;
+            for (String walk : readSortedLines(walkFile)) {
+                String[] tokens = walk.split(" ");
+                // every window is structured like a walk of at most 3 hops
+                assertTrue(tokens.length % 2 == 1 && tokens.length >= 3 && tokens.length <= 7, walk);
+                for (int i = 1; i < tokens.length; i += 2) assertTrue(predicates.contains(tokens[i]), walk);
+                if (walk.startsWith(pizza + " ")) pizzaWindows++;
+                // every hop is followed by a restart, so every window consists of a single hop
+                if (restartProbability == 1.0) assertEquals(3, tokens.length, walk);
+            }
+            // the first window of every entity starts with the entity
+            assertTrue(pizzaWindows >= 1, "Restart probability " + restartProbability);
+            walkFile.delete();
+            new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+        }
+    }
+
+    @Test
+    void generateMetapathWalks() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        String walkFilePath = "./test_walks_metapath.gz";
+        String subClassOf = "http://www.w3.org/2000/01/rdf-schema#subClassOf";
+        String type = "http://www.w3.org/1999/02/22-rdf-syntax-ns#type";
+        File metapathFile = new File("./test_metapaths.txt");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(metapathFile), StandardCharsets.UTF_8)) {
+            writer.write("# subclass chains\n<" + subClassOf + ">\n\n" + type + " *\n");
+        }
+        List<List<String>> metapaths = MetapathWalkStrategy.readMetapaths(metapathFile);
+        assertEquals(2, metapaths.size());
+        assertEquals(Arrays.asList(type, "*"), metapaths.get(1));
+
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        generator.setMetapaths(metapaths);
+        generator.generateWalks(WalkGenerationMode.METAPATH_WALKS, 2, 5, 3, walkFilePath);
+        File walkFile = new File(walkFilePath);
+        List<String> walks = readSortedLines(walkFile);
+        assertFalse(walks.isEmpty());
+        assertTrue(readSubjectsOfWalks(walkFile).contains("http://www.co-ode.org/ontologies/pizza/pizza.owl#Pizza"));
+        for (String walk : walks) {
+            String[] tokens = walk.split(" ");
+            assertTrue(tokens.length % 2 == 1 && tokens.length >= 3 && tokens.length <= 7, walk);
+            if (tokens[1].equals(subClassOf)) {
+                for (int i = 1; i < tokens.length; i += 2) assertEquals(subClassOf, tokens[i], walk);
+            } else {
+                assertEquals(type, tokens[1], walk);
+                if (tokens.length > 5) assertEquals(type, tokens[5], walk);
+            }
+        }
+        walkFile.delete();
+        metapathFile.delete();
+
+        // the patterns are shortened like the graph
+        UnaryOperator<String> shortener = uri -> uri.replace("http://www.co-ode.org/ontologies/pizza/pizza.owl#", "pizza:")
+                .replace("http://www.w3.org/2000/01/rdf-schema#", "rdfs:");
+        generator.parser = new NtMemoryParser(pizzaOntology, shortener);
+        MetapathWalkStrategy strategy = new MetapathWalkStrategy(generator, 5, 3,
+                Collections.singletonList(Collections.singletonList("<" + subClassOf + ">")));
+        List<String> shortenedWalks = new ArrayList<>();
+        strategy.generateWalks("pizza:Margherita", shortenedWalks::addAll);
+        assertFalse(shortenedWalks.isEmpty());
+        for (String walk : shortenedWalks) {
+            assertTrue(walk.startsWith("pizza:Margherita rdfs:subClassOf "), walk);
+        }
+        new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+    }
+
+    @Test
+    void generateUndirectedRandomWalks() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        String walkFilePath = "./test_walks_undirected.gz";
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        generator.generateWalks(WalkGenerationMode.RANDOM_WALKS_UNDIRECTED, 2, 5, 3, walkFilePath);
+        Set<Triple> triples = ((MemoryParser) generator.parser).getData().getAllTriples();
+        File walkFile = new File(walkFilePath);
+        boolean isInverseHopFound = false;
+        for (String walk : readSortedLines(walkFile)) {
+            String[] tokens = walk.split(" ");
+            assertTrue(tokens.length % 2 == 1 && tokens.length >= 3 && tokens.length <= 7, walk);
+            for (int i = 1; i < tokens.length; i += 2) {
+                if (tokens[i].startsWith("^")) {
+                    isInverseHopFound = true;
+                    assertTrue(triples.contains(new Triple(tokens[i + 1], tokens[i].substring(1), tokens[i - 1])), walk);
+                } else {
+                    assertTrue(triples.contains(new Triple(tokens[i - 1], tokens[i], tokens[i + 1])), walk);
+                }
+            }
+        }
+        assertTrue(isInverseHopFound);
+        walkFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+    }
+
+    @Test
+    void generateWalklets() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        String walkFilePath = "./test_walks_walklets.gz";
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        generator.setWalkletScales(new int[]{1, 0});
+        assertArrayEquals(WalkGenerator.WALKLET_SCALES_DEFAULT, generator.getWalkletScales());
+
+        // scale 1: every pair is a triple
+        generator.setWalkletScales(new int[]{1});
+        generator.generateWalks(WalkGenerationMode.WALKLETS, 2, 5, 3, walkFilePath);
+        TripleDataSetMemory data = ((MemoryParser) generator.parser).getData();
+        File walkFile = new File(walkFilePath);
+        List<String> pairs = readSortedLines(walkFile);
+        assertFalse(pairs.isEmpty());
+        for (String pair : pairs) {
+            String[] tokens = pair.split(" ");
+            assertEquals(2, tokens.length, pair);
+            boolean isTriple = false;
+            for (Triple triple : data.getTriplesInvolvingSubject(tokens[0])) {
+                isTriple |= triple.object.equals(tokens[1]);
+            }
+            assertTrue(isTriple, pair);
+        }
+        walkFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+
+        // more scales lead to more pairs
+        generator.setWalkletScales(new int[]{1, 2, 3});
+        generator.generateWalks(WalkGenerationMode.WALKLETS, 2, 5, 3, walkFilePath);
+        List<String> morePairs = readSortedLines(walkFile);
+        assertTrue(morePairs.size() > pairs.size());
+        for (String pair : morePairs) assertEquals(2, pair.split(" ").length, pair);
+        walkFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+    }
+
+    @Test
+    void generateWalksWithBudget() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        String walkFilePath = "./test_walks_budget.gz";
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        int numberOfEntities = generator.entitySelector.getEntities().size();
+        long totalWalks = 2L * numberOfEntities;
+        generator.setWalkBudget(new WalkBudget(totalWalks, 1, 20, WalkBudget.DegreeFunction.LINEAR));
+        assertNotNull(generator.getWalkBudget());
+
+        // the number of walks per entity (50) is replaced by the budget
+        generator.generateWalks(WalkGenerationMode.RANDOM_WALKS, 2, 50, 3, walkFilePath);
+        File walkFile = new File(walkFilePath);
+        List<String> walks = readSortedLines(walkFile);
+        assertFalse(walks.isEmpty());
+        assertTrue(walks.size() <= totalWalks * 1.05, "Too many walks: " + walks.size());
+        Map<String, Integer> walksPerEntity = new HashMap<>();
+        for (String walk : walks) walksPerEntity.merge(walk.split(" ")[0], 1, Integer::sum);
+        int maximum = Collections.max(walksPerEntity.values());
+        assertTrue(maximum <= 20);
+        assertTrue(maximum > Collections.min(walksPerEntity.values()));
+        walkFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+    }
+
+    @Test
+    void generateExhaustivePaths() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        String walkFilePath = "./test_walks_exhaustive.gz";
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        generator.setMaxPathsPerEntity(-1);
+        assertEquals(WalkGenerator.MAX_PATHS_PER_ENTITY_DEFAULT, generator.getMaxPathsPerEntity());
+
+        // depth 1: one path per outgoing triple
+        generator.generateWalks(WalkGenerationMode.EXHAUSTIVE_PATHS, 2, 5, 1, walkFilePath);
+        TripleDataSetMemory data = ((MemoryParser) generator.parser).getData();
+        int expectedPaths = 0;
+        for (String entity : generator.entitySelector.getEntities()) {
+            List<Triple> triples = data.getTriplesInvolvingSubject(generator.shortenUri(entity));
+            if (triples != null) expectedPaths += triples.size();
+        }
+        File walkFile = new File(walkFilePath);
+        assertEquals(expectedPaths, readSortedLines(walkFile).size());
+        walkFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+
+        // depth 2: all paths are distinct and follow the triples
+        generator.generateWalks(WalkGenerationMode.EXHAUSTIVE_PATHS, 2, 5, 2, walkFilePath);
+        List<String> paths = readSortedLines(walkFile);
+        assertTrue(paths.size() > expectedPaths);
+        assertEquals(paths.size(), new HashSet<>(paths).size());
+        for (String path : paths) {
+            String[] tokens = path.split(" ");
+            assertTrue(tokens.length == 3 || tokens.length == 5, path);
+            for (int i = 0; i + 2 < tokens.length; i += 2) {
+                boolean isTriple = false;
+                for (Triple triple : data.getTriplesInvolvingSubject(tokens[i])) {
+                    isTriple |= triple.predicate.equals(tokens[i + 1]) && triple.object.equals(tokens[i + 2]);
+                }
+                assertTrue(isTriple, path);
+            }
+            // a path only ends early if it cannot be continued
+            if (tokens.length == 3) assertNull(data.getTriplesInvolvingSubject(tokens[2]), path);
+        }
+        walkFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+
+        // cap per entity
+        generator.setMaxPathsPerEntity(2);
+        generator.generateWalks(WalkGenerationMode.EXHAUSTIVE_PATHS, 2, 5, 2, walkFilePath);
+        Map<String, Integer> pathsPerEntity = new HashMap<>();
+        for (String path : readSortedLines(walkFile)) pathsPerEntity.merge(path.split(" ")[0], 1, Integer::sum);
+        assertFalse(pathsPerEntity.isEmpty());
+        assertEquals(2, (int) Collections.max(pathsPerEntity.values()));
+        walkFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+    }
+
+    @Test
+    void generateWalksWithUnifiedAnonymousNodes() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        String walkFilePath = "./test_walks_anonymous.gz";
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+
+        // without unification, the labels of the blank nodes are written
+        generator.generateWalks(WalkGenerationMode.RANDOM_WALKS, 2, 5, 3, walkFilePath);
+        File walkFile = new File(walkFilePath);
+        assertTrue(readSortedLines(walkFile).stream().anyMatch(walk -> walk.contains("_:")));
+        walkFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+
+        generator.setUnifyAnonymousNodes(true);
+        assertTrue(generator.isUnifyAnonymousNodes());
+        assertTrue(((MemoryParser) generator.parser).isUnifyAnonymousNodes());
+        for (WalkGenerationMode mode : WalkGenerationMode.values()) {
+            generator.generateWalks(mode, 2, 5, 3, walkFilePath);
+            List<String> walks = readSortedLines(walkFile);
+            assertFalse(walks.isEmpty(), "No walks for mode " + mode);
+            boolean isAnonymousNodeWritten = false;
+            for (String walk : walks) {
+                for (String token : walk.split(" ")) {
+                    assertFalse(token.startsWith("_:"), mode + ": " + walk);
+                    isAnonymousNodeWritten |= token.equals(MemoryParser.ANONYMOUS_NODE_TOKEN);
+                }
+            }
+            if (mode == WalkGenerationMode.RANDOM_WALKS || mode == WalkGenerationMode.MID_WALKS) {
+                assertTrue(isAnonymousNodeWritten, "No unified blank node for mode " + mode);
+            }
+            walkFile.delete();
+            new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+        }
+    }
+
+    @Test
+    void generateWalksWithCustomStrategy() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        String walkFilePath = "./test_walks_strategy.gz";
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        for (WalkGenerationMode mode : WalkGenerationMode.values()) {
+            assertNotNull(generator.createWalkStrategy(mode, 5, 3), "No strategy for mode " + mode);
+        }
+
+        // a strategy that emits one walk per entity
+        Set<String> entities = generator.entitySelector.getEntities();
+        generator.filePath = walkFilePath;
+        generator.generateWalks((entity, sink) -> sink.accept(Collections.singletonList(entity + " p o")),
+                entities, 3, 1);
+        List<String> walks = readSortedLines(new File(walkFilePath));
+        assertEquals(entities.size(), walks.size());
+        assertEquals(entities, readSubjectsOfWalks(new File(walkFilePath)));
+        assertEquals(entities.size(), generator.getProcessedEntities());
+
+        // a strategy that hands the walks over in several chunks: every entity is counted once
+        generator.generateWalks((entity, sink) -> {
+            for (int i = 0; i < 3; i++) sink.accept(Collections.singletonList(entity + " p o" + i));
+        }, entities, 3, 1);
+        assertEquals(entities.size(), generator.getProcessedEntities());
+        assertEquals(3L * entities.size(), generator.getProcessedWalks());
+
+        new File(walkFilePath).delete();
+        new File(AsyncWalkWriter.getManifestPath(walkFilePath)).delete();
+    }
+
+    @Test
+    void inMemoryModesRequireMemoryParser() {
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(loadFile("pizza.owl.nt"));
+        for (WalkGenerationMode mode : WalkGenerationMode.values()) {
+            assertTrue(generator.isSupportedByParser(mode));
+        }
+
+        // a parser that does not keep the graph in memory
+        generator.parser = new IParser() {};
+        for (WalkGenerationMode mode : WalkGenerationMode.values()) {
+            boolean isInMemoryMode = WalkGeneratorDefault.IN_MEMORY_MODES.contains(mode);
+            assertEquals(!isInMemoryMode, generator.isSupportedByParser(mode));
+            if (isInMemoryMode) assertNull(generator.createWalkStrategy(mode, 5, 3));
+        }
+        assertTrue(generator.isSupportedByParser(WalkGenerationMode.MID_WALKS));
+        assertFalse(generator.isSupportedByParser(WalkGenerationMode.NODE2VEC));
+    }
+
+    @Test
+    void abortWalkGenerationOnError() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        File directory = Files.createTempDirectory("abort_test").toFile();
+        String walkFilePath = new File(directory, "walks.gz").getPath();
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        Set<String> entities = generator.entitySelector.getEntities();
+        String failingEntity = entities.stream().skip(entities.size() / 2).findFirst().get();
+        generator.filePath = walkFilePath;
+        generator.setEntityBatchSize(1);
+        generator.setSeed(42L);
+        generator.setCheckpointing(true);
+        generator.getWalkWriterConfiguration().setBufferSize(1024);
+        generator.getWalkWriterConfiguration().setMaxLinesPerShard(10);
+
+        // an error in one thread must not leave the other threads waiting for its batch
+        assertTimeoutPreemptively(Duration.ofMinutes(1), () -> generator.generateWalks((entity, sink) -> {
+            if (entity.equals(failingEntity)) throw new StackOverflowError();
+            sink.accept(Collections.singletonList(entity + " p o"));
+        }, entities, 3, 1));
+        assertTrue(generator.writer.isAborted());
+        assertNotNull(WalkCheckpoint.load(walkFilePath), "The checkpoint must be kept.");
+
+        // the run can be resumed
+        WalkGeneratorDefault resumed = new WalkGeneratorDefault(pizzaOntology);
+        resumed.filePath = walkFilePath;
+        resumed.setEntityBatchSize(1);
+        resumed.setSeed(42L);
+        resumed.setResume(true);
+        resumed.getWalkWriterConfiguration().setBufferSize(1024);
+        resumed.getWalkWriterConfiguration().setMaxLinesPerShard(10);
+        resumed.generateWalks((entity, sink) -> sink.accept(Collections.singletonList(entity + " p o")),
+                entities, 3, 1);
+        assertFalse(resumed.writer.isAborted());
+        assertNull(WalkCheckpoint.load(walkFilePath));
+
+        // every entity occurs exactly once in the shards of the resumed run
+        List<String> walks = new ArrayList<>();
+        for (String manifestLine : Files.readAllLines(new File(AsyncWalkWriter.getManifestPath(walkFilePath)).toPath())) {
+            if (manifestLine.startsWith("#")) continue;
+            walks.addAll(readSortedLines(new File(directory, manifestLine.split("\t")[0])));
+        }
+        assertEquals(entities.size(), walks.size());
+        assertEquals(entities, readSubjects(walks));
+
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    void refuseResumeWithDifferentEntityOrder() throws IOException {
+        File pizzaOntology = loadFile("pizza.owl.nt");
+        File directory = Files.createTempDirectory("resume_order_test").toFile();
+        String walkFilePath = new File(directory, "walks.gz").getPath();
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(pizzaOntology);
+        List<String> entities = new ArrayList<>(generator.entitySelector.getEntities());
+        String failingEntity = entities.get(entities.size() / 2);
+        generator.filePath = walkFilePath;
+        generator.setEntityBatchSize(1);
+        generator.setSeed(42L);
+        generator.setCheckpointing(true);
+        generator.getWalkWriterConfiguration().setBufferSize(1024);
+        generator.getWalkWriterConfiguration().setMaxLinesPerShard(10);
+        generator.generateWalks((entity, sink) -> {
+            if (entity.equals(failingEntity)) throw new StackOverflowError();
+            sink.accept(Collections.singletonList(entity + " p o"));
+        }, entities, 1, 1);
+        WalkCheckpoint checkpoint = WalkCheckpoint.load(walkFilePath);
+        assertNotNull(checkpoint);
+        assertTrue(checkpoint.getCompletedBatches() > 0);
+
+        // the same entities in another order: skipping the completed batches would skip the wrong entities
+        List<String> reversedEntities = new ArrayList<>(entities);
+        Collections.reverse(reversedEntities);
+        WalkGeneratorDefault resumed = new WalkGeneratorDefault(pizzaOntology);
+        resumed.filePath = walkFilePath;
+        resumed.setEntityBatchSize(1);
+        resumed.setSeed(42L);
+        resumed.setResume(true);
+        resumed.getWalkWriterConfiguration().setBufferSize(1024);
+        resumed.getWalkWriterConfiguration().setMaxLinesPerShard(10);
+        resumed.generateWalks((entity, sink) -> sink.accept(Collections.singletonList(entity + " p o")),
+                reversedEntities, 1, 1);
+
+        // the checkpoint was refused and all entities were processed from scratch
+        assertEquals(entities.size(), resumed.getProcessedEntities());
+        List<String> walks = new ArrayList<>();
+        for (String manifestLine : Files.readAllLines(new File(AsyncWalkWriter.getManifestPath(walkFilePath)).toPath())) {
+            if (manifestLine.startsWith("#")) continue;
+            walks.addAll(readSortedLines(new File(directory, manifestLine.split("\t")[0])));
+        }
+        assertEquals(entities.size(), walks.size());
+        assertEquals(new HashSet<>(entities), readSubjects(walks));
+
+        FileUtils.deleteDirectory(directory);
+    }
+
+    /**
+     * Reads all lines of the given gzipped walk file in sorted order.
+     * @param walkFile The walk file.
+     * @return Sorted lines.
+     */
+    private List<String> readSortedLines(File walkFile) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(walkFile))))) {
+            String readLine;
+            while ((readLine = reader.readLine()) != null) {
+                lines.add(readLine);
+            }
+        }
+        Collections.sort(lines);
+        return lines;
+    }
+
+    /**
+     * Generates seeded walks with ordered output and small entity batches.
+     * @param graph The graph.
+     * @param mode "random" or "mid".
+     * @param numberOfThreads Number of threads.
+     * @param filePath The walk file to be written.
+     */
+    private void generateSeededWalks(File graph, String mode, int numberOfThreads, String filePath){
+        WalkGeneratorDefault generator = new WalkGeneratorDefault(graph);
+        generator.setEntityBatchSize(7);
+        generator.setSeed(42L);
+        generator.getWalkWriterConfiguration().setOrderedOutput(true);
+        if (mode.equals("random")) generator.generateRandomWalks(numberOfThreads, 5, 3, filePath);
+        else generator.generateRandomMidWalks(numberOfThreads, 5, 3, filePath);
+    }
+
+    /**
+     * Obtains the first element of every walk.
+     * @param walks The walks.
+     * @return Set of walk subjects.
+     */
+    private HashSet<String> readSubjects(List<String> walks){
+        HashSet<String> subjectsOfWalks = new HashSet<>();
+        for (String walk : walks) {
+            subjectsOfWalks.add(walk.split(" ")[0]);
+        }
+        return subjectsOfWalks;
+    }
+
+    /**
+     * Reads the first element of every walk in the given gzipped walk file.
+     * @param walkFile The walk file.
+     * @return Set of walk subjects.
+     */
+    private HashSet<String> readSubjectsOfWalks(File walkFile){
+        assertTrue(walkFile.exists(), "Assert that a walk file has been generated.");
+        HashSet<String> subjectsOfWalks = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(walkFile))))) {
+            String readLine;
+            while ((readLine = reader.readLine()) != null) {
+                subjectsOfWalks.add(readLine.split(" ")[0]);
+            }
+        } catch (IOException e){
+            e.printStackTrace();
+            fail("Could not read gzipped file.");
+        }
+        return subjectsOfWalks;
     }
 
     /**
@@ -0,0 +1,82 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityBatchCursorTest {
+
+    @Test
+    void next() {
+        EntityBatchCursor cursor = new EntityBatchCursor(Arrays.asList("A", "B", "C", "D", "E"), 2);
+        EntityBatchCursor.Batch batch = new EntityBatchCursor.Batch(cursor.getBatchSize());
+        assertTrue(cursor.next(batch));
+        assertEquals(0, batch.number);
+        assertEquals(2, batch.length);
+        assertEquals("A", batch.entities[0]);
+        assertTrue(cursor.next(batch));
+        assertEquals(1, batch.number);
+        assertEquals("C", batch.entities[0]);
+        assertTrue(cursor.next(batch));
+        assertEquals(2, batch.number);
+        assertEquals(1, batch.length);
+        assertEquals("E", batch.entities[0]);
+        assertFalse(cursor.next(batch));
+        assertEquals(0, batch.length);
+    }
+
+    @Test
+    void nextWithCosts() {
+        // expensive entities are handed out alone, cheap entities are combined up to the maximal batch cost
+        double[] costs = {100, 40, 30, 20, 5, 5, 5, 5};
+        EntityBatchCursor cursor = new EntityBatchCursor(Arrays.asList("A", "B", "C", "D", "E", "F", "G", "H"),
+                3, costs, 50);
+        EntityBatchCursor.Batch batch = new EntityBatchCursor.Batch(cursor.getBatchSize());
+        int[] expectedLengths = {1, 1, 2, 3, 1};
+        for (int expectedLength : expectedLengths) {
+            assertTrue(cursor.next(batch));
+            assertEquals(expectedLength, batch.length);
+        }
+        assertEquals("H", batch.entities[0]);
+        assertEquals(4, batch.number);
+        assertFalse(cursor.next(batch));
+    }
+
+    @Test
+    void skip() {
+        EntityBatchCursor cursor = new EntityBatchCursor(Arrays.asList("A", "B", "C", "D", "E"), 2);
+        cursor.skip(2);
+        EntityBatchCursor.Batch batch = new EntityBatchCursor.Batch(cursor.getBatchSize());
+        assertTrue(cursor.next(batch));
+        assertEquals(2, batch.number);
+        assertEquals("E", batch.entities[0]);
+
+        // skipping beyond the end does not fail
+        cursor = new EntityBatchCursor(Arrays.asList("A", "B"), 2);
+        cursor.skip(10);
+        assertFalse(cursor.next(batch));
+    }
+
+    @Test
+    void getScheduleHash() {
+        EntityBatchCursor cursor = new EntityBatchCursor(Arrays.asList("A", "B", "C", "D", "E"), 2);
+        long hash = cursor.getScheduleHash();
+        // independent of the state of the cursor
+        cursor.skip(1);
+        assertEquals(hash, cursor.getScheduleHash());
+        EntityBatchCursor.Batch batch = new EntityBatchCursor.Batch(cursor.getBatchSize());
+        assertTrue(cursor.next(batch));
+        assertEquals("C", batch.entities[0]);
+
+        assertEquals(hash, new EntityBatchCursor(Arrays.asList("A", "B", "C", "D", "E"), 2).getScheduleHash());
+        // another order
+        assertNotEquals(hash, new EntityBatchCursor(Arrays.asList("B", "A", "C", "D", "E"), 2).getScheduleHash());
+        // other batches
+        assertNotEquals(hash, new EntityBatchCursor(Arrays.asList("A", "B", "C", "D", "E"), 3).getScheduleHash());
+        double[] costs = {100, 1, 1, 1, 1};
+        assertNotEquals(hash, new EntityBatchCursor(Arrays.asList("A", "B", "C", "D", "E"), 2, costs, 50)
+                .getScheduleHash());
+    }
+}
@@ -0,0 +1,33 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityTimingHistogramTest {
+
+    @Test
+    void record() {
+        EntityTimingHistogram histogram = new EntityTimingHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileMicros(50));
+        assertNull(histogram.getSlowestEntity());
+
+        for (int i = 0; i < 98; i++) {
+            histogram.record("cheap" + i, 500); // < 1 us
+        }
+        histogram.record("medium", 3_000); // 3 us
+        histogram.record("hub", 5_000_000); // 5 ms
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(98, histogram.getBucketCount(0));
+        assertEquals(1, histogram.getBucketCount(2));
+        assertEquals(1, histogram.getPercentileMicros(50));
+        assertEquals(4, histogram.getPercentileMicros(99));
+        assertEquals(8192, histogram.getPercentileMicros(100));
+        assertEquals(5_000_000, histogram.getMaxNanos());
+        assertEquals("hub", histogram.getSlowestEntity());
+        assertEquals(98 * 500 + 3_000 + 5_000_000, histogram.getTotalNanos());
+        assertTrue(histogram.toString().contains("hub"));
+    }
+}
@@ -0,0 +1,66 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalkBudgetTest {
+
+    @Test
+    void fit() {
+        double[] degrees = new double[1000];
+        for (int i = 0; i < degrees.length; i++) {
+            // many leaves, few hubs
+            degrees[i] = (i % 100 == 0) ? 10_000 : 1 + (i % 7);
+        }
+        WalkBudget budget = new WalkBudget(20_000, 2, 500, WalkBudget.DegreeFunction.LINEAR);
+        long allocated = budget.fit(degrees);
+        assertEquals(20_000, allocated, 20_000 * 0.01);
+
+        long sum = 0;
+        for (double degree : degrees) {
+            int walks = budget.getNumberOfWalks(degree);
+            assertTrue(walks >= 2 && walks <= 500);
+            sum += walks;
+        }
+        assertEquals(allocated, sum);
+        assertEquals(500, budget.getNumberOfWalks(10_000));
+        assertTrue(budget.getNumberOfWalks(7) > budget.getNumberOfWalks(1));
+    }
+
+    @Test
+    void fitOutsideOfBounds() {
+        double[] degrees = {0, 1, 5, 100};
+
+        // budget below the minimum
+        WalkBudget budget = new WalkBudget(3, 2, 10, WalkBudget.DegreeFunction.SQRT);
+        assertEquals(8, budget.fit(degrees));
+        for (double degree : degrees) assertEquals(2, budget.getNumberOfWalks(degree));
+
+        // budget above the maximum (entities without edges remain at the minimum)
+        budget = new WalkBudget(1000, 2, 10, WalkBudget.DegreeFunction.LOG);
+        assertEquals(32, budget.fit(degrees));
+        assertEquals(2, budget.getNumberOfWalks(0));
+        for (int i = 1; i < degrees.length; i++) assertEquals(10, budget.getNumberOfWalks(degrees[i]));
+    }
+
+    @Test
+    void invalidBounds() {
+        WalkBudget budget = new WalkBudget(100, -1, 0, null);
+        assertEquals(WalkBudget.MIN_WALKS_DEFAULT, budget.getMinWalks());
+        assertEquals(WalkBudget.MIN_WALKS_DEFAULT, budget.getMaxWalks());
+        assertEquals(WalkBudget.DegreeFunction.SQRT, budget.getDegreeFunction());
+    }
+
+    @Test
+    void degreeFunction() {
+        assertEquals(WalkBudget.DegreeFunction.LINEAR, WalkBudget.DegreeFunction.fromName("linear"));
+        assertEquals(WalkBudget.DegreeFunction.SQRT, WalkBudget.DegreeFunction.fromName(" SQRT "));
+        assertEquals(WalkBudget.DegreeFunction.LOG, WalkBudget.DegreeFunction.fromName("Log"));
+        assertNull(WalkBudget.DegreeFunction.fromName("cubic"));
+        assertNull(WalkBudget.DegreeFunction.fromName(null));
+        assertEquals(16.0, WalkBudget.DegreeFunction.LINEAR.apply(16), 1e-9);
+        assertEquals(4.0, WalkBudget.DegreeFunction.SQRT.apply(16), 1e-9);
+        assertEquals(0.0, WalkBudget.DegreeFunction.LOG.apply(0), 1e-9);
+    }
+}
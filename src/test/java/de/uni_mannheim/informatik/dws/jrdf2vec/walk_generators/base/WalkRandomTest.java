@@ -0,0 +1,55 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalkRandomTest {
+
+    @Test
+    void seedForEntity() throws Exception {
+        WalkRandom.seedForEntity(42, "http://example.com/A");
+        long[] first = draw(10);
+
+        // same seed and entity in another thread
+        long[][] second = new long[1][];
+        Thread thread = new Thread(() -> {
+            WalkRandom.seedForEntity(42, "http://example.com/A");
+            second[0] = draw(10);
+        });
+        thread.start();
+        thread.join();
+        assertArrayEquals(first, second[0]);
+
+        WalkRandom.seedForEntity(42, "http://example.com/B");
+        assertFalse(Arrays.equals(first, draw(10)));
+
+        WalkRandom.seedForEntity(43, "http://example.com/A");
+        assertFalse(Arrays.equals(first, draw(10)));
+
+        WalkRandom.unseed();
+        assertNotNull(WalkRandom.current());
+    }
+
+    @Test
+    void getEntitySeed() {
+        assertEquals(WalkRandom.getEntitySeed(1, "A"), WalkRandom.getEntitySeed(1, "A"));
+        assertNotEquals(WalkRandom.getEntitySeed(1, "A"), WalkRandom.getEntitySeed(2, "A"));
+        assertNotEquals(WalkRandom.getEntitySeed(1, "A"), WalkRandom.getEntitySeed(1, "B"));
+    }
+
+    /**
+     * Draws numbers from the generator of the current thread.
+     * @param n Number of draws.
+     * @return Drawn numbers.
+     */
+    private static long[] draw(int n) {
+        long[] result = new long[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = WalkRandom.current().nextLong();
+        }
+        return result;
+    }
+}
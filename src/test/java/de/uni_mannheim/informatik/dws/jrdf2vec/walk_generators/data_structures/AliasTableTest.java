@@ -0,0 +1,37 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AliasTableTest {
+
+    @Test
+    void sample() {
+        AliasTable table = new AliasTable(new double[]{1.0, 0.0, 3.0, 4.0});
+        assertEquals(4, table.size());
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[4];
+        int draws = 80000;
+        for (int i = 0; i < draws; i++) {
+            counts[table.sample(random)]++;
+        }
+        assertEquals(0, counts[1]);
+        assertEquals(0.125, counts[0] / (double) draws, 0.01);
+        assertEquals(0.375, counts[2] / (double) draws, 0.01);
+        assertEquals(0.5, counts[3] / (double) draws, 0.01);
+    }
+
+    @Test
+    void sampleZeroWeights() {
+        AliasTable table = new AliasTable(new double[]{0.0, 0.0});
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[2];
+        for (int i = 0; i < 1000; i++) {
+            counts[table.sample(random)]++;
+        }
+        assertTrue(counts[0] > 0 && counts[1] > 0);
+    }
+}
@@ -0,0 +1,30 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NeighborIndexTest {
+
+    @Test
+    void isNeighbor() {
+        TripleDataSetMemory data = new TripleDataSetMemory();
+        // a hub and a small node
+        for (int i = 0; i < 2 * NeighborIndex.MIN_INDEXED_DEGREE; i++) {
+            data.add("HUB", "p", "O" + i);
+        }
+        data.add("A", "p", "B");
+        data.add("A", "q", "C");
+
+        for (long memory : new long[]{0, 1024 * 1024}) {
+            NeighborIndex index = new NeighborIndex(data, memory);
+            assertEquals(memory == 0 ? 0 : 1, index.getNumberOfIndexedNodes());
+            assertTrue(index.isNeighbor("HUB", "O0"));
+            assertTrue(index.isNeighbor("HUB", "O31"));
+            assertFalse(index.isNeighbor("HUB", "A"));
+            assertTrue(index.isNeighbor("A", "C"));
+            assertFalse(index.isNeighbor("A", "HUB"));
+            assertFalse(index.isNeighbor("NOT_EXISTING", "A"));
+        }
+    }
+}
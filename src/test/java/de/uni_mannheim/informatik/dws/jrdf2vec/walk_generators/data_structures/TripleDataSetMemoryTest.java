@@ -48,4 +48,23 @@ class TripleDataSetMemoryTest {
         assertTrue(ds.getTriplesInvolvingSubject("D").get(1).object == "F" || ds.getTriplesInvolvingSubject("D").get(1).object == "G");
         assertFalse(ds.getTriplesInvolvingSubject("D").get(0).object.equals(ds.getTriplesInvolvingSubject("D").get(1).object));
     }
+
+    @Test
+    void getTriplesInvolvingSubjectAndPredicate(){
+        TripleDataSetMemory ds = new TripleDataSetMemory();
+        ds.add("A", "P", "B");
+        ds.add("A", "P", "C");
+        ds.add("A", "Q", "D");
+        assertEquals(2, ds.getTriplesInvolvingSubjectAndPredicate("A", "P").size());
+        assertEquals("D", ds.getTriplesInvolvingSubjectAndPredicate("A", "Q").get(0).object);
+        assertNull(ds.getTriplesInvolvingSubjectAndPredicate("A", "R"));
+        assertNull(ds.getTriplesInvolvingSubjectAndPredicate("B", "P"));
+
+        // the index is kept up to date once it exists
+        ds.add("A", "Q", "E");
+        ds.add("A", "Q", "E");
+        ds.add("B", "P", "A");
+        assertEquals(2, ds.getTriplesInvolvingSubjectAndPredicate("A", "Q").size());
+        assertEquals(1, ds.getTriplesInvolvingSubjectAndPredicate("B", "P").size());
+    }
 }
\ No newline at end of file
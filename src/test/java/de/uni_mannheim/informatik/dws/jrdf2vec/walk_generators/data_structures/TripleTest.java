@@ -24,4 +24,25 @@ class TripleTest {
         assertTrue(t1.hashCode() == t2.hashCode());
 
     }
+
+    @Test
+    void anonymousNodes() {
+        Triple uris = new Triple("A", "B", "C");
+        assertFalse(uris.isAnonymousSubject());
+        assertFalse(uris.isAnonymousObject());
+
+        Triple anonymousSubject = new Triple("_:genid1", "B", "C");
+        assertTrue(anonymousSubject.isAnonymousSubject());
+        assertFalse(anonymousSubject.isAnonymousObject());
+
+        Triple anonymousObject = new Triple("A", "B", "_:b0");
+        assertFalse(anonymousObject.isAnonymousSubject());
+        assertTrue(anonymousObject.isAnonymousObject());
+
+        // explicit flags (e.g. for parsers that do not use the N-Triples syntax)
+        Triple flagged = new Triple("A", "B", "C", Triple.ANONYMOUS_OBJECT);
+        assertFalse(flagged.isAnonymousSubject());
+        assertTrue(flagged.isAnonymousObject());
+        assertEquals(uris, flagged);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UndirectedAdjacencyTest {
+
+    @Test
+    void getTriples() {
+        TripleDataSetMemory data = new TripleDataSetMemory();
+        data.add("A", "p", "B");
+        data.add("C", "q", "B");
+        data.add("B", "r", "D");
+        data.add("B", "s", "B");
+        UndirectedAdjacency adjacency = new UndirectedAdjacency(data);
+
+        // outgoing first, the self loop only once
+        Triple[] triples = adjacency.getTriples("B");
+        assertEquals(4, triples.length);
+        assertEquals("B", triples[0].subject);
+        assertEquals("B", triples[1].subject);
+        assertNotEquals("B", triples[2].subject);
+        assertNotEquals("B", triples[3].subject);
+
+        // nodes that only occur as object
+        assertEquals(1, adjacency.getTriples("D").length);
+        assertEquals("r", adjacency.getTriples("D")[0].predicate);
+        assertNull(adjacency.getTriples("NOT_EXISTING"));
+    }
+}
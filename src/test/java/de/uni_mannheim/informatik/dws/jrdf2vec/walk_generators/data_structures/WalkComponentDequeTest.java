@@ -0,0 +1,64 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalkComponentDequeTest {
+
+    @Test
+    void addInBothDirections() {
+        WalkComponentDeque walk = new WalkComponentDeque();
+        walk.reset("E", 2);
+        assertEquals(1, walk.size());
+        assertEquals("E", walk.toWalkString());
+
+        walk.addLast("p1");
+        walk.addLast("O1");
+        walk.addFirst("p0");
+        walk.addFirst("S0");
+        walk.addLast("p2");
+        walk.addLast("O2");
+        walk.addFirst("p-1");
+        walk.addFirst("S-1");
+        assertEquals(9, walk.size());
+        assertEquals("S-1 p-1 S0 p0 E p1 O1 p2 O2", walk.toWalkString());
+        assertEquals(Arrays.asList("S-1", "p-1", "S0", "p0", "E", "p1", "O1", "p2", "O2"), walk.toList());
+        assertEquals("S-1", walk.get(0));
+        assertEquals("O2", walk.get(8));
+        assertThrows(IndexOutOfBoundsException.class, () -> walk.get(9));
+
+        StringBuilder builder = new StringBuilder("walk: ");
+        walk.appendTo(builder);
+        assertEquals("walk: S-1 p-1 S0 p0 E p1 O1 p2 O2", builder.toString());
+    }
+
+    @Test
+    void reuse() {
+        WalkComponentDeque walk = new WalkComponentDeque();
+
+        // larger than the initial capacity
+        walk.reset("A", 20);
+        for (int i = 0; i < 20; i++) {
+            walk.addFirst("p");
+            walk.addFirst("S" + i);
+            walk.addLast("p");
+            walk.addLast("O" + i);
+        }
+        assertEquals(81, walk.size());
+        assertEquals("S19", walk.get(0));
+        assertEquals("O19", walk.get(80));
+
+        // a shorter walk must not contain components of the previous walk
+        walk.reset("B", 1);
+        walk.addLast("p");
+        walk.addLast("C");
+        assertEquals("B p C", walk.toWalkString());
+        assertEquals(3, walk.size());
+
+        walk.reset("D", 0);
+        assertEquals("D", walk.toWalkString());
+    }
+}
@@ -0,0 +1,86 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeisfeilerLehmanLabelingTest {
+
+    @Test
+    void getLabel() {
+        TripleDataSetMemory data = new TripleDataSetMemory();
+        // A and B have the same structure but different names, C has another predicate
+        data.add("A", "p", "X");
+        data.add("B", "p", "Y");
+        data.add("C", "q", "Z");
+        data.add("X", "r", "LEAF");
+        data.add("Y", "r", "LEAF");
+        WeisfeilerLehmanLabeling labeling = new WeisfeilerLehmanLabeling(data, 2);
+        assertEquals(2, labeling.getNumberOfIterations());
+
+        // iteration 0: all nodes share one label
+        assertEquals(labeling.getLabel("X", 0), labeling.getLabel("C", 0));
+        assertEquals(labeling.getLabel("LEAF", 0), labeling.getLabel("unknown", 0));
+
+        // structurally identical nodes share their labels in every iteration
+        for (int i = 0; i <= 2; i++) {
+            assertEquals(labeling.getLabel("A", i), labeling.getLabel("B", i));
+            assertEquals(labeling.getLabel("X", i), labeling.getLabel("Y", i));
+            assertEquals(labeling.getLabel("Z", i), labeling.getLabel("LEAF", i));
+        }
+
+        // another predicate leads to another label
+        assertNotEquals(labeling.getLabel("A", 1), labeling.getLabel("C", 1));
+        // A and X both have one outgoing triple, but with different predicates
+        assertNotEquals(labeling.getLabel("A", 1), labeling.getLabel("X", 1));
+        // the deeper neighborhood distinguishes A and C in iteration 2 as well, and A changes with the depth
+        assertNotEquals(labeling.getLabel("A", 2), labeling.getLabel("C", 2));
+        assertNotEquals(labeling.getLabel("A", 1), labeling.getLabel("A", 2));
+
+        // deterministic and independent of the insertion order
+        TripleDataSetMemory reversed = new TripleDataSetMemory();
+        reversed.add("Y", "r", "LEAF");
+        reversed.add("X", "r", "LEAF");
+        reversed.add("C", "q", "Z");
+        reversed.add("B", "p", "Y");
+        reversed.add("A", "p", "X");
+        WeisfeilerLehmanLabeling other = new WeisfeilerLehmanLabeling(reversed, 2);
+        for (String node : new String[]{"A", "B", "C", "X", "Y", "Z", "LEAF"}) {
+            for (int i = 0; i <= 2; i++) {
+                assertEquals(labeling.getLabel(node, i), other.getLabel(node, i));
+            }
+        }
+    }
+
+    @Test
+    void getLabelDepth() {
+        // A and B have the same direct neighborhood, but the objects differ one hop further
+        TripleDataSetMemory data = new TripleDataSetMemory();
+        data.add("A", "p", "X");
+        data.add("B", "p", "Y");
+        data.add("X", "r", "LEAF");
+        data.add("Y", "s", "LEAF");
+        WeisfeilerLehmanLabeling labeling = new WeisfeilerLehmanLabeling(data, 2);
+        assertEquals(labeling.getLabel("A", 1), labeling.getLabel("B", 1));
+        assertNotEquals(labeling.getLabel("A", 2), labeling.getLabel("B", 2));
+    }
+
+    @Test
+    void getLabelMultiset() {
+        // the order of the triples of a node does not matter
+        TripleDataSetMemory data = new TripleDataSetMemory();
+        data.add("A", "p", "X");
+        data.add("A", "q", "Y");
+        TripleDataSetMemory other = new TripleDataSetMemory();
+        other.add("A", "q", "Y");
+        other.add("A", "p", "X");
+        assertEquals(new WeisfeilerLehmanLabeling(data, 1).getLabel("A", 1),
+                new WeisfeilerLehmanLabeling(other, 1).getLabel("A", 1));
+        // a different predicate leads to a different label
+        TripleDataSetMemory changed = new TripleDataSetMemory();
+        changed.add("A", "p", "X");
+        changed.add("A", "p", "Y");
+        assertNotEquals(new WeisfeilerLehmanLabeling(data, 1).getLabel("A", 1),
+                new WeisfeilerLehmanLabeling(changed, 1).getLabel("A", 1));
+    }
+}
@@ -243,6 +243,38 @@ class HdtParserTest {
         }
     }
 
+    @Test
+    void getOrCreateHdtFile() {
+        File ntFile = new File("./pizza_low_memory_test.nt");
+        File hdtFile = new File("./pizza_low_memory_test.hdt");
+        File indexFile = new File("./pizza_low_memory_test.hdt.index.v1-1");
+        try {
+            FileUtils.copyFile(loadFile("pizza.owl.nt"), ntFile);
+            File result = HdtParser.getOrCreateHdtFile(ntFile);
+            assertNotNull(result);
+            assertTrue(hdtFile.exists());
+            assertEquals(hdtFile.getAbsolutePath(), result.getAbsolutePath());
+            assertFalse(new File(hdtFile.getPath() + ".tmp").exists());
+
+            // the existing file is reused
+            long lastModified = hdtFile.lastModified();
+            assertEquals(hdtFile.getAbsolutePath(), HdtParser.getOrCreateHdtFile(ntFile).getAbsolutePath());
+            assertEquals(lastModified, hdtFile.lastModified());
+
+            // memory-mapped access
+            HdtParser parser = new HdtParser(hdtFile.getAbsolutePath(), true);
+            List<String> walks = parser.generateMidWalksForEntity("http://www.co-ode.org/ontologies/pizza/pizza.owl#Margherita", 10, 3);
+            assertEquals(10, walks.size());
+            assertTrue(indexFile.exists());
+        } catch (IOException e) {
+            fail("Exception occurred.", e);
+        } finally {
+            ntFile.delete();
+            hdtFile.delete();
+            indexFile.delete();
+        }
+    }
+
     @Test
     void isSameListContent() {
         List<String> list_1 = new ArrayList<>();
@@ -1,5 +1,8 @@
 package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.parsers;
 
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.NeighborIndex;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkContent;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,4 +46,80 @@ class MemoryParserTest {
         LOGGER.info("A : B : C  :   " + aCount + " : " + bCount + " : " + cCount);
     }
 
-}
\ No newline at end of file
+    @Test
+    void randomSampleWithoutReplacement() {
+        // population smaller than sample: everything is returned
+        assertArrayEquals(new long[]{0, 1, 2}, MemoryParser.randomSampleWithoutReplacement(3, 10));
+        assertEquals(0, MemoryParser.randomSampleWithoutReplacement(0, 10).length);
+
+        // large population: distinct, sorted, in range
+        long populationSize = 10_000_000_000L;
+        long[] sample = MemoryParser.randomSampleWithoutReplacement(populationSize, 1000);
+        assertEquals(1000, sample.length);
+        for (int i = 0; i < sample.length; i++) {
+            assertTrue(sample[i] >= 0 && sample[i] < populationSize);
+            if (i > 0) assertTrue(sample[i - 1] < sample[i]);
+        }
+
+        // every element is drawn with (roughly) the same probability
+        int[] counts = new int[10];
+        for (int i = 0; i < 10000; i++) {
+            for (long index : MemoryParser.randomSampleWithoutReplacement(10, 3)) {
+                counts[(int) index]++;
+            }
+        }
+        for (int count : counts) {
+            assertTrue(count > 2500 && count < 3500, "Non-uniform sample: " + Arrays.toString(counts));
+        }
+    }
+
+    @Test
+    void getNode2VecTripleForSubject() {
+        NtMemoryParser parser = new NtMemoryParser();
+        // A -> B, B -> A (return), B -> C (A has no edge to C), B -> D (A has an edge to D)
+        parser.getData().add("A", "p", "B");
+        parser.getData().add("A", "p", "D");
+        parser.getData().add("B", "p", "A");
+        parser.getData().add("B", "p", "C");
+        parser.getData().add("B", "p", "D");
+        NeighborIndex index = parser.createNeighborIndex(0);
+
+        int[] returnCounts = new int[2];
+        int[] outCounts = new int[2];
+        double[][] parameters = {{0.01, 1.0}, {100.0, 0.01}};
+        for (int i = 0; i < parameters.length; i++) {
+            for (int j = 0; j < 1000; j++) {
+                Triple triple = parser.getNode2VecTripleForSubject("B", "A", parameters[i][0], parameters[i][1], index);
+                if (triple.object.equals("A")) returnCounts[i]++;
+                if (triple.object.equals("C")) outCounts[i]++;
+            }
+        }
+        // low p: the walk returns; low q: the walk moves away
+        assertTrue(returnCounts[0] > 900, "Returns: " + returnCounts[0]);
+        assertTrue(outCounts[1] > 900, "Outward moves: " + outCounts[1]);
+
+        // first hop and nodes without successors
+        assertNotNull(parser.getNode2VecTripleForSubject("A", null, 1.0, 1.0, index));
+        assertNull(parser.getNode2VecTripleForSubject("C", "B", 1.0, 1.0, index));
+    }
+
+    @Test
+    void generateMidWalksForEntityWithContent() {
+        NtMemoryParser parser = new NtMemoryParser();
+        // a chain: S -p1-> A -p2-> B -p3-> C
+        parser.getData().add("S", "p1", "A");
+        parser.getData().add("A", "p2", "B");
+        parser.getData().add("B", "p3", "C");
+
+        for (String walk : parser.generateMidWalksForEntity("A", 3, 20, WalkContent.ENTITIES)) {
+            assertTrue(walk.matches("(S )?A( B)?( C)?"), walk);
+            assertNotEquals("A", walk);
+        }
+        for (String walk : parser.generateMidWalksForEntity("A", 3, 20, WalkContent.PREDICATES)) {
+            assertTrue(walk.matches("(p1 )?A( p2)?( p3)?"), walk);
+        }
+        for (String walk : parser.generateMidWalksForEntity("A", 3, 20, WalkContent.ALL)) {
+            assertTrue(walk.matches("(S p1 )?A( p2 B)?( p3 C)?"), walk);
+        }
+    }
+}
@@ -13,7 +13,10 @@ import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -60,6 +63,20 @@ class NtMemoryParserTest {
         assertEquals(7, result_3.size());
     }
 
+    @Test
+    void estimateWalkCost(){
+        NtMemoryParser parser = new NtMemoryParser(loadFile("dummyGraph.nt").getAbsolutePath());
+        // A has two successors (B, E) which have three successors in total
+        assertEquals(2.0, parser.estimateWalkCost("A", 1), 0.0001);
+        assertEquals(3.0, parser.estimateWalkCost("A", 2), 0.0001);
+        assertEquals(4.5, parser.estimateWalkCost("A", 3), 0.0001);
+        // hub with five successors
+        assertEquals(5.0, parser.estimateWalkCost("Z", 4), 0.0001);
+        // no outgoing edges or unknown entity
+        assertEquals(1.0, parser.estimateWalkCost("D", 4), 0.0001);
+        assertEquals(1.0, parser.estimateWalkCost("NOT_EXISTING", 4), 0.0001);
+    }
+
     @Test
     void testDepthForRandomWalks(){
         String graphPath = loadFile("dummyGraph_3.nt").getAbsolutePath();
@@ -207,6 +224,36 @@ class NtMemoryParserTest {
         }
     }
 
+    @Test
+    void generateMidWalksForEntityOnDummyGraph() {
+        NtMemoryParser parser = new NtMemoryParser(loadFile("dummyGraph.nt"));
+        Set<String> statements = new HashSet<>(Arrays.asList("A P1 B", "B P2 C", "C P3 D", "A P4 E", "E P5 D", "E P6 F"));
+
+        List<String> walks = parser.generateMidWalksForEntity("B", 2, 100);
+        assertEquals(100, walks.size());
+        for (String walk : walks) {
+            String[] components = walk.split(" ");
+            assertTrue(components.length % 2 == 1 && components.length >= 3 && components.length <= 9, "Invalid walk: " + walk);
+            assertTrue(Arrays.asList(components).contains("B"), "Entity missing in walk: " + walk);
+            for (int i = 0; i + 2 < components.length; i += 2) {
+                String statement = components[i] + " " + components[i + 1] + " " + components[i + 2];
+                assertTrue(statements.contains(statement), "Walk contains unknown statement: " + walk);
+            }
+        }
+
+        List<String> duplicateFreeWalks = parser.generateMidWalksForEntityDuplicateFree("B", 100, 2);
+        assertEquals(duplicateFreeWalks.size(), new HashSet<>(duplicateFreeWalks).size());
+        assertTrue(duplicateFreeWalks.size() > 0);
+        for (String duplicateFreeWalk : duplicateFreeWalks) {
+            assertTrue(duplicateFreeWalk.contains("B"), "Entity missing in walk: " + duplicateFreeWalk);
+        }
+
+        // the list representation and the string representation are consistent
+        List<String> walk = parser.generateMidWalkForEntity("B", 2);
+        assertTrue(walk.contains("B"));
+        assertEquals(1, walk.size() % 2);
+    }
+
     /**
      * Helper function to load files in class path that contain spaces.
      * @param fileName Name of the file.
@@ -223,4 +270,4 @@ class NtMemoryParserTest {
             return null;
         }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
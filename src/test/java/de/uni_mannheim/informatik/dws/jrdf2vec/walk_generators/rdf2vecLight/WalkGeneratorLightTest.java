@@ -1,5 +1,6 @@
 package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.rdf2vecLight;
 
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers.AsyncWalkWriter;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
 import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.base.WalkGeneratorDefault;
@@ -53,6 +54,7 @@ class WalkGeneratorLightTest {
         }
         // cleaning up
         fileToReadFrom.delete();
+        new File(AsyncWalkWriter.getManifestPath(fileToReadFrom.getPath())).delete();
     }
 
     @Test
@@ -93,6 +95,7 @@ class WalkGeneratorLightTest {
         assertTrue(subjectsOfWalks.contains("http://www.co-ode.org/ontologies/pizza/pizza.owl#FourCheesesTopping"));
         assertFalse(subjectsOfWalks.contains("http://www.co-ode.org/ontologies/pizza/pizza.owl#RealItalianPizza"), "Real Italian Pizza is not in the subset of entities. No walks should be created for this entity.");
         generatedFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(generatedFilePath)).delete();
     }
 
     @Test
@@ -135,6 +138,7 @@ class WalkGeneratorLightTest {
         assertTrue(subjectsOfWalks.contains("http://www.co-ode.org/ontologies/pizza/pizza.owl#AmericanHot"));
         assertFalse(subjectsOfWalks.contains("http://www.co-ode.org/ontologies/pizza/pizza.owl#FourCheesesTopping"), "Four Cheese Topping is not in the subset of entities. No walks should be created for this entity.");
         generatedFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(generatedFilePath)).delete();
     }
 
 
@@ -178,6 +182,7 @@ class WalkGeneratorLightTest {
 
         assertTrue(numberOfLines == 1000, "Expected number of lines: 1000; actual: " + numberOfLines);
         generatedFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(generatedFilePath)).delete();
     }
 
     /**
@@ -0,0 +1,63 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.weights;
+
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.Triple;
+import de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.data_structures.TripleDataSetMemory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeWeightFunctionTest {
+
+    /**
+     * A star: S1..S4 point to the CENTER, the CENTER points to S1.
+     * @return The data set.
+     */
+    private static TripleDataSetMemory getStar() {
+        TripleDataSetMemory data = new TripleDataSetMemory();
+        for (int i = 1; i <= 4; i++) {
+            data.add("S" + i, "p", "CENTER");
+        }
+        data.add("CENTER", "q", "S1");
+        return data;
+    }
+
+    @Test
+    void fromName() {
+        assertTrue(EdgeWeightFunction.fromName("INVERSE_PREDICATE_FREQUENCY") instanceof InversePredicateFrequencyWeight);
+        assertTrue(EdgeWeightFunction.fromName("inverse_object_degree") instanceof InverseObjectDegreeWeight);
+        assertTrue(EdgeWeightFunction.fromName(" PageRank ") instanceof PageRankWeight);
+        assertTrue(EdgeWeightFunction.fromName("PAGE_RANK") instanceof PageRankWeight);
+        assertNull(EdgeWeightFunction.fromName("unknown"));
+        assertNull(EdgeWeightFunction.fromName(null));
+    }
+
+    @Test
+    void inverseWeights() {
+        TripleDataSetMemory data = getStar();
+        EdgeWeightFunction predicateFrequency = new InversePredicateFrequencyWeight();
+        predicateFrequency.initialize(data);
+        assertEquals(0.25, predicateFrequency.getWeight(new Triple("S1", "p", "CENTER")), 1e-9);
+        assertEquals(1.0, predicateFrequency.getWeight(new Triple("CENTER", "q", "S1")), 1e-9);
+
+        EdgeWeightFunction objectDegree = new InverseObjectDegreeWeight();
+        objectDegree.initialize(data);
+        assertEquals(0.25, objectDegree.getWeight(new Triple("S1", "p", "CENTER")), 1e-9);
+        assertEquals(1.0, objectDegree.getWeight(new Triple("CENTER", "q", "S1")), 1e-9);
+    }
+
+    @Test
+    void pageRank() {
+        PageRankWeight pageRank = new PageRankWeight();
+        pageRank.initialize(getStar());
+        double center = pageRank.getPageRank("CENTER");
+        assertTrue(center > pageRank.getPageRank("S1"));
+        assertTrue(pageRank.getPageRank("S1") > pageRank.getPageRank("S2"));
+        assertEquals(pageRank.getPageRank("S2"), pageRank.getPageRank("S3"), 1e-9);
+        assertEquals(0.0, pageRank.getPageRank("NOT_EXISTING"));
+        // the ranks are scaled so that their average is 1
+        double sum = center;
+        for (int i = 1; i <= 4; i++) sum += pageRank.getPageRank("S" + i);
+        assertEquals(5.0, sum, 1e-3);
+        assertEquals(center, pageRank.getWeight(new Triple("S1", "p", "CENTER")), 1e-9);
+    }
+}
@@ -0,0 +1,359 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncWalkWriterTest {
+
+    @Test
+    void writeConcurrently() throws Exception {
+        File walkFile = new File("./async_writer_test.gz");
+        // small buffers and a small queue so that the writer thread applies backpressure
+        WalkWriterConfiguration configuration = new WalkWriterConfiguration();
+        configuration.setBufferSize(1024);
+        configuration.setQueueCapacity(2);
+        configuration.setMaxLinesPerShard(0);
+        AsyncWalkWriter writer = new AsyncWalkWriter(walkFile.getPath(), configuration);
+
+        int numberOfThreads = 4;
+        int walksPerThread = 5000;
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < numberOfThreads; t++) {
+            final int threadNumber = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < walksPerThread; i++) {
+                    List<String> walks = new ArrayList<>();
+                    walks.add("http://example.com/Thread" + threadNumber + " p Straße_" + i + " 😀");
+                    writer.write(walks);
+                }
+            }));
+        }
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+        writer.close();
+        assertEquals(numberOfThreads * walksPerThread, writer.getWrittenLines());
+        assertEquals(1, writer.getShards().size());
+
+        Set<String> lines = readLines(walkFile);
+        assertEquals(numberOfThreads * walksPerThread, lines.size());
+        assertTrue(lines.contains("http://example.com/Thread3 p Straße_4999 😀"));
+        assertTrue(lines.contains("http://example.com/Thread0 p Straße_0 😀"));
+        walkFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(walkFile.getPath())).delete();
+    }
+
+    @Test
+    void writeShards() throws Exception {
+        File walkFile = new File("./async_writer_shard_test.gz");
+        WalkWriterConfiguration configuration = new WalkWriterConfiguration();
+        configuration.setBufferSize(1024);
+        configuration.setNumberOfWriterThreads(2);
+        configuration.setMaxLinesPerShard(500);
+        AsyncWalkWriter writer = new AsyncWalkWriter(walkFile.getPath(), configuration);
+
+        int numberOfWalks = 10000;
+        Thread thread = new Thread(() -> {
+            for (int i = 0; i < numberOfWalks; i++) {
+                List<String> walks = new ArrayList<>();
+                walks.add("A p B_" + i);
+                writer.write(walks);
+            }
+        });
+        thread.start();
+        thread.join();
+        writer.close();
+
+        List<AsyncWalkWriter.ShardInfo> shards = writer.getShards();
+        assertTrue(shards.size() > 2);
+        assertEquals(walkFile.getName(), shards.get(0).fileName);
+        assertEquals(0, shards.get(0).writerIndex);
+        assertEquals(0, shards.get(0).shardIndex);
+
+        File manifest = new File(AsyncWalkWriter.getManifestPath(walkFile.getPath()));
+        assertTrue(manifest.exists());
+        assertEquals("async_writer_shard_test.manifest", manifest.getName());
+        List<String> manifestLines = Files.readAllLines(manifest.toPath(), StandardCharsets.UTF_8);
+        assertTrue(manifestLines.get(0).startsWith("#"));
+        assertEquals(shards.size() + 1, manifestLines.size());
+
+        Set<String> allLines = new HashSet<>();
+        long totalLines = 0;
+        for (String manifestLine : manifestLines.subList(1, manifestLines.size())) {
+            String[] tokens = manifestLine.split("\t");
+            File shard = new File(walkFile.getAbsoluteFile().getParentFile(), tokens[0]);
+            assertTrue(shard.exists(), "Shard does not exist: " + shard);
+
+            CRC32 crc = new CRC32();
+            crc.update(Files.readAllBytes(shard.toPath()));
+            assertEquals(String.format("%08x", crc.getValue()), tokens[3]);
+
+            Set<String> shardLines = readLines(shard);
+            assertEquals(Long.parseLong(tokens[1]), shardLines.size());
+            totalLines += shardLines.size();
+            allLines.addAll(shardLines);
+            shard.delete();
+        }
+        assertEquals(numberOfWalks, totalLines);
+        assertEquals(numberOfWalks, allLines.size());
+        manifest.delete();
+    }
+
+    @Test
+    void writeDeduplicated() throws Exception {
+        File walkFile = new File("./async_writer_dedup_test.gz");
+        WalkWriterConfiguration configuration = new WalkWriterConfiguration();
+        configuration.setDeduplicateWalks(true);
+        configuration.setDeduplicationMemoryBytes(1024 * 1024);
+        AsyncWalkWriter writer = new AsyncWalkWriter(walkFile.getPath(), configuration);
+        List<String> walks = new ArrayList<>();
+        walks.add("A p B");
+        walks.add("B p C");
+        walks.add("A p B");
+        writer.write(walks);
+        writer.write(walks);
+        writer.close();
+        assertEquals(2, writer.getWrittenLines());
+        assertEquals(4, writer.getDroppedDuplicateWalks());
+        Set<String> lines = readLines(walkFile);
+        assertEquals(2, lines.size());
+        assertTrue(lines.contains("A p B"));
+        assertTrue(lines.contains("B p C"));
+        walkFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(walkFile.getPath())).delete();
+    }
+
+    @Test
+    void writeOrdered() throws Exception {
+        File walkFile = new File("./async_writer_ordered_test.gz");
+        WalkWriterConfiguration configuration = new WalkWriterConfiguration();
+        configuration.setOrderedOutput(true);
+        configuration.setNumberOfWriterThreads(3);
+        configuration.setBufferSize(1024);
+        configuration.setQueueCapacity(4);
+        AsyncWalkWriter writer = new AsyncWalkWriter(walkFile.getPath(), configuration);
+
+        // the batches are handed over in reverse order (blocked batches wait for their predecessors)
+        int numberOfBatches = 20;
+        List<Thread> threads = new ArrayList<>();
+        for (int b = numberOfBatches - 1; b >= 0; b--) {
+            final int batchNumber = b;
+            threads.add(new Thread(() -> {
+                List<String> walks = new ArrayList<>();
+                for (int i = 0; i < 100; i++) {
+                    walks.add("batch" + batchNumber + " p walk" + i);
+                }
+                writer.write(batchNumber, walks);
+            }));
+        }
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+        writer.close();
+        assertEquals(1, writer.getShards().size());
+
+        List<String> lines = readLinesInOrder(walkFile);
+        assertEquals(numberOfBatches * 100, lines.size());
+        for (int b = 0; b < numberOfBatches; b++) {
+            for (int i = 0; i < 100; i++) {
+                assertEquals("batch" + b + " p walk" + i, lines.get(b * 100 + i));
+            }
+        }
+        walkFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(walkFile.getPath())).delete();
+    }
+
+    @Test
+    void resumeFromCheckpoint() throws Exception {
+        File directory = new File("./async_writer_checkpoint_test");
+        File resumedDirectory = new File("./async_writer_checkpoint_test_resumed");
+        directory.mkdirs();
+        resumedDirectory.mkdirs();
+        String walkFile = new File(directory, "walk_file.gz").getPath();
+        String resumedWalkFile = new File(resumedDirectory, "walk_file.gz").getPath();
+        WalkWriterConfiguration configuration = new WalkWriterConfiguration();
+        configuration.setBufferSize(1024);
+        configuration.setMaxLinesPerShard(100);
+        int numberOfBatches = 20;
+
+        // the run is interrupted after a checkpoint has been written (the writer is never closed)
+        AsyncWalkWriter writer = new AsyncWalkWriter(walkFile, configuration, new WalkCheckpoint(50, 1000));
+        for (int b = 0; b < numberOfBatches / 2; b++) {
+            writer.write(b, getBatch(b));
+        }
+        WalkCheckpoint checkpoint = null;
+        long deadline = System.currentTimeMillis() + 10000;
+        while ((checkpoint == null || checkpoint.getCompletedBatches() < 2) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            checkpoint = WalkCheckpoint.load(walkFile);
+        }
+        assertNotNull(checkpoint);
+        assertTrue(checkpoint.getCompletedBatches() >= 2);
+        assertTrue(checkpoint.getCompletedBatches() < numberOfBatches);
+
+        // copy the state of the interrupted run
+        Files.copy(new File(WalkCheckpoint.getCheckpointPath(walkFile)).toPath(),
+                new File(WalkCheckpoint.getCheckpointPath(resumedWalkFile)).toPath());
+        for (AsyncWalkWriter.ShardInfo shard : checkpoint.getShards()) {
+            Files.copy(new File(directory, shard.fileName).toPath(), new File(resumedDirectory, shard.fileName).toPath());
+        }
+
+        // resume
+        WalkCheckpoint loaded = WalkCheckpoint.load(resumedWalkFile);
+        AsyncWalkWriter resumedWriter = new AsyncWalkWriter(resumedWalkFile, configuration, loaded);
+        for (long b = loaded.getCompletedBatches(); b < numberOfBatches; b++) {
+            resumedWriter.write(b, getBatch((int) b));
+        }
+        resumedWriter.close();
+        assertFalse(new File(WalkCheckpoint.getCheckpointPath(resumedWalkFile)).exists());
+        assertEquals(numberOfBatches * 50, resumedWriter.getWrittenLines());
+
+        // the shards of the manifest contain all walks in batch order
+        List<String> lines = new ArrayList<>();
+        for (String manifestLine : Files.readAllLines(new File(AsyncWalkWriter.getManifestPath(resumedWalkFile)).toPath())) {
+            if (manifestLine.startsWith("#")) continue;
+            lines.addAll(readLinesInOrder(new File(resumedDirectory, manifestLine.split("\t")[0])));
+        }
+        List<String> expected = new ArrayList<>();
+        for (int b = 0; b < numberOfBatches; b++) {
+            expected.addAll(getBatch(b));
+        }
+        assertEquals(expected, lines);
+
+        for (File d : new File[]{directory, resumedDirectory}) {
+            for (File file : d.listFiles()) file.delete();
+            d.delete();
+        }
+    }
+
+    @Test
+    void abort() throws Exception {
+        File directory = new File("./async_writer_abort_test");
+        directory.mkdirs();
+        String walkFile = new File(directory, "walk_file.gz").getPath();
+        WalkWriterConfiguration configuration = new WalkWriterConfiguration();
+        configuration.setBufferSize(1024);
+        configuration.setQueueCapacity(4);
+        configuration.setMaxLinesPerShard(100);
+        AsyncWalkWriter writer = new AsyncWalkWriter(walkFile, configuration, new WalkCheckpoint(50, 1000));
+
+        // batch 3 never arrives
+        for (int b : new int[]{0, 1, 2, 4, 5}) {
+            writer.write(b, getBatch(b));
+        }
+        Thread waiting = new Thread(() -> writer.write(10, getBatch(10)));
+        waiting.start();
+        waiting.join(200);
+        assertTrue(waiting.isAlive(), "The batch is too far ahead and must wait.");
+
+        writer.abort();
+        waiting.join(10000);
+        assertFalse(waiting.isAlive(), "Waiting threads must be woken up.");
+        assertTrue(writer.isAborted());
+        writer.close();
+
+        // the checkpoint is kept and contains the batches before the missing one
+        WalkCheckpoint checkpoint = WalkCheckpoint.load(walkFile);
+        assertNotNull(checkpoint);
+        assertEquals(3, checkpoint.getCompletedBatches());
+        List<String> lines = new ArrayList<>();
+        for (AsyncWalkWriter.ShardInfo shard : checkpoint.getShards()) {
+            lines.addAll(readLinesInOrder(new File(directory, shard.fileName)));
+        }
+        List<String> expected = new ArrayList<>();
+        for (int b = 0; b < 3; b++) {
+            expected.addAll(getBatch(b));
+        }
+        assertEquals(expected, lines);
+
+        for (File file : directory.listFiles()) file.delete();
+        directory.delete();
+    }
+
+    /**
+     * Walks of a batch for {@link AsyncWalkWriterTest#resumeFromCheckpoint()}.
+     *
+     * @param batchNumber Number of the batch.
+     * @return 50 walks.
+     */
+    private static List<String> getBatch(int batchNumber) {
+        List<String> walks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            walks.add("batch" + batchNumber + " p walk" + i);
+        }
+        return walks;
+    }
+
+    @Test
+    void getShardPath() {
+        assertEquals("./walks/walk_file.gz", AsyncWalkWriter.getShardPath("./walks/walk_file.gz", 0, 0));
+        assertEquals("./walks/walk_file_0_1.gz", AsyncWalkWriter.getShardPath("./walks/walk_file.gz", 0, 1));
+        assertEquals("./walks/walk_file_2_0.gz", AsyncWalkWriter.getShardPath("./walks/walk_file.gz", 2, 0));
+        assertEquals("./walks/walk_file.manifest", AsyncWalkWriter.getManifestPath("./walks/walk_file.gz"));
+        String partitionPath = AsyncWalkWriter.getPartitionPath("./walks/walk_file.gz", 1, 4);
+        assertEquals("./walks/walk_file_p1of4.gz", partitionPath);
+        assertEquals("./walks/walk_file_p1of4_0_1.gz", AsyncWalkWriter.getShardPath(partitionPath, 0, 1));
+        assertEquals("./walks/walk_file_p1of4.manifest", AsyncWalkWriter.getManifestPath(partitionPath));
+    }
+
+    @Test
+    void writeAfterClose() throws Exception {
+        File walkFile = new File("./async_writer_test_2.gz");
+        AsyncWalkWriter writer = new AsyncWalkWriter(walkFile.getPath());
+        List<String> walks = new ArrayList<>();
+        walks.add("A B C");
+        writer.write(walks);
+        writer.close();
+        // must not fail
+        writer.write(walks);
+        writer.close();
+        assertEquals(1, writer.getWrittenLines());
+        walkFile.delete();
+        new File(AsyncWalkWriter.getManifestPath(walkFile.getPath())).delete();
+    }
+
+    /**
+     * Reads all lines of a gzipped file in the order of the file.
+     *
+     * @param file The file.
+     * @return List of lines.
+     * @throws IOException If the file cannot be read.
+     */
+    private static List<String> readLinesInOrder(File file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Reads all lines of a gzipped file.
+     *
+     * @param file The file.
+     * @return Set of lines.
+     * @throws IOException If the file cannot be read.
+     */
+    private static Set<String> readLines(File file) throws IOException {
+        Set<String> lines = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
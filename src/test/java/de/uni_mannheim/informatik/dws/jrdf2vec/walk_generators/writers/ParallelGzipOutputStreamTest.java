@@ -0,0 +1,71 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelGzipOutputStreamTest {
+
+    @Test
+    void roundTrip() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            builder.append("http://example.com/entity").append(i).append(" http://example.com/p ").append(i * 31).append('\n');
+        }
+        byte[] data = builder.toString().getBytes(StandardCharsets.UTF_8);
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        // small blocks to obtain many gzip members
+        ParallelGzipOutputStream stream = new ParallelGzipOutputStream(compressed, pool, 3, 1, 4096);
+        stream.write(data, 0, 1000);
+        stream.write(data[1000]);
+        stream.write(data, 1001, data.length - 1001);
+        stream.close();
+        pool.shutdown();
+
+        byte[] decompressed = IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray())));
+        assertArrayEquals(data, decompressed);
+        assertTrue(compressed.size() < data.length);
+
+        // closing twice is fine, writing after closing is not
+        stream.close();
+        assertThrows(IOException.class, () -> stream.write(1));
+    }
+
+    @Test
+    void emptyStream() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        ParallelGzipOutputStream stream = new ParallelGzipOutputStream(compressed, 2, 9);
+        stream.close();
+        byte[] decompressed = IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray())));
+        assertEquals(0, decompressed.length);
+    }
+
+    @Test
+    void partialBlock() throws IOException {
+        // less data than a block: exactly one gzip member without a preceding empty member
+        byte[] data = "http://example.com/A http://example.com/p http://example.com/B\n".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        ParallelGzipOutputStream stream = new ParallelGzipOutputStream(compressed, 2, 9);
+        stream.write(data, 0, data.length);
+        stream.close();
+        assertArrayEquals(ParallelGzipOutputStream.compress(data, data.length, 9), compressed.toByteArray());
+        byte[] decompressed = IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray())));
+        assertArrayEquals(data, decompressed);
+    }
+
+    @Test
+    void invalidCompressionLevel() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelGzipOutputStream(new ByteArrayOutputStream(), 2, 10));
+    }
+}
@@ -0,0 +1,62 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalkCheckpointTest {
+
+    @Test
+    void saveAndLoad() throws Exception {
+        String walkFile = "./checkpoint_test.gz";
+        assertEquals("./checkpoint_test.checkpoint", WalkCheckpoint.getCheckpointPath(walkFile));
+        assertNull(WalkCheckpoint.load(walkFile));
+
+        WalkCheckpoint checkpoint = new WalkCheckpoint(1000, 12345);
+        List<AsyncWalkWriter.ShardInfo> shards = new ArrayList<>();
+        shards.add(new AsyncWalkWriter.ShardInfo("checkpoint_test.gz", 0, 0, 100, 2000, 0xcafebabeL));
+        shards.add(new AsyncWalkWriter.ShardInfo("checkpoint_test_0_1.gz", 0, 1, 50, 1000, 0x1L));
+        checkpoint.update(7, shards);
+        checkpoint.save(walkFile);
+
+        WalkCheckpoint loaded = WalkCheckpoint.load(walkFile);
+        assertNotNull(loaded);
+        assertEquals(7, loaded.getCompletedBatches());
+        assertEquals(1000, loaded.getEntityBatchSize());
+        assertEquals(12345, loaded.getNumberOfEntities());
+        assertTrue(loaded.isCompatible(1000, 12345));
+        assertFalse(loaded.isCompatible(500, 12345));
+        assertFalse(loaded.isCompatible(1000, 12346));
+        assertFalse(loaded.isCostAwareScheduling());
+        assertFalse(loaded.isCompatible(1000, 12345, true));
+
+        // a run that hands out the entities in another order must not be resumed
+        new WalkCheckpoint(1000, 12345, false, 0x8000000000000001L).save(walkFile);
+        loaded = WalkCheckpoint.load(walkFile);
+        assertNotNull(loaded);
+        assertEquals(0x8000000000000001L, loaded.getScheduleHash());
+        assertTrue(loaded.isCompatible(1000, 12345, false, 0x8000000000000001L));
+        assertFalse(loaded.isCompatible(1000, 12345, false, 0x8000000000000002L));
+
+        new WalkCheckpoint(1000, 12345, true).save(walkFile);
+        loaded = WalkCheckpoint.load(walkFile);
+        assertNotNull(loaded);
+        assertTrue(loaded.isCostAwareScheduling());
+        assertTrue(loaded.isCompatible(1000, 12345, true));
+        assertFalse(loaded.isCompatible(1000, 12345));
+        checkpoint.save(walkFile);
+        loaded = WalkCheckpoint.load(walkFile);
+        assertEquals(2, loaded.getShards().size());
+        assertEquals(shards.get(0).toString(), loaded.getShards().get(0).toString());
+        assertEquals(1, loaded.getShards().get(1).shardIndex);
+        assertEquals(0xcafebabeL, loaded.getShards().get(0).checksum);
+
+        WalkCheckpoint.delete(walkFile);
+        assertFalse(new File(WalkCheckpoint.getCheckpointPath(walkFile)).exists());
+        assertNull(WalkCheckpoint.load(walkFile));
+    }
+}
@@ -0,0 +1,58 @@
+package de.uni_mannheim.informatik.dws.jrdf2vec.walk_generators.writers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalkDeduplicatorTest {
+
+    @Test
+    void isNew() {
+        WalkDeduplicator deduplicator = new WalkDeduplicator(1024 * 1024, 0.001);
+        assertTrue(deduplicator.isNew("A p B"));
+        assertTrue(deduplicator.isNew("B p A"));
+        assertFalse(deduplicator.isNew("A p B"));
+        assertFalse(deduplicator.isNew("A p B"));
+        assertEquals(2, deduplicator.getDroppedWalks());
+    }
+
+    @Test
+    void isNewConcurrently() throws Exception {
+        WalkDeduplicator deduplicator = new WalkDeduplicator(1024 * 1024, 0.001);
+        int numberOfWalks = 10000;
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            // all threads insert the same walks
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < numberOfWalks; i++) {
+                    deduplicator.isNew("http://example.com/A p B_" + i);
+                }
+            }));
+        }
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+
+        // every walk is kept at most once; false positives may drop a few more
+        long dropped = deduplicator.getDroppedWalks();
+        assertTrue(dropped >= 3 * numberOfWalks, "Dropped: " + dropped);
+        assertTrue(dropped < 3 * numberOfWalks + numberOfWalks / 100, "Dropped: " + dropped);
+    }
+
+    @Test
+    void getExpectedInsertions() {
+        // 1 MB at 1% false positives: about 876k elements
+        int insertions = WalkDeduplicator.getExpectedInsertions(1024 * 1024, 0.01);
+        assertTrue(insertions > 850_000 && insertions < 900_000, "Insertions: " + insertions);
+        assertEquals(Integer.MAX_VALUE, WalkDeduplicator.getExpectedInsertions(Long.MAX_VALUE, 0.01));
+        assertEquals(1, WalkDeduplicator.getExpectedInsertions(0, 0.01));
+    }
+
+    @Test
+    void invalidFalsePositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new WalkDeduplicator(1024, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new WalkDeduplicator(1024, 1.0));
+    }
+}